@@ -4,6 +4,8 @@ import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 
+import java.util.List;
+
 /**
  
   Level 3 blas implementations.
@@ -48,6 +50,37 @@ public interface Level3 {
      */
     void gemm(INDArray A, INDArray B, INDArray C, boolean transposeA, boolean transposeB, double alpha, double beta);
 
+    /**
+     * Batched matrix-matrix operations.
+     * Implements C[i] = alpha*op(A[i])*op(B[i]) + beta*C[i] for every i,
+     * where backends may execute all products at once, in parallel.
+     * Matrices C[i] MUST be contiguous, either c or f order.
+     * @param A list of matrices
+     * @param B list of matrices, same size as A
+     * @param C list of result matrices, same size as A
+     * @param transposeA if true: transpose matrices of A before mmul
+     * @param transposeB if true: transpose matrices of B before mmul
+     * @param alpha
+     * @param beta
+     */
+    void gemmBatched(List<INDArray> A, List<INDArray> B, List<INDArray> C, boolean transposeA, boolean transposeB,
+                    double alpha, double beta);
+
+    /**
+     * Batched matrix-matrix operations over 3d arrays, with batch along dimension 0.
+     * Implements C[i] = alpha*op(A[i])*op(B[i]) + beta*C[i] for every i.
+     * Matrices of C MUST be contiguous, i.e. C is c order.
+     * @param A 3d array of shape [batch, rows, columns]
+     * @param B 3d array of shape [batch, rows, columns]
+     * @param C 3d result array of shape [batch, rows, columns]
+     * @param transposeA if true: transpose matrices of A before mmul
+     * @param transposeB if true: transpose matrices of B before mmul
+     * @param alpha
+     * @param beta
+     */
+    void gemmStridedBatched(INDArray A, INDArray B, INDArray C, boolean transposeA, boolean transposeB, double alpha,
+                    double beta);
+
 
     /**
      * her2k performs a rank-2k update of an n-by-n Hermitian matrix c, that is, one of the following operations:
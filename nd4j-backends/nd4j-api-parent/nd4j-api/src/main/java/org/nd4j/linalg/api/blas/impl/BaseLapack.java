@@ -17,6 +17,8 @@ public abstract class BaseLapack implements Lapack {
 
     @Override
     public INDArray getrf(INDArray A) {
+        // LAPACK works on buffers directly, so ops held back by executioner should be applied first
+        Nd4j.getExecutioner().push();
 
         int m = A.rows();
         int n = A.columns();
@@ -66,6 +68,7 @@ public abstract class BaseLapack implements Lapack {
 
     @Override
     public void potrf(INDArray A, boolean lower ) {
+        Nd4j.getExecutioner().push();
 
         byte uplo = (byte)(lower?'L':'U') ; // upper or lower part of the factor desired ?
         int n = A.columns();
@@ -109,6 +112,7 @@ public abstract class BaseLapack implements Lapack {
 
     @Override
     public void geqrf(INDArray A, INDArray R ) {
+        Nd4j.getExecutioner().push();
 
         int m = A.rows();
         int n = A.columns();
@@ -151,6 +155,7 @@ public abstract class BaseLapack implements Lapack {
 
     @Override
     public int syev( char jobz, char uplo, INDArray A, INDArray V ) {
+        Nd4j.getExecutioner().push();
 
         if( A.rows() != A.columns() ) {
             throw new Error( "syev: A must be square.") ;
@@ -190,6 +195,8 @@ public abstract class BaseLapack implements Lapack {
 
     @Override
     public void gesvd(INDArray A, INDArray S, INDArray U, INDArray VT) {
+        Nd4j.getExecutioner().push();
+
         int m = A.rows();
         int n = A.columns();
 
@@ -36,6 +36,9 @@ public abstract class BaseLevel1 extends BaseLevel implements Level1 {
         if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
             OpProfiler.getInstance().processBlasCall(false, X, Y);
 
+        // BLAS reads operands directly, so ops held back by executioner should be applied first
+        Nd4j.getExecutioner().push();
+
         if (X.data().dataType() == DataBuffer.Type.DOUBLE) {
             DefaultOpExecutioner.validateDataType(DataBuffer.Type.DOUBLE, X, Y);
             return ddot(n, X, BlasBufferUtil.getBlasStride(X), Y, BlasBufferUtil.getBlasStride(Y));
@@ -51,6 +54,7 @@ public abstract class BaseLevel1 extends BaseLevel implements Level1 {
     @Override
     public double dot(int n, DataBuffer x, int offsetX, int incrX, DataBuffer y, int offsetY, int incrY) {
         if (supportsDataBufferL1Ops()) {
+            Nd4j.getExecutioner().push();
             if (x.dataType() == DataBuffer.Type.FLOAT) {
                 return sdot(n, x, offsetX, incrX, y, offsetY, incrY);
             } else if (x.dataType() == DataBuffer.Type.DOUBLE) {
@@ -94,6 +98,8 @@ public abstract class BaseLevel1 extends BaseLevel implements Level1 {
         if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
             OpProfiler.getInstance().processBlasCall(false, arr);
 
+        Nd4j.getExecutioner().push();
+
         if (arr.data().dataType() == DataBuffer.Type.DOUBLE) {
             DefaultOpExecutioner.validateDataType(DataBuffer.Type.DOUBLE, arr);
             return dnrm2(arr.length(), arr, BlasBufferUtil.getBlasStride(arr));
@@ -126,6 +132,8 @@ public abstract class BaseLevel1 extends BaseLevel implements Level1 {
         if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
             OpProfiler.getInstance().processBlasCall(false, arr);
 
+        Nd4j.getExecutioner().push();
+
         if (arr.data().dataType() == DataBuffer.Type.DOUBLE) {
             DefaultOpExecutioner.validateDataType(DataBuffer.Type.DOUBLE, arr);
             return dasum(arr.length(), arr, BlasBufferUtil.getBlasStride(arr));
@@ -141,6 +149,7 @@ public abstract class BaseLevel1 extends BaseLevel implements Level1 {
     @Override
     public double asum(int n, DataBuffer x, int offsetX, int incrX) {
         if (supportsDataBufferL1Ops()) {
+            Nd4j.getExecutioner().push();
             if (x.dataType() == DataBuffer.Type.FLOAT) {
                 return sasum(n, x, offsetX, incrX);
             } else if (x.dataType() == DataBuffer.Type.DOUBLE) {
@@ -175,6 +184,8 @@ public abstract class BaseLevel1 extends BaseLevel implements Level1 {
         if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
             OpProfiler.getInstance().processBlasCall(false, arr);
 
+        Nd4j.getExecutioner().push();
+
         if (arr.data().dataType() == DataBuffer.Type.DOUBLE) {
             DefaultOpExecutioner.validateDataType(DataBuffer.Type.DOUBLE, arr);
             return idamax(n, arr, stride);
@@ -187,6 +198,7 @@ public abstract class BaseLevel1 extends BaseLevel implements Level1 {
     @Override
     public int iamax(int n, DataBuffer x, int offsetX, int incrX) {
         if (supportsDataBufferL1Ops()) {
+            Nd4j.getExecutioner().push();
             if (x.dataType() == DataBuffer.Type.FLOAT) {
                 return isamax(n, x, offsetX, incrX);
             } else {
@@ -212,6 +224,8 @@ public abstract class BaseLevel1 extends BaseLevel implements Level1 {
         if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
             OpProfiler.getInstance().processBlasCall(false, arr);
 
+        Nd4j.getExecutioner().push();
+
         if (arr.data().dataType() == DataBuffer.Type.DOUBLE) {
             DefaultOpExecutioner.validateDataType(DataBuffer.Type.DOUBLE, arr);
             return idamax(arr.length(), arr, BlasBufferUtil.getBlasStride(arr));
@@ -268,6 +282,8 @@ public abstract class BaseLevel1 extends BaseLevel implements Level1 {
         if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
             OpProfiler.getInstance().processBlasCall(false, x, y);
 
+        Nd4j.getExecutioner().push();
+
         if (x.data().dataType() == DataBuffer.Type.DOUBLE) {
             DefaultOpExecutioner.validateDataType(DataBuffer.Type.DOUBLE, x, y);
             dswap(x.length(), x, BlasBufferUtil.getBlasStride(x), y, BlasBufferUtil.getBlasStride(y));
@@ -300,6 +316,8 @@ public abstract class BaseLevel1 extends BaseLevel implements Level1 {
         if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
             OpProfiler.getInstance().processBlasCall(false, x, y);
 
+        Nd4j.getExecutioner().push();
+
         if (x.data().dataType() == DataBuffer.Type.DOUBLE) {
             DefaultOpExecutioner.validateDataType(DataBuffer.Type.DOUBLE, x, y);
             dcopy(x.length(), x, BlasBufferUtil.getBlasStride(x), y, BlasBufferUtil.getBlasStride(y));
@@ -314,6 +332,7 @@ public abstract class BaseLevel1 extends BaseLevel implements Level1 {
     @Override
     public void copy(int n, DataBuffer x, int offsetX, int incrX, DataBuffer y, int offsetY, int incrY) {
         if (supportsDataBufferL1Ops()) {
+            Nd4j.getExecutioner().push();
             if (x.dataType() == DataBuffer.Type.DOUBLE) {
                 dcopy(n, x, offsetX, incrX, y, offsetY, incrY);
             } else {
@@ -361,6 +380,8 @@ public abstract class BaseLevel1 extends BaseLevel implements Level1 {
         if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
             OpProfiler.getInstance().processBlasCall(false, x, y);
 
+        Nd4j.getExecutioner().push();
+
         if (x.data().dataType() == DataBuffer.Type.DOUBLE) {
             DefaultOpExecutioner.validateDataType(DataBuffer.Type.DOUBLE, x, y);
             daxpy(n, alpha, x, BlasBufferUtil.getBlasStride(x), y, BlasBufferUtil.getBlasStride(y));
@@ -376,6 +397,7 @@ public abstract class BaseLevel1 extends BaseLevel implements Level1 {
     @Override
     public void axpy(int n, double alpha, DataBuffer x, int offsetX, int incrX, DataBuffer y, int offsetY, int incrY) {
         if (supportsDataBufferL1Ops()) {
+            Nd4j.getExecutioner().push();
             if (x.dataType() == DataBuffer.Type.DOUBLE) {
                 daxpy(n, alpha, x, offsetX, incrX, y, offsetY, incrY);
             } else if (x.dataType() == DataBuffer.Type.FLOAT) {
@@ -437,6 +459,8 @@ public abstract class BaseLevel1 extends BaseLevel implements Level1 {
         if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
             OpProfiler.getInstance().processBlasCall(false, X, Y);
 
+        Nd4j.getExecutioner().push();
+
         if (X.data().dataType() == DataBuffer.Type.DOUBLE) {
             DefaultOpExecutioner.validateDataType(DataBuffer.Type.DOUBLE, X, Y);
             drot(N, X, BlasBufferUtil.getBlasStride(X), Y, BlasBufferUtil.getBlasStride(X), c, s);
@@ -501,6 +525,8 @@ public abstract class BaseLevel1 extends BaseLevel implements Level1 {
         if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
             OpProfiler.getInstance().processBlasCall(false, X);
 
+        Nd4j.getExecutioner().push();
+
         if (X.data().dataType() == DataBuffer.Type.DOUBLE)
             dscal(N, alpha, X, BlasBufferUtil.getBlasStride(X));
         else if (X.data().dataType() == DataBuffer.Type.FLOAT)
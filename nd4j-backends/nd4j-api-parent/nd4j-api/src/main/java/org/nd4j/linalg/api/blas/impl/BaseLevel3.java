@@ -16,6 +16,10 @@ import org.nd4j.linalg.factory.NDArrayFactory;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.profiler.OpProfiler;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Base class for level 3 functions, abstract headers pulled from:
  * http://www.netlib.org/blas/blast-forum/cblas.h
@@ -45,7 +49,12 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
         if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
             OpProfiler.getInstance().processBlasCall(true, A, B, C);
 
+        // BLAS reads operands directly, so ops held back by executioner should be applied first
+        Nd4j.getExecutioner().push();
+
         GemmParams params = new GemmParams(A, B, C);
+        if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
+            OpProfiler.getInstance().processBlasCopiesAvoided(params.getCopiesAvoided());
 
         int charOder = Order;
         if (A.data().dataType() == DataBuffer.Type.DOUBLE) {
@@ -73,7 +82,11 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
         if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
             OpProfiler.getInstance().processBlasCall(true, A, B, C);
 
+        Nd4j.getExecutioner().push();
+
         GemmParams params = new GemmParams(A, B, C, transposeA, transposeB);
+        if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
+            OpProfiler.getInstance().processBlasCopiesAvoided(params.getCopiesAvoided());
         if (A.data().dataType() == DataBuffer.Type.DOUBLE) {
             DefaultOpExecutioner.validateDataType(DataBuffer.Type.DOUBLE, params.getA(), params.getB(), C);
             dgemm(A.ordering(), params.getTransA(), params.getTransB(), params.getM(), params.getN(), params.getK(),
@@ -94,6 +107,108 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
         OpExecutionerUtil.checkForAny(C);
     }
 
+    /**{@inheritDoc}
+     */
+    @Override
+    public void gemmBatched(List<INDArray> A, List<INDArray> B, List<INDArray> C, boolean transposeA,
+                    boolean transposeB, double alpha, double beta) {
+        if (A.size() != B.size() || A.size() != C.size())
+            throw new IllegalArgumentException("Batches of A, B and C must have the same size: " + A.size() + ", "
+                            + B.size() + ", " + C.size());
+        if (A.isEmpty())
+            return;
+
+        Nd4j.getExecutioner().push();
+
+        DataBuffer.Type dataType = A.get(0).data().dataType();
+        boolean profiling = Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL;
+        List<GemmParams> batch = new ArrayList<>(A.size());
+        for (int i = 0; i < A.size(); i++) {
+            if (profiling)
+                OpProfiler.getInstance().processBlasCall(true, A.get(i), B.get(i), C.get(i));
+
+            DefaultOpExecutioner.validateDataType(dataType, A.get(i), B.get(i), C.get(i));
+            GemmParams params = batchParams(A.get(i), B.get(i), C.get(i), transposeA, transposeB);
+            if (profiling)
+                OpProfiler.getInstance().processBlasCopiesAvoided(params.getCopiesAvoided());
+
+            batch.add(params);
+        }
+
+        gemmBatched(dataType, batch, alpha, beta);
+
+        for (INDArray c : C)
+            OpExecutionerUtil.checkForAny(c);
+    }
+
+    /**{@inheritDoc}
+     */
+    @Override
+    public void gemmStridedBatched(INDArray A, INDArray B, INDArray C, boolean transposeA, boolean transposeB,
+                    double alpha, double beta) {
+        if (A.rank() != 3 || B.rank() != 3 || C.rank() != 3)
+            throw new IllegalArgumentException("A, B and C must be 3d arrays. Got ranks " + A.rank() + ", " + B.rank()
+                            + ", " + C.rank());
+        if (A.size(0) != B.size(0) || A.size(0) != C.size(0))
+            throw new IllegalArgumentException("A, B and C must have the same number of matrices: "
+                            + Arrays.toString(A.shape()) + ", " + Arrays.toString(B.shape()) + ", "
+                            + Arrays.toString(C.shape()));
+
+        int batchSize = A.size(0);
+        List<INDArray> a = new ArrayList<>(batchSize);
+        List<INDArray> b = new ArrayList<>(batchSize);
+        List<INDArray> c = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            a.add(A.tensorAlongDimension(i, 1, 2));
+            b.add(B.tensorAlongDimension(i, 1, 2));
+            c.add(C.tensorAlongDimension(i, 1, 2));
+        }
+
+        gemmBatched(a, b, c, transposeA, transposeB, alpha, beta);
+    }
+
+    /**
+     * Builds gemm parameters for a single product of the batch.
+     * BLAS writes C in f order, so c order C is computed as its transpose: C^T = op(B)^T*op(A)^T
+     */
+    protected GemmParams batchParams(INDArray a, INDArray b, INDArray c, boolean transposeA, boolean transposeB) {
+        if (c.ordering() == 'f' && c.stride(0) == 1 && c.stride(1) == c.size(0))
+            return new GemmParams(a, b, c, transposeA, transposeB);
+
+        if (c.ordering() == 'c' && c.stride(1) == 1 && c.stride(0) == c.size(1))
+            return new GemmParams(b, a, c.transpose(), !transposeB, !transposeA);
+
+        throw new IllegalArgumentException("Result matrices of batched gemm must be contiguous. Got shape "
+                        + Arrays.toString(c.shape()) + " and strides " + Arrays.toString(c.stride()));
+    }
+
+    /**
+     * Executes batch of products, one after another.
+     * Backends able to execute the whole batch at once should override this method.
+     *
+     * @param dataType data type of all operands
+     * @param batch    parameters of the products
+     * @param alpha
+     * @param beta
+     */
+    protected void gemmBatched(DataBuffer.Type dataType, List<GemmParams> batch, double alpha, double beta) {
+        for (GemmParams params : batch) {
+            if (dataType == DataBuffer.Type.DOUBLE) {
+                dgemm(params.getOrdering(), params.getTransA(), params.getTransB(), params.getM(), params.getN(), params.getK(), alpha,
+                                params.getA(), params.getLda(), params.getB(), params.getLdb(), beta, params.getC(),
+                                params.getLdc());
+            } else if (dataType == DataBuffer.Type.FLOAT) {
+                sgemm(params.getOrdering(), params.getTransA(), params.getTransB(), params.getM(), params.getN(), params.getK(),
+                                (float) alpha, params.getA(), params.getLda(), params.getB(), params.getLdb(),
+                                (float) beta, params.getC(), params.getLdc());
+            } else {
+                hgemm(params.getOrdering(), params.getTransA(), params.getTransB(), params.getM(), params.getN(), params.getK(),
+                                (float) alpha, params.getA(), params.getLda(), params.getB(), params.getLdb(),
+                                (float) beta, params.getC(), params.getLdc());
+            }
+        }
+    }
+
 
     /**
      * her2k performs a rank-2k update of an n-by-n Hermitian matrix c, that is, one of the following operations:
@@ -116,6 +231,8 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
         if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
             OpProfiler.getInstance().processBlasCall(false, A, B, C);
 
+        Nd4j.getExecutioner().push();
+
         if (A.data().dataType() == DataBuffer.Type.DOUBLE) {
             DefaultOpExecutioner.validateDataType(DataBuffer.Type.DOUBLE, A, B, C);
             dsymm(Order, Side, Uplo, C.rows(), C.columns(), alpha, A, A.size(0), B, B.size(0), beta, C, C.size(0));
@@ -148,6 +265,8 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
         if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
             OpProfiler.getInstance().processBlasCall(false, A, C);
 
+        Nd4j.getExecutioner().push();
+
         if (A.data().dataType() == DataBuffer.Type.DOUBLE) {
             DefaultOpExecutioner.validateDataType(DataBuffer.Type.DOUBLE, A, C);
             dsyrk(Order, Uplo, Trans, C.rows(), 1, alpha, A, A.size(0), beta, C, C.size(0));
@@ -181,6 +300,8 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
         if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
             OpProfiler.getInstance().processBlasCall(false, A, B, C);
 
+        Nd4j.getExecutioner().push();
+
         if (A.data().dataType() == DataBuffer.Type.DOUBLE) {
             DefaultOpExecutioner.validateDataType(DataBuffer.Type.DOUBLE, A, B, C);
             dsyr2k(Order, Uplo, Trans, A.rows(), A.columns(), alpha, A, A.size(0), B, B.size(0), beta, C, C.size(0));
@@ -216,6 +337,8 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
         if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
             OpProfiler.getInstance().processBlasCall(false, A, B, C);
 
+        Nd4j.getExecutioner().push();
+
         if (A.data().dataType() == DataBuffer.Type.DOUBLE) {
             DefaultOpExecutioner.validateDataType(DataBuffer.Type.DOUBLE, A, B, C);
             dtrmm(Order, Side, Uplo, TransA, Diag, A.rows(), A.columns(), alpha, A, A.size(0), B, B.size(0));
@@ -249,6 +372,8 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
         if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
             OpProfiler.getInstance().processBlasCall(false, A, B);
 
+        Nd4j.getExecutioner().push();
+
         if (A.data().dataType() == DataBuffer.Type.DOUBLE) {
             DefaultOpExecutioner.validateDataType(DataBuffer.Type.DOUBLE, A, B);
             dtrsm(Order, Side, Uplo, TransA, Diag, A.rows(), A.columns(), alpha, A, A.size(0), B, B.size(0));
@@ -281,6 +406,8 @@ public abstract class BaseLevel3 extends BaseLevel implements Level3 {
         if (Nd4j.getExecutioner().getProfilingMode() == OpExecutioner.ProfilingMode.ALL)
             OpProfiler.getInstance().processBlasCall(true, A, B, C);
 
+        Nd4j.getExecutioner().push();
+
         GemmParams params = new GemmParams(A, B, C);
 
         if (A.data().dataType() == DataBuffer.Type.DOUBLE) {
@@ -19,6 +19,8 @@ public @Data class GemmParams {
     private char transA = 'N';
     private char transB = 'N';
     private char ordering = 'f';
+    //number of operands used in place, which would have been copied for being non contiguous or in mixed order
+    private int copiesAvoided = 0;
 
 
     /**
@@ -76,7 +78,6 @@ public @Data class GemmParams {
                 //multiple backends force us to be
                 //in fortran ordering only
                 this.a = copyIfNeccessary(a);
-                this.b = b.dup(a.ordering());
                 this.c = c;
 
                 this.m = c.rows();
@@ -86,11 +87,21 @@ public @Data class GemmParams {
                 this.ordering = a.ordering();
 
                 this.lda = a.rows();
-                this.ldb = b.rows();
                 this.ldc = c.rows();
 
                 this.transA = 'N';
-                this.transB = 'N';
+
+                //b in the other order is its own transpose in a's order: flip the flag instead of copying
+                if (isContiguous(b)) {
+                    this.b = b;
+                    this.ldb = (ordering == 'f' ? b.columns() : b.rows());
+                    this.transB = 'T';
+                    this.copiesAvoided++;
+                } else {
+                    this.b = b.dup(a.ordering());
+                    this.ldb = b.rows();
+                    this.transB = 'N';
+                }
             }
 
 
@@ -98,21 +109,22 @@ public @Data class GemmParams {
             //automatically assume fortran ordering
             //multiple backends force us to be
             //in fortran ordering only
-            this.a = copyIfNeccessary(a);
-            this.b = copyIfNeccessary(b);
+            //strided views (i.e. row/column slices of bigger matrices) are passed as is, via leading dimension
+            this.a = copyIfNotBlasCompatible(a);
+            this.b = copyIfNotBlasCompatible(b);
             this.c = c;
 
             this.m = c.rows();
             this.n = c.columns();
             this.k = a.columns();
 
-            //always fortran ordering
-            this.lda = (this.a.ordering() == 'f' ? this.a.rows() : this.a.columns()); //Leading dimension of a, as declared. But swap if 'c' order
-            this.ldb = (this.b.ordering() == 'f' ? this.b.rows() : this.b.columns()); //Leading dimension of b, as declared. But swap if 'c' order
-            this.ldc = c.rows();
+            //always fortran ordering: row major operands are passed as transposed column major ones
+            this.lda = leadingDimension(this.a);
+            this.ldb = leadingDimension(this.b);
+            this.ldc = (c.rank() == 2 && c.columns() > 1 && c.stride(0) == 1 ? c.stride(1) : c.rows());
 
-            this.transA = (this.a.ordering() == 'c' ? 'T' : 'N');
-            this.transB = (this.b.ordering() == 'c' ? 'T' : 'N');
+            this.transA = (isRowMajor(this.a) ? 'T' : 'N');
+            this.transB = (isRowMajor(this.b) ? 'T' : 'N');
 
         }
 
@@ -126,6 +138,10 @@ public @Data class GemmParams {
 
 
     private INDArray copyIfNeccessary(INDArray arr) {
+        return isContiguous(arr) ? arr : arr.dup();
+    }
+
+    private boolean isContiguous(INDArray arr) {
         //See also: Shape.toMmulCompatible - want same conditions here and there
         if (arr.isMatrix()) {
             //Check if matrix values are contiguous in memory. If not: dup
@@ -133,13 +149,62 @@ public @Data class GemmParams {
             //Contiguous for f if: stride[0] == 1 and stride[1] == shape[0]
             if (!Nd4j.allowsSpecifyOrdering() && arr.ordering() == 'c'
                             && (arr.stride(0) != arr.size(1) || arr.stride(1) != 1))
-                return arr.dup();
+                return false;
             else if (arr.ordering() == 'f' && (arr.stride(0) != 1 || arr.stride(1) != arr.size(0)))
-                return arr.dup();
+                return false;
             else if (arr.elementWiseStride() < 0)
-                return arr.dup();
+                return false;
         }
-        return arr;
+        return true;
+    }
+
+    /**
+     * Blas only needs unit stride along one dimension:
+     * the stride along the other one is passed as the leading dimension.
+     * Anything else is copied.
+     */
+    private INDArray copyIfNotBlasCompatible(INDArray arr) {
+        if (arr.rank() != 2)
+            return copyIfNeccessary(arr);
+
+        if (isColumnMajor(arr) || isRowMajor(arr)) {
+            if (!isContiguous(arr))
+                copiesAvoided++;
+            return arr;
+        }
+
+        return arr.dup();
+    }
+
+    /**
+     * Unit stride along rows, and leading dimension no less than number of rows
+     */
+    private static boolean isColumnMajor(INDArray arr) {
+        return arr.rank() == 2 && (arr.size(0) == 1 || arr.stride(0) == 1)
+                        && (arr.size(1) == 1 || arr.stride(1) >= arr.size(0));
+    }
+
+    /**
+     * Unit stride along columns, and leading dimension no less than number of columns.
+     * Matrices laid out both ways (i.e. vectors) are treated according to their ordering
+     */
+    private static boolean isRowMajor(INDArray arr) {
+        if (arr.rank() != 2)
+            return arr.ordering() == 'c';
+
+        boolean rowMajor = (arr.size(1) == 1 || arr.stride(1) == 1)
+                        && (arr.size(0) == 1 || arr.stride(0) >= arr.size(1));
+        return rowMajor && (arr.ordering() == 'c' || !isColumnMajor(arr));
+    }
+
+    private static int leadingDimension(INDArray arr) {
+        if (arr.rank() != 2)
+            return arr.ordering() == 'f' ? arr.rows() : arr.columns();
+
+        if (isRowMajor(arr))
+            return arr.size(0) == 1 ? Math.max(1, arr.size(1)) : arr.stride(0);
+        else
+            return arr.size(1) == 1 ? Math.max(1, arr.size(0)) : arr.stride(1);
     }
 
 
@@ -0,0 +1,147 @@
+package org.nd4j.linalg.api.iter;
+
+import org.nd4j.linalg.util.ArrayUtil;
+
+/**
+ * Allocation free counterpart of {@link NdIndexIterator}:
+ * iterates over all indexes of a particular shape,
+ * updating a single coordinate array in place.
+ *
+ * Coordinates are incremented odometer style: the fastest changing
+ * dimension is the last one for c ordering, and the first one for f ordering,
+ * and carries propagate to the neighbouring dimension.
+ *
+ * Typical use:
+ * <pre>
+ * NdIndexCursor cursor = new NdIndexCursor('c', arr.shape());
+ * while (cursor.advance())
+ *     arr.putScalar(cursor.index(), 0.0);
+ * </pre>
+ *
+ * The array returned by {@link #index()} is reused,
+ * so it must be copied if it has to outlive the next call of {@link #advance()}.
+ * Instances aren't thread safe.
+ */
+public class NdIndexCursor {
+    private final int[] shape;
+    private final int[] index;
+    private final char order;
+    private final long length;
+    private long position = -1;
+
+    /**
+     * Pass in the shape to iterate over.
+     * Defaults to c ordering
+     * @param shape the shape to iterate over
+     */
+    public NdIndexCursor(int... shape) {
+        this('c', shape);
+    }
+
+    /**
+     * Pass in the shape to iterate over
+     * @param order the order of iteration, c or f
+     * @param shape the shape to iterate over
+     */
+    public NdIndexCursor(char order, int... shape) {
+        if (order != 'c' && order != 'f')
+            throw new IllegalArgumentException("Illegal ordering " + order);
+
+        this.shape = ArrayUtil.copy(shape);
+        this.index = new int[shape.length];
+        this.order = order;
+        this.length = ArrayUtil.prodLong(shape);
+    }
+
+    /**
+     * Moves to the next index
+     * @return false if there are no more indexes, true otherwise
+     */
+    public boolean advance() {
+        if (position + 1 >= length)
+            return false;
+
+        if (position++ < 0)
+            return true;
+
+        if (order == 'c') {
+            for (int i = index.length - 1; i >= 0; i--) {
+                if (++index[i] < shape[i])
+                    break;
+                index[i] = 0;
+            }
+        } else {
+            for (int i = 0; i < index.length; i++) {
+                if (++index[i] < shape[i])
+                    break;
+                index[i] = 0;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns true if {@link #advance()} will move to a valid index
+     */
+    public boolean hasNext() {
+        return position + 1 < length;
+    }
+
+    /**
+     * Returns the current coordinates.
+     * The same array is updated in place on every {@link #advance()}
+     */
+    public int[] index() {
+        return index;
+    }
+
+    /**
+     * Returns the linear index of the current coordinates, in the order of iteration
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * Returns the number of indexes to iterate over
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Moves the cursor to the given linear index, in the order of iteration.
+     * {@link #index()} returns its coordinates right away
+     *
+     * @param position the linear index to move to
+     */
+    public void moveTo(long position) {
+        if (position < 0 || position >= length)
+            throw new IllegalArgumentException("Position " + position + " is out of range for length " + length);
+
+        long remainder = position;
+        if (order == 'c') {
+            for (int i = index.length - 1; i >= 0; i--) {
+                index[i] = (int) (remainder % shape[i]);
+                remainder /= shape[i];
+            }
+        } else {
+            for (int i = 0; i < index.length; i++) {
+                index[i] = (int) (remainder % shape[i]);
+                remainder /= shape[i];
+            }
+        }
+
+        this.position = position;
+    }
+
+    /**
+     * Moves the cursor back before the first index
+     */
+    public void reset() {
+        position = -1;
+        for (int i = 0; i < index.length; i++)
+            index[i] = 0;
+    }
+}
@@ -1,12 +1,12 @@
 package org.nd4j.linalg.api.iter;
 
-import org.apache.commons.math3.util.Pair;
-import org.nd4j.linalg.api.shape.Shape;
+import org.nd4j.linalg.cache.BoundedCache;
+import org.nd4j.linalg.cache.CacheStatistics;
 import org.nd4j.linalg.util.ArrayUtil;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.NoSuchElementException;
 
 /**
  * Iterates and returns int arrays
@@ -16,16 +16,28 @@ import java.util.Map;
  * the shape until each item in the "position"
  * hits the current shape
  *
+ * Each call of next() returns a new array:
+ * use {@link NdIndexCursor} to iterate without allocations.
+ *
  * @author Adam Gibson
  */
 public class NdIndexIterator implements Iterator<int[]> {
+    /**
+     * System property with lookup cache budget, in bytes of cached indexes
+     */
+    public static final String CACHE_SIZE_PROPERTY = "org.nd4j.iter.lookup.cache.bytes";
+    public static final long DEFAULT_CACHE_SIZE = 16 * 1024 * 1024L;
+
+    private static volatile BoundedCache<LookupKey, LinearIndexLookup> lookupCache = new BoundedCache<>(
+                    Long.parseLong(System.getProperty(CACHE_SIZE_PROPERTY, String.valueOf(DEFAULT_CACHE_SIZE))));
+
     private int length = -1;
     private int i = 0;
     private int[] shape;
     private char order = 'c';
     private boolean cache = false;
-    private static Map<Pair<int[], Character>, LinearIndexLookup> lookupMap = new HashMap<>();
     private LinearIndexLookup lookup;
+    private NdIndexCursor cursor;
 
 
     /**
@@ -49,19 +61,19 @@ public class NdIndexIterator implements Iterator<int[]> {
         this.order = order;
         this.cache = cache;
         if (this.cache) {
-            LinearIndexLookup lookup = lookupMap.get(new Pair<>(shape, order));
+            LookupKey key = new LookupKey(this.shape, order);
+            LinearIndexLookup lookup = lookupCache.get(key);
             if (lookup == null) {
-                lookup = new LinearIndexLookup(shape, order);
-                //warm up the cache
+                lookup = new LinearIndexLookup(this.shape, order);
+                //warm up the cache: lookups are only read once they're shared
                 for (int i = 0; i < length; i++) {
                     lookup.lookup(i);
                 }
-                lookupMap.put(new Pair<>(shape, order), lookup);
-                this.lookup = lookup;
-            } else {
-                this.lookup = lookupMap.get(new Pair<>(shape, order));
+                lookup = lookupCache.putIfAbsent(key, lookup, lookupWeight(this.shape));
             }
-
+            this.lookup = lookup;
+        } else {
+            this.cursor = new NdIndexCursor(order, this.shape);
         }
     }
 
@@ -82,17 +94,15 @@ public class NdIndexIterator implements Iterator<int[]> {
 
     @Override
     public int[] next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
         if (lookup != null)
             return lookup.lookup(i++);
-        switch (order) {
-            case 'c':
-                return Shape.ind2subC(shape, i++);
-            case 'f':
-                return Shape.ind2sub(shape, i++);
-            default:
-                throw new IllegalArgumentException("Illegal ordering " + order);
-        }
 
+        i++;
+        cursor.advance();
+        return ArrayUtil.copy(cursor.index());
     }
 
 
@@ -102,4 +112,57 @@ public class NdIndexIterator implements Iterator<int[]> {
 
     }
 
+    /**
+     * This method replaces the shared lookup cache with the new one, using specified budget
+     *
+     * @param maxCacheBytes lookup cache budget, in bytes of cached indexes
+     */
+    public static void setMaxCacheSize(long maxCacheBytes) {
+        lookupCache = new BoundedCache<>(maxCacheBytes);
+    }
+
+    /**
+     * This method returns hit/miss/eviction counters of the shared lookup cache.
+     * Weights are reported in bytes.
+     *
+     * @return
+     */
+    public static CacheStatistics getCacheStatistics() {
+        return lookupCache.getStatistics();
+    }
+
+    private static long lookupWeight(int[] shape) {
+        // one int[rank] per index, plus array header
+        return ArrayUtil.prodLong(shape) * (4L * shape.length + 16);
+    }
+
+    /**
+     * Lookup cache key: compares shapes by value
+     */
+    private static class LookupKey {
+        private final int[] shape;
+        private final char order;
+
+        private LookupKey(int[] shape, char order) {
+            this.shape = shape;
+            this.order = order;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+
+            LookupKey that = (LookupKey) o;
+            return order == that.order && Arrays.equals(shape, that.shape);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(shape) + order;
+        }
+    }
+
 }
@@ -23,12 +23,16 @@ package org.nd4j.linalg.api.ndarray;
 import com.google.common.primitives.Ints;
 import net.ericaro.neoitertools.Generator;
 import org.apache.commons.math3.util.Pair;
+import org.bytedeco.javacpp.DoublePointer;
 import org.nd4j.linalg.api.blas.BlasBufferUtil;
+import org.nd4j.linalg.api.buffer.BaseDataBuffer;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
+import org.nd4j.linalg.api.concurrency.AffinityManager;
 import org.nd4j.linalg.api.instrumentation.Instrumentation;
 import org.nd4j.linalg.api.iter.FirstAxisIterator;
+import org.nd4j.linalg.api.iter.NdIndexCursor;
 import org.nd4j.linalg.api.memory.MemoryWorkspace;
 import org.nd4j.linalg.api.ops.executioner.OpExecutioner;
 import org.nd4j.linalg.api.ops.impl.accum.*;
@@ -1221,10 +1225,21 @@ public abstract class BaseNDArray implements INDArray, Iterable {
             if (Nd4j.getExecutioner().getProfilingMode() != OpExecutioner.ProfilingMode.DISABLED)
                 OpProfiler.getInstance().processScalarCall();
 
+            beforeHostWrite();
             data.put(i, value);
             return this;
         }
 
+        int ews = elementWiseStride();
+        if (ews > 0 && i >= 0 && i < length()) {
+            if (Nd4j.getExecutioner().getProfilingMode() != OpExecutioner.ProfilingMode.DISABLED)
+                OpProfiler.getInstance().processScalarCall();
+
+            beforeHostWrite();
+            data.put((long) i * ews, value);
+            return this;
+        }
+
         if (isRowVector()) {
             return putScalar(0, i, value);
         } else if (isColumnVector()) {
@@ -1266,6 +1281,7 @@ public abstract class BaseNDArray implements INDArray, Iterable {
                 OpProfiler.getInstance().processScalarCall();
 
             long offset = Shape.getOffset(shapeInformation, indexes);
+            beforeHostWrite();
             data.put(offset, value);
         }
         return this;
@@ -1279,6 +1295,7 @@ public abstract class BaseNDArray implements INDArray, Iterable {
         if (rank != 2)
             throw new IllegalStateException("Cannot use putScalar(int,int,double) on a rank " + rank + " INDArray");
         long offset = Shape.getOffsetUnsafe(shapeInformation, row, col);
+        beforeHostWrite();
         data.put(offset, value);
         return this;
     }
@@ -1302,6 +1319,7 @@ public abstract class BaseNDArray implements INDArray, Iterable {
         if (size_2 != 1)
             offset += dim2 * javaShapeInformation[1 + 2 + 3];
 
+        beforeHostWrite();
         data.put(offset, value);
         return this;
     }
@@ -1315,6 +1333,7 @@ public abstract class BaseNDArray implements INDArray, Iterable {
             throw new IllegalStateException(
                             "Cannot use putScalar(int,int,int,int,double) on a rank " + rank + " INDArray");
         long offset = Shape.getOffsetUnsafe(shapeInformation, dim0, dim1, dim2, dim3);
+        beforeHostWrite();
         data.put(offset, value);
         return this;
     }
@@ -1635,6 +1654,8 @@ public abstract class BaseNDArray implements INDArray, Iterable {
             ret.markAsCompressed(true);
             return ret;
         }
+        // ops still held back by executioner might be writing into this array
+        Nd4j.getExecutioner().push();
         Nd4j.getCompressor().autoDecompress(this);
         INDArray ret = Shape.toOffsetZeroCopy(this);
         return ret;
@@ -1647,6 +1668,8 @@ public abstract class BaseNDArray implements INDArray, Iterable {
             ret.markAsCompressed(true);
             return ret;
         }
+        // ops still held back by executioner might be writing into this array
+        Nd4j.getExecutioner().push();
         Nd4j.getCompressor().autoDecompress(this);
         return Shape.toOffsetZeroCopy(this, order);
     }
@@ -1674,6 +1697,7 @@ public abstract class BaseNDArray implements INDArray, Iterable {
         if (Nd4j.getExecutioner().getProfilingMode() != OpExecutioner.ProfilingMode.DISABLED)
             OpProfiler.getInstance().processScalarCall();
 
+        Nd4j.getExecutioner().push();
         Nd4j.getCompressor().autoDecompress(this);
 
         for (int i = 0; i < indices.length; i++) {
@@ -1737,6 +1761,7 @@ public abstract class BaseNDArray implements INDArray, Iterable {
 
         if (!element.isScalar())
             throw new IllegalArgumentException("Unable to insert anything but a scalar");
+        beforeHostWrite();
         if (isRowVector() && indices[0] == 0 && indices.length == 2) {
             int ix = Shape.offset(shapeInformation);
             for (int i = 1; i < indices.length; i++)
@@ -3533,16 +3558,106 @@ public abstract class BaseNDArray implements INDArray, Iterable {
         if (Nd4j.getExecutioner().getProfilingMode() != OpExecutioner.ProfilingMode.DISABLED)
             OpProfiler.getInstance().processScalarCall();
 
-        Nd4j.getCompressor().autoDecompress(this);
+        Nd4j.getExecutioner().push();
+        if (isCompressed())
+            Nd4j.getCompressor().autoDecompress(this);
 
 
         if (i == 0)
             return data().getDouble(i);
 
+        // elements are laid out with constant stride in our own order: linear index maps to offset directly
+        int ews = elementWiseStride();
+        if (ews > 0)
+            return data().getDouble((long) i * ews);
+
         int[] dimensions = ordering() == 'c' ? Shape.ind2subC(this, i) : Shape.ind2sub(this, i);
         Shape.assertShapeLessThan(dimensions, shape());
-        return getDouble(dimensions);
+        return Shape.getDouble(this, dimensions);
+
+    }
+
+    @Override
+    public double[] getDoubles(int from, double[] dst) {
+        checkLinearRange(from, dst.length);
+        if (dst.length == 0)
+            return dst;
+
+        if (Nd4j.getExecutioner().getProfilingMode() != OpExecutioner.ProfilingMode.DISABLED)
+            OpProfiler.getInstance().processScalarCall();
+
+        Nd4j.getExecutioner().push();
+        if (isCompressed())
+            Nd4j.getCompressor().autoDecompress(this);
+
+        DataBuffer buffer = data();
+        int ews = elementWiseStride();
+        if (ews == 1 && buffer.dataType() == DataBuffer.Type.DOUBLE) {
+            Nd4j.getAffinityManager().ensureLocation(this, AffinityManager.Location.HOST);
+            new DoublePointer(buffer.addressPointer()).position(from).get(dst, 0, dst.length);
+        } else if (ews > 0) {
+            for (int e = 0; e < dst.length; e++)
+                dst[e] = buffer.getDouble((long) (from + e) * ews);
+        } else {
+            NdIndexCursor cursor = new NdIndexCursor(ordering(), shape());
+            cursor.moveTo(from);
+            for (int e = 0; e < dst.length; e++) {
+                if (e > 0)
+                    cursor.advance();
+                dst[e] = buffer.getDouble(Shape.getOffset(shapeInfoDataBuffer(), cursor.index()));
+            }
+        }
+
+        return dst;
+    }
+
+    @Override
+    public INDArray putDoubles(int from, double[] src) {
+        checkLinearRange(from, src.length);
+        if (src.length == 0)
+            return this;
+
+        if (Nd4j.getExecutioner().getProfilingMode() != OpExecutioner.ProfilingMode.DISABLED)
+            OpProfiler.getInstance().processScalarCall();
+
+        Nd4j.getExecutioner().push();
+        if (isCompressed())
+            Nd4j.getCompressor().autoDecompress(this);
+
+        DataBuffer buffer = data();
+        int ews = elementWiseStride();
+        if (ews == 1 && buffer.dataType() == DataBuffer.Type.DOUBLE) {
+            Nd4j.getAffinityManager().ensureLocation(this, AffinityManager.Location.HOST);
+            new DoublePointer(buffer.addressPointer()).position(from).put(src, 0, src.length);
+            Nd4j.getAffinityManager().tagLocation(this, AffinityManager.Location.HOST);
+        } else if (ews > 0) {
+            for (int e = 0; e < src.length; e++)
+                buffer.put((long) (from + e) * ews, src[e]);
+        } else {
+            NdIndexCursor cursor = new NdIndexCursor(ordering(), shape());
+            cursor.moveTo(from);
+            for (int e = 0; e < src.length; e++) {
+                if (e > 0)
+                    cursor.advance();
+                buffer.put(Shape.getOffset(shapeInfoDataBuffer(), cursor.index()), src[e]);
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Ops still held back by executioner might read or write this array, so they are applied before it's modified
+     * on host side. Otherwise held op would run after the write and overwrite it.
+     */
+    private void beforeHostWrite() {
+        BaseDataBuffer.beforeHostWrite(data);
+    }
 
+    private void checkLinearRange(int from, int count) {
+        if (from < 0 || count < 0 || (long) from + count > length())
+            throw new IllegalArgumentException("Unable to access linear indexes [" + from + ", " + ((long) from + count)
+                            + ") of array with length " + length());
     }
 
     @Override
@@ -3645,6 +3760,7 @@ public abstract class BaseNDArray implements INDArray, Iterable {
         if (Nd4j.getExecutioner().getProfilingMode() != OpExecutioner.ProfilingMode.DISABLED)
             OpProfiler.getInstance().processScalarCall();
 
+        beforeHostWrite();
         data().put(offset, value);
         return this;
     }
@@ -2,6 +2,7 @@ package org.nd4j.linalg.api.ndarray;
 
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.shape.Shape;
+import org.nd4j.linalg.cache.CacheStatistics;
 import org.nd4j.linalg.factory.Nd4j;
 
 /**
@@ -44,4 +45,9 @@ public abstract class BaseShapeInfoProvider implements ShapeInfoProvider {
         buffer.setConstant(true);
         return buffer;
     }
+
+    @Override
+    public CacheStatistics getCacheStatistics() {
+        return null;
+    }
 }
@@ -1748,6 +1748,26 @@ public interface INDArray extends Serializable {
      */
     double getDouble(int i);
 
+    /**
+     * Copies consecutive elements, starting at the given linear index, into the given array.
+     * Linear indexes follow the order of this array, same as {@link #getDouble(int)}
+     *
+     * @param from the linear index of the first element to copy
+     * @param dst  the array to copy into: dst.length elements are copied
+     * @return dst
+     */
+    double[] getDoubles(int from, double[] dst);
+
+    /**
+     * Copies the given values into consecutive elements, starting at the given linear index.
+     * Linear indexes follow the order of this array, same as {@link #putScalar(int, double)}
+     *
+     * @param from the linear index of the first element to overwrite
+     * @param src  the values to copy: src.length elements are overwritten
+     * @return this
+     */
+    INDArray putDoubles(int from, double[] src);
+
     /**
      *
      * @param i
@@ -1,6 +1,7 @@
 package org.nd4j.linalg.api.ndarray;
 
 import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.cache.CacheStatistics;
 
 /**
  * @author raver119@gmail.com
@@ -31,4 +32,11 @@ public interface ShapeInfoProvider {
      * This method forces cache purge, if cache is available for specific implementation
      */
     void purgeCache();
+
+    /**
+     * This method returns hit/miss/eviction counters of shape cache, if cache is available for specific implementation
+     *
+     * @return cache counters, or null if this implementation doesn't cache shape buffers
+     */
+    CacheStatistics getCacheStatistics();
 }
@@ -26,13 +26,11 @@ import org.apache.commons.math3.exception.NumberIsTooLargeException;
 import org.apache.commons.math3.exception.OutOfRangeException;
 import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.util.FastMath;
-import org.nd4j.linalg.api.iter.NdIndexIterator;
+import org.nd4j.linalg.api.iter.NdIndexCursor;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.api.rng.Random;
 import org.nd4j.linalg.factory.Nd4j;
 
-import java.util.Iterator;
-
 /**
  * Base distribution derived from apache commons math
  * http://commons.apache.org/proper/commons-math/
@@ -253,10 +251,9 @@ public abstract class BaseDistribution implements Distribution {
     @Override
     public INDArray sample(int[] shape) {
         INDArray ret = Nd4j.create(shape);
-        Iterator<int[]> idxIter = new NdIndexIterator(shape); //For consistent values irrespective of c vs. fortran ordering
-        int len = ret.length();
-        for (int i = 0; i < len; i++) {
-            ret.putScalar(idxIter.next(), sample());
+        NdIndexCursor idxIter = new NdIndexCursor(shape); //For consistent values irrespective of c vs. fortran ordering
+        while (idxIter.advance()) {
+            ret.putScalar(idxIter.index(), sample());
         }
         return ret;
     }
@@ -26,14 +26,12 @@ import org.apache.commons.math3.exception.util.LocalizedFormats;
 import org.apache.commons.math3.random.RandomGenerator;
 import org.apache.commons.math3.special.Beta;
 import org.apache.commons.math3.util.FastMath;
-import org.nd4j.linalg.api.iter.NdIndexIterator;
+import org.nd4j.linalg.api.iter.NdIndexCursor;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.api.rng.Random;
 import org.nd4j.linalg.api.rng.distribution.BaseDistribution;
 import org.nd4j.linalg.factory.Nd4j;
 
-import java.util.Iterator;
-
 /**
  * Base distribution derived from apache commons math
  * http://commons.apache.org/proper/commons-math/
@@ -264,11 +262,10 @@ public class BinomialDistribution extends BaseDistribution {
             }
         } else {
             INDArray ret = Nd4j.createUninitialized(shape, Nd4j.order());
-            Iterator<int[]> idxIter = new NdIndexIterator(shape); //For consistent values irrespective of c vs. fortran ordering
-            int len = ret.length();
+            NdIndexCursor idxIter = new NdIndexCursor(shape); //For consistent values irrespective of c vs. fortran ordering
             if (p != null) {
-                for (int i = 0; i < len; i++) {
-                    int[] idx = idxIter.next();
+                while (idxIter.advance()) {
+                    int[] idx = idxIter.index();
                     org.apache.commons.math3.distribution.BinomialDistribution binomialDistribution =
                                     new org.apache.commons.math3.distribution.BinomialDistribution(
                                                     (RandomGenerator) Nd4j.getRandom(), numberOfTrials,
@@ -280,8 +277,8 @@ public class BinomialDistribution extends BaseDistribution {
                                 new org.apache.commons.math3.distribution.BinomialDistribution(
                                                 (RandomGenerator) Nd4j.getRandom(), numberOfTrials,
                                                 probabilityOfSuccess);
-                for (int i = 0; i < len; i++) {
-                    ret.putScalar(idxIter.next(), binomialDistribution.sample());
+                while (idxIter.advance()) {
+                    ret.putScalar(idxIter.index(), binomialDistribution.sample());
                 }
             }
             return ret;
@@ -18,25 +18,94 @@ public class ArrayDescriptor {
     }
 
     private DTYPE dtype;
+    private int hash;
+
+    /**
+     * Creates empty descriptor, meant to be used as reusable lookup probe via assign() methods,
+     * so cache lookups don't allocate new descriptor on each call.
+     *
+     * PLEASE NOTE: probe descriptors reference caller's array, and must never be stored as map keys.
+     */
+    public ArrayDescriptor() {
+        //
+    }
 
     public ArrayDescriptor(int[] array) {
+        assign(array);
+    }
+
+    public ArrayDescriptor(float[] array) {
+        assign(array);
+    }
+
+    public ArrayDescriptor(double[] array) {
+        assign(array);
+    }
+
+    public ArrayDescriptor(long[] array) {
+        assign(array);
+    }
+
+    public ArrayDescriptor assign(int[] array) {
+        reset();
         this.intArray = array;
         this.dtype = DTYPE.INT;
+        this.hash = computeHashCode();
+        return this;
     }
 
-    public ArrayDescriptor(float[] array) {
+    public ArrayDescriptor assign(float[] array) {
+        reset();
         this.floatArray = array;
         this.dtype = DTYPE.FLOAT;
+        this.hash = computeHashCode();
+        return this;
     }
 
-    public ArrayDescriptor(double[] array) {
+    public ArrayDescriptor assign(double[] array) {
+        reset();
         this.doubleArray = array;
         this.dtype = DTYPE.DOUBLE;
+        this.hash = computeHashCode();
+        return this;
     }
 
-    public ArrayDescriptor(long[] array) {
+    public ArrayDescriptor assign(long[] array) {
+        reset();
         this.longArray = array;
         this.dtype = DTYPE.LONG;
+        this.hash = computeHashCode();
+        return this;
+    }
+
+    /**
+     * This method releases referenced array
+     */
+    public void reset() {
+        intArray = null;
+        floatArray = null;
+        doubleArray = null;
+        longArray = null;
+        dtype = null;
+        hash = 0;
+    }
+
+    /**
+     * This method returns size of described array, in bytes
+     *
+     * @return
+     */
+    public long sizeInBytes() {
+        if (intArray != null)
+            return intArray.length * 4L;
+        else if (floatArray != null)
+            return floatArray.length * 4L;
+        else if (doubleArray != null)
+            return doubleArray.length * 8L;
+        else if (longArray != null)
+            return longArray.length * 8L;
+        else
+            return 0L;
     }
 
     @Override
@@ -66,6 +135,10 @@ public class ArrayDescriptor {
 
     @Override
     public int hashCode() {
+        return hash;
+    }
+
+    private int computeHashCode() {
         if (intArray != null) {
             return intArray.getClass().hashCode() + 31 * Arrays.hashCode(intArray);
         } else if (floatArray != null) {
@@ -18,4 +18,9 @@ public abstract class BasicConstantHandler implements ConstantHandler {
     public DataBuffer relocateConstantSpace(DataBuffer dataBuffer) {
         return dataBuffer;
     }
+
+    @Override
+    public CacheStatistics getCacheStatistics() {
+        return null;
+    }
 }
@@ -0,0 +1,244 @@
+package org.nd4j.linalg.cache;
+
+import lombok.NonNull;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded LRU cache.
+ *
+ * Keys are spread over independently locked stripes, so concurrent lookups of different keys rarely contend.
+ * Each stripe keeps its own LRU order and gets an equal share of the total weight budget,
+ * and least recently used entries of a stripe are evicted once that share is exceeded.
+ *
+ * Weight of each entry is provided by the caller, so the same class serves both count-bounded caches (weight 1 per entry)
+ * and byte-bounded caches (weight = size of the cached buffers).
+ *
+ * @param <K> key type, must have proper equals()/hashCode()
+ * @param <V> value type
+ */
+public class BoundedCache<K, V> {
+    private static final int DEFAULT_STRIPES = 16;
+
+    private final Stripe<K, V>[] stripes;
+    private final long maxWeight;
+    private final long stripeWeight;
+
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+    private final AtomicLong evictions = new AtomicLong(0);
+
+    /**
+     * @param maxWeight total weight budget of this cache
+     */
+    public BoundedCache(long maxWeight) {
+        this(maxWeight, DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param maxWeight total weight budget of this cache
+     * @param numStripes number of independently locked stripes. Rounded up to the power of 2.
+     */
+    @SuppressWarnings("unchecked")
+    public BoundedCache(long maxWeight, int numStripes) {
+        if (maxWeight < 1)
+            throw new IllegalArgumentException("Cache weight budget should be positive value");
+
+        if (numStripes < 1)
+            throw new IllegalArgumentException("Number of stripes should be positive value");
+
+        // we don't want stripes smaller than a single entry
+        numStripes = (int) Math.min(numStripes, maxWeight);
+
+        int size = 1;
+        while (size < numStripes)
+            size <<= 1;
+
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++)
+            stripes[i] = new Stripe<>();
+
+        this.maxWeight = maxWeight;
+        this.stripeWeight = Math.max(1, maxWeight / size);
+    }
+
+    private Stripe<K, V> stripeFor(Object key) {
+        int h = key.hashCode();
+        // spread high bits, same as HashMap does
+        h ^= (h >>> 16);
+        return stripes[h & (stripes.length - 1)];
+    }
+
+    /**
+     * Returns cached value for given key, or null if there's no such key
+     *
+     * @param key
+     * @return
+     */
+    public V get(@NonNull K key) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            Entry<V> entry = stripe.map.get(key);
+            if (entry != null) {
+                entry.hits++;
+                hits.incrementAndGet();
+                return entry.value;
+            }
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Puts value into cache, unless there's value for this key already.
+     * If weight of this value exceeds the budget of its stripe, value isn't cached at all.
+     *
+     * @param key
+     * @param value
+     * @param weight weight of this entry
+     * @return value that's associated with the key after this call: either the existing one, or the given one
+     */
+    public V putIfAbsent(@NonNull K key, @NonNull V value, long weight) {
+        if (weight > stripeWeight)
+            return value;
+
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            Entry<V> existing = stripe.map.get(key);
+            if (existing != null)
+                return existing.value;
+
+            stripe.map.put(key, new Entry<>(value, weight));
+            stripe.weight += weight;
+
+            // LinkedHashMap in access order: iteration starts from the least recently used entry
+            Iterator<Map.Entry<K, Entry<V>>> iterator = stripe.map.entrySet().iterator();
+            while (stripe.weight > stripeWeight && iterator.hasNext()) {
+                Map.Entry<K, Entry<V>> eldest = iterator.next();
+                if (eldest.getValue().value == value)
+                    continue;
+
+                stripe.weight -= eldest.getValue().weight;
+                iterator.remove();
+                evictions.incrementAndGet();
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Removes all entries from this cache. Counters are kept intact.
+     */
+    public void clear() {
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.map.clear();
+                stripe.weight = 0;
+            }
+        }
+    }
+
+    /**
+     * Resets hit/miss/eviction counters
+     */
+    public void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+        evictions.set(0);
+    }
+
+    /**
+     * Returns number of entries in this cache
+     *
+     * @return
+     */
+    public long size() {
+        long size = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.map.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns total weight of entries in this cache
+     *
+     * @return
+     */
+    public long weight() {
+        long weight = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                weight += stripe.weight;
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Returns total weight budget of this cache
+     *
+     * @return
+     */
+    public long maxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Returns snapshot of per-entry reuse counts: number of lookups served by each cached entry since it was added
+     *
+     * @return
+     */
+    public Map<K, Long> getReuseCounts() {
+        Map<K, Long> result = new HashMap<>();
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                for (Map.Entry<K, Entry<V>> entry : stripe.map.entrySet())
+                    result.put(entry.getKey(), entry.getValue().hits);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns snapshot of counters of this cache
+     *
+     * @return
+     */
+    public CacheStatistics getStatistics() {
+        long size = 0;
+        long weight = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.map.size();
+                weight += stripe.weight;
+            }
+        }
+
+        return new CacheStatistics(hits.get(), misses.get(), evictions.get(), size, weight, maxWeight);
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long weight;
+        private long hits;
+
+        private Entry(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private static class Stripe<K, V> {
+        private final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+        private long weight;
+    }
+}
@@ -0,0 +1,36 @@
+package org.nd4j.linalg.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Immutable snapshot of {@link BoundedCache} counters.
+ *
+ * Weight units are defined by the cache owner: number of entries, or number of bytes.
+ */
+@Data
+@AllArgsConstructor
+public class CacheStatistics {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long entries;
+    private final long weight;
+    private final long maxWeight;
+
+    /**
+     * Returns fraction of lookups served from cache, or 0.0 if there were no lookups yet
+     *
+     * @return
+     */
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits: %d; misses: %d; hitRate: %.4f; evictions: %d; entries: %d; weight: %d/%d", hits,
+                        misses, hitRate(), evictions, entries, weight, maxWeight);
+    }
+}
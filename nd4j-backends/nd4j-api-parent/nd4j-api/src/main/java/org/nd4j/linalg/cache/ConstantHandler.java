@@ -72,4 +72,11 @@ public interface ConstantHandler {
      * This method removes all cached constants
      */
     void purgeConstants();
+
+    /**
+     * This method returns hit/miss/eviction counters of constant cache
+     *
+     * @return cache counters, or null if this implementation doesn't keep such counters
+     */
+    CacheStatistics getCacheStatistics();
 }
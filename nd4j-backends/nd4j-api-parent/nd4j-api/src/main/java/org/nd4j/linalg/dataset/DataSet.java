@@ -27,6 +27,7 @@ import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.api.ops.executioner.GridExecutioner;
 import org.nd4j.linalg.dataset.api.DataSetUtil;
 import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
+import org.nd4j.linalg.dataset.api.iterator.IndexedDataSetIterator;
 import org.nd4j.linalg.dataset.api.preprocessor.NormalizerStandardize;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.indexing.BooleanIndexing;
@@ -908,6 +909,34 @@ public class DataSet implements org.nd4j.linalg.dataset.api.DataSet {
         return new SplitTestAndTrain(first, second);
     }
 
+    /**
+     * Splits a dataset in to test and train randomly, without shuffling or copying the dataset.
+     * Examples are assigned to train/test by a random permutation of example indexes,
+     * and minibatches are gathered from this dataset lazily, as iterators are consumed.
+     *
+     * @param numHoldout the number of examples to hold out for training
+     * @param batchSize  max number of examples per minibatch
+     * @param rng        Random Number Generator to use for the permutation
+     * @return the pair of iterators: train first, test second
+     */
+    public Pair<DataSetIterator, DataSetIterator> splitTestAndTrain(int numHoldout, int batchSize, Random rng) {
+        int numExamples = numExamples();
+        if (numExamples <= 1)
+            throw new IllegalStateException(
+                            "Cannot split DataSet with <= 1 rows (data set has " + numExamples + " example)");
+        if (numHoldout >= numExamples)
+            throw new IllegalArgumentException(
+                            "Unable to split on size equal or larger than the number of rows (# numExamples="
+                                            + numExamples + ", numHoldout=" + numHoldout + ")");
+
+        int[] permutation = IndexedDataSetIterator.permutation(numExamples, rng);
+        DataSetIterator train = new IndexedDataSetIterator(this, Arrays.copyOfRange(permutation, 0, numHoldout),
+                        batchSize);
+        DataSetIterator test = new IndexedDataSetIterator(this,
+                        Arrays.copyOfRange(permutation, numHoldout, numExamples), batchSize);
+        return new Pair<>(train, test);
+    }
+
 
     /**
      * Returns the labels for the dataset
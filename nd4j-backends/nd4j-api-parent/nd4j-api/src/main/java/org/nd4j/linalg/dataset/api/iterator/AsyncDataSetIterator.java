@@ -0,0 +1,300 @@
+package org.nd4j.linalg.dataset.api.iterator;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
+import org.nd4j.linalg.api.memory.conf.WorkspaceConfiguration;
+import org.nd4j.linalg.api.memory.enums.AllocationPolicy;
+import org.nd4j.linalg.api.memory.enums.LearningPolicy;
+import org.nd4j.linalg.api.memory.enums.ResetPolicy;
+import org.nd4j.linalg.api.memory.enums.SpillPolicy;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.api.DataSetPreProcessor;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSetIterator wrapper that prefetches DataSets from the underlying iterator in background thread,
+ * so data loading overlaps with computations on previous batches.
+ *
+ * Prefetched DataSets are allocated within cyclic workspace (ResetPolicy.ENDOFBUFFER_REACHED) owned by producer thread,
+ * so after first few batches no new memory is allocated for the data.
+ *
+ * Producer thread is started on first hasNext()/next() call, and again on the first call after reset(), so
+ * preprocessor set right after construction or reset() is applied to every DataSet.
+ *
+ * PLEASE NOTE: workspace memory is reused in a circular manner, so DataSet returned by next() stays valid only while
+ * consumer fetches next queueSize + 1 DataSets. Call DataSet.detach() if DataSet has to be kept longer than that.
+ */
+@Slf4j
+public class AsyncDataSetIterator implements DataSetIterator {
+    public static final int DEFAULT_QUEUE_SIZE = 8;
+
+    // sentinel put into queue when producer is done
+    private static final DataSet TERMINATOR = new DataSet();
+
+    private final DataSetIterator backedIterator;
+    private final int queueSize;
+    private final boolean useWorkspace;
+    private final Integer deviceId;
+    private final WorkspaceConfiguration configuration;
+    private final String workspaceId;
+
+    private BlockingQueue<DataSet> buffer;
+    private AsyncPrefetchThread thread;
+    private DataSet nextElement;
+    private boolean terminated;
+    private volatile DataSetPreProcessor preProcessor;
+
+    public AsyncDataSetIterator(DataSetIterator iterator) {
+        this(iterator, DEFAULT_QUEUE_SIZE);
+    }
+
+    public AsyncDataSetIterator(DataSetIterator iterator, int queueSize) {
+        this(iterator, queueSize, true);
+    }
+
+    public AsyncDataSetIterator(DataSetIterator iterator, int queueSize, boolean useWorkspace) {
+        this(iterator, queueSize, useWorkspace, Nd4j.getAffinityManager().getDeviceForCurrentThread());
+    }
+
+    /**
+     * @param iterator underlying iterator. Callers should check iterator.asyncSupported() before wrapping it
+     * @param queueSize max number of prefetched DataSets
+     * @param useWorkspace if true, DataSets are allocated in cyclic workspace
+     * @param deviceId device producer thread is attached to, usually the device of consumer thread
+     */
+    public AsyncDataSetIterator(@NonNull DataSetIterator iterator, int queueSize, boolean useWorkspace,
+                    Integer deviceId) {
+        if (queueSize < 1)
+            throw new IllegalArgumentException("Queue size should be positive value");
+
+        this.backedIterator = iterator;
+        this.queueSize = queueSize;
+        this.useWorkspace = useWorkspace;
+        this.deviceId = deviceId;
+        this.workspaceId = "ADSI_ITER-" + UUID.randomUUID().toString();
+
+        // queue + DataSet in use by consumer + DataSet being produced, plus one spare step
+        this.configuration = WorkspaceConfiguration.builder().minSize(10 * 1024L * 1024L)
+                        .overallocationLimit(queueSize + 2).policyReset(ResetPolicy.ENDOFBUFFER_REACHED)
+                        .policyLearning(LearningPolicy.FIRST_LOOP).policyAllocation(AllocationPolicy.OVERALLOCATE)
+                        .policySpill(SpillPolicy.REALLOCATE).build();
+    }
+
+    private void startThread() {
+        buffer = new LinkedBlockingQueue<>(queueSize);
+        nextElement = null;
+        terminated = false;
+
+        thread = new AsyncPrefetchThread();
+        thread.start();
+    }
+
+    /**
+     * This method stops background prefetching. Iterator can be used again after reset()
+     */
+    public void shutdown() {
+        terminated = true;
+        if (thread == null)
+            return;
+
+        thread.shouldWork.set(false);
+        thread.interrupt();
+
+        // producer might be blocked on full queue
+        buffer.clear();
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        buffer.clear();
+        thread = null;
+    }
+
+    @Override
+    public DataSet next(int num) {
+        throw new UnsupportedOperationException("next(int) isn't supported for AsyncDataSetIterator");
+    }
+
+    @Override
+    public int totalExamples() {
+        return backedIterator.totalExamples();
+    }
+
+    @Override
+    public int inputColumns() {
+        return backedIterator.inputColumns();
+    }
+
+    @Override
+    public int totalOutcomes() {
+        return backedIterator.totalOutcomes();
+    }
+
+    @Override
+    public boolean resetSupported() {
+        return backedIterator.resetSupported();
+    }
+
+    @Override
+    public boolean asyncSupported() {
+        // this iterator is already async
+        return false;
+    }
+
+    @Override
+    public void reset() {
+        if (!resetSupported())
+            throw new UnsupportedOperationException("Underlying iterator doesn't support reset");
+
+        shutdown();
+        backedIterator.reset();
+
+        // producer is started again by next hasNext() call
+        nextElement = null;
+        terminated = false;
+    }
+
+    @Override
+    public int batch() {
+        return backedIterator.batch();
+    }
+
+    @Override
+    public int cursor() {
+        return backedIterator.cursor();
+    }
+
+    @Override
+    public int numExamples() {
+        return backedIterator.numExamples();
+    }
+
+    @Override
+    public void setPreProcessor(DataSetPreProcessor preProcessor) {
+        this.preProcessor = preProcessor;
+    }
+
+    @Override
+    public DataSetPreProcessor getPreProcessor() {
+        return preProcessor;
+    }
+
+    @Override
+    public List<String> getLabels() {
+        return backedIterator.getLabels();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextElement != null)
+            return true;
+
+        if (terminated)
+            return false;
+
+        if (thread == null)
+            startThread();
+
+        try {
+            nextElement = buffer.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+
+        if (nextElement == TERMINATOR) {
+            nextElement = null;
+            terminated = true;
+
+            if (thread.exception != null)
+                throw new RuntimeException("Exception in AsyncDataSetIterator producer thread", thread.exception);
+
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public DataSet next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        DataSet result = nextElement;
+        nextElement = null;
+        return result;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    private class AsyncPrefetchThread extends Thread {
+        private final AtomicBoolean shouldWork = new AtomicBoolean(true);
+        private volatile Throwable exception;
+
+        private AsyncPrefetchThread() {
+            setName("ADSI prefetch thread");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            if (deviceId != null)
+                Nd4j.getAffinityManager().attachThreadToDevice(this, deviceId);
+
+            try {
+                while (shouldWork.get() && backedIterator.hasNext()) {
+                    DataSet dataSet;
+                    if (useWorkspace) {
+                        try (MemoryWorkspace workspace = Nd4j.getWorkspaceManager()
+                                        .getAndActivateWorkspace(configuration, workspaceId)) {
+                            dataSet = fetch();
+                        }
+                    } else
+                        dataSet = fetch();
+
+                    if (dataSet != null)
+                        buffer.put(dataSet);
+                }
+            } catch (InterruptedException e) {
+                // shutdown was requested
+            } catch (Throwable t) {
+                if (shouldWork.get()) {
+                    log.error("Exception in prefetch thread", t);
+                    exception = t;
+                }
+            } finally {
+                if (shouldWork.get()) {
+                    try {
+                        buffer.put(TERMINATOR);
+                    } catch (InterruptedException e) {
+                        // shutdown was requested
+                    }
+                }
+            }
+        }
+
+        private DataSet fetch() {
+            DataSet dataSet = backedIterator.next();
+
+            DataSetPreProcessor processor = preProcessor;
+            if (dataSet != null && processor != null)
+                processor.preProcess(dataSet);
+
+            return dataSet;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package org.nd4j.linalg.dataset.api.iterator;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
+import org.nd4j.linalg.api.memory.conf.WorkspaceConfiguration;
+import org.nd4j.linalg.api.memory.enums.AllocationPolicy;
+import org.nd4j.linalg.api.memory.enums.LearningPolicy;
+import org.nd4j.linalg.api.memory.enums.ResetPolicy;
+import org.nd4j.linalg.api.memory.enums.SpillPolicy;
+import org.nd4j.linalg.dataset.api.MultiDataSet;
+import org.nd4j.linalg.dataset.api.MultiDataSetPreProcessor;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * MultiDataSetIterator wrapper that prefetches MultiDataSets from the underlying iterator in background thread,
+ * so data loading overlaps with computations on previous batches.
+ *
+ * Prefetched MultiDataSets are allocated within cyclic workspace (ResetPolicy.ENDOFBUFFER_REACHED) owned by producer thread,
+ * so after first few batches no new memory is allocated for the data.
+ *
+ * Producer thread is started on first hasNext()/next() call, and again on the first call after reset(), so
+ * preprocessor set right after construction or reset() is applied to every MultiDataSet.
+ *
+ * PLEASE NOTE: workspace memory is reused in a circular manner, so MultiDataSet returned by next() stays valid only while
+ * consumer fetches next queueSize + 1 MultiDataSets. Call MultiDataSet.detach() if MultiDataSet has to be kept longer than that.
+ */
+@Slf4j
+public class AsyncMultiDataSetIterator implements MultiDataSetIterator {
+    public static final int DEFAULT_QUEUE_SIZE = 8;
+
+    // sentinel put into queue when producer is done
+    private static final MultiDataSet TERMINATOR = new org.nd4j.linalg.dataset.MultiDataSet();
+
+    private final MultiDataSetIterator backedIterator;
+    private final int queueSize;
+    private final boolean useWorkspace;
+    private final Integer deviceId;
+    private final WorkspaceConfiguration configuration;
+    private final String workspaceId;
+
+    private BlockingQueue<MultiDataSet> buffer;
+    private AsyncPrefetchThread thread;
+    private MultiDataSet nextElement;
+    private boolean terminated;
+    private volatile MultiDataSetPreProcessor preProcessor;
+
+    public AsyncMultiDataSetIterator(MultiDataSetIterator iterator) {
+        this(iterator, DEFAULT_QUEUE_SIZE);
+    }
+
+    public AsyncMultiDataSetIterator(MultiDataSetIterator iterator, int queueSize) {
+        this(iterator, queueSize, true);
+    }
+
+    public AsyncMultiDataSetIterator(MultiDataSetIterator iterator, int queueSize, boolean useWorkspace) {
+        this(iterator, queueSize, useWorkspace, Nd4j.getAffinityManager().getDeviceForCurrentThread());
+    }
+
+    /**
+     * @param iterator underlying iterator. Callers should check iterator.asyncSupported() before wrapping it
+     * @param queueSize max number of prefetched MultiDataSets
+     * @param useWorkspace if true, MultiDataSets are allocated in cyclic workspace
+     * @param deviceId device producer thread is attached to, usually the device of consumer thread
+     */
+    public AsyncMultiDataSetIterator(@NonNull MultiDataSetIterator iterator, int queueSize, boolean useWorkspace,
+                    Integer deviceId) {
+        if (queueSize < 1)
+            throw new IllegalArgumentException("Queue size should be positive value");
+
+        this.backedIterator = iterator;
+        this.queueSize = queueSize;
+        this.useWorkspace = useWorkspace;
+        this.deviceId = deviceId;
+        this.workspaceId = "AMDSI_ITER-" + UUID.randomUUID().toString();
+
+        // queue + MultiDataSet in use by consumer + MultiDataSet being produced, plus one spare step
+        this.configuration = WorkspaceConfiguration.builder().minSize(10 * 1024L * 1024L)
+                        .overallocationLimit(queueSize + 2).policyReset(ResetPolicy.ENDOFBUFFER_REACHED)
+                        .policyLearning(LearningPolicy.FIRST_LOOP).policyAllocation(AllocationPolicy.OVERALLOCATE)
+                        .policySpill(SpillPolicy.REALLOCATE).build();
+    }
+
+    private void startThread() {
+        buffer = new LinkedBlockingQueue<>(queueSize);
+        nextElement = null;
+        terminated = false;
+
+        thread = new AsyncPrefetchThread();
+        thread.start();
+    }
+
+    /**
+     * This method stops background prefetching. Iterator can be used again after reset()
+     */
+    public void shutdown() {
+        terminated = true;
+        if (thread == null)
+            return;
+
+        thread.shouldWork.set(false);
+        thread.interrupt();
+
+        // producer might be blocked on full queue
+        buffer.clear();
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        buffer.clear();
+        thread = null;
+    }
+
+    @Override
+    public MultiDataSet next(int num) {
+        throw new UnsupportedOperationException("next(int) isn't supported for AsyncMultiDataSetIterator");
+    }
+
+    @Override
+    public void setPreProcessor(MultiDataSetPreProcessor preProcessor) {
+        this.preProcessor = preProcessor;
+    }
+
+    @Override
+    public MultiDataSetPreProcessor getPreProcessor() {
+        return preProcessor;
+    }
+
+    @Override
+    public boolean resetSupported() {
+        return backedIterator.resetSupported();
+    }
+
+    @Override
+    public boolean asyncSupported() {
+        // this iterator is already async
+        return false;
+    }
+
+    @Override
+    public void reset() {
+        if (!resetSupported())
+            throw new UnsupportedOperationException("Underlying iterator doesn't support reset");
+
+        shutdown();
+        backedIterator.reset();
+
+        // producer is started again by next hasNext() call
+        nextElement = null;
+        terminated = false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextElement != null)
+            return true;
+
+        if (terminated)
+            return false;
+
+        if (thread == null)
+            startThread();
+
+        try {
+            nextElement = buffer.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+
+        if (nextElement == TERMINATOR) {
+            nextElement = null;
+            terminated = true;
+
+            if (thread.exception != null)
+                throw new RuntimeException("Exception in AsyncMultiDataSetIterator producer thread", thread.exception);
+
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public MultiDataSet next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        MultiDataSet result = nextElement;
+        nextElement = null;
+        return result;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    private class AsyncPrefetchThread extends Thread {
+        private final AtomicBoolean shouldWork = new AtomicBoolean(true);
+        private volatile Throwable exception;
+
+        private AsyncPrefetchThread() {
+            setName("AMDSI prefetch thread");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            if (deviceId != null)
+                Nd4j.getAffinityManager().attachThreadToDevice(this, deviceId);
+
+            try {
+                while (shouldWork.get() && backedIterator.hasNext()) {
+                    MultiDataSet dataSet;
+                    if (useWorkspace) {
+                        try (MemoryWorkspace workspace = Nd4j.getWorkspaceManager()
+                                        .getAndActivateWorkspace(configuration, workspaceId)) {
+                            dataSet = fetch();
+                        }
+                    } else
+                        dataSet = fetch();
+
+                    if (dataSet != null)
+                        buffer.put(dataSet);
+                }
+            } catch (InterruptedException e) {
+                // shutdown was requested
+            } catch (Throwable t) {
+                if (shouldWork.get()) {
+                    log.error("Exception in prefetch thread", t);
+                    exception = t;
+                }
+            } finally {
+                if (shouldWork.get()) {
+                    try {
+                        buffer.put(TERMINATOR);
+                    } catch (InterruptedException e) {
+                        // shutdown was requested
+                    }
+                }
+            }
+        }
+
+        private MultiDataSet fetch() {
+            MultiDataSet dataSet = backedIterator.next();
+
+            MultiDataSetPreProcessor processor = preProcessor;
+            if (dataSet != null && processor != null)
+                processor.preProcess(dataSet);
+
+            return dataSet;
+        }
+    }
+}
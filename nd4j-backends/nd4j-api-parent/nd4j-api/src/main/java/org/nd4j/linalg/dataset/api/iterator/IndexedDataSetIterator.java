@@ -0,0 +1,198 @@
+package org.nd4j.linalg.dataset.api.iterator;
+
+import lombok.NonNull;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.api.DataSetPreProcessor;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.util.ArrayUtil;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * DataSetIterator over a subset of examples of an in-memory DataSet, identified by example indexes.
+ *
+ * Source DataSet is never copied or modified: each minibatch is gathered from the source arrays with Nd4j.pullRows
+ * at the time next() is called, so only one minibatch is materialized at a time.
+ * Useful for train/test splits and k-fold cross validation, where permutation of indexes replaces shuffling of data.
+ */
+public class IndexedDataSetIterator implements DataSetIterator {
+    private final DataSet source;
+    private final int[] indexes;
+    private final int batchSize;
+    private int cursor = 0;
+    private DataSetPreProcessor preProcessor;
+
+    /**
+     * @param source    DataSet to gather examples from
+     * @param indexes   indexes of examples within source DataSet, in order of iteration
+     * @param batchSize max number of examples per minibatch
+     */
+    public IndexedDataSetIterator(@NonNull DataSet source, @NonNull int[] indexes, int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size should be positive, got " + batchSize + " instead");
+
+        int numExamples = source.numExamples();
+        for (int index : indexes) {
+            if (index < 0 || index >= numExamples)
+                throw new IllegalArgumentException("Example index should be within [0, " + numExamples + "), got "
+                                + index + " instead");
+        }
+
+        this.source = source;
+        this.indexes = indexes;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Builds a random permutation of [0, length) indexes
+     *
+     * @param length number of indexes
+     * @param rng    random number generator to use
+     * @return
+     */
+    public static int[] permutation(int length, @NonNull Random rng) {
+        int[] result = ArrayUtil.range(0, length);
+        for (int i = length - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int tmp = result[i];
+            result[i] = result[j];
+            result[j] = tmp;
+        }
+        return result;
+    }
+
+    /**
+     * Gathers examples with given indexes from the DataSet into new DataSet, without touching other examples
+     *
+     * @param source  DataSet to gather examples from
+     * @param indexes indexes of examples to gather
+     * @return
+     */
+    public static DataSet gather(@NonNull DataSet source, @NonNull int[] indexes) {
+        DataSet result = new DataSet(gather(source.getFeatures(), indexes), gather(source.getLabels(), indexes),
+                        gather(source.getFeaturesMaskArray(), indexes), gather(source.getLabelsMaskArray(), indexes));
+        result.setLabelNames(source.getLabelNamesList());
+        return result;
+    }
+
+    /**
+     * Gathers TADs along dimension 0 (i.e. examples) with given indexes
+     */
+    protected static INDArray gather(INDArray array, int[] indexes) {
+        if (array == null)
+            return null;
+
+        if (array.rank() == 2)
+            return Nd4j.pullRows(array, 1, indexes);
+
+        int[] shape = array.shape();
+        int[] resultShape = Arrays.copyOf(shape, shape.length);
+        resultShape[0] = indexes.length;
+
+        if (array.ordering() == 'c' && !array.isView()) {
+            // examples are contiguous, so 2d view over the same buffer lets us use pullRows for any rank
+            INDArray as2d = array.reshape('c', shape[0], array.length() / shape[0]);
+            return Nd4j.pullRows(as2d, 1, indexes, 'c').reshape('c', resultShape);
+        }
+
+        INDArray result = Nd4j.create(resultShape, 'c');
+        for (int i = 0; i < indexes.length; i++)
+            result.slice(i).assign(array.slice(indexes[i]));
+
+        return result;
+    }
+
+    @Override
+    public DataSet next(int num) {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        int[] batch = Arrays.copyOfRange(indexes, cursor, Math.min(cursor + num, indexes.length));
+        cursor += batch.length;
+
+        DataSet dataSet = gather(source, batch);
+        if (preProcessor != null)
+            preProcessor.preProcess(dataSet);
+
+        return dataSet;
+    }
+
+    @Override
+    public int totalExamples() {
+        return indexes.length;
+    }
+
+    @Override
+    public int inputColumns() {
+        return source.getFeatures().size(1);
+    }
+
+    @Override
+    public int totalOutcomes() {
+        return source.getLabels().size(1);
+    }
+
+    @Override
+    public boolean resetSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean asyncSupported() {
+        return true;
+    }
+
+    @Override
+    public void reset() {
+        cursor = 0;
+    }
+
+    @Override
+    public int batch() {
+        return batchSize;
+    }
+
+    @Override
+    public int cursor() {
+        return cursor;
+    }
+
+    @Override
+    public int numExamples() {
+        return totalExamples();
+    }
+
+    @Override
+    public void setPreProcessor(DataSetPreProcessor preProcessor) {
+        this.preProcessor = preProcessor;
+    }
+
+    @Override
+    public DataSetPreProcessor getPreProcessor() {
+        return preProcessor;
+    }
+
+    @Override
+    public List<String> getLabels() {
+        return source.getLabelNamesList();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return cursor < indexes.length;
+    }
+
+    @Override
+    public DataSet next() {
+        return next(batchSize);
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
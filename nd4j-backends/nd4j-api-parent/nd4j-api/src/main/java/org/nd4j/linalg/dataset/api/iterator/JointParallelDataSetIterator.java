@@ -0,0 +1,234 @@
+package org.nd4j.linalg.dataset.api.iterator;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.api.DataSetPreProcessor;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * ParallelDataSetIterator implementation that joins multiple source iterators.
+ *
+ * Each source iterator gets its own producer thread and its own bounded queue,
+ * so consumer N always takes DataSets produced from source N, and input pipeline scales with number of sources.
+ * Producers are AsyncDataSetIterators, so prefetched DataSets live in cyclic workspaces, with the same lifetime rules.
+ * Each producer thread starts on first request for its source, so preprocessor set right after construction
+ * or reset() is applied to every DataSet.
+ *
+ * Consumer threads either call nextFor(consumer) explicitly, or call attachThread(consumer) once and use nextFor().
+ * Plain hasNext()/next() calls take DataSets from all sources in round-robin order.
+ *
+ * PLEASE NOTE: sources aren't required to have equal length, so some consumers might run out of data earlier than others.
+ */
+@Slf4j
+public class JointParallelDataSetIterator implements ParallelDataSetIterator {
+    private final List<DataSetIterator> sources;
+    private final AsyncDataSetIterator[] producers;
+    private final ThreadLocal<Integer> attachedConsumer = new ThreadLocal<>();
+
+    private int roundRobin = 0;
+    private DataSetPreProcessor preProcessor;
+
+    public JointParallelDataSetIterator(@NonNull List<DataSetIterator> sources) {
+        this(sources, AsyncDataSetIterator.DEFAULT_QUEUE_SIZE, true, true);
+    }
+
+    /**
+     * @param sources source iterators, one per consumer
+     * @param queueSize max number of prefetched DataSets per consumer
+     * @param useWorkspaces if true, prefetched DataSets are allocated in cyclic workspaces
+     * @param enforceDeviceAffinity if true, producers are spread over available devices: producer N is attached to device N % numDevices.
+     *                              Otherwise all producers use device of the thread that created this iterator.
+     */
+    public JointParallelDataSetIterator(@NonNull List<DataSetIterator> sources, int queueSize, boolean useWorkspaces,
+                    boolean enforceDeviceAffinity) {
+        if (sources.isEmpty())
+            throw new IllegalArgumentException("At least one source iterator is required");
+
+        this.sources = sources;
+        this.producers = new AsyncDataSetIterator[sources.size()];
+
+        int numDevices = Nd4j.getAffinityManager().getNumberOfDevices();
+        Integer currentDevice = Nd4j.getAffinityManager().getDeviceForCurrentThread();
+
+        for (int i = 0; i < producers.length; i++) {
+            Integer deviceId = enforceDeviceAffinity && numDevices > 0 ? i % numDevices : currentDevice;
+            producers[i] = new AsyncDataSetIterator(sources.get(i), queueSize, useWorkspaces, deviceId);
+        }
+    }
+
+    /**
+     * Returns number of consumers, which is equal to number of source iterators
+     *
+     * @return
+     */
+    public int numberOfConsumers() {
+        return producers.length;
+    }
+
+    protected AsyncDataSetIterator producerFor(int consumer) {
+        if (consumer < 0 || consumer >= producers.length)
+            throw new IllegalArgumentException("Consumer index should be within [0, " + producers.length + "), got "
+                            + consumer + " instead");
+
+        return producers[consumer];
+    }
+
+    protected int attachedConsumer() {
+        Integer consumer = attachedConsumer.get();
+        if (consumer == null)
+            throw new IllegalStateException("Current thread isn't attached to any consumer, call attachThread() first");
+
+        return consumer;
+    }
+
+    @Override
+    public void attachThread(int producer) {
+        producerFor(producer);
+        attachedConsumer.set(producer);
+    }
+
+    @Override
+    public boolean hasNextFor() {
+        return hasNextFor(attachedConsumer());
+    }
+
+    @Override
+    public boolean hasNextFor(int consumer) {
+        return producerFor(consumer).hasNext();
+    }
+
+    @Override
+    public DataSet nextFor(int consumer) {
+        return producerFor(consumer).next();
+    }
+
+    @Override
+    public DataSet nextFor() {
+        return nextFor(attachedConsumer());
+    }
+
+    /**
+     * This method stops all producer threads
+     */
+    public void shutdown() {
+        for (AsyncDataSetIterator producer : producers)
+            producer.shutdown();
+    }
+
+    @Override
+    public DataSet next(int num) {
+        throw new UnsupportedOperationException("next(int) isn't supported for JointParallelDataSetIterator");
+    }
+
+    @Override
+    public int totalExamples() {
+        int total = 0;
+        for (DataSetIterator source : sources)
+            total += source.totalExamples();
+
+        return total;
+    }
+
+    @Override
+    public int inputColumns() {
+        return sources.get(0).inputColumns();
+    }
+
+    @Override
+    public int totalOutcomes() {
+        return sources.get(0).totalOutcomes();
+    }
+
+    @Override
+    public boolean resetSupported() {
+        for (DataSetIterator source : sources)
+            if (!source.resetSupported())
+                return false;
+
+        return true;
+    }
+
+    @Override
+    public boolean asyncSupported() {
+        // this iterator is already async
+        return false;
+    }
+
+    @Override
+    public synchronized void reset() {
+        if (!resetSupported())
+            throw new UnsupportedOperationException("One of source iterators doesn't support reset");
+
+        for (AsyncDataSetIterator producer : producers)
+            producer.reset();
+
+        roundRobin = 0;
+    }
+
+    @Override
+    public int batch() {
+        return sources.get(0).batch();
+    }
+
+    @Override
+    public int cursor() {
+        throw new UnsupportedOperationException("cursor() isn't supported for JointParallelDataSetIterator");
+    }
+
+    @Override
+    public int numExamples() {
+        int total = 0;
+        for (DataSetIterator source : sources)
+            total += source.numExamples();
+
+        return total;
+    }
+
+    @Override
+    public void setPreProcessor(DataSetPreProcessor preProcessor) {
+        this.preProcessor = preProcessor;
+        for (AsyncDataSetIterator producer : producers)
+            producer.setPreProcessor(preProcessor);
+    }
+
+    @Override
+    public DataSetPreProcessor getPreProcessor() {
+        return preProcessor;
+    }
+
+    @Override
+    public List<String> getLabels() {
+        return sources.get(0).getLabels();
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        for (int i = 0; i < producers.length; i++) {
+            if (producers[(roundRobin + i) % producers.length].hasNext()) {
+                roundRobin = (roundRobin + i) % producers.length;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public synchronized DataSet next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        DataSet dataSet = producers[roundRobin].next();
+        roundRobin = (roundRobin + 1) % producers.length;
+        return dataSet;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
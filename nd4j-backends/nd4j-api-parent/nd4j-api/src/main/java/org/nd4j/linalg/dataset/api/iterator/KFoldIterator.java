@@ -2,14 +2,19 @@ package org.nd4j.linalg.dataset.api.iterator;
 
 import org.nd4j.linalg.dataset.DataSet;
 import org.nd4j.linalg.dataset.api.DataSetPreProcessor;
+import org.nd4j.linalg.util.ArrayUtil;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Splits a dataset into k folds.
- * DataSet is duplicated in memory once
- * call .next() to get the k-1 folds to train on and call .testfold() to get the corresponding kth fold for testing
+ * DataSet is never duplicated or shuffled in place: folds are defined by a permutation of example indexes,
+ * which is reshuffled on reset().
+ * call .next() to get the k-1 folds to train on and call .testfold() to get the corresponding kth fold for testing.
+ * Use .trainIterator(fold, batchSize) and .testIterator(fold, batchSize) to gather minibatches of a fold lazily,
+ * without materializing the whole fold.
  * @author Susan Eraly
  */
 public class KFoldIterator implements DataSetIterator {
@@ -18,8 +23,11 @@ public class KFoldIterator implements DataSetIterator {
     private int batch;
     private int lastBatch;
     private int kCursor = 0;
+    private int[] order;
+    private int[] testIndexes;
     private DataSet test;
     private DataSet train;
+    private final Random rng = new Random();
     protected DataSetPreProcessor preProcessor;
 
     public KFoldIterator(DataSet singleFold) {
@@ -35,9 +43,10 @@ public class KFoldIterator implements DataSetIterator {
 
     public KFoldIterator(int k, DataSet singleFold) {
         this.k = k;
-        this.singleFold = singleFold.copy();
         if (k <= 1)
             throw new IllegalArgumentException();
+        this.singleFold = singleFold;
+        this.order = ArrayUtil.range(0, singleFold.numExamples());
         if (singleFold.numExamples() % k != 0) {
             if (k != 2) {
                 this.batch = singleFold.numExamples() / (k - 1);
@@ -95,7 +104,7 @@ public class KFoldIterator implements DataSetIterator {
     @Override
     public void reset() {
         //shuffle and return new k folds
-        singleFold.shuffle();
+        order = IndexedDataSetIterator.permutation(order.length, rng);
         kCursor = 0;
     }
 
@@ -170,36 +179,74 @@ public class KFoldIterator implements DataSetIterator {
     }
 
     private void nextFold() {
-        int left;
-        int right;
-        if (kCursor == k - 1) {
-            left = totalExamples() - lastBatch;
-            right = totalExamples();
-        } else {
-            left = kCursor * batch;
-            right = left + batch;
-        }
-
-        List<DataSet> kMinusOneFoldList = new ArrayList<DataSet>();
-        if (right < totalExamples()) {
-            if (left > 0) {
-                kMinusOneFoldList.add((DataSet) singleFold.getRange(0, left));
-            }
-            kMinusOneFoldList.add((DataSet) singleFold.getRange(right, totalExamples()));
-            train = DataSet.merge(kMinusOneFoldList);
-        } else {
-            train = (DataSet) singleFold.getRange(0, left);
-        }
-        test = (DataSet) singleFold.getRange(left, right);
+        train = IndexedDataSetIterator.gather(singleFold, trainIndexes(kCursor));
+        testIndexes = testIndexes(kCursor);
+        test = null;
 
         kCursor++;
 
     }
 
+    private int left(int fold) {
+        return fold == k - 1 ? totalExamples() - lastBatch : fold * batch;
+    }
+
+    private int right(int fold) {
+        return fold == k - 1 ? totalExamples() : left(fold) + batch;
+    }
+
+    private int[] testIndexes(int fold) {
+        return Arrays.copyOfRange(order, left(fold), right(fold));
+    }
+
+    private int[] trainIndexes(int fold) {
+        int left = left(fold);
+        int right = right(fold);
+
+        int[] result = new int[order.length - (right - left)];
+        System.arraycopy(order, 0, result, 0, left);
+        System.arraycopy(order, right, result, left, order.length - right);
+        return result;
+    }
+
+    private void checkFold(int fold) {
+        if (fold < 0 || fold >= k)
+            throw new IllegalArgumentException("Fold should be within [0, " + k + "), got " + fold + " instead");
+    }
+
+    /**
+     * Returns iterator over the k-1 folds to train on, when given fold is held out for testing.
+     * Minibatches are gathered from the original DataSet on demand, in the order of current permutation
+     *
+     * @param fold      index of the fold held out for testing
+     * @param batchSize max number of examples per minibatch
+     * @return
+     */
+    public DataSetIterator trainIterator(int fold, int batchSize) {
+        checkFold(fold);
+        return new IndexedDataSetIterator(singleFold, trainIndexes(fold), batchSize);
+    }
+
+    /**
+     * Returns iterator over the given fold, held out for testing.
+     * Minibatches are gathered from the original DataSet on demand, in the order of current permutation
+     *
+     * @param fold      index of the fold held out for testing
+     * @param batchSize max number of examples per minibatch
+     * @return
+     */
+    public DataSetIterator testIterator(int fold, int batchSize) {
+        checkFold(fold);
+        return new IndexedDataSetIterator(singleFold, testIndexes(fold), batchSize);
+    }
+
     /**
      * @return the held out fold as a dataset
      */
     public DataSet testFold() {
+        if (test == null && testIndexes != null)
+            test = IndexedDataSetIterator.gather(singleFold, testIndexes);
+
         return test;
     }
 }
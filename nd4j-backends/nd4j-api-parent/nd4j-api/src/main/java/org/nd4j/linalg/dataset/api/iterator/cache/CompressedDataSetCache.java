@@ -0,0 +1,290 @@
+package org.nd4j.linalg.dataset.api.iterator.cache;
+
+import lombok.NonNull;
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.cache.CacheStatistics;
+import org.nd4j.linalg.compression.BasicNDArrayCompressor;
+import org.nd4j.linalg.compression.CompressedDataBuffer;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.factory.Nd4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memory-bounded DataSetCache.
+ *
+ * DataSets are kept in memory compressed with BasicNDArrayCompressor (FLOAT16 by default),
+ * and total size of compressed entries is bounded by a byte budget.
+ * Least recently used entries above the budget are spilled into the cache directory, in binary form of compressed arrays.
+ * Nd4j.read() decompresses them while reading, so a spilled entry is read back as plain arrays, without any parsing.
+ * Spilled entries are served from disk and never promoted back to memory, so a pass over a dataset larger
+ * than the budget doesn't evict anything and doesn't rewrite any files: each entry is written at most once per put().
+ *
+ * PLEASE NOTE: FLOAT16 and INT8 compression is lossy, use "NOOP" algorithm if exact values are required.
+ * PLEASE NOTE: spilled files are not reused across cache instances, namespace completion is tracked in memory only.
+ */
+public class CompressedDataSetCache implements DataSetCache {
+    private static final Logger log = LoggerFactory.getLogger(CompressedDataSetCache.class);
+
+    public static final String DEFAULT_ALGORITHM = "FLOAT16";
+
+    private final File cacheDirectory;
+    private final long maxBytes;
+    private final String algorithm;
+
+    // access-ordered, so iteration starts from the least recently used entry
+    private final LinkedHashMap<String, INDArray[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Long> weights = new HashMap<>();
+    private final Set<String> spilled = new HashSet<>();
+    private final Set<String> completeNamespaces = new HashSet<>();
+    private long memoryBytes = 0;
+
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+    private final AtomicLong evictions = new AtomicLong(0);
+    private final AtomicLong bytesWritten = new AtomicLong(0);
+
+    public CompressedDataSetCache(File cacheDirectory, long maxBytes) {
+        this(cacheDirectory, maxBytes, DEFAULT_ALGORITHM);
+    }
+
+    public CompressedDataSetCache(Path cacheDirectory, long maxBytes) {
+        this(cacheDirectory.toFile(), maxBytes);
+    }
+
+    /**
+     * @param cacheDirectory directory for entries spilled out of memory
+     * @param maxBytes memory budget for compressed entries, in bytes
+     * @param algorithm compression algorithm, see BasicNDArrayCompressor.getAvailableCompressors()
+     */
+    public CompressedDataSetCache(@NonNull File cacheDirectory, long maxBytes, @NonNull String algorithm) {
+        if (cacheDirectory.exists() && !cacheDirectory.isDirectory()) {
+            throw new IllegalArgumentException("can't use path " + cacheDirectory + " as file cache directory "
+                            + "because it already exists, but is not a directory");
+        }
+
+        if (maxBytes < 0)
+            throw new IllegalArgumentException("Memory budget can't be negative");
+
+        this.cacheDirectory = cacheDirectory;
+        this.maxBytes = maxBytes;
+        this.algorithm = algorithm.toUpperCase();
+    }
+
+    private File resolveKey(String key) {
+        String filename = key.replaceAll("[^a-zA-Z0-9.-]", "_");
+        return new File(cacheDirectory, filename);
+    }
+
+    @Override
+    public synchronized boolean isComplete(String namespace) {
+        return completeNamespaces.contains(namespace);
+    }
+
+    @Override
+    public synchronized void setComplete(String namespace, boolean value) {
+        if (value) {
+            completeNamespaces.add(namespace);
+        } else {
+            completeNamespaces.remove(namespace);
+        }
+    }
+
+    @Override
+    public synchronized DataSet get(String key) {
+        INDArray[] arrays = memory.get(key);
+        if (arrays != null) {
+            hits.incrementAndGet();
+            return decompress(arrays);
+        }
+
+        misses.incrementAndGet();
+        if (!spilled.contains(key))
+            return null;
+
+        // spilled entry stays on disk: promoting it would spill another one, and a sequential pass over
+        // more data than the budget would rewrite every file on every epoch
+        return decompress(readSpilled(resolveKey(key)));
+    }
+
+    @Override
+    public synchronized void put(String key, DataSet dataSet) {
+        remove(key);
+        store(key, compress(dataSet));
+    }
+
+    @Override
+    public synchronized boolean contains(String key) {
+        return memory.containsKey(key) || spilled.contains(key);
+    }
+
+    /**
+     * This method removes all entries from this cache, including spilled files
+     */
+    public synchronized void clear() {
+        for (String key : new ArrayList<>(spilled))
+            remove(key);
+
+        memory.clear();
+        weights.clear();
+        memoryBytes = 0;
+    }
+
+    /**
+     * Returns number of bytes used by compressed entries kept in memory
+     *
+     * @return
+     */
+    public synchronized long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    /**
+     * Returns number of entries spilled to disk
+     *
+     * @return
+     */
+    public synchronized int getSpilledCount() {
+        return spilled.size();
+    }
+
+    /**
+     * Returns total number of bytes written to spilled files
+     *
+     * @return
+     */
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    /**
+     * Returns cache counters: hits are gets served from memory, misses are gets served from disk or absent keys,
+     * evictions are entries spilled to disk. Weight is measured in bytes.
+     *
+     * @return
+     */
+    public synchronized CacheStatistics getCacheStatistics() {
+        return new CacheStatistics(hits.get(), misses.get(), evictions.get(), memory.size(), memoryBytes, maxBytes);
+    }
+
+    private void remove(String key) {
+        INDArray[] arrays = memory.remove(key);
+        if (arrays != null)
+            memoryBytes -= weights.remove(key);
+
+        if (spilled.remove(key)) {
+            File file = resolveKey(key);
+            if (file.exists() && !file.delete())
+                log.warn("Can't delete spilled cache file {}", file);
+        }
+    }
+
+    private void store(String key, INDArray[] arrays) {
+        long weight = weightOf(arrays);
+        memory.put(key, arrays);
+        weights.put(key, weight);
+        memoryBytes += weight;
+
+        Iterator<Map.Entry<String, INDArray[]>> iterator = memory.entrySet().iterator();
+        while (memoryBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, INDArray[]> eldest = iterator.next();
+
+            writeSpilled(resolveKey(eldest.getKey()), eldest.getValue());
+            spilled.add(eldest.getKey());
+
+            memoryBytes -= weights.remove(eldest.getKey());
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    protected INDArray[] compress(DataSet dataSet) {
+        INDArray[] source = new INDArray[] {dataSet.getFeatures(), dataSet.getLabels(), dataSet.getFeaturesMaskArray(),
+                        dataSet.getLabelsMaskArray()};
+        INDArray[] result = new INDArray[source.length];
+
+        // cached arrays outlive any workspace the caller might be in
+        try (MemoryWorkspace workspace = Nd4j.getWorkspaceManager().scopeOutOfWorkspaces()) {
+            for (int i = 0; i < source.length; i++) {
+                if (source[i] != null)
+                    result[i] = BasicNDArrayCompressor.getInstance().compress(source[i], algorithm);
+            }
+        }
+
+        return result;
+    }
+
+    protected DataSet decompress(INDArray[] arrays) {
+        INDArray[] result = new INDArray[arrays.length];
+        for (int i = 0; i < arrays.length; i++) {
+            if (arrays[i] != null)
+                result[i] = BasicNDArrayCompressor.getInstance().decompress(arrays[i]);
+        }
+
+        return new DataSet(result[0], result[1], result[2], result[3]);
+    }
+
+    protected long weightOf(INDArray[] arrays) {
+        long weight = 0;
+        for (INDArray array : arrays) {
+            if (array == null)
+                continue;
+
+            if (array.data() instanceof CompressedDataBuffer)
+                weight += ((CompressedDataBuffer) array.data()).getCompressionDescriptor().getCompressedLength();
+            else
+                weight += array.data().length() * array.data().getElementSize();
+
+            weight += array.shapeInfoDataBuffer().length() * 4;
+        }
+        return weight;
+    }
+
+    protected void writeSpilled(File file, INDArray[] arrays) {
+        File parentDir = file.getParentFile();
+        if (!parentDir.exists() && !parentDir.mkdirs())
+            throw new IllegalStateException("ERROR: cannot create parent directory: " + parentDir);
+
+        int flags = 0;
+        for (int i = 0; i < arrays.length; i++) {
+            if (arrays[i] != null)
+                flags |= 1 << i;
+        }
+
+        try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            dos.writeInt(flags);
+            for (INDArray array : arrays) {
+                if (array != null)
+                    Nd4j.write(array, dos);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        bytesWritten.addAndGet(file.length());
+    }
+
+    protected INDArray[] readSpilled(File file) {
+        INDArray[] arrays = new INDArray[4];
+        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            int flags = dis.readInt();
+            try (MemoryWorkspace workspace = Nd4j.getWorkspaceManager().scopeOutOfWorkspaces()) {
+                for (int i = 0; i < arrays.length; i++) {
+                    // arrays come back decompressed already
+                    if ((flags & (1 << i)) != 0)
+                        arrays[i] = Nd4j.read(dis);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        return arrays;
+    }
+}
@@ -7,8 +7,12 @@ import lombok.Setter;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.dataset.api.DataSet;
 import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
+import org.nd4j.linalg.dataset.api.preprocessor.stats.MergeableBuilder;
 import org.nd4j.linalg.dataset.api.preprocessor.stats.NormalizerStats;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Abstract base class for normalizers
  * that act upon {@link DataSet} instances
@@ -104,6 +108,56 @@ public abstract class AbstractDataSetNormalizer<S extends NormalizerStats> exten
         iterator.reset();
     }
 
+    /**
+     * Fit the given model using multiple worker threads, in a single pass over the iterator.
+     * Each worker accumulates partial statistics over the DataSets it takes, partial statistics are merged at the end.
+     * <p>
+     * PLEASE NOTE: the iterator is only called by one worker at a time, but DataSets are processed concurrently, so
+     * DataSets returned by the iterator must stay valid until at least {@code workers} subsequent next() calls.
+     *
+     * @param iterator for the data to iterate over
+     * @param workers  number of worker threads. Values below 2, or stats builders that don't implement
+     *                 {@link MergeableBuilder}, fall back to {@link #fit(DataSetIterator)}
+     */
+    public void fit(@NonNull DataSetIterator iterator, int workers) {
+        if (workers < 2 || !isMergeable(newBuilder())) {
+            fit(iterator);
+            return;
+        }
+
+        final List<S.Builder> featureNormBuilders = new ArrayList<>(workers);
+        final List<S.Builder> labelNormBuilders = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            featureNormBuilders.add(newBuilder());
+            labelNormBuilders.add(newBuilder());
+        }
+
+        iterator.reset();
+        consumeInParallel(iterator, workers, new PartialConsumer<DataSet>() {
+            @Override
+            public void consume(int worker, DataSet next) {
+                featureNormBuilders.get(worker).addFeatures(next);
+                if (fitLabels) {
+                    labelNormBuilders.get(worker).addLabels(next);
+                }
+            }
+        });
+
+        featureStats = (S) mergeAll(featureNormBuilders).build();
+        if (fitLabels) {
+            labelStats = (S) mergeAll(labelNormBuilders).build();
+        }
+        iterator.reset();
+    }
+
+    private S.Builder mergeAll(List<S.Builder> builders) {
+        S.Builder result = builders.get(0);
+        for (int i = 1; i < builders.size(); i++) {
+            ((MergeableBuilder) result).merge(builders.get(i));
+        }
+        return result;
+    }
+
     protected abstract S.Builder newBuilder();
 
     /**
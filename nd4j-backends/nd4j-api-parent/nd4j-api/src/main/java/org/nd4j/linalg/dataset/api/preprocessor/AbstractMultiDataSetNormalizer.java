@@ -6,6 +6,7 @@ import lombok.Setter;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.dataset.api.MultiDataSet;
 import org.nd4j.linalg.dataset.api.iterator.MultiDataSetIterator;
+import org.nd4j.linalg.dataset.api.preprocessor.stats.MergeableBuilder;
 import org.nd4j.linalg.dataset.api.preprocessor.stats.NormalizerStats;
 
 import java.util.ArrayList;
@@ -114,6 +115,59 @@ public abstract class AbstractMultiDataSetNormalizer<S extends NormalizerStats>
         }
     }
 
+    /**
+     * Fit an iterator using multiple worker threads, in a single pass over the iterator.
+     * Each worker accumulates partial statistics over the MultiDataSets it takes, partial statistics are merged
+     * at the end.
+     * <p>
+     * PLEASE NOTE: the iterator is only called by one worker at a time, but MultiDataSets are processed concurrently,
+     * so MultiDataSets returned by the iterator must stay valid until at least {@code workers} subsequent next() calls.
+     *
+     * @param iterator for the data to iterate over
+     * @param workers  number of worker threads. Values below 2, or stats builders that don't implement
+     *                 {@link MergeableBuilder}, fall back to {@link #fit(MultiDataSetIterator)}
+     */
+    public void fit(@NonNull MultiDataSetIterator iterator, int workers) {
+        if (workers < 2 || !isMergeable(newBuilder())) {
+            fit(iterator);
+            return;
+        }
+
+        final List<List<S.Builder>> featureNormBuilders = new ArrayList<>(workers);
+        final List<List<S.Builder>> labelNormBuilders = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            featureNormBuilders.add(new ArrayList<S.Builder>());
+            labelNormBuilders.add(new ArrayList<S.Builder>());
+        }
+
+        iterator.reset();
+        consumeInParallel(iterator, workers, new PartialConsumer<MultiDataSet>() {
+            @Override
+            public void consume(int worker, MultiDataSet next) {
+                fitPartial(next, featureNormBuilders.get(worker), labelNormBuilders.get(worker));
+            }
+        });
+
+        featureStats = buildList(mergeAll(featureNormBuilders));
+        if (isFitLabel()) {
+            labelStats = buildList(mergeAll(labelNormBuilders));
+        }
+    }
+
+    private List<S.Builder> mergeAll(List<List<S.Builder>> partials) {
+        List<S.Builder> result = new ArrayList<>();
+        for (List<S.Builder> partial : partials) {
+            if (result.isEmpty()) {
+                result.addAll(partial);
+                continue;
+            }
+            for (int i = 0; i < partial.size(); i++) {
+                ((MergeableBuilder) result.get(i)).merge(partial.get(i));
+            }
+        }
+        return result;
+    }
+
     private List<S> buildList(@NonNull List<S.Builder> builders) {
         List<S> result = new ArrayList<>(builders.size());
         for (S.Builder builder : builders) {
@@ -1,6 +1,12 @@
 package org.nd4j.linalg.dataset.api.preprocessor;
 
+import org.nd4j.linalg.dataset.api.preprocessor.stats.MergeableBuilder;
+import org.nd4j.linalg.dataset.api.preprocessor.stats.NormalizerStats;
+import org.nd4j.linalg.factory.Nd4j;
+
 import java.io.Serializable;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Abstract base class for normalizers for both DataSet and MultiDataSet processing
@@ -16,4 +22,77 @@ public abstract class AbstractNormalizer implements Serializable {
                             "API_USE_ERROR: Preprocessors have to be explicitly fit before use. Usage: .fit(dataset) or .fit(datasetiterator)");
         }
     }
+
+    /**
+     * Partial statistics gathered by parallel workers can only be combined if the stats builder supports merging.
+     * Normalizers fall back to sequential fitting otherwise.
+     */
+    protected static boolean isMergeable(NormalizerStats.Builder builder) {
+        return builder instanceof MergeableBuilder;
+    }
+
+    /**
+     * Worker callback used by {@link #consumeInParallel(Iterator, int, PartialConsumer)}
+     */
+    protected interface PartialConsumer<T> {
+        /**
+         * @param worker index of the worker thread, within [0, workers)
+         * @param item   next item taken from the iterator
+         */
+        void consume(int worker, T item);
+    }
+
+    /**
+     * Drains the iterator with the given number of worker threads. Calls to the iterator are serialized, everything
+     * done by the consumer happens concurrently. Worker threads are attached to the device of the calling thread.
+     * The first exception thrown by any worker stops all of them and is rethrown by this method.
+     */
+    protected static <T> void consumeInParallel(final Iterator<? extends T> iterator, int workers,
+                    final PartialConsumer<T> consumer) {
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final Integer deviceId = Nd4j.getAffinityManager().getDeviceForCurrentThread();
+
+        Thread[] threads = new Thread[workers];
+        for (int w = 0; w < workers; w++) {
+            final int worker = w;
+            threads[w] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        while (error.get() == null) {
+                            T next;
+                            synchronized (iterator) {
+                                if (!iterator.hasNext())
+                                    return;
+                                next = iterator.next();
+                            }
+                            consumer.consume(worker, next);
+                        }
+                    } catch (Throwable t) {
+                        error.compareAndSet(null, t);
+                    }
+                }
+            });
+            threads[w].setName("Normalizer fit thread " + w);
+            threads[w].setDaemon(true);
+            Nd4j.getAffinityManager().attachThreadToDevice(threads[w], deviceId);
+            threads[w].start();
+        }
+
+        try {
+            for (Thread thread : threads)
+                thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+
+        Throwable t = error.get();
+        if (t instanceof RuntimeException)
+            throw (RuntimeException) t;
+        if (t instanceof Error)
+            throw (Error) t;
+        if (t != null)
+            throw new RuntimeException(t);
+    }
 }
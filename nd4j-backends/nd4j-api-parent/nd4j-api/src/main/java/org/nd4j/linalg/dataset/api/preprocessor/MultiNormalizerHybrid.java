@@ -8,10 +8,13 @@ import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.dataset.api.MultiDataSet;
 import org.nd4j.linalg.dataset.api.iterator.MultiDataSetIterator;
 import org.nd4j.linalg.dataset.api.preprocessor.serializer.NormalizerType;
+import org.nd4j.linalg.dataset.api.preprocessor.stats.MergeableBuilder;
 import org.nd4j.linalg.dataset.api.preprocessor.stats.NormalizerStats;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -250,6 +253,72 @@ public class MultiNormalizerHybrid extends AbstractNormalizer implements MultiDa
         outputStats = buildAllStats(outputStatsBuilders);
     }
 
+    /**
+     * Iterates over a dataset with multiple worker threads, accumulating partial statistics per worker, and merges
+     * them at the end.
+     * <p>
+     * PLEASE NOTE: the iterator is only called by one worker at a time, but MultiDataSets are processed concurrently,
+     * so MultiDataSets returned by the iterator must stay valid until at least {@code workers} subsequent next() calls.
+     *
+     * @param iterator the iterator to use for collecting statistics
+     * @param workers  number of worker threads. Values below 2, or strategies whose stats builders don't implement
+     *                 {@link MergeableBuilder}, fall back to {@link #fit(MultiDataSetIterator)}
+     */
+    public void fit(@NonNull MultiDataSetIterator iterator, int workers) {
+        if (workers < 2 || !allMergeable()) {
+            fit(iterator);
+            return;
+        }
+
+        final List<Map<Integer, NormalizerStats.Builder>> inputStatsBuilders = new ArrayList<>(workers);
+        final List<Map<Integer, NormalizerStats.Builder>> outputStatsBuilders = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            inputStatsBuilders.add(new HashMap<Integer, NormalizerStats.Builder>());
+            outputStatsBuilders.add(new HashMap<Integer, NormalizerStats.Builder>());
+        }
+
+        iterator.reset();
+        consumeInParallel(iterator, workers, new PartialConsumer<MultiDataSet>() {
+            @Override
+            public void consume(int worker, MultiDataSet next) {
+                fitPartial(next, inputStatsBuilders.get(worker), outputStatsBuilders.get(worker));
+            }
+        });
+
+        inputStats = buildAllStats(mergeAll(inputStatsBuilders));
+        outputStats = buildAllStats(mergeAll(outputStatsBuilders));
+    }
+
+    private boolean allMergeable() {
+        List<NormalizerStrategy> strategies = new ArrayList<>();
+        strategies.add(globalInputStrategy);
+        strategies.add(globalOutputStrategy);
+        strategies.addAll(perInputStrategies.values());
+        strategies.addAll(perOutputStrategies.values());
+
+        for (NormalizerStrategy strategy : strategies) {
+            if (strategy != null && !isMergeable(strategy.newStatsBuilder())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Map<Integer, NormalizerStats.Builder> mergeAll(List<Map<Integer, NormalizerStats.Builder>> partials) {
+        Map<Integer, NormalizerStats.Builder> result = new HashMap<>();
+        for (Map<Integer, NormalizerStats.Builder> partial : partials) {
+            for (Map.Entry<Integer, NormalizerStats.Builder> entry : partial.entrySet()) {
+                NormalizerStats.Builder builder = result.get(entry.getKey());
+                if (builder == null) {
+                    result.put(entry.getKey(), entry.getValue());
+                } else {
+                    ((MergeableBuilder) builder).merge(entry.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
     private void fitPartial(MultiDataSet dataSet, Map<Integer, NormalizerStats.Builder> inputStatsBuilders,
                     Map<Integer, NormalizerStats.Builder> outputStatsBuilders) {
         ensureStatsBuilders(inputStatsBuilders, globalInputStrategy, perInputStrategies, dataSet.numFeatureArrays());
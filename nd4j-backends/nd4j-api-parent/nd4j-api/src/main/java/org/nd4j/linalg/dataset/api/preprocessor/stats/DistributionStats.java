@@ -4,6 +4,7 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.Axpy;
 import org.nd4j.linalg.dataset.api.DataSetUtil;
 import org.nd4j.linalg.dataset.api.preprocessor.NormalizerStandardize;
 import org.nd4j.linalg.factory.Nd4j;
@@ -68,8 +69,8 @@ public class DistributionStats implements NormalizerStats {
      * Builder class that can incrementally update a running mean and variance in order to create statistics for a
      * large set of data
      */
-    public static class Builder implements NormalizerStats.Builder<DistributionStats> {
-        private int runningCount = 0;
+    public static class Builder implements MergeableBuilder<DistributionStats> {
+        private long runningCount = 0;
         private INDArray runningMean;
         private INDArray runningVariance;
 
@@ -106,36 +107,65 @@ public class DistributionStats implements NormalizerStats {
             INDArray variance = data.var(false, 0);
             int count = data.size(0);
 
+            if (count == 1) {
+                //Handle edge case: currently, reduction ops may return the same array
+                //But we don't want to modify this array in-place later
+                mean = mean.dup();
+                variance = variance.dup();
+            }
+
+            update(count, mean, variance);
+            return this;
+        }
+
+        /**
+         * Merge statistics gathered by another Builder into this one, as if data added to the other Builder was
+         * added to this one. Used to combine partial statistics gathered over disjoint parts of the data, i.e. by
+         * parallel workers. The other Builder is left unchanged.
+         */
+        public Builder merge(@NonNull NormalizerStats.Builder<DistributionStats> other) {
+            if (!(other instanceof Builder))
+                throw new IllegalArgumentException("Can't merge " + other.getClass().getSimpleName()
+                                + " into DistributionStats.Builder");
+
+            Builder builder = (Builder) other;
+            if (builder.runningMean == null)
+                return this;
+
+            update(builder.runningCount, builder.runningMean.dup(), builder.runningVariance.dup());
+            return this;
+        }
+
+        /**
+         * Combines running statistics with mean and (population) variance of another part of data, in place.
+         * Both mean and variance arrays are consumed: they're either adopted or used as scratch space.
+         */
+        private void update(long count, INDArray mean, INDArray variance) {
             if (runningMean == null) {
                 // First batch
                 runningMean = mean;
                 runningVariance = variance;
                 runningCount = count;
-
-                if(data.size(0) == 1){
-                    //Handle edge case: currently, reduction ops may return the same array
-                    //But we don't want to modify this array in-place later
-                    runningMean = runningMean.dup();
-                    runningVariance = runningVariance.dup();
-                }
-            } else {
-                // Update running variance
-                INDArray deltaSquared = Transforms.pow(mean.subRowVector(runningMean), 2);
-                INDArray mB = variance.muli(count);
-                runningVariance.muli(runningCount).addiRowVector(mB)
-                                .addiRowVector(deltaSquared
-                                                .muli((float) (runningCount * count) / (runningCount + count)))
-                                .divi(runningCount + count);
-
-                // Update running count
-                runningCount += count;
-
-                // Update running mean
-                INDArray xMinusMean = data.subRowVector(runningMean);
-                runningMean.addi(xMinusMean.sum(0).divi(runningCount));
+                return;
             }
 
-            return this;
+            long totalCount = runningCount + count;
+
+            // sum of squared differences from the mean of each part: M2 = n * var
+            runningVariance.muli(runningCount);
+            Nd4j.getExecutioner().exec(new Axpy(variance, runningVariance, count));
+
+            // delta = mean_b - mean_a, mean = mean_a + delta * n_b / n
+            INDArray delta = mean.subi(runningMean);
+            Nd4j.getExecutioner().exec(new Axpy(delta, runningMean, (double) count / totalCount));
+
+            // M2 = M2_a + M2_b + delta^2 * n_a * n_b / n
+            delta.muli(delta);
+            Nd4j.getExecutioner().exec(
+                            new Axpy(delta, runningVariance, (double) runningCount * count / totalCount));
+            runningVariance.divi(totalCount);
+
+            runningCount = totalCount;
         }
 
         /**
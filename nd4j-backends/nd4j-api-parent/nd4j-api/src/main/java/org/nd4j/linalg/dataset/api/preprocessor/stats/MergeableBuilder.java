@@ -0,0 +1,17 @@
+package org.nd4j.linalg.dataset.api.preprocessor.stats;
+
+/**
+ * Builder of statistics that can be combined with statistics gathered by another builder of the same kind.
+ * Normalizers fit with multiple worker threads only if their builders implement this interface,
+ * and fall back to single threaded fitting otherwise.
+ *
+ * @param <S> type of statistics built
+ */
+public interface MergeableBuilder<S extends NormalizerStats> extends NormalizerStats.Builder<S> {
+    /**
+     * Merge statistics gathered by another builder of the same kind into this one
+     *
+     * @param other builder holding statistics over a disjoint part of the data, left unchanged
+     */
+    MergeableBuilder<S> merge(NormalizerStats.Builder<S> other);
+}
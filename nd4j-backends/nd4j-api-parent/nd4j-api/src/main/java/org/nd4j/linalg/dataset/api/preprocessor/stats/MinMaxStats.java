@@ -68,7 +68,7 @@ public class MinMaxStats implements NormalizerStats {
      * Builder class that can incrementally update a running lower and upper bound in order to create statistics for a
      * large set of data
      */
-    public static class Builder implements NormalizerStats.Builder<MinMaxStats> {
+    public static class Builder implements MergeableBuilder<MinMaxStats> {
         private INDArray runningLower;
         private INDArray runningUpper;
 
@@ -121,6 +121,30 @@ public class MinMaxStats implements NormalizerStats {
             return this;
         }
 
+        /**
+         * Merge bounds gathered by another Builder into this one, as if data added to the other Builder was
+         * added to this one. The other Builder is left unchanged.
+         */
+        public MinMaxStats.Builder merge(@NonNull NormalizerStats.Builder<MinMaxStats> other) {
+            if (!(other instanceof MinMaxStats.Builder))
+                throw new IllegalArgumentException("Can't merge " + other.getClass().getSimpleName()
+                                + " into MinMaxStats.Builder");
+
+            MinMaxStats.Builder builder = (MinMaxStats.Builder) other;
+            if (builder.runningLower == null)
+                return this;
+
+            if (runningLower == null) {
+                runningLower = builder.runningLower.dup();
+                runningUpper = builder.runningUpper.dup();
+            } else {
+                Transforms.min(runningLower, builder.runningLower, false);
+                Transforms.max(runningUpper, builder.runningUpper, false);
+            }
+
+            return this;
+        }
+
         /**
          * Create a DistributionStats object from the data ingested so far. Can be used multiple times when updating
          * online.
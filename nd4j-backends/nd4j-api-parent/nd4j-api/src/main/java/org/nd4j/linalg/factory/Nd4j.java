@@ -26,6 +26,7 @@ import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.LineIterator;
 import org.apache.commons.lang3.ArrayUtils;
+import org.bytedeco.javacpp.BytePointer;
 import org.bytedeco.javacpp.DoublePointer;
 import org.bytedeco.javacpp.FloatPointer;
 import org.bytedeco.javacpp.IntPointer;
@@ -36,6 +37,7 @@ import org.bytedeco.javacpp.indexer.Indexer;
 import org.bytedeco.javacpp.indexer.IntRawIndexer;
 import org.nd4j.context.Nd4jContext;
 import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.buffer.MappedDataBuffer;
 import org.nd4j.linalg.api.buffer.factory.DataBufferFactory;
 import org.nd4j.linalg.api.buffer.factory.DefaultDataBufferFactory;
 import org.nd4j.linalg.api.buffer.util.DataTypeUtil;
@@ -89,6 +91,10 @@ import java.lang.ref.ReferenceQueue;
 import java.lang.reflect.Constructor;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.text.ParseException;
@@ -149,6 +155,10 @@ public class Nd4j {
     private static boolean allowsOrder = false;
     public static boolean compressDebug = false;
     public static boolean preventUnpack = System.getenv("ND4J_PREVENT_UNPACK") != null;
+    //header of files produced by saveMapped(), and alignment of the data section following it
+    private static final int MMAP_MAGIC = 0x4E44344D;
+    private static final int MMAP_VERSION = 1;
+    private static final int MMAP_ALIGNMENT = 64;
     public static Nd4jBackend backend;
     public static RandomFactory randomFactory;
     private static MemoryWorkspaceManager workspaceManager;
@@ -840,6 +850,39 @@ public class Nd4j {
         return c;
     }
 
+    /** Batched matrix multiply: Implements c[i] = alpha*op(a[i])*op(b[i]) + beta*c[i] for every i,
+     * executing the whole batch at once where the backend supports it.<br>
+     * Note that matrices of c MUST be contiguous, c or f order.
+     * @param a first matrices
+     * @param b second matrices
+     * @param c result matrices. Used in calculation (assuming beta != 0) and results are stored in them
+     * @param transposeA if true: transpose matrices of a before mmul
+     * @param transposeB if true: transpose matrices of b before mmul
+     * @return result, i.e., matrices c are returned for convenience
+     */
+    public static List<INDArray> gemmBatched(List<INDArray> a, List<INDArray> b, List<INDArray> c,
+                    boolean transposeA, boolean transposeB, double alpha, double beta) {
+        getBlasWrapper().level3().gemmBatched(a, b, c, transposeA, transposeB, alpha, beta);
+        return c;
+    }
+
+    /**
+     * Batched matrix multiply over 3d arrays of shape [batch, rows, columns]:
+     * c[i] = op(a[i])*op(b[i]) for every i
+     * @param a first 3d array
+     * @param b second 3d array
+     * @param transposeA if true: transpose matrices of a before mmul
+     * @param transposeB if true: transpose matrices of b before mmul
+     * @return result, c order 3d array
+     */
+    public static INDArray gemmStridedBatched(INDArray a, INDArray b, boolean transposeA, boolean transposeB) {
+        int cRows = (transposeA ? a.size(2) : a.size(1));
+        int cCols = (transposeB ? b.size(1) : b.size(2));
+        INDArray c = Nd4j.create(new int[] {a.size(0), cRows, cCols}, 'c');
+        getBlasWrapper().level3().gemmStridedBatched(a, b, c, transposeA, transposeB, 1.0, 0.0);
+        return c;
+    }
+
     /**
      * Given a sequence of Iterators over a transform of matrices, fill in all of
      * the matrices with the entries in the theta vector.  Errors are
@@ -2463,6 +2506,115 @@ public class Nd4j {
     }
 
 
+    /**
+     * Save an ndarray to the given file in the layout suitable for memory mapping:
+     * a small header, followed by raw data in native byte order aligned to 64 bytes.
+     *
+     * Use {@link #mmap(File, MappedDataBuffer.Mode)} to map such file back into INDArray.
+     *
+     * @param arr the array to save
+     * @param saveTo the file to save to
+     * @throws IOException
+     */
+    public static void saveMapped(INDArray arr, File saveTo) throws IOException {
+        //same as in write(): we only want to save the actual data of a view
+        if (arr.isView())
+            arr = arr.dup();
+
+        DataBuffer data = arr.data();
+        if (data.dataType() != DataBuffer.Type.DOUBLE && data.dataType() != DataBuffer.Type.FLOAT
+                        && data.dataType() != DataBuffer.Type.INT)
+            throw new ND4JIllegalStateException("Memory mapping isn't supported for data type " + data.dataType());
+
+        long dataBytes = data.length() * data.getElementSize();
+        if (dataBytes > Integer.MAX_VALUE)
+            throw new ND4JIllegalStateException("Memory-mapped arrays are limited to " + Integer.MAX_VALUE + " bytes of data");
+
+        Nd4j.getAffinityManager().ensureLocation(arr, AffinityManager.Location.HOST);
+
+        int[] shapeInfo = arr.shapeInfoDataBuffer().asInt();
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(bos);
+        header.writeInt(MMAP_MAGIC);
+        header.writeInt(MMAP_VERSION);
+        // placeholder for data offset, patched below
+        header.writeInt(0);
+        header.writeBoolean(ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN);
+        header.writeUTF(data.dataType().name());
+        header.writeLong(data.length());
+        header.writeInt(shapeInfo.length);
+        for (int value : shapeInfo)
+            header.writeInt(value);
+        header.flush();
+
+        byte[] headerBytes = bos.toByteArray();
+        int dataOffset = (headerBytes.length + MMAP_ALIGNMENT - 1) / MMAP_ALIGNMENT * MMAP_ALIGNMENT;
+        ByteBuffer.wrap(headerBytes).putInt(8, dataOffset);
+
+        try (RandomAccessFile file = new RandomAccessFile(saveTo, "rw"); FileChannel channel = file.getChannel()) {
+            file.setLength(dataOffset + dataBytes);
+            channel.write(ByteBuffer.wrap(headerBytes), 0);
+
+            MappedByteBuffer target = channel.map(FileChannel.MapMode.READ_WRITE, dataOffset, dataBytes);
+            Pointer.memcpy(new BytePointer(target), data.addressPointer(), dataBytes);
+            target.force();
+        }
+    }
+
+    /**
+     * Map an ndarray saved with {@link #saveMapped(INDArray, File)} into memory.
+     *
+     * Data isn't copied: returned array is backed by the mapped file, so pages are loaded lazily,
+     * and all processes mapping the same file share one physical copy of the data.
+     *
+     * PLEASE NOTE: arrays mapped in READ_ONLY mode can't be used as targets of in-place ops.
+     * Use COPY_ON_WRITE mode if you need to modify the array without changing the file.
+     *
+     * @param file the file to map
+     * @param mode mapping mode
+     * @return the array backed by the mapped file
+     * @throws IOException
+     */
+    public static INDArray mmap(File file, MappedDataBuffer.Mode mode) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, mode == MappedDataBuffer.Mode.READ_ONLY ? "r" : "rw");
+                        FileChannel channel = raf.getChannel()) {
+            DataInputStream header = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+
+            if (header.readInt() != MMAP_MAGIC)
+                throw new ND4JIllegalStateException("File [" + file + "] wasn't created with Nd4j.saveMapped()");
+
+            int version = header.readInt();
+            if (version != MMAP_VERSION)
+                throw new ND4JIllegalStateException("Unsupported memory-mapped file version: " + version);
+
+            int dataOffset = header.readInt();
+            boolean bigEndian = header.readBoolean();
+            if (bigEndian != (ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN))
+                throw new ND4JIllegalStateException("File [" + file
+                                + "] was saved on a host with different byte order, and can't be mapped directly");
+
+            DataBuffer.Type type = DataBuffer.Type.valueOf(header.readUTF());
+            long length = header.readLong();
+            int[] shapeInfo = new int[header.readInt()];
+            for (int i = 0; i < shapeInfo.length; i++)
+                shapeInfo[i] = header.readInt();
+
+            FileChannel.MapMode mapMode;
+            if (mode == MappedDataBuffer.Mode.READ_ONLY)
+                mapMode = FileChannel.MapMode.READ_ONLY;
+            else if (mode == MappedDataBuffer.Mode.COPY_ON_WRITE)
+                mapMode = FileChannel.MapMode.PRIVATE;
+            else
+                mapMode = FileChannel.MapMode.READ_WRITE;
+
+            MappedByteBuffer mapping = channel.map(mapMode, dataOffset, channel.size() - dataOffset);
+            DataBuffer data = DATA_BUFFER_FACTORY_INSTANCE.createMapped(mapping, type, length, mode);
+
+            return createArrayFromShapeBuffer(data, Nd4j.createBuffer(shapeInfo));
+        }
+    }
+
     /**
      * Clear nans from an ndarray
      *
@@ -5977,8 +6129,8 @@ public class Nd4j {
             shapeInfoProvider = shapeInfoProviderClazz.newInstance();
             workspaceManager = workspaceManagerClazz.newInstance();
 
-            opExecutionerClazz = (Class<? extends OpExecutioner>) Class
-                    .forName(props.getProperty(OP_EXECUTIONER, DefaultOpExecutioner.class.getName()));
+            opExecutionerClazz = (Class<? extends OpExecutioner>) Class.forName(System.getProperty(OP_EXECUTIONER,
+                    props.getProperty(OP_EXECUTIONER, DefaultOpExecutioner.class.getName())));
 
             instrumentation = instrumentationClazz.newInstance();
             OP_EXECUTIONER_INSTANCE = opExecutionerClazz.newInstance();
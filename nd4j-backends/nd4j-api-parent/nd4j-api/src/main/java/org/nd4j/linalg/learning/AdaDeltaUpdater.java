@@ -20,11 +20,17 @@
 package org.nd4j.linalg.learning;
 
 import lombok.Data;
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.transforms.Sqrt;
+import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.Axpy;
+import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.MulOp;
 import org.nd4j.linalg.api.shape.Shape;
+import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.indexing.NDArrayIndex;
 import org.nd4j.linalg.learning.config.AdaDelta;
-import org.nd4j.linalg.ops.transforms.Transforms;
+
+import java.util.Arrays;
 
 /**
  * http://www.matthewzeiler.com/pubs/googleTR2012/googleTR2012.pdf
@@ -42,6 +48,10 @@ public class AdaDeltaUpdater implements GradientUpdater<AdaDelta> {
 
     private INDArray msg; //E[g^2]_t by arxiv paper, algorithm 1
     private INDArray msdx; //E[delta x^2]_t by arxiv paper, algorithm 1
+    private char gradientReshapeOrder;
+
+    // reused between iterations for squares and RMS values
+    private transient INDArray scratch;
 
 
 
@@ -64,6 +74,8 @@ public class AdaDeltaUpdater implements GradientUpdater<AdaDelta> {
         this.msdx = Shape.newShapeNoCopy(this.msdx, gradientShape, gradientOrder == 'f');
         if (msg == null || msdx == null)
             throw new IllegalStateException("Could not correctly reshape gradient view arrays");
+
+        this.gradientReshapeOrder = gradientOrder;
     }
 
     /**
@@ -85,16 +97,38 @@ public class AdaDeltaUpdater implements GradientUpdater<AdaDelta> {
 
         //Line 4 of Algorithm 1: https://arxiv.org/pdf/1212.5701v1.pdf
         //E[g^2]_t = rho * E[g^2]_{t−1} + (1-rho)*g^2_t
-        msg.muli(rho).addi(gradient.mul(gradient).muli(1 - rho));
+        INDArray scratch = scratchFor(gradient);
+        Nd4j.getExecutioner().exec(new MulOp(gradient, gradient, scratch));
+        msg.muli(rho);
+        Nd4j.getExecutioner().exec(new Axpy(scratch, msg, 1 - rho));
 
         //Calculate update:
         //dX = - g * RMS[delta x]_{t-1} / RMS[g]_t
         //Note: negative is applied in the DL4J step function: params -= update rather than params += update
-        INDArray rmsdx_t1 = Transforms.sqrt(msdx.add(epsilon), false);
-        INDArray rmsg_t = Transforms.sqrt(msg.add(epsilon), false);
-        INDArray update = gradient.muli(rmsdx_t1.divi(rmsg_t));
+        scratch.assign(msdx).addi(epsilon);
+        Nd4j.getExecutioner().exec(new Sqrt(scratch, scratch));
+        gradient.muli(scratch);
+
+        scratch.assign(msg).addi(epsilon);
+        Nd4j.getExecutioner().exec(new Sqrt(scratch, scratch));
+        INDArray update = gradient.divi(scratch);
 
         //Accumulate gradients: E[delta x^2]_t = rho * E[delta x^2]_{t-1} + (1-rho)* (delta x_t)^2
-        msdx.muli(rho).addi(update.mul(update).muli(1 - rho));
+        Nd4j.getExecutioner().exec(new MulOp(update, update, scratch));
+        msdx.muli(rho);
+        Nd4j.getExecutioner().exec(new Axpy(scratch, msdx, 1 - rho));
+    }
+
+    /**
+     * Returns scratch array of the same shape as gradient. It's allocated on first call only,
+     * out of any workspace, so subsequent iterations don't allocate anything.
+     */
+    private INDArray scratchFor(INDArray gradient) {
+        if (scratch == null || !Arrays.equals(scratch.shape(), gradient.shape())) {
+            try (MemoryWorkspace workspace = Nd4j.getWorkspaceManager().scopeOutOfWorkspaces()) {
+                scratch = Nd4j.createUninitialized(gradient.shape(), gradientReshapeOrder);
+            }
+        }
+        return scratch;
     }
 }
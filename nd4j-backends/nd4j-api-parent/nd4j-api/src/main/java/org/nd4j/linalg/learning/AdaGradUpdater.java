@@ -21,11 +21,15 @@ package org.nd4j.linalg.learning;
 
 
 import lombok.Data;
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.transforms.Sqrt;
+import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.MulOp;
 import org.nd4j.linalg.api.shape.Shape;
+import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.learning.config.AdaGrad;
 
-import static org.nd4j.linalg.ops.transforms.Transforms.sqrt;
+import java.util.Arrays;
 
 
 /**
@@ -48,6 +52,9 @@ public class AdaGradUpdater implements GradientUpdater<AdaGrad> {
 
     private AdaGrad config;
 
+    // reused between iterations, holds gradient^2 first and sqrt(history) after that
+    private transient INDArray scratch;
+
     public AdaGradUpdater(AdaGrad config){
         this.config = config;
     }
@@ -83,10 +90,26 @@ public class AdaGradUpdater implements GradientUpdater<AdaGrad> {
         double learningRate = config.getLearningRate();
         double epsilon = config.getEpsilon();
 
-        historicalGradient.addi(gradient.mul(gradient));
+        INDArray scratch = scratchFor(gradient);
+
+        Nd4j.getExecutioner().exec(new MulOp(gradient, gradient, scratch));
+        historicalGradient.addi(scratch);
 
-        INDArray sqrtHistory = sqrt(historicalGradient.dup(gradientReshapeOrder), false).addi(epsilon);
+        Nd4j.getExecutioner().exec(new Sqrt(historicalGradient, scratch));
         // lr * gradient / (sqrt(sumSquaredGradients) + epsilon)
-        gradient.muli(sqrtHistory.rdivi(learningRate));
+        gradient.muli(scratch.addi(epsilon).rdivi(learningRate));
+    }
+
+    /**
+     * Returns scratch array of the same shape as gradient. It's allocated on first call only,
+     * out of any workspace, so subsequent iterations don't allocate anything.
+     */
+    private INDArray scratchFor(INDArray gradient) {
+        if (scratch == null || !Arrays.equals(scratch.shape(), gradient.shape())) {
+            try (MemoryWorkspace workspace = Nd4j.getWorkspaceManager().scopeOutOfWorkspaces()) {
+                scratch = Nd4j.createUninitialized(gradient.shape(), gradientReshapeOrder);
+            }
+        }
+        return scratch;
     }
 }
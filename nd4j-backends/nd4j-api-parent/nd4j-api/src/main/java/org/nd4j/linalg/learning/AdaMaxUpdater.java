@@ -4,6 +4,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.apache.commons.math3.util.FastMath;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.Axpy;
 import org.nd4j.linalg.api.ops.impl.transforms.comparison.Max;
 import org.nd4j.linalg.api.shape.Shape;
 import org.nd4j.linalg.factory.Nd4j;
@@ -65,7 +66,8 @@ public class AdaMaxUpdater implements GradientUpdater<AdaMax> {
             throw new IllegalStateException("Updater has not been initialized with view state");
 
         //m = B_1 * m + (1-B_1)*grad
-        m.muli(config.getBeta1()).addi(gradient.mul(1-config.getBeta1()));
+        m.muli(config.getBeta1());
+        Nd4j.getExecutioner().exec(new Axpy(gradient, m, 1 - config.getBeta1()));
 
         //u = max(B_2 * u, |grad|)
         u.muli(config.getBeta2());
@@ -22,10 +22,12 @@ package org.nd4j.linalg.learning;
 import lombok.Data;
 import org.apache.commons.math3.util.FastMath;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.transforms.Sqrt;
+import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.Axpy;
 import org.nd4j.linalg.api.shape.Shape;
+import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.indexing.NDArrayIndex;
 import org.nd4j.linalg.learning.config.Adam;
-import org.nd4j.linalg.ops.transforms.Transforms;
 
 /**
  * The Adam updater.
@@ -81,11 +83,15 @@ public class AdamUpdater implements GradientUpdater<Adam> {
         double learningRate = config.getLearningRate();
         double epsilon = config.getEpsilon();
 
-        INDArray oneMinusBeta1Grad = gradient.mul(1.0 - beta1);
-        m.muli(beta1).addi(oneMinusBeta1Grad);
+        // all steps below are in-place, gradient array is used as scratch space once it's not needed anymore
+        //m = B_1 * m + (1-B_1)*grad
+        m.muli(beta1);
+        Nd4j.getExecutioner().exec(new Axpy(gradient, m, 1.0 - beta1));
 
-        INDArray oneMinusBeta2GradSquared = gradient.mul(gradient).muli(1 - beta2);
-        v.muli(beta2).addi(oneMinusBeta2GradSquared);
+        //v = B_2 * v + (1-B_2)*grad^2
+        v.muli(beta2);
+        gradient.muli(gradient);
+        Nd4j.getExecutioner().exec(new Axpy(gradient, v, 1.0 - beta2));
 
         double beta1t = FastMath.pow(beta1, iteration + 1);
         double beta2t = FastMath.pow(beta2, iteration + 1);
@@ -93,8 +99,9 @@ public class AdamUpdater implements GradientUpdater<Adam> {
         double alphat = learningRate * FastMath.sqrt(1 - beta2t) / (1 - beta1t);
         if (Double.isNaN(alphat) || alphat == 0.0)
             alphat = epsilon;
-        INDArray sqrtV = Transforms.sqrt(v.dup(gradientReshapeOrder), false).addi(epsilon);
 
-        gradient.assign(m).muli(alphat).divi(sqrtV);
+        // alphat * m / (sqrt(v) + epsilon)
+        Nd4j.getExecutioner().exec(new Sqrt(v, gradient));
+        gradient.addi(epsilon).rdivi(m).muli(alphat);
     }
 }
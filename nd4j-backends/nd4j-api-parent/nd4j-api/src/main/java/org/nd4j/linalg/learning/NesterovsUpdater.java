@@ -21,7 +21,7 @@ package org.nd4j.linalg.learning;
 
 import lombok.Data;
 import org.nd4j.linalg.api.ndarray.INDArray;
-import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.AddOp;
+import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.Axpy;
 import org.nd4j.linalg.api.shape.Shape;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.learning.config.Nesterovs;
@@ -82,14 +82,15 @@ public class NesterovsUpdater implements GradientUpdater<Nesterovs> {
         //i.e., we do params -= updatedGradient, not params += updatedGradient
 
         //v = mu * v - lr * gradient
-        INDArray vPrev = v.dup(gradientReshapeOrder);
-        v.muli(momentum).subi(gradient.dup(gradientReshapeOrder).muli(learningRate));              //Modify state array in-place
+        gradient.muli(learningRate);
+        v.muli(momentum).subi(gradient);              //Modify state array in-place
 
         /*
         Next line is equivalent to:
         INDArray ret = vPrev.muli(momentum).addi(v.mul(-momentum - 1));
         gradient.assign(ret);
+        Since vPrev = (v + lr * gradient) / mu, that's lr * gradient - mu * v, so no copy of vPrev is needed
         */
-        Nd4j.getExecutioner().exec(new AddOp(vPrev.muli(momentum), v.mul(-momentum - 1), gradient));
+        Nd4j.getExecutioner().exec(new Axpy(v, gradient, -momentum));
     }
 }
@@ -20,10 +20,16 @@
 package org.nd4j.linalg.learning;
 
 import lombok.Data;
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.transforms.Sqrt;
+import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.Axpy;
+import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.MulOp;
 import org.nd4j.linalg.api.shape.Shape;
+import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.learning.config.RmsProp;
-import org.nd4j.linalg.ops.transforms.Transforms;
+
+import java.util.Arrays;
 
 /**
  * RMS Prop updates:
@@ -41,6 +47,9 @@ public class RmsPropUpdater implements GradientUpdater<RmsProp> {
     private INDArray lastGradient;
     private char gradientReshapeOrder;
 
+    // reused between iterations, holds gradient^2 first and sqrt(cache) after that
+    private transient INDArray scratch;
+
     public RmsPropUpdater(RmsProp config) {
         this.config = config;
     }
@@ -70,8 +79,28 @@ public class RmsPropUpdater implements GradientUpdater<RmsProp> {
         double rmsDecay = config.getRmsDecay();
         double epsilon = config.getEpsilon();
 
-        lastGradient.muli(rmsDecay).addi(gradient.mul(gradient).muli(1 - rmsDecay));
+        INDArray scratch = scratchFor(gradient);
+
+        //cache = decay * cache + (1 - decay) * gradient^2
+        Nd4j.getExecutioner().exec(new MulOp(gradient, gradient, scratch));
+        lastGradient.muli(rmsDecay);
+        Nd4j.getExecutioner().exec(new Axpy(scratch, lastGradient, 1 - rmsDecay));
+
         // lr * gradient / (sqrt(cache) + 1e-8)
-        gradient.muli(learningRate).divi(Transforms.sqrt(lastGradient.dup(gradientReshapeOrder), false).addi(epsilon));
+        Nd4j.getExecutioner().exec(new Sqrt(lastGradient, scratch));
+        gradient.muli(learningRate).divi(scratch.addi(epsilon));
+    }
+
+    /**
+     * Returns scratch array of the same shape as gradient. It's allocated on first call only,
+     * out of any workspace, so subsequent iterations don't allocate anything.
+     */
+    private INDArray scratchFor(INDArray gradient) {
+        if (scratch == null || !Arrays.equals(scratch.shape(), gradient.shape())) {
+            try (MemoryWorkspace workspace = Nd4j.getWorkspaceManager().scopeOutOfWorkspaces()) {
+                scratch = Nd4j.createUninitialized(gradient.shape(), gradientReshapeOrder);
+            }
+        }
+        return scratch;
     }
 }
@@ -6,19 +6,23 @@ import org.nd4j.linalg.api.ops.*;
 import org.nd4j.linalg.profiler.data.StackAggregator;
 import org.nd4j.linalg.profiler.data.StringAggregator;
 import org.nd4j.linalg.profiler.data.StringCounter;
+import org.nd4j.linalg.profiler.data.primitives.ShardedCounter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Map;
 
 import static org.nd4j.linalg.profiler.OpProfiler.PenaltyCause.NONE;
 
 /**
  * This class is suited for execution statistics gathering on Op/Array level: number of sequential ops executed on the same data
  *
- * PLEASE NOTE: This isn't thread-safe implementation.
+ * All counters are sharded per thread and merged on demand, so profiling of multi-threaded workloads
+ * doesn't introduce contention between threads. Sequences of ops (pairs, matching inputs/outputs) are tracked per thread.
+ * Use getSnapshot() to poll merged counters without printing the whole dashboard.
  *
  * @author raver119@gmail.com
  */
@@ -28,7 +32,7 @@ public class OpProfiler {
         NONE, NON_EWS_ACCESS, STRIDED_ACCESS, MIXED_ORDER, TAD_NON_EWS_ACCESS, TAD_STRIDED_ACCESS,
     }
 
-    private static AtomicLong invocationsCount = new AtomicLong(0);
+    private static ShardedCounter invocationsCount = new ShardedCounter();
     private static OpProfiler ourInstance = new OpProfiler();
 
 
@@ -36,6 +40,10 @@ public class OpProfiler {
     private static StringAggregator classAggergator = new StringAggregator();
     private static StringAggregator longAggergator = new StringAggregator();
 
+    // latency histograms per op name
+    private static StringAggregator opAggregator = new StringAggregator();
+    private static volatile long windowStart = System.currentTimeMillis();
+
     private static StringCounter classCounter = new StringCounter();
     private static StringCounter opCounter = new StringCounter();
 
@@ -61,27 +69,50 @@ public class OpProfiler {
 
     private static StackAggregator blasAggregator = new StackAggregator();
     private static StringCounter blasOrderCounter = new StringCounter();
+    private static ShardedCounter blasCopiesAvoided = new ShardedCounter();
+
+    private static ShardedCounter[] penaltyCounters = new ShardedCounter[PenaltyCause.values().length];
+    static {
+        for (int i = 0; i < penaltyCounters.length; i++)
+            penaltyCounters[i] = new ShardedCounter();
+    }
 
     private static Logger logger = LoggerFactory.getLogger(OpProfiler.class);
 
     private static final long THRESHOLD = 100000;
 
-    private String prevOpClass = "";
-    private String prevOpName = "";
+    /**
+     * Previous op of the current thread: ops issued by different threads are independent sequences
+     */
+    private static class OpSequence {
+        private String prevOpClass = "";
+        private String prevOpName = "";
+
+        private String prevOpMatching = "";
+        private String prevOpMatchingDetailed = "";
+        private String prevOpMatchingInverted = "";
+        private long lastZ = 0;
+    }
 
-    private String prevOpMatching = "";
-    private String prevOpMatchingDetailed = "";
-    private String prevOpMatchingInverted = "";
-    private long lastZ = 0;
+    private final ThreadLocal<OpSequence> sequence = new ThreadLocal<OpSequence>() {
+        @Override
+        protected OpSequence initialValue() {
+            return new OpSequence();
+        }
+    };
 
     /**
      * This method resets all counters
      */
     public void reset() {
-        invocationsCount.set(0);
+        invocationsCount.reset();
+        for (ShardedCounter counter : penaltyCounters)
+            counter.reset();
 
         classAggergator.reset();
         longAggergator.reset();
+        opAggregator.reset();
+        windowStart = System.currentTimeMillis();
         classCounter.reset();
         opCounter.reset();
         classPairsCounter.reset();
@@ -100,6 +131,7 @@ public class OpProfiler {
 
         blasAggregator.reset();
         blasOrderCounter.reset();
+        blasCopiesAvoided.reset();
 
         orderCounter.reset();
     }
@@ -147,7 +179,7 @@ public class OpProfiler {
      * This method tracks INDArray.putScalar()/getScalar() calls
      */
     public void processScalarCall() {
-        invocationsCount.incrementAndGet();
+        invocationsCount.increment();
         scalarAggregator.incrementCount();
     }
 
@@ -158,7 +190,7 @@ public class OpProfiler {
      */
     public void processOpCall(Op op) {
         // total number of invocations
-        invocationsCount.incrementAndGet();
+        invocationsCount.increment();
 
         // number of invocations for this specific op
         opCounter.incrementCount(op.name());
@@ -167,29 +199,31 @@ public class OpProfiler {
         String opClass = getOpClass(op);
         classCounter.incrementCount(opClass);
 
-        if (op.x().data().address() == lastZ && op.z() == op.x() && op.y() == null) {
+        OpSequence seq = sequence.get();
+        if (op.x().data().address() == seq.lastZ && op.z() == op.x() && op.y() == null) {
             // we have possible shift here
-            matchingCounter.incrementCount(prevOpMatching + " -> " + opClass);
-            matchingCounterDetailed.incrementCount(prevOpMatchingDetailed + " -> " + opClass + " " + op.name());
+            matchingCounter.incrementCount(seq.prevOpMatching + " -> " + opClass);
+            matchingCounterDetailed.incrementCount(seq.prevOpMatchingDetailed + " -> " + opClass + " " + op.name());
         } else {
             matchingCounter.totalsIncrement();
             matchingCounterDetailed.totalsIncrement();
-            if (op.y() != null && op.y().data().address() == lastZ) {
-                matchingCounterInverted.incrementCount(prevOpMatchingInverted + " -> " + opClass + " " + op.name());
+            if (op.y() != null && op.y().data().address() == seq.lastZ) {
+                matchingCounterInverted.incrementCount(seq.prevOpMatchingInverted + " -> " + opClass + " " + op.name());
             } else {
                 matchingCounterInverted.totalsIncrement();
             }
 
         }
-        lastZ = op.z().data().address();
-        prevOpMatching = opClass;
-        prevOpMatchingDetailed = opClass + " " + op.name();
-        prevOpMatchingInverted = opClass + " " + op.name();
+        seq.lastZ = op.z().data().address();
+        seq.prevOpMatching = opClass;
+        seq.prevOpMatchingDetailed = opClass + " " + op.name();
+        seq.prevOpMatchingInverted = opClass + " " + op.name();
 
         updatePairs(op.name(), opClass);
 
         PenaltyCause[] causes = processOperands(op.x(), op.y(), op.z());
         for (PenaltyCause cause : causes) {
+            penaltyCounters[cause.ordinal()].increment();
             switch (cause) {
                 case NON_EWS_ACCESS:
                     nonEwsAggregator.incrementCount();
@@ -213,6 +247,9 @@ public class OpProfiler {
 
         PenaltyCause[] causes = processTADOperands(tadBuffers);
         for (PenaltyCause cause : causes) {
+            if (cause != NONE)
+                penaltyCounters[cause.ordinal()].increment();
+
             switch (cause) {
                 case TAD_NON_EWS_ACCESS:
                     tadNonEwsAggregator.incrementCount();
@@ -243,19 +280,21 @@ public class OpProfiler {
 
     protected void updatePairs(String opName, String opClass) {
         // now we save pairs of ops/classes
-        String cOpNameKey = prevOpName + " -> " + opName;
-        String cOpClassKey = prevOpClass + " -> " + opClass;
+        OpSequence seq = sequence.get();
+        String cOpNameKey = seq.prevOpName + " -> " + opName;
+        String cOpClassKey = seq.prevOpClass + " -> " + opClass;
 
         classPairsCounter.incrementCount(cOpClassKey);
         opPairsCounter.incrementCount(cOpNameKey);
 
-        prevOpName = opName;
-        prevOpClass = opClass;
+        seq.prevOpName = opName;
+        seq.prevOpClass = opClass;
     }
 
     public void timeOpCall(Op op, long startTime) {
         long currentTime = System.nanoTime() - startTime;
         classAggergator.putTime(getOpClass(op), op, currentTime);
+        opAggregator.putTime(op.name(), currentTime);
 
         if (currentTime > THRESHOLD) {
             String keyExt = getOpClass(op) + " " + op.name() + " (" + op.opNum() + ")";
@@ -269,7 +308,7 @@ public class OpProfiler {
     @Deprecated
     public void processBlasCall(String blasOpName) {
         String key = "BLAS";
-        invocationsCount.incrementAndGet();
+        invocationsCount.increment();
 
         // using blas function name as key
         opCounter.incrementCount(blasOpName);
@@ -279,8 +318,29 @@ public class OpProfiler {
 
         updatePairs(blasOpName, key);
 
-        prevOpMatching = "";
-        lastZ = 0;
+        OpSequence seq = sequence.get();
+        seq.prevOpMatching = "";
+        seq.lastZ = 0;
+    }
+
+    /**
+     * This method tracks gemm operands passed to blas as is,
+     * via leading dimension or transpose flag, instead of being copied
+     *
+     * @param copiesAvoided number of operands
+     */
+    public void processBlasCopiesAvoided(int copiesAvoided) {
+        if (copiesAvoided > 0)
+            blasCopiesAvoided.add(copiesAvoided);
+    }
+
+    /**
+     * This method returns number of gemm operand copies avoided since last reset()
+     *
+     * @return
+     */
+    public long getBlasCopiesAvoided() {
+        return blasCopiesAvoided.get();
     }
 
     public void timeBlasCall() {
@@ -323,6 +383,9 @@ public class OpProfiler {
         logger.info("--- Time spent for long Op calls statistics: ---");
         System.out.println(longAggergator.asPercentageString());
         System.out.println();
+        logger.info("--- Op latency percentiles: ---");
+        System.out.println(opAggregator.asPercentilesString());
+        System.out.println();
         logger.info("--- Time spent within methods: ---");
         methodsAggregator.renderTree(true);
         System.out.println();
@@ -353,6 +416,8 @@ public class OpProfiler {
         logger.info("--- Blas GEMM odrders count: ---");
         System.out.println(blasOrderCounter.asString());
         System.out.println();
+        logger.info("--- Blas GEMM operand copies avoided: {}", blasCopiesAvoided.get());
+        System.out.println();
         logger.info("--- BLAS access stack trace: ---");
         System.out.println("Unique entries: " + blasAggregator.getUniqueBranchesNumber());
         blasAggregator.renderTree(false);
@@ -366,6 +431,49 @@ public class OpProfiler {
         return invocationsCount.get();
     }
 
+    /**
+     * This method returns number of events registered for given penalty cause
+     *
+     * @param cause
+     * @return
+     */
+    public long getPenaltyCount(PenaltyCause cause) {
+        return penaltyCounters[cause.ordinal()].get();
+    }
+
+    /**
+     * This method returns immutable snapshot of profiler counters, merged over all threads.
+     * It doesn't block profiled threads, so it's suitable for periodic polling.
+     *
+     * @return
+     */
+    public OpProfilerSnapshot getSnapshot() {
+        return getSnapshot(false);
+    }
+
+    /**
+     * This method returns immutable snapshot of profiler counters, merged over all threads.
+     *
+     * Counters are cumulative since last reset(). Latency histograms cover current window:
+     * if resetWindow is true, a new window is started after this snapshot, so periodic polling
+     * with resetWindow = true yields per-interval percentiles instead of all-time ones.
+     *
+     * @param resetWindow
+     * @return
+     */
+    public OpProfilerSnapshot getSnapshot(boolean resetWindow) {
+        Map<PenaltyCause, Long> penalties = new EnumMap<>(PenaltyCause.class);
+        for (PenaltyCause cause : PenaltyCause.values())
+            penalties.put(cause, penaltyCounters[cause.ordinal()].get());
+
+        long start = windowStart;
+        if (resetWindow)
+            windowStart = System.currentTimeMillis();
+
+        return new OpProfilerSnapshot(start, invocationsCount.get(), opCounter.getCounts(), classCounter.getCounts(),
+                        penalties, classAggergator.getTimes(resetWindow), opAggregator.getTimes(resetWindow));
+    }
+
 
 
     /**
@@ -469,6 +577,9 @@ public class OpProfiler {
 
             PenaltyCause[] causes = processOperands(operands);
             for (PenaltyCause cause : causes) {
+                if (cause != NONE)
+                    penaltyCounters[cause.ordinal()].increment();
+
                 switch (cause) {
                     case NON_EWS_ACCESS:
                         nonEwsAggregator.incrementCount();
@@ -0,0 +1,120 @@
+package org.nd4j.linalg.profiler;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.nd4j.linalg.profiler.data.StringAggregator;
+import org.nd4j.linalg.profiler.data.primitives.TimeSet;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable point-in-time view of {@link OpProfiler} counters, merged over all threads.
+ *
+ * Obtained via OpProfiler.getInstance().getSnapshot(). Creating snapshot doesn't block profiled threads,
+ * so it's fine to poll it periodically in production.
+ * Counters updated concurrently with snapshot creation may or may not be included in it.
+ */
+@Getter
+public class OpProfilerSnapshot {
+    /**
+     * Wall-clock time of snapshot creation, in milliseconds
+     */
+    private final long timestamp;
+
+    /**
+     * Wall-clock time the latency window of this snapshot started at, in milliseconds
+     */
+    private final long windowStart;
+
+    /**
+     * Total number of op, BLAS and scalar calls
+     */
+    private final long invocationsCount;
+
+    /**
+     * Number of invocations per op name
+     */
+    private final Map<String, Long> opCounts;
+
+    /**
+     * Number of invocations per op class, i.e. TransformOp, AccumulationOp etc
+     */
+    private final Map<String, Long> classCounts;
+
+    /**
+     * Number of events per penalty cause. Causes without events are reported as 0
+     */
+    private final Map<OpProfiler.PenaltyCause, Long> penaltyCounts;
+
+    /**
+     * Execution time histograms per op class, in nanoseconds. These TimeSets are detached copies, never updated by profiler
+     */
+    private final Map<String, TimeSet> classTimes;
+
+    /**
+     * Execution time histograms per op name, in nanoseconds. These TimeSets are detached copies, never updated by profiler
+     */
+    private final Map<String, TimeSet> opTimes;
+
+    public OpProfilerSnapshot(long windowStart, long invocationsCount, @NonNull Map<String, Long> opCounts,
+                    @NonNull Map<String, Long> classCounts, @NonNull Map<OpProfiler.PenaltyCause, Long> penaltyCounts,
+                    @NonNull Map<String, TimeSet> classTimes, @NonNull Map<String, TimeSet> opTimes) {
+        this.timestamp = System.currentTimeMillis();
+        this.windowStart = windowStart;
+        this.invocationsCount = invocationsCount;
+        this.opCounts = Collections.unmodifiableMap(new HashMap<>(opCounts));
+        this.classCounts = Collections.unmodifiableMap(new HashMap<>(classCounts));
+        Map<OpProfiler.PenaltyCause, Long> penalties = new EnumMap<>(OpProfiler.PenaltyCause.class);
+        penalties.putAll(penaltyCounts);
+        this.penaltyCounts = Collections.unmodifiableMap(penalties);
+        this.classTimes = Collections.unmodifiableMap(new HashMap<>(classTimes));
+        this.opTimes = Collections.unmodifiableMap(new HashMap<>(opTimes));
+    }
+
+    /**
+     * Returns execution time of given op at given quantile within this snapshot window, in nanoseconds,
+     * or 0 if op wasn't timed in this window
+     *
+     * @param opName
+     * @param quantile value within [0, 1], i.e. 0.99 for p99
+     * @return
+     */
+    public long getOpLatency(String opName, double quantile) {
+        TimeSet times = opTimes.get(opName);
+        return times == null ? 0 : times.getPercentile(quantile);
+    }
+
+    /**
+     * Renders per-op latency percentiles, slowest tail first
+     *
+     * @return
+     */
+    public String opLatenciesAsString() {
+        return StringAggregator.asPercentilesString(opTimes);
+    }
+
+    /**
+     * Returns number of invocations of given op, or 0 if it wasn't invoked
+     *
+     * @param opName
+     * @return
+     */
+    public long getOpCount(String opName) {
+        Long count = opCounts.get(opName);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Returns number of events for given penalty cause
+     *
+     * @param cause
+     * @return
+     */
+    public long getPenaltyCount(OpProfiler.PenaltyCause cause) {
+        Long count = penaltyCounts.get(cause);
+        return count == null ? 0 : count;
+    }
+}
@@ -6,26 +6,31 @@ import org.nd4j.linalg.profiler.data.primitives.StackTree;
 /**
  * This is utility class, provides stack traces collection, used in OpProfiler, to count events occurrences based on their position in code
  *
+ * Stack trace is captured outside of the lock, only tree update is serialized, since trace capture dominates the cost.
  *
  * @author raver119@gmail.com
  */
 public class StackAggregator {
-    private StackTree tree = new StackTree();
+    private final StackTree tree = new StackTree();
 
     public StackAggregator() {
         // nothing to do here so far
     }
 
     public void renderTree() {
-        tree.renderTree(false);
+        renderTree(false);
     }
 
     public void renderTree(boolean displayCounts) {
-        tree.renderTree(displayCounts);
+        synchronized (tree) {
+            tree.renderTree(displayCounts);
+        }
     }
 
     public void reset() {
-        tree.reset();
+        synchronized (tree) {
+            tree.reset();
+        }
     }
 
     public void incrementCount() {
@@ -34,7 +39,9 @@ public class StackAggregator {
 
     public void incrementCount(long time) {
         StackDescriptor descriptor = new StackDescriptor(Thread.currentThread().getStackTrace());
-        tree.consumeStackTrace(descriptor, time);
+        synchronized (tree) {
+            tree.consumeStackTrace(descriptor, time);
+        }
     }
 
     public long getTotalEventsNumber() {
@@ -42,10 +49,14 @@ public class StackAggregator {
     }
 
     public int getUniqueBranchesNumber() {
-        return tree.getUniqueBranchesNumber();
+        synchronized (tree) {
+            return tree.getUniqueBranchesNumber();
+        }
     }
 
     public StackDescriptor getLastDescriptor() {
-        return tree.getLastDescriptor();
+        synchronized (tree) {
+            return tree.getLastDescriptor();
+        }
     }
 }
@@ -2,101 +2,206 @@ package org.nd4j.linalg.profiler.data;
 
 import org.nd4j.linalg.api.ops.Op;
 import org.nd4j.linalg.profiler.data.primitives.ComparableAtomicLong;
+import org.nd4j.linalg.profiler.data.primitives.ThreadShards;
 import org.nd4j.linalg.profiler.data.primitives.TimeSet;
 import org.nd4j.linalg.util.ArrayUtil;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Per-key timings aggregator.
+ *
+ * Each thread records into its own shard, and shards are merged on read,
+ * so concurrent updates from different threads never contend.
+ * Each TimeSet takes about 9KB, so number of distinct keys is capped at MAX_KEYS per thread,
+ * and further keys are recorded under OVERFLOW_KEY.
+ *
  * @author raver119@gmail.com
  */
 public class StringAggregator {
 
-    private Map<String, TimeSet> times = new ConcurrentHashMap<>();
-    private Map<String, ComparableAtomicLong> longCalls = new ConcurrentHashMap<>();
+    private ThreadShards<Map<String, TimeSet>> times = new ThreadShards<Map<String, TimeSet>>() {
+        @Override
+        protected Map<String, TimeSet> newShard() {
+            return new ConcurrentHashMap<>();
+        }
+
+        @Override
+        protected void merge(Map<String, TimeSet> source, Map<String, TimeSet> target) {
+            for (Map.Entry<String, TimeSet> entry : source.entrySet())
+                entry.getValue().drainTo(timeSetFor(target, entry.getKey()));
+        }
+    };
+
+    private ThreadShards<Map<String, ComparableAtomicLong>> longCalls =
+                    new ThreadShards<Map<String, ComparableAtomicLong>>() {
+                        @Override
+                        protected Map<String, ComparableAtomicLong> newShard() {
+                            return new ConcurrentHashMap<>();
+                        }
+
+                        @Override
+                        protected void merge(Map<String, ComparableAtomicLong> source,
+                                        Map<String, ComparableAtomicLong> target) {
+                            for (Map.Entry<String, ComparableAtomicLong> entry : source.entrySet())
+                                counterFor(target, entry.getKey()).addAndGet(entry.getValue().get());
+                        }
+                    };
 
     private static final long THRESHOLD = 100000;
 
+    public static final int MAX_KEYS = 512;
+    public static final String OVERFLOW_KEY = "(other)";
+
     public StringAggregator() {
 
     }
 
     public void reset() {
-        for (String key : times.keySet()) {
-            //            times.remove(key);
-            times.put(key, new TimeSet());
+        for (Map<String, TimeSet> shard : times.all()) {
+            for (TimeSet set : shard.values())
+                set.reset();
         }
 
-        for (String key : longCalls.keySet()) {
-            //          longCalls.remove(key);
-            longCalls.put(key, new ComparableAtomicLong(0));
+        for (Map<String, ComparableAtomicLong> shard : longCalls.all()) {
+            for (ComparableAtomicLong counter : shard.values())
+                counter.set(0);
         }
     }
 
 
     public void putTime(String key, Op op, long timeSpent) {
-        if (!times.containsKey(key))
-            times.put(key, new TimeSet());
-
-        times.get(key).addTime(timeSpent);
+        putTime(key, timeSpent);
 
         if (timeSpent > THRESHOLD) {
             String keyExt = key + " " + op.name() + " (" + op.opNum() + ")";
-            if (!longCalls.containsKey(keyExt))
-                longCalls.put(keyExt, new ComparableAtomicLong(0));
-
-            longCalls.get(keyExt).incrementAndGet();
+            counterFor(longCalls.local(), keyExt).incrementAndGet();
         }
     }
 
     public void putTime(String key, long timeSpent) {
-        if (!times.containsKey(key))
-            times.put(key, new TimeSet());
-
-        times.get(key).addTime(timeSpent);
+        timeSetFor(times.local(), key).addTime(timeSpent);
     }
 
-    protected long getMedian(String key) {
-        return times.get(key).getMedian();
+    private static TimeSet timeSetFor(Map<String, TimeSet> shard, String key) {
+        TimeSet set = shard.get(key);
+        if (set == null && shard.size() >= MAX_KEYS) {
+            key = OVERFLOW_KEY;
+            set = shard.get(key);
+        }
+
+        if (set == null) {
+            set = new TimeSet();
+            shard.put(key, set);
+        }
+
+        return set;
     }
 
-    protected long getAverage(String key) {
-        return times.get(key).getAverage();
+    private static ComparableAtomicLong counterFor(Map<String, ComparableAtomicLong> shard, String key) {
+        ComparableAtomicLong counter = shard.get(key);
+        if (counter == null && shard.size() >= MAX_KEYS) {
+            key = OVERFLOW_KEY;
+            counter = shard.get(key);
+        }
+
+        if (counter == null) {
+            counter = new ComparableAtomicLong(0);
+            shard.put(key, counter);
+        }
+
+        return counter;
     }
 
-    protected long getMaximum(String key) {
-        return times.get(key).getMaximum();
+    /**
+     * This method returns timings merged over all threads. Returned TimeSets are detached copies.
+     *
+     * Keys without any timings recorded since last reset() are omitted.
+     *
+     * @return
+     */
+    public Map<String, TimeSet> getTimes() {
+        return getTimes(false);
     }
 
-    protected long getMinimum(String key) {
-        return times.get(key).getMinimum();
+    /**
+     * This method returns timings merged over all threads. Returned TimeSets are detached copies.
+     *
+     * If resetWindow is true, timings are moved out of this aggregator, so the next call covers only times recorded after this one.
+     * Times recorded concurrently with this call are reported either now, or in the next window, but never twice.
+     *
+     * @param resetWindow
+     * @return
+     */
+    public Map<String, TimeSet> getTimes(boolean resetWindow) {
+        Map<String, TimeSet> result = new HashMap<>();
+        for (Map<String, TimeSet> shard : times.all()) {
+            for (Map.Entry<String, TimeSet> entry : shard.entrySet()) {
+                if (entry.getValue().count() == 0)
+                    continue;
+
+                TimeSet merged = result.get(entry.getKey());
+                if (merged == null) {
+                    merged = new TimeSet();
+                    result.put(entry.getKey(), merged);
+                }
+
+                if (resetWindow)
+                    entry.getValue().drainTo(merged);
+                else
+                    merged.merge(entry.getValue());
+            }
+        }
+
+        return result;
     }
 
-    protected long getSum(String key) {
-        return times.get(key).getSum();
+    /**
+     * This method returns number of calls above threshold, merged over all threads
+     *
+     * @return
+     */
+    public Map<String, ComparableAtomicLong> getLongCalls() {
+        Map<String, ComparableAtomicLong> result = new HashMap<>();
+        for (Map<String, ComparableAtomicLong> shard : longCalls.all()) {
+            for (Map.Entry<String, ComparableAtomicLong> entry : shard.entrySet()) {
+                ComparableAtomicLong merged = result.get(entry.getKey());
+                if (merged == null) {
+                    merged = new ComparableAtomicLong(0);
+                    result.put(entry.getKey(), merged);
+                }
+
+                merged.addAndGet(entry.getValue().get());
+            }
+        }
+
+        return result;
     }
 
     public String asPercentageString() {
         StringBuilder builder = new StringBuilder();
 
-        Map<String, TimeSet> sortedTimes = ArrayUtil.sortMapByValue(times);
+        Map<String, TimeSet> sortedTimes = ArrayUtil.sortMapByValue(getTimes());
 
-        AtomicLong sum = new AtomicLong(0);
-        for (String key : sortedTimes.keySet()) {
-            sum.addAndGet(getSum(key));
+        long lSum = 0;
+        for (TimeSet set : sortedTimes.values()) {
+            lSum += set.getSum();
         }
-        long lSum = sum.get();
         builder.append("Total time spent: ").append(lSum / 1000000).append(" ms.").append("\n");
 
         for (String key : sortedTimes.keySet()) {
-            long currentSum = getSum(key);
+            long currentSum = sortedTimes.get(key).getSum();
             float perc;
             if (lSum == 0) {
                 perc = 0.0f;
             } else {
-                perc = currentSum * 100.0f / sum.get();
+                perc = currentSum * 100.0f / lSum;
             }
 
             long sumMs = currentSum / 1000000;
@@ -110,20 +215,55 @@ public class StringAggregator {
         return builder.toString();
     }
 
+    /**
+     * This method renders latency percentiles per key, slowest tail (p99) first
+     *
+     * @return
+     */
+    public String asPercentilesString() {
+        return asPercentilesString(getTimes());
+    }
+
+    public static String asPercentilesString(Map<String, TimeSet> times) {
+        StringBuilder builder = new StringBuilder();
+
+        List<Map.Entry<String, TimeSet>> entries = new ArrayList<>(times.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<String, TimeSet>>() {
+            @Override
+            public int compare(Map.Entry<String, TimeSet> o1, Map.Entry<String, TimeSet> o2) {
+                return Long.compare(o2.getValue().getP99(), o1.getValue().getP99());
+            }
+        });
+
+        for (Map.Entry<String, TimeSet> entry : entries) {
+            TimeSet set = entry.getValue();
+            builder.append(entry.getKey()).append("  >>> ").append(set.count()).append(" calls; ").append("p50: ")
+                            .append(set.getP50()).append(" ns; ").append("p99: ").append(set.getP99())
+                            .append(" ns; ").append("p999: ").append(set.getP999()).append(" ns; ").append("Max: ")
+                            .append(set.getMaximum()).append(" ns; ");
+
+            builder.append("\n");
+        }
+
+        return builder.toString();
+    }
+
     public String asString() {
         StringBuilder builder = new StringBuilder();
 
-        Map<String, TimeSet> sortedTimes = ArrayUtil.sortMapByValue(times);
+        Map<String, TimeSet> sortedTimes = ArrayUtil.sortMapByValue(getTimes());
+        Map<String, ComparableAtomicLong> sortedCalls = ArrayUtil.sortMapByValue(getLongCalls());
 
         for (String key : sortedTimes.keySet()) {
-            long currentMax = getMaximum(key);
-            long currentMin = getMinimum(key);
-            long currentAvg = getAverage(key);
-            long currentMed = getMedian(key);
+            TimeSet set = sortedTimes.get(key);
+            long currentMax = set.getMaximum();
+            long currentMin = set.getMinimum();
+            long currentAvg = set.getAverage();
+            long currentMed = set.getMedian();
 
             builder.append(key).append("  >>> ");
 
-            if (longCalls.size() == 0)
+            if (sortedCalls.size() == 0)
                 builder.append(" ").append(sortedTimes.get(key).size()).append(" calls; ");
 
             builder.append("Min: ").append(currentMin).append(" ns; ").append("Max: ").append(currentMax)
@@ -135,8 +275,6 @@ public class StringAggregator {
 
         builder.append("\n");
 
-        Map<String, ComparableAtomicLong> sortedCalls = ArrayUtil.sortMapByValue(longCalls);
-
         for (String key : sortedCalls.keySet()) {
             long numCalls = sortedCalls.get(key).get();
             builder.append(key).append("  >>> ").append(numCalls);
@@ -1,65 +1,132 @@
 package org.nd4j.linalg.profiler.data;
 
 import org.nd4j.linalg.profiler.data.primitives.ComparableAtomicLong;
+import org.nd4j.linalg.profiler.data.primitives.ShardedCounter;
+import org.nd4j.linalg.profiler.data.primitives.ThreadShards;
 import org.nd4j.linalg.util.ArrayUtil;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Simple key-value counter
  *
+ * Each thread counts into its own shard, and shards are merged on read,
+ * so concurrent increments from different threads never contend.
+ * Number of distinct keys is capped at MAX_KEYS per thread, further keys are counted under OVERFLOW_KEY.
+ *
  * @author raver119@gmail.com
  */
 public class StringCounter {
-    private Map<String, ComparableAtomicLong> counter = new ConcurrentHashMap<>();
-    private AtomicLong totals = new AtomicLong(0);
+    public static final int MAX_KEYS = 4096;
+    public static final String OVERFLOW_KEY = "(other)";
+
+    private ThreadShards<Map<String, ComparableAtomicLong>> counters =
+                    new ThreadShards<Map<String, ComparableAtomicLong>>() {
+                        @Override
+                        protected Map<String, ComparableAtomicLong> newShard() {
+                            return new ConcurrentHashMap<>();
+                        }
+
+                        @Override
+                        protected void merge(Map<String, ComparableAtomicLong> source,
+                                        Map<String, ComparableAtomicLong> target) {
+                            for (Map.Entry<String, ComparableAtomicLong> entry : source.entrySet())
+                                counterFor(target, entry.getKey()).addAndGet(entry.getValue().get());
+                        }
+                    };
+
+    private ShardedCounter totals = new ShardedCounter();
 
     public StringCounter() {
 
     }
 
     public void reset() {
-        for (String key : counter.keySet()) {
-            //            counter.remove(key);
-            counter.put(key, new ComparableAtomicLong(0));
+        for (Map<String, ComparableAtomicLong> shard : counters.all()) {
+            for (ComparableAtomicLong counter : shard.values())
+                counter.set(0);
         }
 
-        totals.set(0);
+        totals.reset();
     }
 
+    /**
+     * This method increments counter for given key
+     *
+     * @param key
+     * @return number of increments of this key done by current thread
+     */
     public long incrementCount(String key) {
-        if (!counter.containsKey(key)) {
-            counter.put(key, new ComparableAtomicLong(0));
-        }
+        totals.increment();
 
-        ArrayUtil.allUnique(new int[] {});
+        return counterFor(counters.local(), key).incrementAndGet();
+    }
 
-        totals.incrementAndGet();
+    private static ComparableAtomicLong counterFor(Map<String, ComparableAtomicLong> shard, String key) {
+        ComparableAtomicLong counter = shard.get(key);
+        if (counter == null && shard.size() >= MAX_KEYS) {
+            key = OVERFLOW_KEY;
+            counter = shard.get(key);
+        }
 
-        return counter.get(key).incrementAndGet();
+        if (counter == null) {
+            counter = new ComparableAtomicLong(0);
+            shard.put(key, counter);
+        }
+
+        return counter;
     }
 
     public long getCount(String key) {
-        if (!counter.containsKey(key))
-            return 0;
+        long count = 0;
+        for (Map<String, ComparableAtomicLong> shard : counters.all()) {
+            ComparableAtomicLong counter = shard.get(key);
+            if (counter != null)
+                count += counter.get();
+        }
 
-        return counter.get(key).get();
+        return count;
     }
 
     public void totalsIncrement() {
-        totals.incrementAndGet();
+        totals.increment();
+    }
+
+    public long getTotals() {
+        return totals.get();
+    }
+
+    /**
+     * This method returns merged counts of all keys seen since creation
+     *
+     * @return
+     */
+    public Map<String, Long> getCounts() {
+        Map<String, Long> result = new HashMap<>();
+        for (Map<String, ComparableAtomicLong> shard : counters.all()) {
+            for (Map.Entry<String, ComparableAtomicLong> entry : shard.entrySet()) {
+                Long current = result.get(entry.getKey());
+                result.put(entry.getKey(), (current == null ? 0L : current) + entry.getValue().get());
+            }
+        }
+
+        return result;
     }
 
     public String asString() {
         StringBuilder builder = new StringBuilder();
 
-        Map<String, ComparableAtomicLong> sortedCounter = ArrayUtil.sortMapByValue(counter);
+        Map<String, ComparableAtomicLong> merged = new HashMap<>();
+        for (Map.Entry<String, Long> entry : getCounts().entrySet())
+            merged.put(entry.getKey(), new ComparableAtomicLong(entry.getValue()));
+
+        Map<String, ComparableAtomicLong> sortedCounter = ArrayUtil.sortMapByValue(merged);
+        long totalCnt = totals.get();
 
         for (String key : sortedCounter.keySet()) {
             long currentCnt = sortedCounter.get(key).get();
-            long totalCnt = totals.get();
 
             if (totalCnt == 0)
                 continue;
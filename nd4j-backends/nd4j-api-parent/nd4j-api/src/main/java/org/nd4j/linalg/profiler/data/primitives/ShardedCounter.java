@@ -0,0 +1,44 @@
+package org.nd4j.linalg.profiler.data.primitives;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter split into per-thread cells, similar to LongAdder.
+ *
+ * Increments touch only the cell owned by current thread, so they are uncontended.
+ * Value is the sum over all cells, computed on read.
+ */
+public class ShardedCounter {
+    private final ThreadShards<AtomicLong> cells = new ThreadShards<AtomicLong>() {
+        @Override
+        protected AtomicLong newShard() {
+            return new AtomicLong(0);
+        }
+
+        @Override
+        protected void merge(AtomicLong source, AtomicLong target) {
+            target.addAndGet(source.get());
+        }
+    };
+
+    public void increment() {
+        cells.local().incrementAndGet();
+    }
+
+    public void add(long delta) {
+        cells.local().addAndGet(delta);
+    }
+
+    public long get() {
+        long sum = 0;
+        for (AtomicLong cell : cells.all())
+            sum += cell.get();
+
+        return sum;
+    }
+
+    public void reset() {
+        for (AtomicLong cell : cells.all())
+            cell.set(0);
+    }
+}
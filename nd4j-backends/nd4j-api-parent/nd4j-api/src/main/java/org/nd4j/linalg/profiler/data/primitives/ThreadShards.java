@@ -0,0 +1,111 @@
+package org.nd4j.linalg.profiler.data.primitives;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Holder of per-thread shards of some statistics.
+ *
+ * Each thread gets its own shard on first access, so hot-path updates never contend with other threads.
+ * Readers iterate over all shards and merge them on demand.
+ *
+ * Shards of terminated threads are folded into single retired shard, so short-lived threads don't leak shards:
+ * number of shards is bounded by number of live threads + 1.
+ *
+ * PLEASE NOTE: shards must be safe for reading from other threads while owner thread updates them,
+ * i.e. atomics or concurrent collections.
+ *
+ * @param <T> shard type
+ */
+public abstract class ThreadShards<T> {
+    private final List<OwnedShard<T>> shards = new CopyOnWriteArrayList<>();
+
+    // created on first retirement, guarded by this
+    private volatile T retired;
+
+    private final ThreadLocal<T> localShard = new ThreadLocal<T>() {
+        @Override
+        protected T initialValue() {
+            retireDeadShards();
+
+            T shard = newShard();
+            shards.add(new OwnedShard<>(Thread.currentThread(), shard));
+            return shard;
+        }
+    };
+
+    private static class OwnedShard<T> {
+        private final WeakReference<Thread> owner;
+        private final T shard;
+
+        private OwnedShard(Thread owner, T shard) {
+            this.owner = new WeakReference<>(owner);
+            this.shard = shard;
+        }
+
+        private boolean isRetired() {
+            Thread thread = owner.get();
+            return thread == null || !thread.isAlive();
+        }
+    }
+
+    /**
+     * This method creates new empty shard
+     *
+     * @return
+     */
+    protected abstract T newShard();
+
+    /**
+     * This method adds contents of source shard to target shard.
+     * Source shard isn't used after that.
+     *
+     * @param source
+     * @param target
+     */
+    protected abstract void merge(T source, T target);
+
+    /**
+     * This method returns shard owned by current thread
+     *
+     * @return
+     */
+    public T local() {
+        return localShard.get();
+    }
+
+    /**
+     * This method returns shards of all live threads, and the shard holding contents of terminated threads
+     *
+     * @return
+     */
+    public List<T> all() {
+        retireDeadShards();
+
+        List<T> result = new ArrayList<>(shards.size() + 1);
+        for (OwnedShard<T> owned : shards)
+            result.add(owned.shard);
+
+        T retiredShard = retired;
+        if (retiredShard != null)
+            result.add(retiredShard);
+
+        return result;
+    }
+
+    private synchronized void retireDeadShards() {
+        for (OwnedShard<T> owned : shards) {
+            if (!owned.isRetired())
+                continue;
+
+            if (retired == null)
+                retired = newShard();
+
+            // owner is gone, so nobody updates this shard anymore
+            shards.remove(owned);
+            merge(owned.shard, retired);
+        }
+    }
+}
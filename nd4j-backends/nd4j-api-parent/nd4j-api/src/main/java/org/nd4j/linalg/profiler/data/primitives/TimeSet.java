@@ -1,70 +1,222 @@
 package org.nd4j.linalg.profiler.data.primitives;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 
 /**
  * Utility holder class, used to store timing sets retrieved with profiler.
  *
+ * Times are stored as HDR-style log-linear histogram: each power-of-2 range is split into SUB_BUCKETS equal buckets,
+ * so memory use is fixed regardless of number of calls, and percentiles are reported with relative error below 1/SUB_BUCKETS.
+ * Values below SUB_BUCKETS are recorded exactly, values above 2^MAX_MAGNITUDE share the last bucket.
+ * Minimum and maximum are tracked exactly.
+ *
+ * All updates are atomic, so TimeSet can be read from other threads while it's being updated.
+ *
  * @author raver119@gmail.com
  */
 public class TimeSet implements Comparable<TimeSet> {
-    private List<ComparableAtomicLong> times = new ArrayList<>();
-    private long sum = 0;
+    public static final int SUB_BUCKET_BITS = 5;
+    public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    // 2^40 ns is ~18 minutes, anything longer isn't worth extra buckets
+    public static final int MAX_MAGNITUDE = 40;
+    public static final int NUM_BUCKETS = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(NUM_BUCKETS);
+    private final AtomicLong count = new AtomicLong(0);
+    private final AtomicLong sum = new AtomicLong(0);
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
 
     public void addTime(long time) {
-        times.add(new ComparableAtomicLong(time));
-        sum = 0;
+        buckets.incrementAndGet(bucketFor(time));
+        count.incrementAndGet();
+        sum.addAndGet(time);
+
+        long cMin;
+        while (time < (cMin = min.get()) && !min.compareAndSet(cMin, time));
+
+        long cMax;
+        while (time > (cMax = max.get()) && !max.compareAndSet(cMax, time));
     }
 
-    public long getSum() {
-        if (sum == 0) {
-            for (ComparableAtomicLong time : times) {
-                sum += time.get();
+    /**
+     * This method adds all times from other TimeSet to this one
+     *
+     * @param other
+     */
+    public void merge(TimeSet other) {
+        long otherCount = other.count.get();
+        if (otherCount == 0)
+            return;
+
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            long c = other.buckets.get(i);
+            if (c > 0)
+                buckets.addAndGet(i, c);
+        }
+
+        count.addAndGet(otherCount);
+        sum.addAndGet(other.sum.get());
+
+        long oMin = other.min.get();
+        long cMin;
+        while (oMin < (cMin = min.get()) && !min.compareAndSet(cMin, oMin));
+
+        long oMax = other.max.get();
+        long cMax;
+        while (oMax > (cMax = max.get()) && !max.compareAndSet(cMax, oMax));
+    }
+
+    public void reset() {
+        for (int i = 0; i < NUM_BUCKETS; i++)
+            buckets.set(i, 0);
+
+        count.set(0);
+        sum.set(0);
+        min.set(Long.MAX_VALUE);
+        max.set(Long.MIN_VALUE);
+    }
+
+    /**
+     * This method moves all times from this TimeSet to the target one, leaving this TimeSet empty.
+     * Each recorded time ends up either in target, or in this TimeSet, even if owner thread keeps adding times concurrently.
+     *
+     * @param target
+     */
+    public void drainTo(TimeSet target) {
+        long drained = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            long c = buckets.getAndSet(i, 0);
+            if (c > 0) {
+                target.buckets.addAndGet(i, c);
+                drained += c;
             }
         }
 
-        return sum;
+        count.addAndGet(-drained);
+        target.count.addAndGet(drained);
+        target.sum.addAndGet(sum.getAndSet(0));
+
+        long oMin = min.getAndSet(Long.MAX_VALUE);
+        long cMin;
+        while (oMin < (cMin = target.min.get()) && !target.min.compareAndSet(cMin, oMin));
+
+        long oMax = max.getAndSet(Long.MIN_VALUE);
+        long cMax;
+        while (oMax > (cMax = target.max.get()) && !target.max.compareAndSet(cMax, oMax));
+    }
+
+    protected static int bucketFor(long time) {
+        if (time < SUB_BUCKETS)
+            return time <= 0 ? 0 : (int) time;
+
+        if (time >= 1L << MAX_MAGNITUDE)
+            return NUM_BUCKETS - 1;
+
+        int shift = 63 - Long.numberOfLeadingZeros(time) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((time >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * This method returns the largest time that falls into given bucket
+     *
+     * @param bucket
+     * @return
+     */
+    public static long bucketUpperBound(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+
+        if (bucket == NUM_BUCKETS - 1)
+            return Long.MAX_VALUE;
+
+        int shift = bucket / SUB_BUCKETS - 1;
+        long sub = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    public long getSum() {
+        return sum.get();
     }
 
     public long getAverage() {
-        if (times.size() == 0)
+        long cnt = count.get();
+        if (cnt == 0)
             return 0L;
 
-        long tSum = getSum();
-        return tSum / times.size();
+        return sum.get() / cnt;
     }
 
     public long getMedian() {
-        if (times.size() == 0)
+        return getPercentile(0.5);
+    }
+
+    /**
+     * This method returns approximate value at given quantile: upper bound of the bucket the quantile falls into,
+     * capped by the maximum observed time
+     *
+     * @param quantile value within [0, 1]
+     * @return
+     */
+    public long getPercentile(double quantile) {
+        long cnt = count.get();
+        if (cnt == 0)
             return 0L;
 
-        return times.get(times.size() / 2).longValue();
+        long rank = Math.max(1, (long) Math.ceil(quantile * cnt));
+        long seen = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), getMaximum());
+            }
+        }
+
+        return getMaximum();
     }
 
-    public long getMinimum() {
-        long min = Long.MAX_VALUE;
-        for (ComparableAtomicLong time : times) {
-            if (time.get() < min)
-                min = time.get();
-        }
+    public long getP50() {
+        return getPercentile(0.5);
+    }
+
+    public long getP99() {
+        return getPercentile(0.99);
+    }
 
-        return min;
+    public long getP999() {
+        return getPercentile(0.999);
+    }
+
+    public long getMinimum() {
+        return min.get();
     }
 
     public long getMaximum() {
-        long max = Long.MIN_VALUE;
-        for (ComparableAtomicLong time : times) {
-            if (time.get() > max)
-                max = time.get();
-        }
+        return max.get();
+    }
 
-        return max;
+    /**
+     * This method returns copy of per-bucket counts
+     *
+     * @return
+     */
+    public long[] getBuckets() {
+        long[] result = new long[NUM_BUCKETS];
+        for (int i = 0; i < NUM_BUCKETS; i++)
+            result[i] = buckets.get(i);
+
+        return result;
     }
 
     public int size() {
-        return times.size();
+        return (int) Math.min(Integer.MAX_VALUE, count.get());
+    }
+
+    public long count() {
+        return count.get();
     }
 
 
@@ -11,6 +11,7 @@ import org.nd4j.jita.conf.CudaEnvironment;
 import org.nd4j.jita.flow.FlowController;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.cache.ArrayDescriptor;
+import org.nd4j.linalg.cache.CacheStatistics;
 import org.nd4j.linalg.cache.ConstantHandler;
 import org.nd4j.linalg.exception.ND4JIllegalStateException;
 import org.nd4j.linalg.factory.Nd4j;
@@ -79,6 +80,16 @@ public class ProtectedCudaConstantHandler implements ConstantHandler {
         }
     }
 
+    /**
+     * Constant memory is bounded by device limits, so there's no eviction here and no counters to report
+     *
+     * @return null
+     */
+    @Override
+    public CacheStatistics getCacheStatistics() {
+        return null;
+    }
+
     /**
      * Method suited for debug purposes only
      *
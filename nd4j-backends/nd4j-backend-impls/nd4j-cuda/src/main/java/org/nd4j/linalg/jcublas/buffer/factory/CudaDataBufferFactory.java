@@ -26,6 +26,7 @@ import org.bytedeco.javacpp.IntPointer;
 import org.bytedeco.javacpp.Pointer;
 import org.bytedeco.javacpp.indexer.*;
 import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.buffer.MappedDataBuffer;
 import org.nd4j.linalg.api.buffer.factory.DataBufferFactory;
 import org.nd4j.linalg.api.memory.MemoryWorkspace;
 import org.nd4j.linalg.jcublas.buffer.CudaDoubleDataBuffer;
@@ -705,4 +706,9 @@ public class CudaDataBufferFactory implements DataBufferFactory {
     public DataBuffer createHalf(float[] data, boolean copy, MemoryWorkspace workspace) {
         return new CudaHalfDataBuffer(data, copy, workspace);
     }
+
+    @Override
+    public DataBuffer createMapped(ByteBuffer mapping, DataBuffer.Type type, long length, MappedDataBuffer.Mode mode) {
+        throw new UnsupportedOperationException("Memory-mapped buffers aren't supported for CUDA backend");
+    }
 }
@@ -515,6 +515,9 @@ public class CpuNDArrayFactory extends BaseNDArrayFactory {
 
     @Override
     public INDArray toFlattened(char order, Collection<INDArray> matrices) {
+        // native code reads buffers directly, so ops held back by executioner should be applied first
+        Nd4j.getExecutioner().push();
+
         int length = 0;
         for (INDArray m : matrices)
             length += m.length();
@@ -570,6 +573,8 @@ public class CpuNDArrayFactory extends BaseNDArrayFactory {
     }
 
     public INDArray[] tear(INDArray tensor, int... dimensions) {
+        Nd4j.getExecutioner().push();
+
         if (tensor.isCompressed())
             Nd4j.getCompressor().decompressi(tensor);
 
@@ -616,7 +621,14 @@ public class CpuNDArrayFactory extends BaseNDArrayFactory {
                     (IntPointer) tadBuffers.getSecond().pointer()
                     );
         } else if (Nd4j.dataType() == DataBuffer.Type.HALF) {
-            throw new UnsupportedOperationException("Half precision isn't supported for CPU backend");
+            nativeOps.tearHalf(null,
+                    (ShortPointer) tensor.data().pointer(),
+                    (IntPointer) tensor.shapeInfoDataBuffer().pointer(),
+                    targets,
+                    (IntPointer) result[0].shapeInfoDataBuffer().pointer(),
+                    (IntPointer) tadBuffers.getFirst().pointer(),
+                    (IntPointer) tadBuffers.getSecond().pointer()
+            );
         }
 
         return result;
@@ -631,6 +643,8 @@ public class CpuNDArrayFactory extends BaseNDArrayFactory {
      */
     @Override
     public INDArray concat(int dimension, INDArray... toConcat) {
+        Nd4j.getExecutioner().push();
+
         if (toConcat.length == 1)
             return toConcat[0];
         PointerPointer shapeInfoPointers = new PointerPointer(toConcat.length);
@@ -719,6 +733,8 @@ public class CpuNDArrayFactory extends BaseNDArrayFactory {
      */
     @Override
     public INDArray pullRows(INDArray source, int sourceDimension, int[] indexes, char order) {
+        Nd4j.getExecutioner().push();
+
         if (indexes == null || indexes.length < 1)
             throw new IllegalStateException("Indexes can't be null or zero-length");
 
@@ -791,6 +807,8 @@ public class CpuNDArrayFactory extends BaseNDArrayFactory {
      */
     @Override
     public INDArray average(INDArray target, INDArray[] arrays) {
+        Nd4j.getExecutioner().push();
+
         if (arrays == null || arrays.length == 0)
             throw new RuntimeException("Input arrays are missing");
 
@@ -890,6 +908,8 @@ public class CpuNDArrayFactory extends BaseNDArrayFactory {
      */
     @Override
     public void shuffle(List<INDArray> arrays, Random rnd, List<int[]> dimensions) {
+        Nd4j.getExecutioner().push();
+
         if (dimensions == null || dimensions.size() == 0)
             throw new RuntimeException("Dimension can't be null or 0-length");
 
@@ -954,8 +974,9 @@ public class CpuNDArrayFactory extends BaseNDArrayFactory {
         } else if (Nd4j.dataType() == DataBuffer.Type.FLOAT) {
             nativeOps.shuffleFloat(dummy, dataPointers, shapePointers, dataPointers, shapePointers, arrays.size(),
                     ptrMap, tadPointers, offsetPointers);
-        } else {
-            // HALFs
+        } else if (Nd4j.dataType() == DataBuffer.Type.HALF) {
+            nativeOps.shuffleHalf(dummy, dataPointers, shapePointers, dataPointers, shapePointers, arrays.size(),
+                    ptrMap, tadPointers, offsetPointers);
         }
 
         dataPointers.address();
@@ -1067,6 +1088,8 @@ public class CpuNDArrayFactory extends BaseNDArrayFactory {
 
     @Override
     public DataBuffer convertDataEx(DataBuffer.TypeEx typeSrc, DataBuffer source, DataBuffer.TypeEx typeDst) {
+        Nd4j.getExecutioner().push();
+
         int elementSize = 0;
         if (typeDst.ordinal() <= 2)
             elementSize = 1;
@@ -7,27 +7,36 @@ import org.bytedeco.javacpp.Pointer;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.buffer.IntBuffer;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.cache.BoundedCache;
+import org.nd4j.linalg.cache.CacheStatistics;
 import org.nd4j.linalg.cache.ConstantHandler;
 import org.nd4j.linalg.cache.TADManager;
 import org.nd4j.linalg.cache.TadDescriptor;
 import org.nd4j.nativeblas.NativeOps;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-
 /**
  * @author raver119@gmail.com
  */
 public class CpuTADManager implements TADManager {
-    private Map<TadDescriptor, Pair<DataBuffer, DataBuffer>> cache = new ConcurrentHashMap<>();
+    /**
+     * System property with TAD cache budget, in bytes of cached shape and offsets buffers
+     */
+    public static final String CACHE_SIZE_PROPERTY = "org.nd4j.tad.cache.bytes";
+    public static final long DEFAULT_CACHE_SIZE = 64 * 1024 * 1024L;
+
+    private volatile BoundedCache<TadDescriptor, Pair<DataBuffer, DataBuffer>> cache;
     private NativeOps nativeOps;
     private ConstantHandler constantHandler;
-    private AtomicInteger counter = new AtomicInteger(0);
-    private static final int MAX_ENTRIES = 100;
 
     public CpuTADManager() {
-        //
+        this(Long.parseLong(System.getProperty(CACHE_SIZE_PROPERTY, String.valueOf(DEFAULT_CACHE_SIZE))));
+    }
+
+    /**
+     * @param maxCacheBytes TAD cache budget, in bytes of cached shape and offsets buffers
+     */
+    public CpuTADManager(long maxCacheBytes) {
+        cache = new BoundedCache<>(maxCacheBytes);
     }
 
     public void init(@NonNull NativeOps nativeOps, @NonNull ConstantHandler constantHandler) {
@@ -40,7 +49,26 @@ public class CpuTADManager implements TADManager {
      */
     @Override
     public void purgeBuffers() {
-        cache = new ConcurrentHashMap<>();
+        cache.clear();
+    }
+
+    /**
+     * This method replaces TAD cache with the new one, using specified budget
+     *
+     * @param maxCacheBytes TAD cache budget, in bytes of cached shape and offsets buffers
+     */
+    public void setMaxCacheSize(long maxCacheBytes) {
+        cache = new BoundedCache<>(maxCacheBytes);
+    }
+
+    /**
+     * This method returns hit/miss/eviction counters of TAD cache.
+     * Weights are reported in bytes.
+     *
+     * @return
+     */
+    public CacheStatistics getCacheStatistics() {
+        return cache.getStatistics();
     }
 
     @Override
@@ -50,7 +78,8 @@ public class CpuTADManager implements TADManager {
         } else {
             TadDescriptor descriptor = new TadDescriptor(array, dimension);
 
-            if (!cache.containsKey(descriptor)) {
+            Pair<DataBuffer, DataBuffer> cached = cache.get(descriptor);
+            if (cached == null) {
                 int dimensionLength = dimension.length;
 
                 // FIXME: this is fast triage, remove it later
@@ -80,14 +109,11 @@ public class CpuTADManager implements TADManager {
                 // If the line below will be uncommented, shapes from JVM will be used on native side
                 //outputBuffer = array.tensorAlongDimension(0, dimension).shapeInfoDataBuffer();
                 Pair<DataBuffer, DataBuffer> pair = new Pair<>(outputBuffer, offsetsBuffer);
-                if (counter.get() < MAX_ENTRIES) {
-                    counter.incrementAndGet();
-                    cache.put(descriptor, pair);
-                }
-                return pair;
+                long bytes = (outputBuffer.length() + offsetsBuffer.length()) * outputBuffer.getElementSize();
+                return cache.putIfAbsent(descriptor, pair, bytes);
             }
 
-            return cache.get(descriptor);
+            return cached;
         }
     }
 }
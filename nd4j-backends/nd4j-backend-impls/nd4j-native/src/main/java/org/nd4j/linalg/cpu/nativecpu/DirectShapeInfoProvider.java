@@ -4,19 +4,35 @@ import lombok.extern.slf4j.Slf4j;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.ndarray.BaseShapeInfoProvider;
 import org.nd4j.linalg.api.shape.ShapeDescriptor;
+import org.nd4j.linalg.cache.BoundedCache;
+import org.nd4j.linalg.cache.CacheStatistics;
 
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * Shape info provider with striped, byte-bounded LRU cache of shape buffers.
+ *
+ * Cache budget can be set with -Dorg.nd4j.shapeinfo.cache.bytes, 16MB by default.
+ *
  * @author raver119@gmail.com
  */
 @Slf4j
 public class DirectShapeInfoProvider extends BaseShapeInfoProvider {
-    private Map<ShapeDescriptor, DataBuffer> shapeCache = new ConcurrentHashMap<>();
-    private AtomicInteger counter = new AtomicInteger(0);
-    private static final int MAX_ENTRIES = 100;
+    public static final String CACHE_SIZE_PROPERTY = "org.nd4j.shapeinfo.cache.bytes";
+    public static final long DEFAULT_CACHE_SIZE = 16 * 1024 * 1024L;
+
+    private volatile BoundedCache<ShapeDescriptor, DataBuffer> shapeCache;
+
+    public DirectShapeInfoProvider() {
+        this(Long.parseLong(System.getProperty(CACHE_SIZE_PROPERTY, String.valueOf(DEFAULT_CACHE_SIZE))));
+    }
+
+    /**
+     * @param maxCacheBytes shape cache budget, in bytes of cached shape buffers
+     */
+    public DirectShapeInfoProvider(long maxCacheBytes) {
+        shapeCache = new BoundedCache<>(maxCacheBytes);
+    }
 
     @Override
     public DataBuffer createShapeInformation(int[] shape, int[] stride, int offset, int elementWiseStride, char order) {
@@ -25,29 +41,48 @@ public class DirectShapeInfoProvider extends BaseShapeInfoProvider {
         offset = 0;
 
         ShapeDescriptor descriptor = new ShapeDescriptor(shape, stride, offset, elementWiseStride, order);
-        if (!shapeCache.containsKey(descriptor)) {
-            if (counter.get() < MAX_ENTRIES) {
-                synchronized (this) {
-                    if (!shapeCache.containsKey(descriptor)) {
-                        counter.incrementAndGet();
-                        DataBuffer buffer =
-                                        super.createShapeInformation(shape, stride, offset, elementWiseStride, order);
-                        shapeCache.put(descriptor, buffer);
-
-                        return buffer;
-                    } else
-                        return shapeCache.get(descriptor);
-                }
-            } else {
-                return super.createShapeInformation(shape, stride, offset, elementWiseStride, order);
-            }
+        DataBuffer buffer = shapeCache.get(descriptor);
+        if (buffer == null) {
+            buffer = super.createShapeInformation(shape, stride, offset, elementWiseStride, order);
+
+            // if other thread has cached the same shape in the meantime, we'll use its buffer
+            buffer = shapeCache.putIfAbsent(descriptor, buffer, buffer.length() * buffer.getElementSize());
         }
 
-        return shapeCache.get(descriptor);
+        return buffer;
     }
 
     @Override
     public void purgeCache() {
-        shapeCache = new ConcurrentHashMap<>();
+        shapeCache.clear();
+    }
+
+    /**
+     * This method replaces shape cache with the new one, using specified budget
+     *
+     * @param maxCacheBytes shape cache budget, in bytes of cached shape buffers
+     */
+    public void setMaxCacheSize(long maxCacheBytes) {
+        shapeCache = new BoundedCache<>(maxCacheBytes);
+    }
+
+    /**
+     * This method returns hit/miss/eviction counters of shape cache.
+     * Weights are reported in bytes.
+     *
+     * @return
+     */
+    @Override
+    public CacheStatistics getCacheStatistics() {
+        return shapeCache.getStatistics();
+    }
+
+    /**
+     * This method returns number of times each cached shape buffer was reused
+     *
+     * @return
+     */
+    public Map<ShapeDescriptor, Long> getReuseCounts() {
+        return shapeCache.getReuseCounts();
     }
 }
@@ -3,15 +3,23 @@ package org.nd4j.linalg.cpu.nativecpu.blas;
 
 import org.bytedeco.javacpp.DoublePointer;
 import org.bytedeco.javacpp.FloatPointer;
+import org.bytedeco.javacpp.ShortPointer;
+import org.bytedeco.javacpp.indexer.HalfIndexer;
 import org.nd4j.linalg.api.blas.impl.BaseLevel3;
+import org.nd4j.linalg.api.blas.params.GemmParams;
+import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.complex.IComplexDouble;
 import org.nd4j.linalg.api.complex.IComplexFloat;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.aggregates.Aggregate;
 import org.nd4j.linalg.api.ops.aggregates.impl.AggregateGEMM;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.nativeblas.Nd4jBlas;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.bytedeco.javacpp.openblas.*;
 import static org.nd4j.linalg.cpu.nativecpu.blas.CpuBlas.*;
 
@@ -25,10 +33,117 @@ import static org.nd4j.linalg.cpu.nativecpu.blas.CpuBlas.*;
 public class CpuLevel3 extends BaseLevel3 {
     private Nd4jBlas nd4jBlas = (Nd4jBlas) Nd4j.factory().blas();
 
+    // tile sizes for hgemm: 3 fp32 tiles of 256 x 256 stay within L2 cache
+    private static final int HGEMM_TILE_M = 256;
+    private static final int HGEMM_TILE_N = 256;
+    private static final int HGEMM_TILE_K = 256;
+
+    // AggregateGEMM runs each product single-threaded, so products above that size go to cblas one by one
+    private static final long AGGREGATE_GEMM_MAX_OPS = 64L * 64L * 64L;
+
+    // fp16 -> fp32 conversion table, indexed by raw half bits
+    private static final float[] HALF_TO_FLOAT = new float[65536];
+
+    static {
+        for (int i = 0; i < HALF_TO_FLOAT.length; i++)
+            HALF_TO_FLOAT[i] = HalfIndexer.toFloat(i);
+    }
+
+    /**
+     * Half-precision gemm: operands stay in fp16, and are unpacked tile by tile into fp32 scratch buffers,
+     * so products are computed and accumulated by sgemm in fp32, and C is rounded to fp16 only once per tile.
+     * Scratch memory is bounded by tile sizes, regardless of matrix sizes.
+     */
     @Override
     protected void hgemm(char Order, char TransA, char TransB, int M, int N, int K, float alpha, INDArray A, int lda,
                     INDArray B, int ldb, float beta, INDArray C, int ldc) {
-        throw new UnsupportedOperationException();
+        boolean transA = TransA == 'T' || TransA == 't' || TransA == 'C' || TransA == 'c';
+        boolean transB = TransB == 'T' || TransB == 't' || TransB == 'C' || TransB == 'c';
+
+        ShortPointer a = new ShortPointer(A.data().addressPointer());
+        ShortPointer b = new ShortPointer(B.data().addressPointer());
+        ShortPointer c = new ShortPointer(C.data().addressPointer());
+
+        int tileM = Math.min(M, HGEMM_TILE_M);
+        int tileN = Math.min(N, HGEMM_TILE_N);
+        int tileK = Math.min(K, HGEMM_TILE_K);
+
+        float[] aTile = new float[tileM * tileK];
+        float[] bTile = new float[tileK * tileN];
+        float[] cTile = new float[tileM * tileN];
+        short[] run = new short[Math.max(tileM, Math.max(tileN, tileK))];
+
+        FloatPointer aPointer = new FloatPointer(aTile.length);
+        FloatPointer bPointer = new FloatPointer(bTile.length);
+        FloatPointer cPointer = new FloatPointer(cTile.length);
+
+        for (int jc = 0; jc < N; jc += tileN) {
+            int nc = Math.min(tileN, N - jc);
+            for (int ic = 0; ic < M; ic += tileM) {
+                int mc = Math.min(tileM, M - ic);
+
+                // with beta == 0 sgemm doesn't read C, so there's nothing to unpack
+                if (beta != 0.0f) {
+                    unpackTile(c, ldc, false, ic, jc, mc, nc, cTile, run);
+                    cPointer.position(0).put(cTile, 0, mc * nc);
+                }
+
+                for (int pc = 0; pc < K; pc += tileK) {
+                    int kc = Math.min(tileK, K - pc);
+
+                    unpackTile(a, lda, transA, ic, pc, mc, kc, aTile, run);
+                    unpackTile(b, ldb, transB, pc, jc, kc, nc, bTile, run);
+                    aPointer.position(0).put(aTile, 0, mc * kc);
+                    bPointer.position(0).put(bTile, 0, kc * nc);
+
+                    cblas_sgemm(convertOrder('f'), convertTranspose('N'), convertTranspose('N'), mc, nc, kc, alpha,
+                                    aPointer, mc, bPointer, kc, pc == 0 ? beta : 1.0f, cPointer, mc);
+                }
+
+                cPointer.position(0).get(cTile, 0, mc * nc);
+                packTile(cTile, c, ldc, ic, jc, mc, nc, run);
+            }
+        }
+    }
+
+    /**
+     * Unpacks rows x cols tile of op(X), starting at (row, col), into dense column-major fp32 tile
+     *
+     * @param x         fp16 column-major matrix
+     * @param ld        leading dimension of x
+     * @param transpose true if op(X) is X^T
+     */
+    private static void unpackTile(ShortPointer x, int ld, boolean transpose, int row, int col, int rows, int cols,
+                    float[] tile, short[] run) {
+        if (!transpose) {
+            // columns of X are contiguous
+            for (int j = 0; j < cols; j++) {
+                x.position((long) (col + j) * ld + row).get(run, 0, rows);
+                int offset = j * rows;
+                for (int i = 0; i < rows; i++)
+                    tile[offset + i] = HALF_TO_FLOAT[run[i] & 0xFFFF];
+            }
+        } else {
+            // op(X)[i, j] = X[j, i], so rows of op(X) are contiguous
+            for (int i = 0; i < rows; i++) {
+                x.position((long) (row + i) * ld + col).get(run, 0, cols);
+                for (int j = 0; j < cols; j++)
+                    tile[j * rows + i] = HALF_TO_FLOAT[run[j] & 0xFFFF];
+            }
+        }
+    }
+
+    /**
+     * Rounds dense column-major fp32 tile to fp16, and stores it into X at (row, col)
+     */
+    private static void packTile(float[] tile, ShortPointer x, int ld, int row, int col, int rows, int cols,
+                    short[] run) {
+        for (int j = 0; j < cols; j++) {
+            int offset = j * rows;
+            for (int i = 0; i < rows; i++)
+                run[i] = (short) HalfIndexer.fromFloat(tile[offset + i]);
+            x.position((long) (col + j) * ld + row).put(run, 0, rows);
+        }
     }
 
     @Override
@@ -44,6 +159,39 @@ public class CpuLevel3 extends BaseLevel3 {
         }
     }
 
+    /**
+     * Executes batch of small products as aggregates,
+     * so libnd4j runs the products in parallel instead of one cblas call after another.
+     * Batches containing bigger products are executed with cblas, product by product.
+     */
+    @Override
+    protected void gemmBatched(DataBuffer.Type dataType, List<GemmParams> batch, double alpha, double beta) {
+        // aggregates are executed with the global data type
+        if (batch.size() < 2 || dataType == DataBuffer.Type.HALF || dataType != Nd4j.dataType()
+                        || (!Nd4j.isFallbackModeEnabled() && !isSmallBatch(batch))) {
+            super.gemmBatched(dataType, batch, alpha, beta);
+            return;
+        }
+
+        List<Aggregate> aggregates = new ArrayList<>(batch.size());
+        for (GemmParams params : batch) {
+            aggregates.add(new AggregateGEMM('f', params.getTransA(), params.getTransB(), params.getM(),
+                            params.getN(), params.getK(), alpha, params.getA(), params.getLda(), params.getB(),
+                            params.getLdb(), beta, params.getC(), params.getLdc()));
+        }
+
+        Nd4j.getExecutioner().exec(aggregates);
+    }
+
+    private static boolean isSmallBatch(List<GemmParams> batch) {
+        for (GemmParams params : batch) {
+            if ((long) params.getM() * params.getN() * params.getK() > AGGREGATE_GEMM_MAX_OPS)
+                return false;
+        }
+
+        return true;
+    }
+
     @Override
     protected void ssymm(char Order, char Side, char Uplo, int M, int N, float alpha, INDArray A, int lda, INDArray B,
                     int ldb, float beta, INDArray C, int ldc) {
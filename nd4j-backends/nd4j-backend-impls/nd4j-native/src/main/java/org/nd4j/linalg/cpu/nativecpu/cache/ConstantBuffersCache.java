@@ -3,35 +3,54 @@ package org.nd4j.linalg.cpu.nativecpu.cache;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.cache.ArrayDescriptor;
 import org.nd4j.linalg.cache.BasicConstantHandler;
+import org.nd4j.linalg.cache.BoundedCache;
+import org.nd4j.linalg.cache.CacheStatistics;
 import org.nd4j.linalg.factory.Nd4j;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-
 /**
+ * Constant buffers cache for CPU backend: byte-bounded LRU cache, keyed by array contents and type.
+ *
+ * Lookups use thread-local probe descriptor, so cache hits don't allocate anything.
+ * Cache budget can be set with -Dorg.nd4j.constants.cache.bytes, 16MB by default.
+ *
  * @author raver119@gmail.com
  */
 public class ConstantBuffersCache extends BasicConstantHandler {
-    protected Map<ArrayDescriptor, DataBuffer> buffersCache = new ConcurrentHashMap<>();
-    private AtomicInteger counter = new AtomicInteger(0);
-    private static final int MAX_ENTRIES = 100;
+    public static final String CACHE_SIZE_PROPERTY = "org.nd4j.constants.cache.bytes";
+    public static final long DEFAULT_CACHE_SIZE = 16 * 1024 * 1024L;
+
+    protected volatile BoundedCache<ArrayDescriptor, DataBuffer> buffersCache;
+
+    private static final ThreadLocal<ArrayDescriptor> probes = new ThreadLocal<ArrayDescriptor>() {
+        @Override
+        protected ArrayDescriptor initialValue() {
+            return new ArrayDescriptor();
+        }
+    };
+
+    public ConstantBuffersCache() {
+        this(Long.parseLong(System.getProperty(CACHE_SIZE_PROPERTY, String.valueOf(DEFAULT_CACHE_SIZE))));
+    }
+
+    /**
+     * @param maxCacheBytes constants cache budget, in bytes of cached buffers
+     */
+    public ConstantBuffersCache(long maxCacheBytes) {
+        buffersCache = new BoundedCache<>(maxCacheBytes);
+    }
 
     @Override
     public DataBuffer getConstantBuffer(int[] array) {
-        ArrayDescriptor descriptor = new ArrayDescriptor(array);
-
-        if (!buffersCache.containsKey(descriptor)) {
-            DataBuffer buffer = Nd4j.createBuffer(array);
+        DataBuffer buffer = lookup(probes.get().assign(array));
+        if (buffer == null) {
+            buffer = Nd4j.createBuffer(array);
 
-            if (counter.get() < MAX_ENTRIES) {
-                counter.incrementAndGet();
-                buffersCache.put(descriptor, buffer);
-            }
-            return buffer;
+            // key gets its own copy, so caller is free to reuse the array
+            ArrayDescriptor descriptor = new ArrayDescriptor(array.clone());
+            buffer = buffersCache.putIfAbsent(descriptor, buffer, descriptor.sizeInBytes());
         }
 
-        return buffersCache.get(descriptor);
+        return buffer;
     }
 
     /**
@@ -39,40 +58,61 @@ public class ConstantBuffersCache extends BasicConstantHandler {
      */
     @Override
     public void purgeConstants() {
-        buffersCache = new ConcurrentHashMap<>();
+        buffersCache.clear();
     }
 
     @Override
     public DataBuffer getConstantBuffer(float[] array) {
-        ArrayDescriptor descriptor = new ArrayDescriptor(array);
-
-        if (!buffersCache.containsKey(descriptor)) {
-            DataBuffer buffer = Nd4j.createBufferDetached(array);
+        DataBuffer buffer = lookup(probes.get().assign(array));
+        if (buffer == null) {
+            buffer = Nd4j.createBufferDetached(array);
 
-            if (counter.get() < MAX_ENTRIES) {
-                counter.incrementAndGet();
-                buffersCache.put(descriptor, buffer);
-            }
-            return buffer;
+            ArrayDescriptor descriptor = new ArrayDescriptor(array.clone());
+            buffer = buffersCache.putIfAbsent(descriptor, buffer, descriptor.sizeInBytes());
         }
 
-        return buffersCache.get(descriptor);
+        return buffer;
     }
 
     @Override
     public DataBuffer getConstantBuffer(double[] array) {
-        ArrayDescriptor descriptor = new ArrayDescriptor(array);
+        DataBuffer buffer = lookup(probes.get().assign(array));
+        if (buffer == null) {
+            buffer = Nd4j.createBufferDetached(array);
 
-        if (!buffersCache.containsKey(descriptor)) {
-            DataBuffer buffer = Nd4j.createBufferDetached(array);
+            ArrayDescriptor descriptor = new ArrayDescriptor(array.clone());
+            buffer = buffersCache.putIfAbsent(descriptor, buffer, descriptor.sizeInBytes());
+        }
+
+        return buffer;
+    }
 
-            if (counter.get() < MAX_ENTRIES) {
-                counter.incrementAndGet();
-                buffersCache.put(descriptor, buffer);
-            }
-            return buffer;
+    private DataBuffer lookup(ArrayDescriptor probe) {
+        try {
+            return buffersCache.get(probe);
+        } finally {
+            // we don't want to keep caller's array referenced
+            probe.reset();
         }
+    }
 
-        return buffersCache.get(descriptor);
+    /**
+     * This method replaces constants cache with the new one, using specified budget
+     *
+     * @param maxCacheBytes constants cache budget, in bytes of cached buffers
+     */
+    public void setMaxCacheSize(long maxCacheBytes) {
+        buffersCache = new BoundedCache<>(maxCacheBytes);
+    }
+
+    /**
+     * This method returns hit/miss/eviction counters of constants cache.
+     * Weights are reported in bytes.
+     *
+     * @return
+     */
+    @Override
+    public CacheStatistics getCacheStatistics() {
+        return buffersCache.getStatistics();
     }
 }
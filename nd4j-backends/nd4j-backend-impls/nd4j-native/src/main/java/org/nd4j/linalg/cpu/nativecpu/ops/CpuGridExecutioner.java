@@ -0,0 +1,666 @@
+package org.nd4j.linalg.cpu.nativecpu.ops;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.javacpp.DoublePointer;
+import org.bytedeco.javacpp.FloatPointer;
+import org.bytedeco.javacpp.IntPointer;
+import org.bytedeco.javacpp.PointerPointer;
+import org.nd4j.linalg.api.buffer.BaseDataBuffer;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.*;
+import org.nd4j.linalg.api.ops.aggregates.Aggregate;
+import org.nd4j.linalg.api.ops.aggregates.Batch;
+import org.nd4j.linalg.api.ops.executioner.GridExecutioner;
+import org.nd4j.linalg.api.ops.grid.OpDescriptor;
+import org.nd4j.linalg.api.ops.impl.meta.InvertedPredicateMetaOp;
+import org.nd4j.linalg.api.ops.impl.meta.PredicateMetaOp;
+import org.nd4j.linalg.api.ops.impl.scalar.ScalarAdd;
+import org.nd4j.linalg.api.ops.impl.scalar.ScalarMax;
+import org.nd4j.linalg.api.ops.impl.scalar.ScalarMin;
+import org.nd4j.linalg.api.ops.impl.scalar.ScalarMultiplication;
+import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.AddOp;
+import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.MulOp;
+import org.nd4j.linalg.api.rng.Random;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * mGRID implementation for CPU
+ *
+ * Scalar and transform ops applied in-place aren't executed immediately: last such op is held back (per thread),
+ * and if next op is applied in-place to the same array, both ops are issued as single MetaOp,
+ * so array memory is read and written once instead of twice:
+ *  - scalar/transform followed by scalar/transform is issued as PredicateMetaOp
+ *  - pairwise transform followed by scalar/transform, or vice versa, is issued as InvertedPredicateMetaOp
+ * Each of those combinations is verified against native backend once, and only verified combinations are fused.
+ * Ops aren't fused if second op reads Y operand sharing memory with the array written by the first op.
+ *
+ * Held ops are visible to all threads: any other op, push()/commit() calls, workspace boundaries, element reads
+ * via INDArray and BLAS calls flush ops held by every thread, including threads that have already finished.
+ * Host side access to a single buffer is cheaper: bulk DataBuffer reads (asDouble(), Nd4j.write() etc) flush
+ * op held by current thread only if that op writes the buffer, and INDArray.putScalar()/put() flush it only
+ * if that op touches the buffer.
+ *
+ * PLEASE NOTE: this executioner isn't used by default, use -Dopexec=org.nd4j.linalg.cpu.nativecpu.ops.CpuGridExecutioner to enable it.
+ * PLEASE NOTE: element-wise DataBuffer access (getDouble(), pointers) bypasses flush, call Nd4j.getExecutioner().commit() before that.
+ */
+@Slf4j
+public class CpuGridExecutioner extends NativeOpExecutioner implements GridExecutioner {
+
+    protected enum MetaType {
+        NOT_APPLICABLE, PREDICATE, INVERTED_PREDICATE,
+    }
+
+    /**
+     * Combinations of held op and next op, verified against native backend separately
+     */
+    protected enum FusionPattern {
+        NOT_APPLICABLE, LINEAR_LINEAR, PAIRWISE_LINEAR, LINEAR_PAIRWISE,
+    }
+
+    /**
+     * Op held back by a single thread. Guarded by its own monitor,
+     * since it can be flushed by any thread.
+     */
+    private static class HeldOp {
+        private final WeakReference<Thread> owner = new WeakReference<>(Thread.currentThread());
+        private final WeakReference<CpuGridExecutioner> executioner;
+        // written under monitor, but read without it by owner thread before host access
+        private volatile OpDescriptor op;
+
+        private HeldOp(CpuGridExecutioner executioner) {
+            this.executioner = new WeakReference<>(executioner);
+        }
+
+        private boolean isAbandoned() {
+            Thread thread = owner.get();
+            return thread == null || !thread.isAlive();
+        }
+    }
+
+    // HeldOps of current thread, across all executioner instances. Not initialized for threads that never held ops
+    private static final ThreadLocal<List<HeldOp>> localHeldOps = new ThreadLocal<>();
+
+    // set while held op is executed, so ops and buffer reads issued from within don't flush other threads
+    private static final ThreadLocal<Boolean> flushing = new ThreadLocal<>();
+
+    static {
+        BaseDataBuffer.setHostAccessHook(new BaseDataBuffer.HostAccessHook() {
+            @Override
+            public void beforeHostAccess(DataBuffer buffer, boolean write) {
+                List<HeldOp> local = localHeldOps.get();
+                if (local == null || flushing.get() != null)
+                    return;
+
+                for (HeldOp held : local) {
+                    OpDescriptor descriptor = held.op;
+                    if (descriptor == null || !isTouching(descriptor.getOp(), buffer, write))
+                        continue;
+
+                    CpuGridExecutioner executioner = held.executioner.get();
+                    if (executioner != null)
+                        executioner.flushHeld(held);
+                }
+            }
+        });
+    }
+
+    private final Set<HeldOp> heldOps = Collections.newSetFromMap(new ConcurrentHashMap<HeldOp, Boolean>());
+
+    private final ThreadLocal<HeldOp> lastOp = new ThreadLocal<HeldOp>() {
+        @Override
+        protected HeldOp initialValue() {
+            HeldOp held = new HeldOp(CpuGridExecutioner.this);
+            heldOps.add(held);
+
+            List<HeldOp> local = localHeldOps.get();
+            if (local == null) {
+                local = new ArrayList<>(1);
+                localHeldOps.set(local);
+            }
+            local.add(held);
+
+            return held;
+        }
+    };
+
+    private AtomicLong metaCounter = new AtomicLong(0);
+    private AtomicLong execCounter = new AtomicLong(0);
+
+    // patterns are checked lazily, on first use
+    private final Map<FusionPattern, Boolean> metaSupported = new EnumMap<>(FusionPattern.class);
+
+    public CpuGridExecutioner() {
+        super();
+    }
+
+    /**
+     * This is one of the main entry points for ops that are executed without respect to dimension.
+     *
+     * Developers note: For CpuGridExecutioner that's also the MetaOp creation point.
+     *
+     * @param op
+     * @return
+     */
+    @Override
+    public Op exec(Op op) {
+        checkForCompression(op);
+
+        if (isGridCandidate(op) && isMetaSupported()) {
+            processAsGridOp(op);
+        } else {
+            flushQueue();
+            execCounter.incrementAndGet();
+            super.exec(op);
+        }
+
+        return op;
+    }
+
+    protected void processAsGridOp(Op op) {
+        HeldOp held = lastOp.get();
+        synchronized (held) {
+            OpDescriptor last = held.op;
+            held.op = null;
+
+            if (last != null) {
+                FusionPattern pattern = getFusionPattern(last.getOp(), op);
+                if (pattern != FusionPattern.NOT_APPLICABLE && isMetaSupported(pattern)) {
+                    metaCounter.incrementAndGet();
+                    execHeld(createMetaOp(last, new OpDescriptor(op)));
+                    return;
+                }
+
+                execHeld(last.getOp());
+            }
+
+            held.op = new OpDescriptor(op);
+        }
+    }
+
+    protected void pushToGrid(OpDescriptor descriptor) {
+        execCounter.incrementAndGet();
+        super.exec(descriptor.getOp());
+    }
+
+    /**
+     * Executes held op (or MetaOp formed with it) under its HeldOp monitor.
+     * Ops issued from within the execution don't flush other threads, so monitors are never nested.
+     */
+    private void execHeld(Op op) {
+        flushing.set(Boolean.TRUE);
+        try {
+            if (op instanceof MetaOp)
+                execPredicate((MetaOp) op);
+            else
+                pushToGrid(new OpDescriptor(op));
+        } finally {
+            flushing.remove();
+        }
+    }
+
+    /**
+     * This method checks, if op can be held back to form MetaOp with next op:
+     * it should be in-place, non-special scalar or transform op, applied to the whole array
+     *
+     * @param op
+     * @return
+     */
+    protected boolean isGridCandidate(Op op) {
+        if (!(op instanceof ScalarOp || op instanceof TransformOp))
+            return false;
+
+        if (executionMode() != ExecutionMode.NATIVE || op.isExecSpecial() || op.isPassThrough())
+            return false;
+
+        if (op.x() instanceof IComplexNDArray || op.x() != op.z())
+            return false;
+
+        DataBuffer.Type dtype = op.x().data().dataType();
+        if (dtype != DataBuffer.Type.FLOAT && dtype != DataBuffer.Type.DOUBLE)
+            return false;
+
+        if (op instanceof ScalarOp) {
+            // FIXME: get rid of those instanceof
+            if (((ScalarOp) op).getDimension() != null || op instanceof ScalarMax || op instanceof ScalarMin
+                            || (op.opNum() >= 7 && op.opNum() <= 11) || op.opNum() == 16 || op.opNum() == 13
+                            || (op.opNum() >= 56 && op.opNum() <= 59))
+                return false;
+        } else {
+            // IsMax along dimension relies on TAD
+            if (op.opNum() == 41 && op.extraArgs() != null)
+                return false;
+
+            if (op.y() != null && op.y().lengthLong() != op.x().lengthLong())
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * This method checks, if opA and opB are sharing the same operands.
+     * Only one of them can have Y operand, since MetaOp has only one Y pointer.
+     *
+     * @param opA
+     * @param opB
+     * @return
+     */
+    protected boolean isMatchingZX(Op opA, Op opB) {
+        if (opA.y() != null && opB.y() != null)
+            return false;
+
+        return opA.x() == opB.x() && opA.z() == opB.z() && opA.x() == opB.z();
+    }
+
+    /**
+     * This method checks, if opB reads Y operand that's written by opA.
+     * Fused op reads whole Y before anything is written, so opB would see values from before opA.
+     *
+     * @param opA
+     * @param opB
+     * @return
+     */
+    protected boolean isReadingZY(Op opA, Op opB) {
+        return sharesBuffer(opB.y(), opA.z()) || sharesBuffer(opB.y(), opA.x());
+    }
+
+    /**
+     * This method checks, if host side access to the buffer conflicts with op:
+     * reads conflict with op writing the buffer, writes conflict with op reading or writing it
+     *
+     * @param op
+     * @param buffer
+     * @param write
+     * @return
+     */
+    protected static boolean isTouching(Op op, DataBuffer buffer, boolean write) {
+        DataBuffer root = rootBuffer(buffer);
+        if (op.z() != null && rootBuffer(op.z().data()) == root)
+            return true;
+
+        if (!write)
+            return false;
+
+        return (op.x() != null && rootBuffer(op.x().data()) == root)
+                        || (op.y() != null && rootBuffer(op.y().data()) == root);
+    }
+
+    protected static boolean sharesBuffer(INDArray arrayA, INDArray arrayB) {
+        if (arrayA == null || arrayB == null)
+            return false;
+
+        return rootBuffer(arrayA.data()) == rootBuffer(arrayB.data());
+    }
+
+    private static DataBuffer rootBuffer(DataBuffer buffer) {
+        DataBuffer original = buffer.originalDataBuffer();
+        return original != null ? original : buffer;
+    }
+
+    /**
+     * This method returns the combination formed by held op and next op, or NOT_APPLICABLE if they can't be fused
+     *
+     * @param last
+     * @param op
+     * @return
+     */
+    protected FusionPattern getFusionPattern(Op last, Op op) {
+        if (!isMatchingZX(last, op) || isReadingZY(last, op))
+            return FusionPattern.NOT_APPLICABLE;
+
+        if (last.y() != null)
+            return FusionPattern.PAIRWISE_LINEAR;
+
+        if (op.y() != null)
+            return FusionPattern.LINEAR_PAIRWISE;
+
+        return FusionPattern.LINEAR_LINEAR;
+    }
+
+    protected MetaType getMetaOpType(FusionPattern pattern) {
+        switch (pattern) {
+            case LINEAR_LINEAR:
+                return MetaType.PREDICATE;
+            case PAIRWISE_LINEAR:
+            case LINEAR_PAIRWISE:
+                return MetaType.INVERTED_PREDICATE;
+            default:
+                return MetaType.NOT_APPLICABLE;
+        }
+    }
+
+    protected MetaOp createMetaOp(OpDescriptor last, OpDescriptor current) {
+        switch (getMetaOpType(getFusionPattern(last.getOp(), current.getOp()))) {
+            case PREDICATE:
+                return new PredicateMetaOp(last, current);
+            case INVERTED_PREDICATE:
+                return new InvertedPredicateMetaOp(last, current);
+            default:
+                throw new UnsupportedOperationException("Ops can't be fused: [" + last.getOp().name() + "] and ["
+                                + current.getOp().name() + "]");
+        }
+    }
+
+    /**
+     * This method checks once, if native backend actually executes predicate MetaOps for CPU.
+     * If it doesn't, ops aren't held back at all.
+     *
+     * @return
+     */
+    protected boolean isMetaSupported() {
+        return isMetaSupported(FusionPattern.LINEAR_LINEAR);
+    }
+
+    /**
+     * This method checks once per pattern, if native backend executes MetaOps of that pattern correctly.
+     * Ops forming unsupported pattern are executed one by one.
+     *
+     * @param pattern
+     * @return
+     */
+    protected boolean isMetaSupported(FusionPattern pattern) {
+        synchronized (metaSupported) {
+            Boolean supported = metaSupported.get(pattern);
+            if (supported == null) {
+                supported = probe(pattern);
+                if (!supported)
+                    log.warn("Native {} MetaOps aren't available for CPU, such ops will be executed one by one",
+                                    pattern);
+
+                metaSupported.put(pattern, supported);
+            }
+
+            return supported;
+        }
+    }
+
+    private boolean probe(FusionPattern pattern) {
+        try (MemoryWorkspace workspace = Nd4j.getWorkspaceManager().scopeOutOfWorkspaces()) {
+            INDArray array = Nd4j.create(new double[] {1.0, 2.0, 3.0, 4.0});
+            INDArray y = Nd4j.create(new double[] {2.0, 3.0, 4.0, 5.0});
+
+            double[] exp = new double[(int) array.length()];
+            MetaOp op;
+            switch (pattern) {
+                case LINEAR_LINEAR:
+                    op = new PredicateMetaOp(new ScalarAdd(array, 1.0), new ScalarMultiplication(array, 2.0));
+                    for (int e = 0; e < exp.length; e++)
+                        exp[e] = (e + 2) * 2.0;
+                    break;
+                case PAIRWISE_LINEAR:
+                    op = new InvertedPredicateMetaOp(new AddOp(array, y, array), new ScalarMultiplication(array, 2.0));
+                    for (int e = 0; e < exp.length; e++)
+                        exp[e] = ((e + 1) + (e + 2)) * 2.0;
+                    break;
+                case LINEAR_PAIRWISE:
+                    op = new InvertedPredicateMetaOp(new ScalarAdd(array, 1.0), new MulOp(array, y, array));
+                    for (int e = 0; e < exp.length; e++)
+                        exp[e] = (e + 2) * (e + 2.0);
+                    break;
+                default:
+                    return false;
+            }
+
+            execPredicate(op);
+
+            for (int e = 0; e < exp.length; e++)
+                if (Math.abs(array.data().getDouble(e) - exp[e]) > 1e-5)
+                    return false;
+
+            return true;
+        } catch (Exception e) {
+            log.warn("MetaOp check failed", e);
+            return false;
+        }
+    }
+
+    protected FusionPattern getFusionPattern(MetaOp op) {
+        return getFusionPattern(op.getFirstOp(), op.getSecondOp());
+    }
+
+    @Override
+    public void exec(MetaOp op) {
+        flushQueue();
+
+        if (!(op instanceof PredicateMetaOp || op instanceof InvertedPredicateMetaOp))
+            throw new UnsupportedOperationException(
+                            "Only predicate MetaOps are supported on CPU, got [" + op.getClass().getSimpleName() + "]");
+
+        FusionPattern pattern = getFusionPattern(op);
+        if (pattern != FusionPattern.NOT_APPLICABLE && isMetaSupported(pattern)) {
+            execPredicate(op);
+        } else {
+            super.exec(op.getFirstOp());
+            super.exec(op.getSecondOp());
+        }
+    }
+
+    protected void execPredicate(MetaOp op) {
+        Op first = op.getFirstOp();
+        Op second = op.getSecondOp();
+
+        // MetaOp has no operands of its own, so it's profiled as its second op, which holds the result
+        long st = profilingHookIn(second);
+
+        if (extraz.get() == null)
+            extraz.set(new PointerPointer(32));
+
+        PointerPointer dummy = extraz.get();
+
+        // there's only one Y operand at most
+        INDArray y = second.y() != null ? second.y() : first.y();
+
+        int typeA = BaseOp.getOpType(first).ordinal();
+        int typeB = BaseOp.getOpType(second).ordinal();
+
+        double scalarA = first instanceof ScalarOp ? ((ScalarOp) first).scalar().doubleValue() : 0.0;
+        double scalarB = second instanceof ScalarOp ? ((ScalarOp) second).scalar().doubleValue() : 0.0;
+
+        INDArray x = first.x();
+        INDArray z = second.z();
+
+        boolean strided = x.elementWiseStride() >= 1 && z.elementWiseStride() >= 1 && x.ordering() == z.ordering()
+                        && (y == null || (y.elementWiseStride() >= 1 && y.ordering() == x.ordering()));
+
+        if (x.data().dataType() == DataBuffer.Type.DOUBLE) {
+            if (strided) {
+                loop.execMetaPredicateStridedDouble(dummy, typeA, first.opNum(), typeB, second.opNum(), x.lengthLong(),
+                                (DoublePointer) x.data().addressPointer(), x.elementWiseStride(),
+                                y == null ? null : (DoublePointer) y.data().addressPointer(),
+                                y == null ? -1 : y.elementWiseStride(), (DoublePointer) z.data().addressPointer(),
+                                z.elementWiseStride(), (DoublePointer) getPointerForExtraArgs(first),
+                                (DoublePointer) getPointerForExtraArgs(second), scalarA, scalarB);
+            } else {
+                loop.execMetaPredicateShapeDouble(dummy, typeA, first.opNum(), typeB, second.opNum(), x.lengthLong(),
+                                (DoublePointer) x.data().addressPointer(),
+                                (IntPointer) x.shapeInfoDataBuffer().addressPointer(),
+                                y == null ? null : (DoublePointer) y.data().addressPointer(),
+                                y == null ? null : (IntPointer) y.shapeInfoDataBuffer().addressPointer(),
+                                (DoublePointer) z.data().addressPointer(),
+                                (IntPointer) z.shapeInfoDataBuffer().addressPointer(),
+                                (DoublePointer) getPointerForExtraArgs(first),
+                                (DoublePointer) getPointerForExtraArgs(second), scalarA, scalarB);
+            }
+        } else {
+            if (strided) {
+                loop.execMetaPredicateStridedFloat(dummy, typeA, first.opNum(), typeB, second.opNum(), x.lengthLong(),
+                                (FloatPointer) x.data().addressPointer(), x.elementWiseStride(),
+                                y == null ? null : (FloatPointer) y.data().addressPointer(),
+                                y == null ? -1 : y.elementWiseStride(), (FloatPointer) z.data().addressPointer(),
+                                z.elementWiseStride(), (FloatPointer) getPointerForExtraArgs(first),
+                                (FloatPointer) getPointerForExtraArgs(second), (float) scalarA, (float) scalarB);
+            } else {
+                loop.execMetaPredicateShapeFloat(dummy, typeA, first.opNum(), typeB, second.opNum(), x.lengthLong(),
+                                (FloatPointer) x.data().addressPointer(),
+                                (IntPointer) x.shapeInfoDataBuffer().addressPointer(),
+                                y == null ? null : (FloatPointer) y.data().addressPointer(),
+                                y == null ? null : (IntPointer) y.shapeInfoDataBuffer().addressPointer(),
+                                (FloatPointer) z.data().addressPointer(),
+                                (IntPointer) z.shapeInfoDataBuffer().addressPointer(),
+                                (FloatPointer) getPointerForExtraArgs(first),
+                                (FloatPointer) getPointerForExtraArgs(second), (float) scalarA, (float) scalarB);
+            }
+        }
+
+        profilingHookOut(second, st);
+    }
+
+    @Override
+    public void exec(GridOp op) {
+        flushQueue();
+        super.exec(op);
+    }
+
+    @Override
+    public INDArray exec(Accumulation op, int... dimension) {
+        flushQueue();
+        return super.exec(op, dimension);
+    }
+
+    @Override
+    public INDArray exec(IndexAccumulation op, int... dimension) {
+        flushQueue();
+        return super.exec(op, dimension);
+    }
+
+    @Override
+    public INDArray exec(BroadcastOp op, int... dimension) {
+        flushQueue();
+        return super.exec(op, dimension);
+    }
+
+    @Override
+    public Op exec(Op op, int... dimension) {
+        flushQueue();
+        return super.exec(op, dimension);
+    }
+
+    @Override
+    public INDArray exec(RandomOp op, Random rng) {
+        flushQueue();
+        return super.exec(op, rng);
+    }
+
+    @Override
+    public <T extends Aggregate> void exec(Batch<T> batch) {
+        flushQueue();
+        super.exec(batch);
+    }
+
+    @Override
+    public void exec(List<Aggregate> batch) {
+        flushQueue();
+        super.exec(batch);
+    }
+
+    @Override
+    public void exec(Aggregate op) {
+        flushQueue();
+        super.exec(op);
+    }
+
+    /**
+     * This method returns number of MetaOps issued so far
+     *
+     * @return
+     */
+    public long getMetaCounter() {
+        return metaCounter.get();
+    }
+
+    /**
+     * This method returns number of ops issued one by one so far
+     *
+     * @return
+     */
+    public long getExecutionCounter() {
+        return execCounter.get();
+    }
+
+    /**
+     * This method returns Op queue length for current thread
+     *
+     * @return
+     */
+    @Override
+    public int getQueueLength() {
+        HeldOp held = lastOp.get();
+        synchronized (held) {
+            return held.op == null ? 0 : 1;
+        }
+    }
+
+    /**
+     * This method forces all currently enqueued ops to be executed immediately,
+     * including ops held back by other threads
+     *
+     * PLEASE NOTE: on CPU this call is always blocking
+     */
+    @Override
+    public void flushQueue() {
+        if (flushing.get() != null)
+            return;
+
+        for (HeldOp held : heldOps) {
+            flushHeld(held);
+
+            // thread is gone, nobody will hold ops here anymore
+            if (held.isAbandoned())
+                heldOps.remove(held);
+        }
+    }
+
+    private void flushHeld(HeldOp held) {
+        synchronized (held) {
+            OpDescriptor descriptor = held.op;
+            if (descriptor != null) {
+                held.op = null;
+                execHeld(descriptor.getOp());
+            }
+        }
+    }
+
+    @Override
+    public void flushQueueBlocking() {
+        flushQueue();
+    }
+
+    /**
+     * Aggregates aren't batched on CPU, so op is executed immediately
+     *
+     * @param op
+     */
+    @Override
+    public void aggregate(Aggregate op) {
+        exec(op);
+    }
+
+    /**
+     * Aggregates aren't batched on CPU, so op is executed immediately
+     *
+     * @param op
+     * @param key
+     */
+    @Override
+    public void aggregate(Aggregate op, long key) {
+        exec(op);
+    }
+
+    @Override
+    public void push() {
+        flushQueue();
+    }
+
+    @Override
+    public void commit() {
+        flushQueueBlocking();
+    }
+}
@@ -40,7 +40,7 @@ import java.util.*;
  */
 @Slf4j
 public class NativeOpExecutioner extends DefaultOpExecutioner {
-    private NativeOps loop = NativeOpsHolder.getInstance().getDeviceNativeOps();
+    protected NativeOps loop = NativeOpsHolder.getInstance().getDeviceNativeOps();
     private ConstantHandler constantHandler = Nd4j.getConstantHandler();
     @Getter
     private CpuTADManager tadManager = new CpuTADManager();
@@ -485,6 +485,13 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
                             (IntPointer) op.z().shapeInfoDataBuffer().addressPointer(),
                             (DoublePointer) op.y().data().addressPointer(), (DoublePointer) getPointerForExtraArgs(op),
                             new IntPointer(dimension), dimension.length);
+        } else if (op.x().data().dataType() == DataBuffer.Type.HALF) {
+            loop.execScalarHalf(dummy, op.opNum(), (ShortPointer) op.x().data().addressPointer(),
+                            (IntPointer) op.x().shapeInfoDataBuffer().addressPointer(),
+                            (ShortPointer) op.z().data().addressPointer(),
+                            (IntPointer) op.z().shapeInfoDataBuffer().addressPointer(),
+                            (ShortPointer) op.y().data().addressPointer(), (ShortPointer) getPointerForExtraArgs(op),
+                            new IntPointer(dimension), dimension.length);
         }
     }
 
@@ -519,6 +526,18 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
                                     (DoublePointer) op.z().data().addressPointer(),
                                     (IntPointer) op.z().shapeInfoDataBuffer().addressPointer(),
                                     op.scalar().doubleValue(), (DoublePointer) getPointerForExtraArgs(op));
+            } else if (op.x().data().dataType() == DataBuffer.Type.HALF) {
+                if (op.x().elementWiseStride() >= 1 && !op.isExecSpecial() && op.z().elementWiseStride() >= 1) {
+                    loop.execScalarHalf(null, op.opNum(), (ShortPointer) op.x().data().addressPointer(),
+                                    op.x().elementWiseStride(), (ShortPointer) op.z().data().addressPointer(),
+                                    op.z().elementWiseStride(), op.scalar().floatValue(),
+                                    (ShortPointer) getPointerForExtraArgs(op), op.n());
+                } else
+                    loop.execScalarHalf(null, op.opNum(), (ShortPointer) op.x().data().addressPointer(),
+                                    (IntPointer) op.x().shapeInfoDataBuffer().addressPointer(),
+                                    (ShortPointer) op.z().data().addressPointer(),
+                                    (IntPointer) op.z().shapeInfoDataBuffer().addressPointer(),
+                                    op.scalar().floatValue(), (ShortPointer) getPointerForExtraArgs(op));
             } else {
                 if (op.x().elementWiseStride() >= 1 && !op.isExecSpecial() && op.z().elementWiseStride() >= 1
                                 && !op.isExecSpecial()) {
@@ -539,7 +558,7 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
         }
     }
 
-    private Pointer getPointerForExtraArgs(Op op) {
+    protected Pointer getPointerForExtraArgs(Op op) {
         if (op.extraArgs() != null)
             return op.extraArgsDataBuff().addressPointer();
         return null;
@@ -635,6 +654,48 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
                                     (DoublePointer) getPointerForExtraArgs(op));
                 }
 
+            }
+        } else if (op.x().data().dataType() == DataBuffer.Type.HALF) {
+            if (op.y() != null) {
+                int xEWS = op.x().elementWiseStride();
+                int yEWS = op.y().elementWiseStride();
+                int zEWS = op.z().elementWiseStride();
+
+                boolean xRow = op.x().isRowVector();
+                boolean yRow = op.y().isRowVector();
+                boolean zRow = op.z().isRowVector();
+
+                if ((xEWS >= 1 && yEWS >= 1
+                                && xEWS == yEWS && !op.isExecSpecial()
+                                && op.x().ordering() == op.y().ordering() && op.x().ordering() == op.z().ordering()) || (xEWS >= 1 && yEWS == xEWS && zEWS == xEWS && xRow && yRow && zRow)) {
+                    loop.execPairwiseTransformHalf(dummy, op.opNum(), (ShortPointer) op.x().data().addressPointer(),
+                                    xEWS, (ShortPointer) op.y().data().addressPointer(),
+                                    yEWS, (ShortPointer) op.z().data().addressPointer(),
+                                    zEWS, (ShortPointer) getPointerForExtraArgs(op), op.n());
+
+                } else {
+                    loop.execPairwiseTransformHalf(dummy, op.opNum(), (ShortPointer) op.x().data().addressPointer(),
+                                    (IntPointer) op.x().shapeInfoDataBuffer().addressPointer(),
+                                    (ShortPointer) op.y().data().addressPointer(),
+                                    (IntPointer) op.y().shapeInfoDataBuffer().addressPointer(),
+                                    (ShortPointer) op.z().data().addressPointer(),
+                                    (IntPointer) op.z().shapeInfoDataBuffer().addressPointer(),
+                                    (ShortPointer) getPointerForExtraArgs(op));
+                }
+
+            } else {
+                if (op.x().elementWiseStride() >= 1 && !op.isExecSpecial() && op.x().ordering() == op.z().ordering()) {
+                    loop.execTransformHalf(dummy, op.opNum(), (ShortPointer) op.x().data().addressPointer(),
+                                    op.x().elementWiseStride(), (ShortPointer) op.z().data().addressPointer(),
+                                    op.z().elementWiseStride(), (ShortPointer) getPointerForExtraArgs(op), op.n());
+                } else {
+                    loop.execTransformHalf(dummy, op.opNum(), (ShortPointer) op.x().data().addressPointer(),
+                                    (IntPointer) op.x().shapeInfoDataBuffer().addressPointer(),
+                                    (ShortPointer) op.z().data().addressPointer(),
+                                    (IntPointer) op.z().shapeInfoDataBuffer().addressPointer(),
+                                    (ShortPointer) getPointerForExtraArgs(op));
+                }
+
             }
         } else {
             if (op.y() != null) {
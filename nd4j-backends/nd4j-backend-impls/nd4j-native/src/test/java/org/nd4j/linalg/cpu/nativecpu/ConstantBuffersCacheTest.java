@@ -0,0 +1,38 @@
+package org.nd4j.linalg.cpu.nativecpu;
+
+import org.junit.Test;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.cache.CacheStatistics;
+import org.nd4j.linalg.cpu.nativecpu.cache.ConstantBuffersCache;
+
+import static org.junit.Assert.*;
+
+public class ConstantBuffersCacheTest {
+
+    @Test
+    public void testConstantsDedupAndEviction() {
+        ConstantBuffersCache cache = new ConstantBuffersCache(8 * 1024);
+
+        int[] dimension = new int[] {1, 2};
+        DataBuffer first = cache.getConstantBuffer(dimension);
+
+        // caller reuses its array: cached key must not change
+        dimension[0] = 0;
+        DataBuffer second = cache.getConstantBuffer(new int[] {1, 2});
+        assertTrue(first == second);
+        assertEquals(1, second.getInt(0));
+
+        // same values, different type: separate buffer
+        DataBuffer floats = cache.getConstantBuffer(new float[] {1, 2});
+        assertTrue(floats != first);
+
+        for (int i = 0; i < 1000; i++)
+            cache.getConstantBuffer(new double[] {i, i + 1, i + 2});
+
+        CacheStatistics stats = cache.getCacheStatistics();
+        assertEquals(1, stats.getHits());
+        assertTrue(stats.getEvictions() > 0);
+        assertTrue(stats.getWeight() <= stats.getMaxWeight());
+        assertTrue(stats.hitRate() > 0.0);
+    }
+}
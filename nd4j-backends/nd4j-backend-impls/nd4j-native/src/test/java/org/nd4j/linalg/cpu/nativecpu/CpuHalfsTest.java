@@ -0,0 +1,87 @@
+package org.nd4j.linalg.cpu.nativecpu;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.buffer.HalfBuffer;
+import org.nd4j.linalg.api.buffer.util.DataTypeUtil;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.ops.transforms.Transforms;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CpuHalfsTest {
+    private DataBuffer.Type initialType;
+
+    @Before
+    public void setUp() {
+        initialType = Nd4j.dataType();
+        DataTypeUtil.setDTypeForContext(DataBuffer.Type.HALF);
+    }
+
+    @After
+    public void tearDown() {
+        DataTypeUtil.setDTypeForContext(initialType);
+    }
+
+    @Test
+    public void testHalfBuffer() {
+        INDArray array = Nd4j.create(new float[] {1.0f, 2.5f, -3.0f, 65504.0f});
+
+        assertTrue(array.data() instanceof HalfBuffer);
+        assertEquals(DataBuffer.Type.HALF, array.data().dataType());
+        assertEquals(2, array.data().getElementSize());
+        assertArrayEquals(new float[] {1.0f, 2.5f, -3.0f, 65504.0f}, array.data().asFloat(), 0.0f);
+        assertEquals(2.5, array.getDouble(1), 0.0);
+    }
+
+    @Test
+    public void testHalfElementwise() {
+        INDArray array = Nd4j.create(new float[] {1.0f, 2.0f, 3.0f, 4.0f});
+
+        array.addi(1.0f);
+        assertArrayEquals(new float[] {2.0f, 3.0f, 4.0f, 5.0f}, array.data().asFloat(), 0.0f);
+
+        array.muli(Nd4j.create(new float[] {2.0f, 2.0f, 2.0f, 2.0f}));
+        assertArrayEquals(new float[] {4.0f, 6.0f, 8.0f, 10.0f}, array.data().asFloat(), 0.0f);
+
+        INDArray sqrt = Transforms.sqrt(Nd4j.create(new float[] {4.0f, 9.0f, 16.0f, 25.0f}));
+        assertArrayEquals(new float[] {2.0f, 3.0f, 4.0f, 5.0f}, sqrt.data().asFloat(), 1e-3f);
+    }
+
+    @Test
+    public void testHgemm() {
+        // larger than a single tile along every dimension
+        int m = 300, k = 270, n = 260;
+
+        DataTypeUtil.setDTypeForContext(DataBuffer.Type.FLOAT);
+        Nd4j.getRandom().setSeed(119);
+        INDArray a = Nd4j.rand(m, k).subi(0.5);
+        INDArray b = Nd4j.rand(k, n).subi(0.5);
+        float[] aData = a.dup('c').data().asFloat();
+        float[] bData = b.dup('c').data().asFloat();
+
+        DataTypeUtil.setDTypeForContext(DataBuffer.Type.HALF);
+        INDArray aHalf = Nd4j.create(aData, new int[] {m, k}, 'c');
+        INDArray bHalf = Nd4j.create(bData, new int[] {k, n}, 'c');
+
+        // expected values are computed from the same fp16-rounded inputs, in fp32
+        DataTypeUtil.setDTypeForContext(DataBuffer.Type.FLOAT);
+        INDArray exp = Nd4j.create(aHalf.data().asFloat(), new int[] {m, k}, 'c')
+                        .mmul(Nd4j.create(bHalf.data().asFloat(), new int[] {k, n}, 'c'));
+        INDArray expT = Nd4j.create(bHalf.data().asFloat(), new int[] {k, n}, 'c').transpose()
+                        .mmul(Nd4j.create(aHalf.data().asFloat(), new int[] {m, k}, 'c').transpose());
+
+        DataTypeUtil.setDTypeForContext(DataBuffer.Type.HALF);
+        INDArray result = aHalf.mmul(bHalf);
+        INDArray resultT = bHalf.transpose().mmul(aHalf.transpose());
+
+        assertEquals(DataBuffer.Type.HALF, result.data().dataType());
+        assertArrayEquals(exp.dup('c').data().asFloat(), result.dup('c').data().asFloat(), 1e-2f);
+        assertArrayEquals(expT.dup('c').data().asFloat(), resultT.dup('c').data().asFloat(), 1e-2f);
+    }
+}
@@ -0,0 +1,43 @@
+package org.nd4j.linalg.cpu.nativecpu;
+
+import org.apache.commons.math3.util.Pair;
+import org.junit.Test;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.cache.CacheStatistics;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.nativeblas.NativeOpsHolder;
+
+import static org.junit.Assert.*;
+
+public class CpuTADManagerTest {
+
+    @Test
+    public void testCacheHitsAndEviction() {
+        CpuTADManager manager = new CpuTADManager(16 * 1024);
+        manager.init(NativeOpsHolder.getInstance().getDeviceNativeOps(), Nd4j.getConstantHandler());
+
+        INDArray array = Nd4j.create(10, 10);
+        Pair<DataBuffer, DataBuffer> first = manager.getTADOnlyShapeInfo(array, new int[] {1});
+        Pair<DataBuffer, DataBuffer> second = manager.getTADOnlyShapeInfo(array, new int[] {1});
+
+        assertTrue(first == second);
+
+        CacheStatistics stats = manager.getCacheStatistics();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getEntries());
+
+        // shapes seen after warm-up still get cached, older ones get evicted to stay within budget
+        for (int i = 1; i < 100; i++)
+            manager.getTADOnlyShapeInfo(Nd4j.create(i, 7), new int[] {1});
+
+        stats = manager.getCacheStatistics();
+        assertTrue(stats.getEvictions() > 0);
+        assertTrue(stats.getWeight() <= stats.getMaxWeight());
+
+        INDArray last = Nd4j.create(99, 7);
+        manager.getTADOnlyShapeInfo(last, new int[] {1});
+        assertEquals(stats.getHits() + 1, manager.getCacheStatistics().getHits());
+    }
+}
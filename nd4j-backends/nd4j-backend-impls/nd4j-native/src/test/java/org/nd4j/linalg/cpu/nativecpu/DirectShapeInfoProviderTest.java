@@ -0,0 +1,35 @@
+package org.nd4j.linalg.cpu.nativecpu;
+
+import org.junit.Test;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.cache.CacheStatistics;
+
+import static org.junit.Assert.*;
+
+public class DirectShapeInfoProviderTest {
+
+    @Test
+    public void testShapeCacheEviction() {
+        DirectShapeInfoProvider provider = new DirectShapeInfoProvider(4 * 1024);
+
+        DataBuffer first = provider.createShapeInformation(new int[] {3, 4}, 'c');
+        DataBuffer second = provider.createShapeInformation(new int[] {3, 4}, 'c');
+        assertTrue(first == second);
+
+        // variable-length sequences: lots of distinct shapes
+        for (int i = 1; i <= 1000; i++)
+            provider.createShapeInformation(new int[] {32, i, 100}, 'c');
+
+        CacheStatistics stats = provider.getCacheStatistics();
+        assertTrue(stats.getEvictions() > 0);
+        assertTrue(stats.getWeight() <= stats.getMaxWeight());
+
+        // most recent shape is still cached
+        DataBuffer last = provider.createShapeInformation(new int[] {32, 1000, 100}, 'c');
+        assertTrue(last == provider.createShapeInformation(new int[] {32, 1000, 100}, 'c'));
+        assertTrue(provider.getCacheStatistics().getHits() >= stats.getHits() + 2);
+
+        provider.purgeCache();
+        assertEquals(0, provider.getCacheStatistics().getEntries());
+    }
+}
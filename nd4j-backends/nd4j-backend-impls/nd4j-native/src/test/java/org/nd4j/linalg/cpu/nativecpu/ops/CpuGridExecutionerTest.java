@@ -0,0 +1,249 @@
+package org.nd4j.linalg.cpu.nativecpu.ops;
+
+import org.junit.Test;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.accum.Sum;
+import org.nd4j.linalg.api.ops.impl.scalar.ScalarAdd;
+import org.nd4j.linalg.api.ops.impl.scalar.ScalarMultiplication;
+import org.nd4j.linalg.api.ops.impl.transforms.Abs;
+import org.nd4j.linalg.api.ops.impl.transforms.Tanh;
+import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.AddOp;
+import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.MulOp;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.ops.transforms.Transforms;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.Assert.*;
+
+public class CpuGridExecutionerTest {
+
+    @Test
+    public void testScalarTransformFusion() {
+        CpuGridExecutioner executioner = new CpuGridExecutioner();
+
+        INDArray array = Nd4j.linspace(-5, 5, 100);
+        INDArray exp = array.dup();
+
+        Nd4j.getExecutioner().exec(new ScalarAdd(exp, 1.5));
+        Nd4j.getExecutioner().exec(new Tanh(exp));
+
+        executioner.exec(new ScalarAdd(array, 1.5));
+        if (executioner.isMetaSupported())
+            assertEquals(1, executioner.getQueueLength());
+
+        executioner.exec(new Tanh(array));
+        assertEquals(0, executioner.getQueueLength());
+
+        assertEquals(exp, array);
+    }
+
+    @Test
+    public void testFlushBeforeReduce() {
+        CpuGridExecutioner executioner = new CpuGridExecutioner();
+
+        INDArray array = Nd4j.linspace(1, 10, 10);
+
+        executioner.exec(new ScalarMultiplication(array, -1.0));
+        INDArray sum = executioner.exec(new Sum(array), Integer.MAX_VALUE);
+
+        assertEquals(0, executioner.getQueueLength());
+        assertEquals(-55.0, sum.getDouble(0), 1e-5);
+    }
+
+    @Test
+    public void testUnrelatedArraysNotFused() {
+        CpuGridExecutioner executioner = new CpuGridExecutioner();
+
+        INDArray arrayA = Nd4j.linspace(-5, 5, 10);
+        INDArray arrayB = Nd4j.linspace(-5, 5, 10);
+        long metaBefore = executioner.getMetaCounter();
+
+        executioner.exec(new ScalarAdd(arrayA, 1.0));
+        executioner.exec(new Abs(arrayB));
+        executioner.commit();
+
+        assertEquals(metaBefore, executioner.getMetaCounter());
+        assertEquals(0, executioner.getQueueLength());
+        assertEquals(Nd4j.linspace(-4, 6, 10), arrayA);
+        assertEquals(Transforms.abs(Nd4j.linspace(-5, 5, 10)), arrayB);
+    }
+
+    @Test
+    public void testAliasedOperandNotFused() {
+        CpuGridExecutioner executioner = new CpuGridExecutioner();
+
+        INDArray array = Nd4j.linspace(1, 10, 10);
+        INDArray exp = Nd4j.linspace(2, 11, 10);
+        exp.muli(exp);
+
+        long metaBefore = executioner.getMetaCounter();
+
+        // x.addi(1); x.muli(x) must give (x + 1)^2, not (x + 1) * x
+        executioner.exec(new ScalarAdd(array, 1.0));
+        executioner.exec(new MulOp(array, array, array));
+        executioner.commit();
+
+        assertEquals(metaBefore, executioner.getMetaCounter());
+        assertEquals(exp, array);
+    }
+
+    @Test
+    public void testAliasedViewNotFused() {
+        CpuGridExecutioner executioner = new CpuGridExecutioner();
+
+        INDArray array = Nd4j.linspace(1, 10, 10);
+        INDArray alias = Nd4j.create(array.data(), array.shape());
+        INDArray exp = Nd4j.linspace(2, 11, 10);
+        exp.muli(exp);
+
+        long metaBefore = executioner.getMetaCounter();
+
+        // y is a different array backed by the same buffer, so ops aren't fused either
+        executioner.exec(new ScalarAdd(array, 1.0));
+        executioner.exec(new MulOp(array, alias, array));
+        executioner.commit();
+
+        assertEquals(metaBefore, executioner.getMetaCounter());
+        assertEquals(exp, array);
+    }
+
+    @Test
+    public void testPairwiseFusion() {
+        CpuGridExecutioner executioner = new CpuGridExecutioner();
+
+        INDArray array = Nd4j.linspace(1, 10, 10);
+        INDArray y = Nd4j.linspace(11, 20, 10);
+
+        INDArray exp = array.add(y).muli(2.0).addi(3.0).muli(y);
+
+        executioner.exec(new AddOp(array, y, array));
+        executioner.exec(new ScalarMultiplication(array, 2.0));
+        executioner.exec(new ScalarAdd(array, 3.0));
+        executioner.exec(new MulOp(array, y, array));
+        executioner.commit();
+
+        assertEquals(0, executioner.getQueueLength());
+        assertEquals(exp, array);
+
+        if (executioner.isMetaSupported(CpuGridExecutioner.FusionPattern.PAIRWISE_LINEAR)
+                        && executioner.isMetaSupported(CpuGridExecutioner.FusionPattern.LINEAR_PAIRWISE))
+            assertEquals(2, executioner.getMetaCounter());
+    }
+
+    @Test
+    public void testMetaOpTypes() {
+        CpuGridExecutioner executioner = new CpuGridExecutioner();
+
+        INDArray array = Nd4j.linspace(1, 10, 10);
+        INDArray y = Nd4j.linspace(11, 20, 10);
+
+        assertEquals(CpuGridExecutioner.MetaType.PREDICATE, executioner.getMetaOpType(executioner
+                        .getFusionPattern(new ScalarAdd(array, 1.0), new Tanh(array))));
+        assertEquals(CpuGridExecutioner.MetaType.INVERTED_PREDICATE, executioner.getMetaOpType(executioner
+                        .getFusionPattern(new AddOp(array, y, array), new ScalarAdd(array, 1.0))));
+        assertEquals(CpuGridExecutioner.MetaType.INVERTED_PREDICATE, executioner.getMetaOpType(executioner
+                        .getFusionPattern(new ScalarAdd(array, 1.0), new MulOp(array, y, array))));
+        assertEquals(CpuGridExecutioner.MetaType.NOT_APPLICABLE, executioner.getMetaOpType(executioner
+                        .getFusionPattern(new AddOp(array, y, array), new MulOp(array, y, array))));
+        assertEquals(CpuGridExecutioner.MetaType.NOT_APPLICABLE, executioner.getMetaOpType(executioner
+                        .getFusionPattern(new ScalarAdd(array, 1.0), new MulOp(array, array, array))));
+    }
+
+    @Test
+    public void testHeldOpVisibleToOtherThreads() throws Exception {
+        final CpuGridExecutioner executioner = new CpuGridExecutioner();
+        final INDArray array = Nd4j.linspace(1, 10, 10);
+
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                executioner.exec(new ScalarAdd(array, 1.0));
+            }
+        });
+        thread.start();
+        thread.join();
+
+        // op held by finished thread isn't lost, and gets flushed from this one
+        executioner.commit();
+
+        assertEquals(0, executioner.getQueueLength());
+        assertEquals(Nd4j.linspace(2, 11, 10), array);
+    }
+
+    @Test
+    public void testFlushBeforeBulkRead() throws Exception {
+        CpuGridExecutioner executioner = new CpuGridExecutioner();
+
+        INDArray array = Nd4j.linspace(1, 10, 10);
+        executioner.exec(new ScalarMultiplication(array, 2.0));
+
+        assertArrayEquals(Nd4j.linspace(2, 20, 10).data().asDouble(), array.data().asDouble(), 1e-5);
+
+        executioner.exec(new ScalarAdd(array, 1.0));
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        Nd4j.write(bos, array);
+        INDArray restored = Nd4j.read(new ByteArrayInputStream(bos.toByteArray()));
+
+        assertEquals(Nd4j.linspace(3, 21, 10), restored);
+    }
+
+    @Test
+    public void testBulkReadOfUnrelatedBufferKeepsHeldOp() {
+        CpuGridExecutioner executioner = new CpuGridExecutioner();
+
+        INDArray array = Nd4j.linspace(1, 10, 10);
+        INDArray other = Nd4j.linspace(1, 10, 10);
+
+        executioner.exec(new ScalarMultiplication(array, 2.0));
+        if (executioner.isMetaSupported()) {
+            // shape info and unrelated buffers aren't written by held op
+            other.data().asDouble();
+            array.shapeInfoDataBuffer().asInt();
+            assertEquals(1, executioner.getQueueLength());
+        }
+
+        array.data().asDouble();
+        assertEquals(0, executioner.getQueueLength());
+    }
+
+    @Test
+    public void testPutAfterHeldOp() {
+        CpuGridExecutioner executioner = new CpuGridExecutioner();
+
+        INDArray array = Nd4j.linspace(1, 10, 10);
+        executioner.exec(new ScalarAdd(array, 1.0));
+        array.putScalar(0, 100.0);
+
+        INDArray matrix = Nd4j.linspace(1, 6, 6).reshape(2, 3);
+        executioner.exec(new ScalarMultiplication(matrix, 2.0));
+        matrix.putScalar(1, 2, -1.0);
+
+        executioner.commit();
+
+        INDArray exp = Nd4j.linspace(2, 11, 10);
+        exp.putScalar(0, 100.0);
+        assertEquals(exp, array);
+
+        INDArray expMatrix = Nd4j.create(new double[][] {{2, 4, 6}, {8, 10, -1}});
+        assertEquals(expMatrix, matrix);
+    }
+
+    @Test
+    public void testPutIntoOperandOfHeldOp() {
+        CpuGridExecutioner executioner = new CpuGridExecutioner();
+
+        INDArray array = Nd4j.linspace(1, 4, 4);
+        INDArray y = Nd4j.linspace(1, 4, 4);
+
+        // held op reads y, so writing y has to apply it first
+        executioner.exec(new AddOp(array, y, array));
+        y.putScalar(0, 100.0);
+
+        executioner.commit();
+
+        assertEquals(Nd4j.create(new double[] {2, 4, 6, 8}), array);
+    }
+}
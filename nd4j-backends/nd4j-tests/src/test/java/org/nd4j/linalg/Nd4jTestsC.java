@@ -4164,6 +4164,44 @@ public class Nd4jTestsC extends BaseNd4jTest {
         assertTrue(res == out2);
     }
 
+    @Test
+    public void testGetDoublesPutDoubles() {
+        INDArray base = Nd4j.linspace(1, 120, 120).reshape(4, 5, 6);
+        INDArray[] arrays = new INDArray[] {base, base.dup('f'),
+                        base.get(NDArrayIndex.all(), NDArrayIndex.interval(1, 4), NDArrayIndex.interval(2, 5)),
+                        base.tensorAlongDimension(1, 0, 2)};
+
+        for (INDArray arr : arrays) {
+            int length = arr.length();
+            double[] exp = new double[length];
+            for (int i = 0; i < length; i++) {
+                int[] idx = arr.ordering() == 'c' ? Shape.ind2subC(arr.shape(), i) : Shape.ind2sub(arr.shape(), i);
+                exp[i] = arr.getDouble(idx);
+                assertEquals(exp[i], arr.getDouble(i), 0.0);
+            }
+
+            assertArrayEquals(exp, arr.getDoubles(0, new double[length]), 0.0);
+            assertArrayEquals(Arrays.copyOfRange(exp, 3, 10), arr.getDoubles(3, new double[7]), 0.0);
+
+            double[] values = new double[length - 2];
+            for (int i = 0; i < values.length; i++)
+                values[i] = -i;
+            arr.putDoubles(2, values);
+            for (int i = 0; i < values.length; i++)
+                assertEquals(-i, arr.getDouble(i + 2), 0.0);
+            assertEquals(exp[0], arr.getDouble(0), 0.0);
+
+            arr.putScalar(length - 1, 42.0);
+            assertEquals(42.0, arr.getDouble(length - 1), 0.0);
+        }
+
+        // views write through to their parent
+        INDArray parent = Nd4j.linspace(1, 120, 120).reshape(4, 5, 6);
+        INDArray view = parent.get(NDArrayIndex.all(), NDArrayIndex.interval(1, 4), NDArrayIndex.interval(2, 5));
+        view.putDoubles(0, new double[] {-1.0});
+        assertEquals(-1.0, parent.getDouble(0, 1, 2), 0.0);
+    }
+
     @Override
     public char ordering() {
         return 'c';
@@ -4,10 +4,17 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.blas.params.GemmParams;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.factory.Nd4jBackend;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+import org.nd4j.linalg.ops.transforms.Transforms;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -105,6 +112,109 @@ public class Level3Test extends BaseNd4jTest {
         assertEquals(1.32831E7f, array3.data().getFloat(21), 5f);
     }
 
+    @Test
+    public void testGemmBatched() throws Exception {
+        Nd4j.getRandom().setSeed(12345);
+        List<INDArray> a = new ArrayList<>();
+        List<INDArray> b = new ArrayList<>();
+        List<INDArray> c = new ArrayList<>();
+        List<INDArray> exp = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            a.add(Nd4j.rand(new int[] {7 + i, 4}, i % 2 == 0 ? 'c' : 'f'));
+            b.add(Nd4j.rand(new int[] {5, 4}, i % 2 == 0 ? 'f' : 'c'));
+            c.add(Nd4j.create(new int[] {7 + i, 5}, i % 2 == 0 ? 'c' : 'f'));
+            exp.add(a.get(i).mmul(b.get(i).transpose()));
+        }
+
+        Nd4j.gemmBatched(a, b, c, false, true, 1.0, 0.0);
+
+        for (int i = 0; i < 5; i++)
+            assertEquals(exp.get(i), c.get(i));
+    }
+
+    @Test
+    public void testGemmStridedBatched() throws Exception {
+        Nd4j.getRandom().setSeed(12345);
+        INDArray a = Nd4j.rand(new int[] {6, 8, 3});
+        INDArray b = Nd4j.rand(new int[] {6, 8, 5});
+
+        INDArray c = Nd4j.gemmStridedBatched(a, b, true, false);
+
+        assertArrayEquals(new int[] {6, 3, 5}, c.shape());
+        for (int i = 0; i < 6; i++) {
+            INDArray exp = a.tensorAlongDimension(i, 1, 2).transpose().mmul(b.tensorAlongDimension(i, 1, 2));
+            assertEquals(exp, c.tensorAlongDimension(i, 1, 2));
+        }
+    }
+
+    @Test
+    public void testGemmBatchedTransposedViews() throws Exception {
+        Nd4j.getRandom().setSeed(12345);
+        List<INDArray> a = new ArrayList<>();
+        List<INDArray> b = new ArrayList<>();
+        List<INDArray> c = new ArrayList<>();
+        List<INDArray> exp = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            // sub-matrices of bigger arrays, so operands are passed with leading dimensions of their parents
+            INDArray parentA = Nd4j.rand(new int[] {12, 14}, i % 2 == 0 ? 'c' : 'f');
+            INDArray parentB = Nd4j.rand(new int[] {15, 11}, i % 2 == 0 ? 'f' : 'c');
+            a.add(parentA.get(NDArrayIndex.interval(2, 10), NDArrayIndex.interval(1, 7)));
+            b.add(parentB.get(NDArrayIndex.interval(3, 12), NDArrayIndex.interval(2, 10)));
+            c.add(Nd4j.create(new int[] {6, 9}, i % 2 == 0 ? 'c' : 'f'));
+            exp.add(a.get(i).dup().transpose().mmul(b.get(i).dup().transpose()));
+        }
+
+        Nd4j.gemmBatched(a, b, c, true, true, 1.0, 0.0);
+
+        for (int i = 0; i < 6; i++)
+            assertEquals(exp.get(i), c.get(i));
+    }
+
+    @Test
+    public void testGemmBatchedLarge() throws Exception {
+        Nd4j.getRandom().setSeed(12345);
+        List<INDArray> a = new ArrayList<>();
+        List<INDArray> b = new ArrayList<>();
+        List<INDArray> c = new ArrayList<>();
+        List<INDArray> exp = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            // small integers, so products are exact regardless of summation order
+            INDArray parent = Transforms.floor(Nd4j.rand(new int[] {130, 100}, 'c').muli(4), false);
+            a.add(parent.get(NDArrayIndex.interval(5, 125), NDArrayIndex.interval(0, 90)));
+            b.add(Transforms.floor(Nd4j.rand(new int[] {80, 90}, 'f').muli(4), false));
+            c.add(Nd4j.create(new int[] {120, 80}, 'f').assign(1.0));
+            exp.add(a.get(i).dup().mmul(b.get(i).transpose()).muli(0.5).addi(2.0));
+        }
+
+        Nd4j.gemmBatched(a, b, c, false, true, 0.5, 2.0);
+
+        for (int i = 0; i < 3; i++)
+            assertEquals(exp.get(i), c.get(i));
+    }
+
+    @Test
+    public void testGemmStridedViews() throws Exception {
+        Nd4j.getRandom().setSeed(12345);
+        INDArray weightsC = Nd4j.rand(new int[] {10, 12}, 'c');
+        INDArray weightsF = Nd4j.rand(new int[] {12, 9}, 'f');
+
+        // row/column ranges of bigger matrices: unit stride along one dimension only
+        INDArray a = weightsC.get(NDArrayIndex.interval(1, 7), NDArrayIndex.interval(2, 10));
+        INDArray b = weightsF.get(NDArrayIndex.interval(3, 11), NDArrayIndex.interval(1, 6));
+        INDArray exp = a.dup('c').mmul(b.dup('c'));
+
+        GemmParams params = new GemmParams(a, b, Nd4j.create(new int[] {6, 5}, 'f'));
+        assertEquals(2, params.getCopiesAvoided());
+        assertEquals(12, params.getLda());
+        assertEquals(12, params.getLdb());
+        assertEquals('T', params.getTransA());
+        assertEquals('N', params.getTransB());
+
+        assertEquals(exp, a.mmul(b));
+        assertEquals(exp.transpose(), b.transpose().mmul(a.transpose()));
+        assertEquals(exp, Nd4j.gemm(a, b.transpose().dup('c'), false, true));
+    }
+
     @Override
     public char ordering() {
         return 'c';
@@ -4,12 +4,15 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.iter.NdIndexCursor;
 import org.nd4j.linalg.api.iter.NdIndexIterator;
+import org.nd4j.linalg.api.shape.Shape;
+import org.nd4j.linalg.cache.CacheStatistics;
 import org.nd4j.linalg.factory.Nd4jBackend;
 
 import java.util.Iterator;
 
-import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.*;
 
 /**
  * @author Adam Gibson
@@ -33,6 +36,51 @@ public class NDIndexIteratorTest extends BaseNd4jTest {
 
     }
 
+    @Test
+    public void testCursorMatchesIterator() {
+        int[] shape = {3, 1, 4, 2};
+        for (char order : new char[] {'c', 'f'}) {
+            NdIndexIterator iter = new NdIndexIterator(order, shape);
+            NdIndexCursor cursor = new NdIndexCursor(order, shape);
+            int[] index = cursor.index();
+
+            int count = 0;
+            while (cursor.advance()) {
+                assertTrue(iter.hasNext());
+                int[] exp = order == 'c' ? Shape.ind2subC(shape, count) : Shape.ind2sub(shape, count);
+                assertArrayEquals(exp, iter.next());
+                assertArrayEquals(exp, cursor.index());
+                assertSame(index, cursor.index());
+                assertEquals(count, cursor.position());
+                count++;
+            }
+
+            assertEquals(24, count);
+            assertFalse(iter.hasNext());
+            assertFalse(cursor.advance());
+
+            cursor.reset();
+            assertTrue(cursor.advance());
+            assertArrayEquals(new int[4], cursor.index());
+        }
+    }
+
+    @Test
+    public void testLookupCacheHits() {
+        NdIndexIterator.setMaxCacheSize(1024 * 1024);
+
+        for (int i = 0; i < 3; i++) {
+            Iterator<int[]> iter = new NdIndexIterator('c', true, 4, 5);
+            assertArrayEquals(new int[] {0, 0}, iter.next());
+            assertArrayEquals(new int[] {0, 1}, iter.next());
+        }
+
+        CacheStatistics stats = NdIndexIterator.getCacheStatistics();
+        assertEquals(1, stats.getEntries());
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
     @Override
     public char ordering() {
         return 'f';
@@ -4,12 +4,15 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.buffer.MappedDataBuffer;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.factory.Nd4jBackend;
 import org.nd4j.linalg.indexing.NDArrayIndex;
 
 import java.io.*;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -153,6 +156,76 @@ public class TestSerialization extends BaseNd4jTest {
         assertEquals(subF, arr2F);
     }
 
+    @Test
+    public void testSerializationBulkLayout() throws Exception {
+        // larger than a single transfer block, to make sure blocks are stitched properly
+        int length = 300000;
+        INDArray arr = Nd4j.linspace(1, length, length);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (DataOutputStream dos = new DataOutputStream(baos)) {
+            Nd4j.write(arr, dos);
+        }
+        byte[] bytes = baos.toByteArray();
+
+        // data must still be laid out as big-endian elements, same as per-element DataOutputStream calls
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        try (DataOutputStream dos = new DataOutputStream(expected)) {
+            arr.shapeInfoDataBuffer().write(dos);
+            dos.writeUTF(arr.data().allocationMode().name());
+            dos.writeInt(length);
+            dos.writeUTF(arr.data().dataType().name());
+            for (int i = 0; i < length; i++) {
+                if (arr.data().dataType() == DataBuffer.Type.DOUBLE)
+                    dos.writeDouble(arr.getDouble(i));
+                else
+                    dos.writeFloat(arr.getFloat(i));
+            }
+        }
+        assertArrayEquals(expected.toByteArray(), bytes);
+
+        INDArray restored;
+        try (DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            restored = Nd4j.read(dis);
+        }
+
+        assertEquals(arr, restored);
+    }
+
+    @Test
+    public void testSaveMappedAndMmap() throws Exception {
+        INDArray arr = Nd4j.linspace(1, 120, 120).reshape('f', 4, 5, 6);
+        INDArray view = Nd4j.linspace(1, 100, 100).reshape(10, 10).get(NDArrayIndex.interval(2, 5),
+                        NDArrayIndex.interval(3, 8));
+
+        File file = File.createTempFile("mmap", "bin");
+        file.deleteOnExit();
+
+        Nd4j.saveMapped(arr, file);
+        INDArray mapped = Nd4j.mmap(file, MappedDataBuffer.Mode.READ_ONLY);
+        assertEquals(arr, mapped);
+        assertEquals(arr.ordering(), mapped.ordering());
+
+        Nd4j.saveMapped(view, file);
+        INDArray copyOnWrite = Nd4j.mmap(file, MappedDataBuffer.Mode.COPY_ON_WRITE);
+        assertEquals(view, copyOnWrite);
+
+        // modifications of COPY_ON_WRITE mapping are private, file stays the same
+        copyOnWrite.addi(1.0);
+        assertEquals(view.add(1.0), copyOnWrite);
+        assertEquals(view, Nd4j.mmap(file, MappedDataBuffer.Mode.READ_ONLY));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testMmapReadOnlyPut() throws Exception {
+        File file = File.createTempFile("mmap", "bin");
+        file.deleteOnExit();
+
+        Nd4j.saveMapped(Nd4j.linspace(1, 10, 10), file);
+        INDArray mapped = Nd4j.mmap(file, MappedDataBuffer.Mode.READ_ONLY);
+        mapped.data().put(0, 5.0);
+    }
+
     @Override
     public char ordering() {
         return 'c';
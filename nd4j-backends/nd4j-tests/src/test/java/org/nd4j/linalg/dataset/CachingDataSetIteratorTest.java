@@ -10,6 +10,7 @@ import org.nd4j.linalg.dataset.api.DataSetPreProcessor;
 import org.nd4j.linalg.dataset.api.iterator.CachingDataSetIterator;
 import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
 import org.nd4j.linalg.dataset.api.iterator.SamplingDataSetIterator;
+import org.nd4j.linalg.dataset.api.iterator.cache.CompressedDataSetCache;
 import org.nd4j.linalg.dataset.api.iterator.cache.DataSetCache;
 import org.nd4j.linalg.dataset.api.iterator.cache.InFileDataSetCache;
 import org.nd4j.linalg.dataset.api.iterator.cache.InMemoryDataSetCache;
@@ -54,6 +55,89 @@ public class CachingDataSetIteratorTest extends BaseNd4jTest {
         FileUtils.deleteDirectory(cacheDir.toFile());
     }
 
+    @Test
+    public void testCompressedWithSpilling() throws IOException {
+        Path cacheDir = Files.createTempDirectory("nd4j-data-set-cache-test");
+
+        // budget fits about 2 of 5 batches, the rest goes to disk
+        CompressedDataSetCache cache = new CompressedDataSetCache(cacheDir, 5000);
+
+        runDataSetTest(cache);
+
+        assertTrue(cache.getMemoryBytes() <= 5000);
+        assertTrue(cache.getCacheStatistics().getEvictions() > 0);
+        assertEquals(5, cache.getSpilledCount() + cache.getCacheStatistics().getEntries());
+
+        cache.clear();
+        assertEquals(0, cache.getSpilledCount());
+
+        FileUtils.deleteDirectory(cacheDir.toFile());
+    }
+
+    @Test
+    public void testCompressedSpillingDoesNotRewriteFiles() throws IOException {
+        Path cacheDir = Files.createTempDirectory("nd4j-data-set-cache-test");
+        CompressedDataSetCache cache = new CompressedDataSetCache(cacheDir, 5000);
+
+        DataSet dataSet = new DataSet(Nd4j.rand(500, 100), Nd4j.rand(500, 2));
+        DataSetIterator it = new SamplingDataSetIterator(dataSet, 10, 50);
+        CachingDataSetIterator cachedIt = new CachingDataSetIterator(it, cache, "test-namespace");
+
+        // first epoch fills the cache and spills whatever doesn't fit into the budget
+        while (cachedIt.hasNext())
+            cachedIt.next();
+
+        long written = cache.getBytesWritten();
+        int spilledCount = cache.getSpilledCount();
+        assertTrue(written > 0);
+        assertTrue(spilledCount > 0);
+
+        // next epochs are served from memory and disk as is
+        for (int epoch = 0; epoch < 2; epoch++) {
+            cachedIt.reset();
+            int count = 0;
+            while (cachedIt.hasNext()) {
+                cachedIt.next();
+                count++;
+            }
+
+            assertEquals(5, count);
+            assertEquals(written, cache.getBytesWritten());
+            assertEquals(spilledCount, cache.getSpilledCount());
+            assertTrue(cache.getMemoryBytes() <= 5000);
+        }
+
+        cache.clear();
+        FileUtils.deleteDirectory(cacheDir.toFile());
+    }
+
+    @Test
+    public void testCompressedRoundTrip() throws IOException {
+        Path cacheDir = Files.createTempDirectory("nd4j-data-set-cache-test");
+        CompressedDataSetCache cache = new CompressedDataSetCache(cacheDir, 0, "NOOP");
+
+        DataSet dataSet = new DataSet(Nd4j.rand(10, 5), Nd4j.rand(10, 3), null, Nd4j.ones(10, 1));
+        cache.put("key", dataSet);
+
+        // zero budget means everything is spilled immediately
+        assertEquals(1, cache.getSpilledCount());
+        assertTrue(cache.contains("key"));
+
+        DataSet restored = cache.get("key");
+        assertEquals(dataSet.getFeatures(), restored.getFeatures());
+        assertEquals(dataSet.getLabels(), restored.getLabels());
+        assertEquals(dataSet.getLabelsMaskArray(), restored.getLabelsMaskArray());
+        assertNull(restored.getFeaturesMaskArray());
+
+        // spilled arrays are decompressed while reading, so they must not be flagged as compressed
+        assertFalse(restored.getFeatures().isCompressed());
+        assertFalse(restored.getLabels().isCompressed());
+        assertFalse(restored.getLabelsMaskArray().isCompressed());
+
+        cache.clear();
+        FileUtils.deleteDirectory(cacheDir.toFile());
+    }
+
     private void runDataSetTest(DataSetCache cache) {
         int rows = 500;
         int inputColumns = 100;
@@ -18,6 +18,7 @@
 
 package org.nd4j.linalg.dataset;
 
+import org.apache.commons.math3.util.Pair;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -110,6 +111,42 @@ public class DataSetTest extends BaseNd4jTest {
 
     }
 
+    @Test
+    public void testSplitTestAndTrainIterators() {
+        DataSet x0 = new IrisDataSetIterator(150, 150).next();
+        INDArray original = x0.getFeatureMatrix().dup();
+
+        Pair<DataSetIterator, DataSetIterator> split = x0.splitTestAndTrain(100, 32, new Random(123));
+        Pair<DataSetIterator, DataSetIterator> split2 = x0.splitTestAndTrain(100, 32, new Random(123));
+
+        int trainCount = 0;
+        double sum = 0;
+        while (split.getFirst().hasNext()) {
+            DataSet batch = split.getFirst().next();
+            DataSet batch2 = split2.getFirst().next();
+            assertEquals(batch.getFeatureMatrix(), batch2.getFeatureMatrix());
+            assertEquals(batch.getLabels(), batch2.getLabels());
+            assertTrue(batch.numExamples() <= 32);
+
+            trainCount += batch.numExamples();
+            sum += batch.getFeatureMatrix().sumNumber().doubleValue();
+        }
+
+        int testCount = 0;
+        while (split.getSecond().hasNext()) {
+            DataSet batch = split.getSecond().next();
+            testCount += batch.numExamples();
+            sum += batch.getFeatureMatrix().sumNumber().doubleValue();
+        }
+
+        assertEquals(100, trainCount);
+        assertEquals(50, testCount);
+        assertEquals(original.sumNumber().doubleValue(), sum, 1e-2);
+
+        // source dataset is left untouched
+        assertEquals(original, x0.getFeatureMatrix());
+    }
+
     @Test
     public void testLabelCounts() {
         DataSet x0 = new IrisDataSetIterator(150, 150).next();
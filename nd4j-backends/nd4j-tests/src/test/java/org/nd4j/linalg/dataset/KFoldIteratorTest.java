@@ -5,11 +5,12 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.nd4j.linalg.BaseNd4jTest;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
 import org.nd4j.linalg.dataset.api.iterator.KFoldIterator;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.factory.Nd4jBackend;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 /**
  * Created by susaneraly on 11/4/16.
@@ -87,6 +88,48 @@ public class KFoldIteratorTest extends BaseNd4jTest {
         assertEquals(i, 2);
     }
 
+    @Test
+    public void checkLazyFolds() {
+        randomDataSet randomDS = new randomDataSet(new int[] {2, 3}, new int[] {3, 3, 3, 2});
+        DataSet allData = randomDS.getAllFolds();
+        INDArray original = allData.getFeatures().dup();
+        KFoldIterator kiter = new KFoldIterator(4, allData);
+
+        for (int epoch = 0; epoch < 2; epoch++) {
+            int fold = 0;
+            double testSum = 0;
+            while (kiter.hasNext()) {
+                DataSet now = kiter.next();
+                DataSet test = kiter.testFold();
+
+                DataSetIterator trainIter = kiter.trainIterator(fold, 2);
+                int row = 0;
+                while (trainIter.hasNext()) {
+                    DataSet batch = trainIter.next();
+                    assertTrue(batch.numExamples() <= 2);
+                    for (int i = 0; i < batch.numExamples(); i++, row++)
+                        assertEquals(now.getFeatures().slice(row), batch.getFeatures().slice(i));
+                }
+                assertEquals(now.numExamples(), row);
+
+                DataSetIterator testIter = kiter.testIterator(fold, 100);
+                assertEquals(test.getFeatures(), testIter.next().getFeatures());
+                assertFalse(testIter.hasNext());
+
+                testSum += test.getFeatures().sumNumber().doubleValue();
+                fold++;
+            }
+            assertEquals(4, fold);
+
+            // test folds cover the whole dataset in every epoch, whatever the permutation is
+            assertEquals(original.sumNumber().doubleValue(), testSum, 1e-3);
+            kiter.reset();
+        }
+
+        // source dataset is never shuffled in place
+        assertEquals(original, allData.getFeatures());
+    }
+
     public class randomDataSet {
         //only one label
         private int[] dataShape;
@@ -69,6 +69,13 @@ public class MultiNormalizerStandardizeTest extends BaseNd4jTest {
         assertExpectedMeanStd();
     }
 
+    @Test
+    public void testMultipleInputsAndOutputsWithIteratorInParallel() {
+        MultiDataSetIterator iter = new TestMultiDataSetIterator(64, data);
+        SUT.fit(iter, 4);
+        assertExpectedMeanStd();
+    }
+
     @Test
     public void testRevertFeaturesINDArray() {
         SUT.fit(data);
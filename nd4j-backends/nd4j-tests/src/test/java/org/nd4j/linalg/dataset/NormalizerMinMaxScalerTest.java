@@ -80,6 +80,18 @@ public class NormalizerMinMaxScalerTest extends BaseNd4jTest {
 
     }
 
+    @Test
+    public void testParallelFit() {
+        INDArray features = Nd4j.rand(1000, 5).muli(10).subi(3);
+        DataSet dataSet = new DataSet(features, Nd4j.rand(1000, 2));
+
+        NormalizerMinMaxScaler parallel = new NormalizerMinMaxScaler();
+        parallel.fit(new TestDataSetIterator(dataSet, 7), 4);
+
+        assertEquals(features.min(0), parallel.getMin());
+        assertEquals(features.max(0), parallel.getMax());
+    }
+
     @Test
     public void testRevert() {
         double tolerancePerc = 1; // 1% of correct value
@@ -8,10 +8,14 @@ import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
 import org.nd4j.linalg.dataset.api.iterator.TestDataSetIterator;
 import org.nd4j.linalg.dataset.api.preprocessor.NormalizerStandardize;
+import org.nd4j.linalg.dataset.api.preprocessor.stats.DistributionStats;
+import org.nd4j.linalg.dataset.api.preprocessor.stats.NormalizerStats;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.factory.Nd4jBackend;
 import org.nd4j.linalg.ops.transforms.Transforms;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.Assert.*;
 
 /**
@@ -181,6 +185,80 @@ public class NormalizerStandardizeTest extends BaseNd4jTest {
         assertEquals(1.70783f, norm4.getStd().getFloat(0), 1e-4);
     }
 
+    @Test
+    public void testParallelFit() {
+        INDArray features = Nd4j.rand(1000, 5).muli(10).subi(3);
+        INDArray labels = Nd4j.rand(1000, 2);
+        DataSet dataSet = new DataSet(features, labels);
+
+        NormalizerStandardize serial = new NormalizerStandardize();
+        serial.fitLabel(true);
+        serial.fit(new TestDataSetIterator(dataSet, 7));
+
+        // batch size deliberately doesn't divide number of examples, so workers get batches of different sizes
+        NormalizerStandardize parallel = new NormalizerStandardize();
+        parallel.fitLabel(true);
+        parallel.fit(new TestDataSetIterator(dataSet, 7), 4);
+
+        // merge order differs from serial fit, so results are only equal up to float rounding
+        assertTrue(serial.getMean().equalsWithEps(parallel.getMean(), 1e-4));
+        assertTrue(serial.getStd().equalsWithEps(parallel.getStd(), 1e-4));
+        assertTrue(serial.getLabelMean().equalsWithEps(parallel.getLabelMean(), 1e-4));
+        assertTrue(serial.getLabelStd().equalsWithEps(parallel.getLabelStd(), 1e-4));
+
+        assertTrue(features.mean(0).equalsWithEps(parallel.getMean(), 1e-4));
+        assertTrue(features.std(false, 0).equalsWithEps(parallel.getStd(), 1e-4));
+    }
+
+    @Test
+    public void testParallelFitFallsBackWithoutMergeableBuilder() {
+        INDArray features = Nd4j.rand(100, 3);
+        DataSet dataSet = new DataSet(features, Nd4j.zeros(100, 1));
+
+        final Thread caller = Thread.currentThread();
+        final AtomicInteger foreignCalls = new AtomicInteger();
+        NormalizerStandardize norm = new NormalizerStandardize() {
+            @Override
+            protected NormalizerStats.Builder newBuilder() {
+                // only implements the plain Builder, so partial statistics can't be merged
+                final DistributionStats.Builder delegate = new DistributionStats.Builder();
+                return new NormalizerStats.Builder<DistributionStats>() {
+                    @Override
+                    public NormalizerStats.Builder<DistributionStats> addFeatures(
+                                    org.nd4j.linalg.dataset.api.DataSet next) {
+                        if (Thread.currentThread() != caller)
+                            foreignCalls.incrementAndGet();
+                        delegate.addFeatures(next);
+                        return this;
+                    }
+
+                    @Override
+                    public NormalizerStats.Builder<DistributionStats> addLabels(
+                                    org.nd4j.linalg.dataset.api.DataSet next) {
+                        delegate.addLabels(next);
+                        return this;
+                    }
+
+                    @Override
+                    public NormalizerStats.Builder<DistributionStats> add(INDArray data, INDArray mask) {
+                        delegate.add(data, mask);
+                        return this;
+                    }
+
+                    @Override
+                    public DistributionStats build() {
+                        return delegate.build();
+                    }
+                };
+            }
+        };
+        norm.fit(new TestDataSetIterator(dataSet, 7), 4);
+
+        assertEquals(0, foreignCalls.get());
+        assertTrue(features.mean(0).equalsWithEps(norm.getMean(), 1e-4));
+        assertTrue(features.std(false, 0).equalsWithEps(norm.getStd(), 1e-4));
+    }
+
     @Test
     public void testUnderOverflow() {
         // This dataset will be basically constant with a small std deviation
@@ -0,0 +1,182 @@
+package org.nd4j.linalg.dataset.api.iterator;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.api.DataSetPreProcessor;
+import org.nd4j.linalg.dataset.api.MultiDataSet;
+import org.nd4j.linalg.dataset.api.MultiDataSetPreProcessor;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(Parameterized.class)
+public class AsyncDataSetIteratorTest extends BaseNd4jTest {
+
+    public AsyncDataSetIteratorTest(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    @After
+    public void tearDown() {
+        Nd4j.getMemoryManager().setCurrentWorkspace(null);
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+
+    private DataSet getDataSet() {
+        INDArray features = Nd4j.linspace(1, 100, 100).reshape(100, 1);
+        INDArray labels = Nd4j.zeros(100, 2);
+        return new DataSet(features, labels);
+    }
+
+    @Test
+    public void testPrefetchAllBatches() {
+        AsyncDataSetIterator iterator = new AsyncDataSetIterator(new TestDataSetIterator(getDataSet(), 10), 2);
+
+        for (int epoch = 0; epoch < 3; epoch++) {
+            int batches = 0;
+            double sum = 0;
+            while (iterator.hasNext()) {
+                DataSet ds = iterator.next();
+                assertEquals(10, ds.numExamples());
+                sum += ds.getFeatureMatrix().sumNumber().doubleValue();
+                batches++;
+            }
+
+            assertEquals(10, batches);
+            assertEquals(5050.0, sum, 1e-3);
+            assertFalse(iterator.hasNext());
+
+            iterator.reset();
+        }
+
+        iterator.shutdown();
+    }
+
+    @Test
+    public void testDetachedDataSurvivesCycles() {
+        AsyncDataSetIterator iterator = new AsyncDataSetIterator(new TestDataSetIterator(getDataSet(), 10), 2);
+
+        DataSet first = iterator.next();
+        first.detach();
+        double expected = first.getFeatureMatrix().sumNumber().doubleValue();
+
+        while (iterator.hasNext())
+            iterator.next();
+
+        assertEquals(expected, first.getFeatureMatrix().sumNumber().doubleValue(), 1e-3);
+        iterator.shutdown();
+    }
+
+    @Test
+    public void testPreProcessorSetAfterConstruction() throws Exception {
+        AsyncDataSetIterator iterator = new AsyncDataSetIterator(new TestDataSetIterator(getDataSet(), 10), 2);
+
+        // producer isn't started yet, so nothing is prefetched without preprocessor
+        Thread.sleep(100);
+        iterator.setPreProcessor(new ScalingPreProcessor(-1.0));
+
+        assertEquals(-55.0, iterator.next().getFeatureMatrix().sumNumber().doubleValue(), 1e-3);
+
+        // the same applies to preprocessor replaced after reset()
+        iterator.reset();
+        Thread.sleep(100);
+        iterator.setPreProcessor(new ScalingPreProcessor(2.0));
+
+        double sum = 0;
+        while (iterator.hasNext())
+            sum += iterator.next().getFeatureMatrix().sumNumber().doubleValue();
+
+        assertEquals(10100.0, sum, 1e-3);
+        iterator.shutdown();
+    }
+
+    @Test
+    public void testMultiDataSetPrefetch() {
+        final List<DataSet> list = getDataSet().batchBy(10);
+        MultiDataSetIterator source = new MultiDataSetIterator() {
+            private Iterator<DataSet> iterator = list.iterator();
+
+            @Override
+            public MultiDataSet next(int num) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void setPreProcessor(MultiDataSetPreProcessor preProcessor) {}
+
+            @Override
+            public MultiDataSetPreProcessor getPreProcessor() {
+                return null;
+            }
+
+            @Override
+            public boolean resetSupported() {
+                return true;
+            }
+
+            @Override
+            public boolean asyncSupported() {
+                return true;
+            }
+
+            @Override
+            public void reset() {
+                iterator = list.iterator();
+            }
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public MultiDataSet next() {
+                DataSet ds = iterator.next();
+                return new org.nd4j.linalg.dataset.MultiDataSet(ds.getFeatures().dup(), ds.getLabels().dup());
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        AsyncMultiDataSetIterator iterator = new AsyncMultiDataSetIterator(source, 3);
+        int batches = 0;
+        double sum = 0;
+        while (iterator.hasNext()) {
+            sum += iterator.next().getFeatures(0).sumNumber().doubleValue();
+            batches++;
+        }
+
+        assertEquals(10, batches);
+        assertEquals(5050.0, sum, 1e-3);
+        iterator.shutdown();
+    }
+
+    private static class ScalingPreProcessor implements DataSetPreProcessor {
+        private final double factor;
+
+        private ScalingPreProcessor(double factor) {
+            this.factor = factor;
+        }
+
+        @Override
+        public void preProcess(org.nd4j.linalg.dataset.api.DataSet toPreProcess) {
+            toPreProcess.getFeatures().muli(factor);
+        }
+    }
+}
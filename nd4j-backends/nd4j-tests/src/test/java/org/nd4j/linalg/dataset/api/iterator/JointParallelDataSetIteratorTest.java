@@ -0,0 +1,133 @@
+package org.nd4j.linalg.dataset.api.iterator;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.api.DataSetPreProcessor;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+@RunWith(Parameterized.class)
+public class JointParallelDataSetIteratorTest extends BaseNd4jTest {
+
+    public JointParallelDataSetIteratorTest(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+
+    private List<DataSetIterator> getSources(int numSources) {
+        List<DataSetIterator> sources = new ArrayList<>();
+        for (int i = 0; i < numSources; i++) {
+            // features of source N are filled with N, so consumer can check where DataSet came from
+            DataSet dataSet = new DataSet(Nd4j.valueArrayOf(50, 3, i), Nd4j.zeros(50, 2));
+            sources.add(new TestDataSetIterator(dataSet, 10));
+        }
+        return sources;
+    }
+
+    @Test
+    public void testConsumerAffinity() throws Exception {
+        final int numConsumers = 3;
+        final JointParallelDataSetIterator iterator = new JointParallelDataSetIterator(getSources(numConsumers), 2, true, true);
+        final AtomicInteger failures = new AtomicInteger(0);
+        final AtomicInteger batches = new AtomicInteger(0);
+
+        Thread[] consumers = new Thread[numConsumers];
+        for (int c = 0; c < numConsumers; c++) {
+            final int consumer = c;
+            consumers[c] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    iterator.attachThread(consumer);
+                    while (iterator.hasNextFor()) {
+                        DataSet ds = iterator.nextFor();
+                        if (ds.getFeatureMatrix().minNumber().intValue() != consumer
+                                        || ds.getFeatureMatrix().maxNumber().intValue() != consumer)
+                            failures.incrementAndGet();
+
+                        batches.incrementAndGet();
+                    }
+                }
+            });
+            consumers[c].start();
+        }
+
+        for (Thread consumer : consumers)
+            consumer.join();
+
+        assertEquals(0, failures.get());
+        assertEquals(numConsumers * 5, batches.get());
+        iterator.shutdown();
+    }
+
+    @Test
+    public void testRoundRobin() {
+        JointParallelDataSetIterator iterator = new JointParallelDataSetIterator(getSources(2), 2, true, false);
+
+        for (int epoch = 0; epoch < 2; epoch++) {
+            int cnt = 0;
+            while (iterator.hasNext()) {
+                DataSet ds = iterator.next();
+                assertEquals(cnt % 2, ds.getFeatureMatrix().minNumber().intValue());
+                cnt++;
+            }
+
+            assertEquals(10, cnt);
+            iterator.reset();
+        }
+
+        iterator.shutdown();
+    }
+
+    @Test
+    public void testPreProcessorSetAfterConstruction() throws Exception {
+        JointParallelDataSetIterator iterator = new JointParallelDataSetIterator(getSources(3), 2, true, false);
+
+        // producers aren't started yet, so nothing is prefetched without preprocessor
+        Thread.sleep(100);
+        iterator.setPreProcessor(new DataSetPreProcessor() {
+            @Override
+            public void preProcess(org.nd4j.linalg.dataset.api.DataSet toPreProcess) {
+                toPreProcess.getFeatures().addi(100);
+            }
+        });
+
+        for (int consumer = 0; consumer < 3; consumer++)
+            assertEquals(100 + consumer, iterator.nextFor(consumer).getFeatureMatrix().minNumber().intValue());
+
+        iterator.reset();
+        Thread.sleep(100);
+        iterator.setPreProcessor(null);
+
+        int cnt = 0;
+        while (iterator.hasNext()) {
+            assertEquals(cnt % 3, iterator.next().getFeatureMatrix().maxNumber().intValue());
+            cnt++;
+        }
+
+        assertEquals(15, cnt);
+        iterator.shutdown();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotAttached() {
+        JointParallelDataSetIterator iterator = new JointParallelDataSetIterator(getSources(2), 2, false, false);
+        try {
+            iterator.nextFor();
+        } finally {
+            iterator.shutdown();
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.nd4j.linalg.factory.Nd4jBackend;
 import org.nd4j.linalg.learning.config.*;
 import org.nd4j.linalg.learning.config.AdaGrad;
 import org.nd4j.linalg.learning.legacy.*;
+import org.nd4j.linalg.ops.transforms.Transforms;
 
 import static org.junit.Assert.assertEquals;
 
@@ -155,6 +156,79 @@ public class UpdaterTest extends BaseNd4jTest {
         }
     }
 
+    @Test
+    public void testAdamInPlaceMatchesReference() {
+        int rows = 10;
+        int cols = 2;
+
+        Adam config = new Adam();
+        AdamUpdater grad = new AdamUpdater(config);
+        grad.setStateViewArray(Nd4j.zeros(1, 2 * rows * cols), new int[] {rows, cols}, 'c', true);
+
+        INDArray m = Nd4j.zeros(rows, cols);
+        INDArray v = Nd4j.zeros(rows, cols);
+        for (int i = 0; i < 5; i++) {
+            INDArray gradient = Nd4j.randn(rows, cols);
+
+            m.muli(config.getBeta1()).addi(gradient.mul(1.0 - config.getBeta1()));
+            v.muli(config.getBeta2()).addi(gradient.mul(gradient).muli(1.0 - config.getBeta2()));
+            double alphat = config.getLearningRate() * Math.sqrt(1 - Math.pow(config.getBeta2(), i + 1))
+                            / (1 - Math.pow(config.getBeta1(), i + 1));
+            INDArray expected = m.mul(alphat).divi(Transforms.sqrt(v, true).addi(config.getEpsilon()));
+
+            grad.applyUpdater(gradient, i);
+            assertEquals(expected, gradient);
+            assertEquals(m, grad.getM());
+            assertEquals(v, grad.getV());
+        }
+    }
+
+    @Test
+    public void testRmsPropInPlaceMatchesReference() {
+        int rows = 10;
+        int cols = 2;
+
+        RmsProp config = new RmsProp();
+        RmsPropUpdater grad = new RmsPropUpdater(config);
+        grad.setStateViewArray(Nd4j.zeros(1, rows * cols), new int[] {rows, cols}, 'c', true);
+
+        INDArray cache = Nd4j.valueArrayOf(rows, cols, config.getEpsilon());
+        for (int i = 0; i < 5; i++) {
+            INDArray gradient = Nd4j.randn(rows, cols);
+
+            cache.muli(config.getRmsDecay()).addi(gradient.mul(gradient).muli(1 - config.getRmsDecay()));
+            INDArray expected = gradient.mul(config.getLearningRate())
+                            .divi(Transforms.sqrt(cache, true).addi(config.getEpsilon()));
+
+            grad.applyUpdater(gradient, i);
+            assertEquals(expected, gradient);
+            assertEquals(cache, grad.getLastGradient());
+        }
+    }
+
+    @Test
+    public void testNesterovsInPlaceMatchesReference() {
+        int rows = 10;
+        int cols = 2;
+
+        Nesterovs config = new Nesterovs(0.1, 0.9);
+        NesterovsUpdater grad = new NesterovsUpdater(config);
+        grad.setStateViewArray(Nd4j.zeros(1, rows * cols), new int[] {rows, cols}, 'c', true);
+
+        INDArray v = Nd4j.zeros(rows, cols);
+        for (int i = 0; i < 5; i++) {
+            INDArray gradient = Nd4j.randn(rows, cols);
+
+            INDArray vPrev = v.dup();
+            v.muli(config.getMomentum()).subi(gradient.mul(config.getLearningRate()));
+            INDArray expected = vPrev.muli(config.getMomentum()).addi(v.mul(-config.getMomentum() - 1));
+
+            grad.applyUpdater(gradient, i);
+            assertEquals(expected, gradient);
+            assertEquals(v, grad.getV());
+        }
+    }
+
     @Override
     public char ordering() {
         return 'f';
@@ -13,8 +13,14 @@ import org.nd4j.linalg.api.ops.executioner.OpExecutioner;
 import org.nd4j.linalg.exception.ND4JIllegalStateException;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.profiler.OpProfiler;
+import org.nd4j.linalg.profiler.OpProfilerSnapshot;
+import org.nd4j.linalg.profiler.data.StringAggregator;
+import org.nd4j.linalg.profiler.data.StringCounter;
+import org.nd4j.linalg.profiler.data.primitives.ThreadShards;
+import org.nd4j.linalg.profiler.data.primitives.TimeSet;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -47,6 +53,85 @@ public class OperationProfilerTests {
     }
 
 
+    @Test
+    public void testConcurrentCounters1() throws Exception {
+        final int numThreads = 4;
+        final int numOps = 250;
+
+        Thread[] threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    INDArray array = Nd4j.createUninitialized(100);
+                    for (int i = 0; i < numOps; i++)
+                        array.assign(i);
+                }
+            });
+            threads[t].start();
+        }
+
+        for (Thread thread : threads)
+            thread.join();
+
+        OpProfilerSnapshot snapshot = OpProfiler.getInstance().getSnapshot();
+        assertEquals(numThreads * numOps, snapshot.getInvocationsCount());
+        assertEquals(numThreads * numOps, OpProfiler.getInstance().getInvocationsCount());
+
+        long sum = 0;
+        for (Long count : snapshot.getClassCounts().values())
+            sum += count;
+
+        assertEquals(numThreads * numOps, sum);
+
+        OpProfiler.getInstance().reset();
+        assertEquals(0, OpProfiler.getInstance().getSnapshot().getInvocationsCount());
+        assertEquals(numThreads * numOps, snapshot.getInvocationsCount());
+    }
+
+
+    @Test
+    public void testLatencyPercentiles1() throws Exception {
+        TimeSet times = new TimeSet();
+        for (long i = 1; i <= 100000; i++)
+            times.addTime(i);
+
+        assertEquals(100000, times.count());
+        assertEquals(1, times.getMinimum());
+        assertEquals(100000, times.getMaximum());
+
+        // log-linear buckets guarantee relative error below 1 / SUB_BUCKETS
+        double error = 1.0 / TimeSet.SUB_BUCKETS;
+        assertEquals(50000, times.getP50(), 50000 * error);
+        assertEquals(99000, times.getP99(), 99000 * error);
+        assertEquals(99900, times.getP999(), 99900 * error);
+        assertTrue(times.getP999() <= times.getMaximum());
+    }
+
+    @Test
+    public void testLatencyWindows1() throws Exception {
+        INDArray array = Nd4j.createUninitialized(100);
+        for (int i = 0; i < 10; i++)
+            array.assign(i);
+
+        OpProfilerSnapshot first = OpProfiler.getInstance().getSnapshot(true);
+        assertEquals(1, first.getOpTimes().size());
+
+        TimeSet times = first.getOpTimes().values().iterator().next();
+        assertEquals(10, times.count());
+        assertTrue(times.getP99() > 0);
+
+        // new window is empty, while counters are still cumulative
+        OpProfilerSnapshot second = OpProfiler.getInstance().getSnapshot(true);
+        assertTrue(second.getOpTimes().isEmpty());
+        assertEquals(10, second.getInvocationsCount());
+
+        array.assign(1.0);
+        OpProfilerSnapshot third = OpProfiler.getInstance().getSnapshot();
+        assertEquals(1, third.getOpTimes().values().iterator().next().count());
+    }
+
+
     @Test
     public void testStack1() throws Exception {
 
@@ -258,6 +343,50 @@ public class OperationProfilerTests {
     }
 
 
+    @Test
+    public void testShardsOfFinishedThreadsRetired() throws Exception {
+        final ThreadShards<AtomicLong> shards = new ThreadShards<AtomicLong>() {
+            @Override
+            protected AtomicLong newShard() {
+                return new AtomicLong(0);
+            }
+
+            @Override
+            protected void merge(AtomicLong source, AtomicLong target) {
+                target.addAndGet(source.get());
+            }
+        };
+        final StringAggregator aggregator = new StringAggregator();
+
+        for (int t = 0; t < 50; t++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    shards.local().incrementAndGet();
+                    aggregator.putTime("key", 100);
+                }
+            });
+            thread.start();
+            thread.join();
+        }
+
+        // all threads are gone, so everything they recorded lives in the single retired shard
+        assertEquals(1, shards.all().size());
+        assertEquals(50, shards.all().get(0).get());
+        assertEquals(50, aggregator.getTimes().get("key").count());
+    }
+
+    @Test
+    public void testKeysPerThreadBounded() {
+        StringCounter counter = new StringCounter();
+        for (int i = 0; i < StringCounter.MAX_KEYS + 10; i++)
+            counter.incrementCount("key_" + i);
+
+        assertEquals(StringCounter.MAX_KEYS + 1, counter.getCounts().size());
+        assertEquals(10L, counter.getCounts().get(StringCounter.OVERFLOW_KEY).longValue());
+        assertEquals(StringCounter.MAX_KEYS + 10, counter.getTotals());
+    }
+
     @Test(expected = ND4JIllegalStateException.class)
     public void testNaNPanic1() throws Exception {
         Nd4j.getExecutioner().setProfilingMode(OpExecutioner.ProfilingMode.NAN_PANIC);
@@ -32,6 +32,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.DoubleBuffer;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
@@ -76,8 +77,60 @@ public abstract class BaseDataBuffer implements DataBuffer {
 
     private static Logger log = LoggerFactory.getLogger(BaseDataBuffer.class);
 
+    /**
+     * Size of the staging block (in bytes) used for bulk stream transfers.
+     * Must be a multiple of the largest element size.
+     */
+    protected static final int TRANSFER_BLOCK_SIZE = 1024 * 1024;
+
+    /**
+     * Invoked before buffer contents are accessed on host side bypassing executioner (asDouble(), write(),
+     * INDArray.putScalar() etc), so executioners holding back in-place ops can apply ops touching that buffer first
+     */
+    private static volatile HostAccessHook hostAccessHook;
+
+    /**
+     * Hook invoked before buffer contents are accessed on host side
+     */
+    public interface HostAccessHook {
+        /**
+         * @param buffer buffer about to be accessed
+         * @param write  true if buffer contents are about to be modified, false if they are only read
+         */
+        void beforeHostAccess(DataBuffer buffer, boolean write);
+    }
+
     public BaseDataBuffer() {}
 
+    /**
+     * Sets the hook invoked before host side access to any buffer
+     *
+     * @param hook the hook to invoke, or null to remove it
+     */
+    public static void setHostAccessHook(HostAccessHook hook) {
+        hostAccessHook = hook;
+    }
+
+    /**
+     * Invokes host access hook, if any, before given buffer is modified on host side
+     *
+     * @param buffer buffer about to be modified
+     */
+    public static void beforeHostWrite(DataBuffer buffer) {
+        HostAccessHook hook = hostAccessHook;
+        if (hook != null)
+            hook.beforeHostAccess(buffer, true);
+    }
+
+    /**
+     * Invokes host access hook, if any, before this buffer is read in bulk
+     */
+    protected void beforeBulkRead() {
+        HostAccessHook hook = hostAccessHook;
+        if (hook != null)
+            hook.beforeHostAccess(this, false);
+    }
+
     /**
      * Initialize the type of this buffer
      */
@@ -365,6 +418,9 @@ public abstract class BaseDataBuffer implements DataBuffer {
         } else if (dataType() == Type.INT) {
             pointer = new IntPointer(length);
             setIndexer(IntIndexer.create((IntPointer) pointer));
+        } else if (dataType() == Type.HALF) {
+            pointer = new ShortPointer(length);
+            setIndexer(HalfIndexer.create((ShortPointer) pointer));
         }
     }
 
@@ -408,6 +464,9 @@ public abstract class BaseDataBuffer implements DataBuffer {
         } else if (dataType() == Type.INT) {
             pointer = new IntPointer(buffer.asIntBuffer());
             setIndexer(IntIndexer.create((IntPointer) pointer));
+        } else if (dataType() == Type.HALF) {
+            pointer = new ShortPointer(buffer.asShortBuffer());
+            setIndexer(HalfIndexer.create((ShortPointer) pointer));
         }
     }
 
@@ -515,6 +574,11 @@ public abstract class BaseDataBuffer implements DataBuffer {
             setIndexer(IntIndexer.create((IntPointer) pointer));
             if (initialize)
                 fillPointerWithZero();
+        } else if (dataType() == Type.HALF) {
+            pointer = new ShortPointer(length());
+            setIndexer(HalfIndexer.create((ShortPointer) pointer));
+            if (initialize)
+                fillPointerWithZero();
         }
     }
 
@@ -555,6 +619,12 @@ public abstract class BaseDataBuffer implements DataBuffer {
 
             if (initialize)
                 fillPointerWithZero();
+        } else if (dataType() == Type.HALF) {
+            attached = true;
+            parentWorkspace = workspace;
+
+            pointer = workspace.alloc(length * getElementSize(), dataType(), initialize).asShortPointer();
+            setIndexer(HalfIndexer.create((ShortPointer) pointer));
         }
     }
 
@@ -603,6 +673,12 @@ public abstract class BaseDataBuffer implements DataBuffer {
                         address = pointer.address() + getElementSize() * offset();
                     }
                 };
+            } else if (dataType() == Type.HALF) {
+                return new ShortPointer(pointer) {
+                    {
+                        address = pointer.address() + getElementSize() * offset();
+                    }
+                };
             }
         }
         return pointer;
@@ -808,6 +884,7 @@ public abstract class BaseDataBuffer implements DataBuffer {
 
     @Override
     public byte[] asBytes() {
+        beforeBulkRead();
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
         DataOutputStream dos = new DataOutputStream(bos);
         if (dataType() == Type.DOUBLE) {
@@ -832,6 +909,7 @@ public abstract class BaseDataBuffer implements DataBuffer {
 
     @Override
     public float[] asFloat() {
+        beforeBulkRead();
         if (length >= Integer.MAX_VALUE)
             throw new IllegalArgumentException("Unable to create array of length " + length);
         float[] ret = new float[(int) length];
@@ -842,6 +920,7 @@ public abstract class BaseDataBuffer implements DataBuffer {
 
     @Override
     public double[] asDouble() {
+        beforeBulkRead();
         if (length >= Integer.MAX_VALUE)
             throw new IllegalArgumentException("Unable to create array of length " + length);
         double[] ret = new double[(int) length];
@@ -852,6 +931,7 @@ public abstract class BaseDataBuffer implements DataBuffer {
 
     @Override
     public int[] asInt() {
+        beforeBulkRead();
         if (length >= Integer.MAX_VALUE)
             throw new IllegalArgumentException("Unable to create array of length " + length);
         int[] ret = new int[(int) length];
@@ -868,6 +948,9 @@ public abstract class BaseDataBuffer implements DataBuffer {
         } else if (dataType() == Type.INT) {
             dirty.set(false);
             return ((IntIndexer) indexer).get(offset() + i);
+        } else if (dataType() == Type.HALF) {
+            dirty.set(false);
+            return ((HalfIndexer) indexer).get(offset() + i);
         } else {
             dirty.set(false);
             return ((DoubleIndexer) indexer).get(offset() + i);
@@ -937,6 +1020,8 @@ public abstract class BaseDataBuffer implements DataBuffer {
             return (int) ((DoubleIndexer) indexer).get(offset() + i);
         } else if (dataType() == Type.INT) {
              return ((IntIndexer) indexer).get(offset() + i);
+        } else if (dataType() == Type.HALF) {
+             return (int) ((HalfIndexer) indexer).get(offset() + i);
         } else {
              return (int) ((FloatIndexer) indexer).get(offset() + i);
         }
@@ -963,6 +1048,9 @@ public abstract class BaseDataBuffer implements DataBuffer {
             } else if (globalType == Type.FLOAT) {
                 pointer = new FloatPointer(length());
                 setIndexer(FloatIndexer.create((FloatPointer) pointer));
+            } else if (globalType == Type.HALF) {
+                pointer = new ShortPointer(length());
+                setIndexer(HalfIndexer.create((ShortPointer) pointer));
             }
         }
     }
@@ -986,6 +1074,8 @@ public abstract class BaseDataBuffer implements DataBuffer {
             ((DoubleIndexer) indexer).put(offset() + i, element);
         } else if (dataType() == Type.INT) {
             ((IntIndexer) indexer).put(offset() + i, (int) element);
+        } else if (dataType() == Type.HALF) {
+            ((HalfIndexer) indexer).put(offset() + i, element);
         } else {
             ((FloatIndexer) indexer).put(offset() + i, element);
         }
@@ -1012,6 +1102,8 @@ public abstract class BaseDataBuffer implements DataBuffer {
             ((DoubleIndexer) indexer).put(offset() + i, element);
         } else if (dataType() == Type.INT) {
             ((IntIndexer) indexer).put(offset() + i, element);
+        } else if (dataType() == Type.HALF) {
+            ((HalfIndexer) indexer).put(offset() + i, element);
         } else {
             ((FloatIndexer) indexer).put(offset() + i, element);
         }
@@ -1247,7 +1339,9 @@ public abstract class BaseDataBuffer implements DataBuffer {
 
     protected void readContent(DataInputStream s, Type currentType) {
         try {
-            if (currentType == Type.DOUBLE) {
+            if (canTransferInBulk(currentType)) {
+                readContentInBulk(s);
+            } else if (currentType == Type.DOUBLE) {
                 for (int i = 0; i < length(); i++) {
                     putByGlobalType(i, s.readDouble());
                 }
@@ -1263,9 +1357,7 @@ public abstract class BaseDataBuffer implements DataBuffer {
 
                 // special case here. We should collect bytes, wrap them into pointer, and then decompress
                 byte[] temp = new byte[(int) compressedLength];
-                for (int i = 0; i < compressedLength; i++) {
-                    temp[i] = s.readByte();
-                }
+                s.readFully(temp);
                 pointer = new BytePointer(temp);
                 type = Type.COMPRESSED;
 
@@ -1285,13 +1377,16 @@ public abstract class BaseDataBuffer implements DataBuffer {
 
     @Override
     public void write(DataOutputStream out) throws IOException {
+        beforeBulkRead();
         if (length() >= Integer.MAX_VALUE)
             throw new IllegalArgumentException("Length of data buffer can not be >= Integer.MAX_VALUE on output");
         //        log.info("Saving dType: {}", dataType().name());
         out.writeUTF(allocationMode.name());
         out.writeInt((int) length());
         out.writeUTF(dataType().name());
-        if (dataType() == Type.DOUBLE) {
+        if (canTransferInBulk(dataType())) {
+            writeContentInBulk(out);
+        } else if (dataType() == Type.DOUBLE) {
             for (int i = 0; i < length(); i++)
                 out.writeDouble(getDouble(i));
         } else if (dataType() == Type.INT) {
@@ -1308,6 +1403,108 @@ public abstract class BaseDataBuffer implements DataBuffer {
         }
     }
 
+    /**
+     * Returns true if the content of this buffer and the serialized content of the given type
+     * have the same layout, so they can be moved as raw memory blocks instead of element by element
+     *
+     * @param streamType the data type of the serialized content
+     * @return true if bulk transfer is possible
+     */
+    protected boolean canTransferInBulk(Type streamType) {
+        if (pointer == null || streamType != dataType())
+            return false;
+
+        if (streamType != Type.DOUBLE && streamType != Type.FLOAT && streamType != Type.INT)
+            return false;
+
+        return pointer.sizeof() == getElementSize();
+    }
+
+    /**
+     * Writes the content of this buffer as big-endian elements,
+     * copying memory to the stream in blocks of TRANSFER_BLOCK_SIZE bytes.
+     *
+     * The byte layout is identical to the one produced by per-element DataOutputStream calls,
+     * so data written here stays readable by any version of read(DataInputStream)
+     *
+     * @param out the stream to write to
+     * @throws IOException
+     */
+    protected void writeContentInBulk(DataOutputStream out) throws IOException {
+        final int elementSize = getElementSize();
+        final long totalBytes = length() * elementSize;
+        final int blockSize = (int) Math.min(TRANSFER_BLOCK_SIZE, totalBytes);
+
+        byte[] memoryBlock = new byte[blockSize];
+        byte[] streamBlock = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN ? memoryBlock : new byte[blockSize];
+
+        final long baseAddress = address();
+        BytePointer raw = new BytePointer() {
+            {
+                address = baseAddress;
+            }
+        };
+
+        for (long position = 0; position < totalBytes; position += blockSize) {
+            int chunk = (int) Math.min(blockSize, totalBytes - position);
+            raw.position(position).get(memoryBlock, 0, chunk);
+            reorder(memoryBlock, streamBlock, chunk, elementSize, ByteOrder.nativeOrder(), ByteOrder.BIG_ENDIAN);
+            out.write(streamBlock, 0, chunk);
+        }
+    }
+
+    /**
+     * Reads big-endian elements straight into the memory of this buffer,
+     * in blocks of TRANSFER_BLOCK_SIZE bytes.
+     *
+     * @param s the stream to read from
+     * @throws IOException
+     */
+    protected void readContentInBulk(DataInputStream s) throws IOException {
+        final int elementSize = getElementSize();
+        final long totalBytes = length() * elementSize;
+        final int blockSize = (int) Math.min(TRANSFER_BLOCK_SIZE, totalBytes);
+
+        byte[] streamBlock = new byte[blockSize];
+        byte[] memoryBlock = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN ? streamBlock : new byte[blockSize];
+
+        final long baseAddress = address();
+        BytePointer raw = new BytePointer() {
+            {
+                address = baseAddress;
+            }
+        };
+
+        for (long position = 0; position < totalBytes; position += blockSize) {
+            int chunk = (int) Math.min(blockSize, totalBytes - position);
+            s.readFully(streamBlock, 0, chunk);
+            reorder(streamBlock, memoryBlock, chunk, elementSize, ByteOrder.BIG_ENDIAN, ByteOrder.nativeOrder());
+            raw.position(position).put(memoryBlock, 0, chunk);
+        }
+    }
+
+    /**
+     * Copies length bytes of elements from src to dst, converting byte order of each element if needed
+     */
+    private static void reorder(byte[] src, byte[] dst, int length, int elementSize, ByteOrder from, ByteOrder to) {
+        if (from == to) {
+            if (src != dst)
+                System.arraycopy(src, 0, dst, 0, length);
+            return;
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(src, 0, length).order(from);
+        ByteBuffer out = ByteBuffer.wrap(dst, 0, length).order(to);
+        if (elementSize == 8)
+            out.asLongBuffer().put(in.asLongBuffer());
+        else if (elementSize == 4)
+            out.asIntBuffer().put(in.asIntBuffer());
+        else if (elementSize == 2)
+            out.asShortBuffer().put(in.asShortBuffer());
+        else
+            System.arraycopy(src, 0, dst, 0, length);
+    }
+
     public float toFloat(int hbits) {
         int mant = hbits & 0x03ff; // 10 bits mantissa
         int exp = hbits & 0x7c00; // 5 bits exponent
@@ -0,0 +1,206 @@
+package org.nd4j.linalg.api.buffer;
+
+import lombok.NonNull;
+import org.bytedeco.javacpp.DoublePointer;
+import org.bytedeco.javacpp.FloatPointer;
+import org.bytedeco.javacpp.IntPointer;
+import org.bytedeco.javacpp.indexer.DoubleIndexer;
+import org.bytedeco.javacpp.indexer.FloatIndexer;
+import org.bytedeco.javacpp.indexer.IntIndexer;
+import org.nd4j.linalg.api.complex.IComplexDouble;
+import org.nd4j.linalg.api.complex.IComplexFloat;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * DataBuffer backed by memory-mapped file region.
+ *
+ * Memory is not copied: the pointer of this buffer points straight into the mapping,
+ * so many processes mapping the same file share one physical copy of the data,
+ * and pages are loaded lazily by OS on first access.
+ *
+ * PLEASE NOTE: mapping has to stay reachable as long as this buffer is used, so we keep a hard reference to it here.
+ * PLEASE NOTE: for READ_ONLY buffers, Java-side put() calls will throw an exception, but native ops writing into such
+ * buffer will crash the JVM. Use COPY_ON_WRITE mode if arrays are going to be modified in-place.
+ */
+public class MappedDataBuffer extends BaseDataBuffer {
+
+    public enum Mode {
+        /**
+         * Data is shared with the file, any write attempt is an error
+         */
+        READ_ONLY,
+
+        /**
+         * Data is shared with the file until modified. Modified pages are private to this process and never written back
+         */
+        COPY_ON_WRITE,
+
+        /**
+         * Data is shared with the file, modifications are written back to the file
+         */
+        READ_WRITE,
+    }
+
+    protected transient ByteBuffer mapping;
+    protected Mode mode;
+
+    /**
+     * Creates buffer on top of given mapping
+     *
+     * @param mapping direct buffer with the data, in native byte order, starting at position 0
+     * @param type data type of the elements
+     * @param length number of elements
+     * @param mode mode the mapping was created with
+     */
+    public MappedDataBuffer(@NonNull ByteBuffer mapping, @NonNull Type type, long length, @NonNull Mode mode) {
+        if (!mapping.isDirect())
+            throw new IllegalArgumentException("MappedDataBuffer requires direct ByteBuffer");
+
+        if (length < 1)
+            throw new IllegalArgumentException("Length must be >= 1");
+
+        this.type = type;
+        this.mode = mode;
+        this.allocationMode = AllocationMode.JAVACPP;
+        this.length = length;
+        this.underlyingLength = length;
+        this.wrappedDataBuffer = this;
+
+        initTypeAndSize();
+
+        if (mapping.capacity() < length * elementSize)
+            throw new IllegalArgumentException("Mapping has " + mapping.capacity() + " bytes, but " + (length * elementSize)
+                            + " bytes are required for " + length + " elements of type " + type);
+
+        this.mapping = mapping;
+        ByteBuffer ordered = mapping.duplicate().order(ByteOrder.nativeOrder());
+
+        if (type == Type.DOUBLE) {
+            pointer = new DoublePointer(ordered.asDoubleBuffer());
+            setIndexer(DoubleIndexer.create((DoublePointer) pointer));
+        } else if (type == Type.FLOAT) {
+            pointer = new FloatPointer(ordered.asFloatBuffer());
+            setIndexer(FloatIndexer.create((FloatPointer) pointer));
+        } else if (type == Type.INT) {
+            pointer = new IntPointer(ordered.asIntBuffer());
+            setIndexer(IntIndexer.create((IntPointer) pointer));
+        } else
+            throw new UnsupportedOperationException("Memory mapping isn't supported for data type " + type);
+
+        wrappedBuffer = mapping;
+    }
+
+    /**
+     * Initialize the type of this buffer
+     */
+    @Override
+    protected void initTypeAndSize() {
+        if (type == Type.DOUBLE)
+            elementSize = 8;
+        else if (type == Type.HALF)
+            elementSize = 2;
+        else
+            elementSize = 4;
+    }
+
+    /**
+     * Returns mode this buffer was mapped with
+     *
+     * @return
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Returns true if this buffer can't be modified
+     *
+     * @return
+     */
+    public boolean isReadOnly() {
+        return mode == Mode.READ_ONLY;
+    }
+
+    protected void ensureWritable() {
+        if (isReadOnly())
+            throw new IllegalStateException("Can't modify memory-mapped buffer opened in READ_ONLY mode");
+    }
+
+    @Override
+    public void put(long i, float element) {
+        ensureWritable();
+        super.put(i, element);
+    }
+
+    @Override
+    public void put(long i, double element) {
+        ensureWritable();
+        super.put(i, element);
+    }
+
+    @Override
+    public void put(long i, int element) {
+        ensureWritable();
+        super.put(i, element);
+    }
+
+    /**
+     * Create with length.
+     * Returned buffer is a regular off-heap buffer, not a mapped one, so dup() of mapped buffer is always writable
+     *
+     * @param length a databuffer of the same type as
+     *               this with the given length
+     * @return a data buffer with the same length and datatype as this one
+     */
+    @Override
+    protected DataBuffer create(long length) {
+        if (type == Type.DOUBLE)
+            return new DoubleBuffer(length);
+        else if (type == Type.INT)
+            return new IntBuffer(length);
+        else
+            return new FloatBuffer(length);
+    }
+
+    @Override
+    public DataBuffer create(double[] data) {
+        if (type == Type.DOUBLE)
+            return new DoubleBuffer(data);
+        else if (type == Type.INT)
+            return new IntBuffer(data);
+        else
+            return new FloatBuffer(data);
+    }
+
+    @Override
+    public DataBuffer create(float[] data) {
+        if (type == Type.DOUBLE)
+            return new DoubleBuffer(data);
+        else if (type == Type.INT)
+            return new IntBuffer(data);
+        else
+            return new FloatBuffer(data);
+    }
+
+    @Override
+    public DataBuffer create(int[] data) {
+        if (type == Type.DOUBLE)
+            return new DoubleBuffer(data);
+        else if (type == Type.INT)
+            return new IntBuffer(data);
+        else
+            return new FloatBuffer(data);
+    }
+
+    @Override
+    public IComplexFloat getComplexFloat(long i) {
+        throw new UnsupportedOperationException("Not supported for MappedDataBuffer");
+    }
+
+    @Override
+    public IComplexDouble getComplexDouble(long i) {
+        throw new UnsupportedOperationException("Not supported for MappedDataBuffer");
+    }
+}
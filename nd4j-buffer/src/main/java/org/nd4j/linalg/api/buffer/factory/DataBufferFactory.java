@@ -25,6 +25,7 @@ import org.bytedeco.javacpp.IntPointer;
 import org.bytedeco.javacpp.Pointer;
 import org.bytedeco.javacpp.indexer.Indexer;
 import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.buffer.MappedDataBuffer;
 import org.nd4j.linalg.api.memory.MemoryWorkspace;
 
 import java.nio.ByteBuffer;
@@ -743,4 +744,15 @@ public interface DataBufferFactory {
      */
     DataBuffer createHalf(byte[] data, int length);
 
+    /**
+     * Creates a data buffer on top of memory-mapped file region, without copying the data
+     *
+     * @param mapping direct buffer with the data in native byte order
+     * @param type data type of the elements
+     * @param length number of elements
+     * @param mode mode the mapping was created with
+     * @return the new buffer
+     */
+    DataBuffer createMapped(ByteBuffer mapping, DataBuffer.Type type, long length, MappedDataBuffer.Mode mode);
+
 }
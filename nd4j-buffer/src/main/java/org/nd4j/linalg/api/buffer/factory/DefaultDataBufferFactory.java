@@ -30,7 +30,9 @@ import org.bytedeco.javacpp.indexer.IntIndexer;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.buffer.DoubleBuffer;
 import org.nd4j.linalg.api.buffer.FloatBuffer;
+import org.nd4j.linalg.api.buffer.HalfBuffer;
 import org.nd4j.linalg.api.buffer.IntBuffer;
+import org.nd4j.linalg.api.buffer.MappedDataBuffer;
 import org.nd4j.linalg.api.memory.MemoryWorkspace;
 import org.nd4j.linalg.util.ArrayUtil;
 
@@ -73,6 +75,8 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
 
         } else if (underlyingBuffer.dataType() == DataBuffer.Type.INT) {
             return new IntBuffer(underlyingBuffer, length, offset);
+        } else if (underlyingBuffer.dataType() == DataBuffer.Type.HALF) {
+            return new HalfBuffer(underlyingBuffer, length, offset);
         }
         return null;
     }
@@ -417,6 +421,8 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
                 return new DoubleBuffer(pointer, indexer, length);
             case FLOAT:
                 return new FloatBuffer(pointer, indexer, length);
+            case HALF:
+                return new HalfBuffer(pointer, indexer, length);
         }
         throw new IllegalArgumentException("Invalid type " + type);
     }
@@ -463,12 +469,12 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
 
     @Override
     public DataBuffer createHalf(long length) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(length);
     }
 
     @Override
     public DataBuffer createHalf(long length, boolean initialize) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(length, initialize);
     }
 
     /**
@@ -480,7 +486,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(float[] data, boolean copy) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data, copy);
     }
 
     /**
@@ -492,7 +498,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(double[] data, boolean copy) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data, copy);
     }
 
     /**
@@ -505,7 +511,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(int offset, double[] data, boolean copy) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data, copy, offset);
     }
 
     /**
@@ -518,7 +524,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(int offset, float[] data, boolean copy) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data, copy, offset);
     }
 
     /**
@@ -531,7 +537,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(int offset, int[] data, boolean copy) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data, copy, offset);
     }
 
     /**
@@ -543,7 +549,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(int offset, double[] data) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data, true, offset);
     }
 
     /**
@@ -555,12 +561,12 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(int offset, float[] data) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data, true, offset);
     }
 
     @Override
     public DataBuffer createHalf(int offset, float[] data, MemoryWorkspace workspace) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data, true, offset, workspace);
     }
 
     /**
@@ -572,7 +578,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(int offset, int[] data) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data, true, offset);
     }
 
     /**
@@ -585,7 +591,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(int offset, byte[] data, boolean copy) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return createHalf(offset, ArrayUtil.toFloatArray(data), copy);
     }
 
     /**
@@ -597,7 +603,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(int[] data, boolean copy) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data, copy);
     }
 
     /**
@@ -608,7 +614,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(float[] data) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data);
     }
 
     /**
@@ -619,7 +625,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(double[] data) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data);
     }
 
     /**
@@ -630,7 +636,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(int[] data) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data);
     }
 
     /**
@@ -643,7 +649,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(int offset, byte[] data, int length) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return createHalf(offset, ArrayUtil.toFloatArray(data), true);
     }
 
     /**
@@ -655,7 +661,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(int offset, int length) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(length, 2, offset);
     }
 
     /**
@@ -667,7 +673,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(ByteBuffer buffer, int length) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(buffer, length);
     }
 
     /**
@@ -679,21 +685,26 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(byte[] data, int length) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(ByteBuffer.wrap(data), length);
     }
 
     @Override
     public DataBuffer createHalf(long length, boolean initialize, MemoryWorkspace workspace) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(length, initialize, workspace);
     }
 
     @Override
     public DataBuffer createHalf(float[] data, MemoryWorkspace workspace) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data, workspace);
     }
 
     @Override
     public DataBuffer createHalf(float[] data, boolean copy, MemoryWorkspace workspace) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data, copy, workspace);
+    }
+
+    @Override
+    public DataBuffer createMapped(ByteBuffer mapping, DataBuffer.Type type, long length, MappedDataBuffer.Mode mode) {
+        return new MappedDataBuffer(mapping, type, length, mode);
     }
 }
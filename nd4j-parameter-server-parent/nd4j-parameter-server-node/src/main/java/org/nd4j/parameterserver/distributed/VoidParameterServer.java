@@ -118,6 +118,19 @@ public class VoidParameterServer {
         return shardIndex;
     }
 
+    /**
+     * This method allows to use custom Storage implementation, i.e. StripedWordVectorStorage
+     *
+     * PLEASE NOTE: This method should be called before init()
+     * @param storage
+     */
+    public void setStorage(@NonNull Storage storage) {
+        if (initLocker.get())
+            throw new ND4JIllegalStateException("Storage can't be changed after init()");
+
+        this.storage = storage;
+    }
+
     protected void setIpPortForShard(String ip, int port) {
         transport.setIpAndPort(ip, port);
     }
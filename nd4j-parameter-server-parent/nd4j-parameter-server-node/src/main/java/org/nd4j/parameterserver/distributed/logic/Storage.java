@@ -2,6 +2,8 @@ package org.nd4j.parameterserver.distributed.logic;
 
 import org.nd4j.linalg.api.ndarray.INDArray;
 
+import java.util.function.Consumer;
+
 /**
  * @author raver119@gmail.com
  */
@@ -14,4 +16,39 @@ public interface Storage {
     boolean arrayExists(Integer key);
 
     void shutdown();
+
+    /**
+     * This method applies in-place update to the single row of array stored under given key.
+     *
+     * Default implementation is hogwild-style: update is applied without any synchronization.
+     *
+     * @param key
+     * @param row
+     * @param update function that modifies row view in place
+     */
+    default void updateRow(Integer key, int row, Consumer<INDArray> update) {
+        update.accept(getArray(key).getRow(row));
+    }
+
+    /**
+     * This method returns copy of the single row of array stored under given key
+     *
+     * @param key
+     * @param row
+     * @return
+     */
+    default INDArray readRow(Integer key, int row) {
+        return getArray(key).getRow(row).dup();
+    }
+
+    /**
+     * This method returns number of updates applied to given row via updateRow(), if this Storage tracks row versions.
+     *
+     * @param key
+     * @param row
+     * @return number of updates, or 0 if versions aren't tracked
+     */
+    default long getRowVersion(Integer key, int row) {
+        return 0L;
+    }
 }
@@ -0,0 +1,161 @@
+package org.nd4j.parameterserver.distributed.logic.storage;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.nd4j.linalg.api.buffer.MappedDataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * WordVectorStorage with row-level concurrency control, so all trainer threads of a single Shard can update
+ * syn0/syn1/syn1Neg at the same time.
+ *
+ * Rows are sharded across a fixed number of striped locks: updates of different rows almost never contend,
+ * and updates of the same row are serialized. Alternatively, HOGWILD mode applies row updates without any locking at all.
+ * Optionally, number of updates applied to each row is tracked, so consumers can detect stale rows.
+ *
+ * If mapped directory is specified, syn0/syn1/syn1Neg are moved to memory-mapped files there once stored,
+ * so weights are paged in and out by OS, and vocabulary size isn't bound by RAM.
+ *
+ * PLEASE NOTE: arrays are initialized in memory before they are mapped, so peak memory use at initialization is unchanged.
+ */
+@Slf4j
+public class StripedWordVectorStorage extends WordVectorStorage {
+    public enum Locking {
+        STRIPED, HOGWILD,
+    }
+
+    @Getter
+    protected final Locking locking;
+    @Getter
+    protected final boolean versioning;
+    protected final File mappedDirectory;
+
+    protected final Object[] stripes;
+    protected final int mask;
+
+    protected final Map<Integer, AtomicLongArray> versions = new ConcurrentHashMap<>();
+    protected final Map<Integer, File> mappedFiles = new ConcurrentHashMap<>();
+
+    public StripedWordVectorStorage() {
+        this(Locking.STRIPED, Runtime.getRuntime().availableProcessors() * 4, false, null);
+    }
+
+    /**
+     * @param locking         row locking mode
+     * @param numStripes      number of striped locks, rounded up to power of 2. Ignored in HOGWILD mode
+     * @param versioning      if true, number of updates applied to each row will be tracked
+     * @param mappedDirectory directory for memory-mapped weights, or null to keep weights in memory
+     */
+    public StripedWordVectorStorage(@NonNull Locking locking, int numStripes, boolean versioning, File mappedDirectory) {
+        if (numStripes < 1)
+            throw new ND4JIllegalStateException("Number of stripes should be positive, got " + numStripes + " instead");
+
+        if (mappedDirectory != null && !mappedDirectory.exists() && !mappedDirectory.mkdirs())
+            throw new ND4JIllegalStateException("Can't create directory [" + mappedDirectory + "]");
+
+        int size = Integer.highestOneBit(numStripes);
+        if (size < numStripes)
+            size <<= 1;
+
+        this.locking = locking;
+        this.versioning = versioning;
+        this.mappedDirectory = mappedDirectory;
+        this.stripes = new Object[size];
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++)
+            stripes[i] = new Object();
+    }
+
+    protected static boolean isWeights(Integer key) {
+        return SYN_0.equals(key) || SYN_1.equals(key) || SYN_1_NEGATIVE.equals(key);
+    }
+
+    protected Object stripeOf(Integer key, int row) {
+        int h = key * 0x9E3779B9 + row;
+        h ^= h >>> 16;
+        return stripes[h & mask];
+    }
+
+    @Override
+    public void setArray(@NonNull Integer key, @NonNull INDArray array) {
+        if (mappedDirectory != null && isWeights(key) && array.rank() == 2) {
+            File file = new File(mappedDirectory, "storage_" + Integer.toHexString(key) + ".bin");
+            try {
+                Nd4j.saveMapped(array, file);
+                array = Nd4j.mmap(file, MappedDataBuffer.Mode.READ_WRITE);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+
+            mappedFiles.put(key, file);
+            log.info("Array [{}] of shape {} is mapped to [{}]", key, array.shape(), file);
+        }
+
+        if (versioning && array.rank() == 2)
+            versions.put(key, new AtomicLongArray(array.rows()));
+
+        super.setArray(key, array);
+    }
+
+    @Override
+    public void updateRow(@NonNull Integer key, int row, @NonNull Consumer<INDArray> update) {
+        INDArray array = getArray(key);
+        if (array == null)
+            throw new ND4JIllegalStateException("No array stored for key [" + key + "]");
+
+        INDArray target = array.getRow(row);
+        if (locking == Locking.STRIPED) {
+            synchronized (stripeOf(key, row)) {
+                update.accept(target);
+            }
+        } else
+            update.accept(target);
+
+        AtomicLongArray rowVersions = versions.get(key);
+        if (rowVersions != null)
+            rowVersions.incrementAndGet(row);
+    }
+
+    @Override
+    public INDArray readRow(@NonNull Integer key, int row) {
+        INDArray array = getArray(key);
+        if (array == null)
+            throw new ND4JIllegalStateException("No array stored for key [" + key + "]");
+
+        if (locking == Locking.STRIPED) {
+            synchronized (stripeOf(key, row)) {
+                return array.getRow(row).dup();
+            }
+        } else
+            return array.getRow(row).dup();
+    }
+
+    @Override
+    public long getRowVersion(@NonNull Integer key, int row) {
+        AtomicLongArray rowVersions = versions.get(key);
+        return rowVersions == null ? 0L : rowVersions.get(row);
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        versions.clear();
+
+        for (File file : mappedFiles.values()) {
+            if (file.exists() && !file.delete())
+                log.warn("Can't delete mapped file [{}]", file);
+        }
+        mappedFiles.clear();
+    }
+}
@@ -2,7 +2,6 @@ package org.nd4j.parameterserver.distributed.messages;
 
 import lombok.*;
 import org.agrona.concurrent.UnsafeBuffer;
-import org.apache.commons.lang3.SerializationUtils;
 import org.nd4j.parameterserver.distributed.conf.VoidConfiguration;
 import org.nd4j.parameterserver.distributed.enums.NodeRole;
 import org.nd4j.parameterserver.distributed.logic.completion.Clipboard;
@@ -39,7 +38,7 @@ public abstract class BaseVoidMessage implements VoidMessage {
 
     @Override
     public byte[] asBytes() {
-        return SerializationUtils.serialize(this);
+        return VoidMessageCodec.encode(this);
     }
 
     @Override
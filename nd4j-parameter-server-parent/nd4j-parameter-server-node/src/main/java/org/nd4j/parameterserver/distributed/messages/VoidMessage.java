@@ -2,8 +2,6 @@ package org.nd4j.parameterserver.distributed.messages;
 
 import lombok.extern.slf4j.Slf4j;
 import org.agrona.concurrent.UnsafeBuffer;
-import org.apache.commons.io.input.ClassLoaderObjectInputStream;
-import org.apache.commons.lang3.SerializationUtils;
 import org.nd4j.parameterserver.distributed.conf.VoidConfiguration;
 import org.nd4j.parameterserver.distributed.enums.NodeRole;
 import org.nd4j.parameterserver.distributed.logic.completion.Clipboard;
@@ -11,8 +9,6 @@ import org.nd4j.parameterserver.distributed.logic.Storage;
 import org.nd4j.parameterserver.distributed.training.TrainingDriver;
 import org.nd4j.parameterserver.distributed.transport.Transport;
 
-import java.io.ByteArrayInputStream;
-import java.io.ObjectInputStream;
 import java.io.Serializable;
 
 /**
@@ -37,16 +33,7 @@ public interface VoidMessage extends Serializable {
     UnsafeBuffer asUnsafeBuffer();
 
     static <T extends VoidMessage> T fromBytes(byte[] array) {
-        try {
-            ObjectInputStream in = new ClassLoaderObjectInputStream(Thread.currentThread().getContextClassLoader(),
-                            new ByteArrayInputStream(array));
-
-            T result = (T) in.readObject();
-            return result;
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
-        //return SerializationUtils.deserialize(array);
+        return VoidMessageCodec.decode(array);
     }
 
     /**
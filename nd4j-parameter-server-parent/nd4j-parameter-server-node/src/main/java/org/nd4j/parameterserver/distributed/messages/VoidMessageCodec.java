@@ -0,0 +1,631 @@
+package org.nd4j.parameterserver.distributed.messages;
+
+import lombok.NonNull;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.apache.commons.io.input.ClassLoaderObjectInputStream;
+import org.apache.commons.lang3.SerializationUtils;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.parameterserver.distributed.messages.aggregations.DotAggregation;
+import org.nd4j.parameterserver.distributed.messages.complete.FrameCompleteMessage;
+import org.nd4j.parameterserver.distributed.messages.intercom.DistributedCbowDotMessage;
+import org.nd4j.parameterserver.distributed.messages.intercom.DistributedSgDotMessage;
+import org.nd4j.parameterserver.distributed.messages.requests.CbowRequestMessage;
+import org.nd4j.parameterserver.distributed.messages.requests.SkipGramRequestMessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ObjectInputStream;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary codec for VoidMessages.
+ *
+ * Messages on the training hot path (SkipGram/CBOW requests, their distributed dot counterparts, DotAggregation,
+ * FrameCompleteMessage and Frames of those) are written field by field after a single byte codec id,
+ * so there's no class metadata and no reflection involved.
+ * Any other message falls back to Java serialization, prefixed with JAVA_SERIALIZATION codec id.
+ *
+ * Messages are decoded straight from Aeron DirectBuffer, without copying them into intermediate byte[] first.
+ *
+ * PLEASE NOTE: only exact classes are encoded field by field, subclasses always fall back to Java serialization.
+ */
+public class VoidMessageCodec {
+    public static final byte JAVA_SERIALIZATION = 0;
+    public static final byte SKIP_GRAM_REQUEST = 1;
+    public static final byte CBOW_REQUEST = 2;
+    public static final byte DISTRIBUTED_SG_DOT = 3;
+    public static final byte DISTRIBUTED_CBOW_DOT = 4;
+    public static final byte DOT_AGGREGATION = 5;
+    public static final byte FRAME_COMPLETE = 6;
+    public static final byte FRAME = 7;
+
+    private static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    // messageType, taskId, originatorId, targetId
+    private static final int HEADER_SIZE = 4 + 8 + 8 + 2;
+
+    private VoidMessageCodec() {}
+
+    /**
+     * This method returns codec id used for given message
+     *
+     * @param message
+     * @return
+     */
+    public static byte codecOf(@NonNull VoidMessage message) {
+        Class<?> cls = message.getClass();
+        if (cls == SkipGramRequestMessage.class)
+            return SKIP_GRAM_REQUEST;
+        else if (cls == CbowRequestMessage.class)
+            return CBOW_REQUEST;
+        else if (cls == DistributedSgDotMessage.class)
+            return DISTRIBUTED_SG_DOT;
+        else if (cls == DistributedCbowDotMessage.class)
+            return DISTRIBUTED_CBOW_DOT;
+        else if (cls == DotAggregation.class)
+            return DOT_AGGREGATION;
+        else if (cls == FrameCompleteMessage.class)
+            return FRAME_COMPLETE;
+        else if (cls == Frame.class)
+            return FRAME;
+        else
+            return JAVA_SERIALIZATION;
+    }
+
+    /**
+     * This method encodes given message into byte array
+     *
+     * @param message
+     * @return
+     */
+    public static byte[] encode(@NonNull VoidMessage message) {
+        byte codec = codecOf(message);
+        if (codec == JAVA_SERIALIZATION) {
+            byte[] serialized = SerializationUtils.serialize(message);
+            byte[] result = new byte[serialized.length + 1];
+            result[0] = JAVA_SERIALIZATION;
+            System.arraycopy(serialized, 0, result, 1, serialized.length);
+            return result;
+        }
+
+        byte[] result = new byte[sizeOf(codec, message)];
+        Writer writer = new Writer(new UnsafeBuffer(result));
+        write(codec, message, writer);
+
+        return result;
+    }
+
+    /**
+     * This method encodes given message into given buffer, i.e. the one claimed via Publication.tryClaim()
+     *
+     * @param message
+     * @param buffer buffer to write to, should have at least encodedLength(message) bytes available after offset
+     * @param offset offset within buffer
+     * @return number of bytes written
+     */
+    public static int encode(@NonNull VoidMessage message, @NonNull MutableDirectBuffer buffer, int offset) {
+        byte codec = codecOf(message);
+        if (codec == JAVA_SERIALIZATION) {
+            byte[] bytes = encode(message);
+            buffer.putBytes(offset, bytes);
+            return bytes.length;
+        }
+
+        Writer writer = new Writer(buffer, offset);
+        write(codec, message, writer);
+
+        return writer.position - offset;
+    }
+
+    /**
+     * This method returns number of bytes given message takes once encoded
+     *
+     * PLEASE NOTE: for messages falling back to Java serialization this means actual serialization
+     *
+     * @param message
+     * @return
+     */
+    public static int encodedLength(@NonNull VoidMessage message) {
+        byte codec = codecOf(message);
+        return codec == JAVA_SERIALIZATION ? encode(message).length : sizeOf(codec, message);
+    }
+
+    /**
+     * This method decodes message from byte array
+     *
+     * @param bytes
+     * @return
+     */
+    public static <T extends VoidMessage> T decode(@NonNull byte[] bytes) {
+        return decode(new UnsafeBuffer(bytes), 0, bytes.length);
+    }
+
+    /**
+     * This method decodes message located within given buffer
+     *
+     * @param buffer buffer, i.e. the one passed to Aeron FragmentHandler
+     * @param offset offset of the message within buffer
+     * @param length length of the message
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends VoidMessage> T decode(@NonNull DirectBuffer buffer, int offset, int length) {
+        byte codec = buffer.getByte(offset);
+        if (codec == JAVA_SERIALIZATION) {
+            byte[] data = new byte[length - 1];
+            buffer.getBytes(offset + 1, data);
+            return (T) deserialize(data);
+        }
+
+        Reader reader = new Reader(buffer, offset);
+        reader.getByte();
+        return (T) read(codec, reader);
+    }
+
+    private static VoidMessage deserialize(byte[] data) {
+        try (ObjectInputStream in = new ClassLoaderObjectInputStream(Thread.currentThread().getContextClassLoader(),
+                        new ByteArrayInputStream(data))) {
+            return (VoidMessage) in.readObject();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static int sizeOf(byte codec, VoidMessage message) {
+        int size = 1 + HEADER_SIZE;
+        switch (codec) {
+            case SKIP_GRAM_REQUEST: {
+                SkipGramRequestMessage msg = (SkipGramRequestMessage) message;
+                return size + 8 + 8 + 4 + 4 + sizeOf(msg.getPoints()) + sizeOf(msg.getCodes())
+                                + sizeOf(msg.getNegatives()) + 2 + 8 + 1;
+            }
+            case CBOW_REQUEST: {
+                CbowRequestMessage msg = (CbowRequestMessage) message;
+                return size + 1 + 8 + 4 + sizeOf(msg.getSyn0rows()) + sizeOf(msg.getSyn1rows()) + 8 + 8 + 4
+                                + sizeOf(msg.getCodes()) + sizeOf(msg.getNegatives());
+            }
+            case DISTRIBUTED_SG_DOT: {
+                DistributedSgDotMessage msg = (DistributedSgDotMessage) message;
+                return size + sizeOf(msg.getRowsA()) + sizeOf(msg.getRowsB()) + 4 + 4 + 1 + 2 + 4
+                                + sizeOf(msg.getCodes());
+            }
+            case DISTRIBUTED_CBOW_DOT: {
+                DistributedCbowDotMessage msg = (DistributedCbowDotMessage) message;
+                return size + sizeOf(msg.getRowsA()) + sizeOf(msg.getRowsB()) + 4 + 1 + 2 + 4 + sizeOf(msg.getCodes());
+            }
+            case DOT_AGGREGATION: {
+                DotAggregation msg = (DotAggregation) message;
+                return size + 2 + 2 + 4 + 2 + sizeOf(msg.getPayload());
+            }
+            case FRAME_COMPLETE:
+                return size + sizeOf(((FrameCompleteMessage) message).getPayload());
+            case FRAME: {
+                size += 4;
+                for (Object element : ((Frame<?>) message).getList()) {
+                    VoidMessage msg = (VoidMessage) element;
+                    byte elementCodec = codecOf(msg);
+                    size += 4 + (elementCodec == JAVA_SERIALIZATION ? encode(msg).length : sizeOf(elementCodec, msg));
+                }
+                return size;
+            }
+            default:
+                throw new IllegalStateException("Unknown codec id: " + codec);
+        }
+    }
+
+    private static int sizeOf(int[] array) {
+        return 4 + (array == null ? 0 : array.length * 4);
+    }
+
+    private static int sizeOf(byte[] array) {
+        return 4 + (array == null ? 0 : array.length);
+    }
+
+    private static int sizeOf(INDArray array) {
+        if (array == null)
+            return 1;
+
+        int elementSize = array.data().dataType() == DataBuffer.Type.DOUBLE ? 8 : 4;
+        return 1 + 1 + 4 + array.rank() * 4 + array.length() * elementSize;
+    }
+
+    private static void write(byte codec, VoidMessage message, Writer writer) {
+        writer.putByte(codec);
+        writer.putInt(message.getMessageType());
+        writer.putLong(message.getTaskId());
+        writer.putLong(message.getOriginatorId());
+        writer.putShort(message.getTargetId());
+
+        switch (codec) {
+            case SKIP_GRAM_REQUEST: {
+                SkipGramRequestMessage msg = (SkipGramRequestMessage) message;
+                writer.putDouble(msg.getAlpha());
+                writer.putLong(msg.getFrameId());
+                writer.putInt(msg.getW1());
+                writer.putInt(msg.getW2());
+                writer.putInts(msg.getPoints());
+                writer.putBytes(msg.getCodes());
+                writer.putInts(msg.getNegatives());
+                writer.putShort(msg.getNegSamples());
+                writer.putLong(msg.getNextRandom());
+                writer.putByte(msg.getCounter());
+                break;
+            }
+            case CBOW_REQUEST: {
+                CbowRequestMessage msg = (CbowRequestMessage) message;
+                writer.putByte(msg.getCounter());
+                writer.putLong(msg.getFrameId());
+                writer.putInt(msg.getW1());
+                writer.putInts(msg.getSyn0rows());
+                writer.putInts(msg.getSyn1rows());
+                writer.putDouble(msg.getAlpha());
+                writer.putLong(msg.getNextRandom());
+                writer.putInt(msg.getNegSamples());
+                writer.putBytes(msg.getCodes());
+                writer.putInts(msg.getNegatives());
+                break;
+            }
+            case DISTRIBUTED_SG_DOT: {
+                DistributedSgDotMessage msg = (DistributedSgDotMessage) message;
+                writer.putInts(msg.getRowsA());
+                writer.putInts(msg.getRowsB());
+                writer.putInt(msg.getW1());
+                writer.putInt(msg.getW2());
+                writer.putByte((byte) (msg.isUseHS() ? 1 : 0));
+                writer.putShort(msg.getNegSamples());
+                writer.putFloat(msg.getAlpha());
+                writer.putBytes(msg.getCodes());
+                break;
+            }
+            case DISTRIBUTED_CBOW_DOT: {
+                DistributedCbowDotMessage msg = (DistributedCbowDotMessage) message;
+                writer.putInts(msg.getRowsA());
+                writer.putInts(msg.getRowsB());
+                writer.putInt(msg.getW1());
+                writer.putByte((byte) (msg.isUseHS() ? 1 : 0));
+                writer.putShort(msg.getNegSamples());
+                writer.putFloat(msg.getAlpha());
+                writer.putBytes(msg.getCodes());
+                break;
+            }
+            case DOT_AGGREGATION: {
+                DotAggregation msg = (DotAggregation) message;
+                writer.putShort(msg.getAggregationType());
+                writer.putShort(msg.getAggregationWidth());
+                writer.putInt(msg.getNumberOfElements());
+                writer.putShort(msg.getShardIndex());
+                writer.putArray(msg.getPayload());
+                break;
+            }
+            case FRAME_COMPLETE:
+                writer.putArray(((FrameCompleteMessage) message).getPayload());
+                break;
+            case FRAME: {
+                List<?> list = ((Frame<?>) message).getList();
+                writer.putInt(list.size());
+                for (Object element : list) {
+                    VoidMessage msg = (VoidMessage) element;
+                    byte elementCodec = codecOf(msg);
+                    if (elementCodec == JAVA_SERIALIZATION) {
+                        byte[] bytes = encode(msg);
+                        writer.putInt(bytes.length);
+                        writer.putRaw(bytes);
+                    } else {
+                        writer.putInt(sizeOf(elementCodec, msg));
+                        write(elementCodec, msg, writer);
+                    }
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unknown codec id: " + codec);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static VoidMessage read(byte codec, Reader reader) {
+        int messageType = reader.getInt();
+        long taskId = reader.getLong();
+        long originatorId = reader.getLong();
+        short targetId = reader.getShort();
+
+        switch (codec) {
+            case SKIP_GRAM_REQUEST: {
+                double alpha = reader.getDouble();
+                long frameId = reader.getLong();
+                int w1 = reader.getInt();
+                int w2 = reader.getInt();
+                int[] points = reader.getInts();
+                byte[] codes = reader.getBytes();
+                int[] negatives = reader.getInts();
+                short negSamples = reader.getShort();
+                long nextRandom = reader.getLong();
+
+                SkipGramRequestMessage msg =
+                                new SkipGramRequestMessage(w1, w2, points, codes, negSamples, alpha, nextRandom);
+                msg.setFrameId(frameId);
+                msg.setNegatives(negatives);
+                msg.setCounter(reader.getByte());
+                return withHeader(msg, messageType, taskId, originatorId, targetId);
+            }
+            case CBOW_REQUEST: {
+                byte counter = reader.getByte();
+                long frameId = reader.getLong();
+                int w1 = reader.getInt();
+                int[] syn0rows = reader.getInts();
+                int[] syn1rows = reader.getInts();
+                double alpha = reader.getDouble();
+                long nextRandom = reader.getLong();
+                int negSamples = reader.getInt();
+                byte[] codes = reader.getBytes();
+
+                CbowRequestMessage msg =
+                                new CbowRequestMessage(syn0rows, syn1rows, w1, codes, negSamples, alpha, nextRandom);
+                msg.setCounter(counter);
+                msg.setFrameId(frameId);
+                msg.setNegatives(reader.getInts());
+                return withHeader(msg, messageType, taskId, originatorId, targetId);
+            }
+            case DISTRIBUTED_SG_DOT: {
+                DistributedSgDotMessage msg = new DistributedSgDotMessage();
+                msg.setRowsA(reader.getInts());
+                msg.setRowsB(reader.getInts());
+                msg.setW1(reader.getInt());
+                msg.setW2(reader.getInt());
+                msg.setUseHS(reader.getByte() != 0);
+                msg.setNegSamples(reader.getShort());
+                msg.setAlpha(reader.getFloat());
+                msg.setCodes(reader.getBytes());
+                return withHeader(msg, messageType, taskId, originatorId, targetId);
+            }
+            case DISTRIBUTED_CBOW_DOT: {
+                DistributedCbowDotMessage msg = new DistributedCbowDotMessage();
+                msg.setRowsA(reader.getInts());
+                msg.setRowsB(reader.getInts());
+                msg.setW1(reader.getInt());
+                msg.setUseHS(reader.getByte() != 0);
+                msg.setNegSamples(reader.getShort());
+                msg.setAlpha(reader.getFloat());
+                msg.setCodes(reader.getBytes());
+                return withHeader(msg, messageType, taskId, originatorId, targetId);
+            }
+            case DOT_AGGREGATION: {
+                short aggregationType = reader.getShort();
+                short aggregationWidth = reader.getShort();
+                int numberOfElements = reader.getInt();
+                short shardIndex = reader.getShort();
+
+                DotAggregation msg = new DotAggregation(taskId, aggregationWidth, shardIndex, reader.getArray());
+                msg.setAggregationType(aggregationType);
+                msg.setNumberOfElements(numberOfElements);
+                return withHeader(msg, messageType, taskId, originatorId, targetId);
+            }
+            case FRAME_COMPLETE: {
+                FrameCompleteMessage msg = new FrameCompleteMessage(taskId);
+                msg.setPayload(reader.getArray());
+                return withHeader(msg, messageType, taskId, originatorId, targetId);
+            }
+            case FRAME: {
+                int size = reader.getInt();
+                List<TrainingMessage> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    int length = reader.getInt();
+                    list.add((TrainingMessage) decode(reader.buffer, reader.position, length));
+                    reader.position += length;
+                }
+
+                Frame<TrainingMessage> frame = new Frame<>(taskId);
+                frame.setList(list);
+                frame.originatorId = originatorId;
+                frame.setTargetId(targetId);
+                return frame;
+            }
+            default:
+                throw new IllegalStateException("Unknown codec id: " + codec);
+        }
+    }
+
+    private static VoidMessage withHeader(BaseVoidMessage message, int messageType, long taskId, long originatorId,
+                    short targetId) {
+        message.setMessageType(messageType);
+        message.setTaskId(taskId);
+        message.setOriginatorId(originatorId);
+        message.setTargetId(targetId);
+        return message;
+    }
+
+    private static class Writer {
+        private final MutableDirectBuffer buffer;
+        private int position;
+
+        private Writer(MutableDirectBuffer buffer) {
+            this(buffer, 0);
+        }
+
+        private Writer(MutableDirectBuffer buffer, int offset) {
+            this.buffer = buffer;
+            this.position = offset;
+        }
+
+        private void putByte(byte value) {
+            buffer.putByte(position, value);
+            position += 1;
+        }
+
+        private void putShort(short value) {
+            buffer.putShort(position, value, ORDER);
+            position += 2;
+        }
+
+        private void putInt(int value) {
+            buffer.putInt(position, value, ORDER);
+            position += 4;
+        }
+
+        private void putLong(long value) {
+            buffer.putLong(position, value, ORDER);
+            position += 8;
+        }
+
+        private void putFloat(float value) {
+            buffer.putFloat(position, value, ORDER);
+            position += 4;
+        }
+
+        private void putDouble(double value) {
+            buffer.putDouble(position, value, ORDER);
+            position += 8;
+        }
+
+        private void putRaw(byte[] bytes) {
+            buffer.putBytes(position, bytes);
+            position += bytes.length;
+        }
+
+        private void putInts(int[] array) {
+            if (array == null) {
+                putInt(-1);
+                return;
+            }
+
+            putInt(array.length);
+            for (int value : array)
+                putInt(value);
+        }
+
+        private void putBytes(byte[] array) {
+            if (array == null) {
+                putInt(-1);
+                return;
+            }
+
+            putInt(array.length);
+            putRaw(array);
+        }
+
+        private void putArray(INDArray array) {
+            if (array == null) {
+                putByte((byte) -1);
+                return;
+            }
+
+            boolean isDouble = array.data().dataType() == DataBuffer.Type.DOUBLE;
+            char order = array.ordering();
+            INDArray flat = array.isView() ? array.dup(order) : array;
+
+            putByte((byte) (isDouble ? 1 : 0));
+            putByte((byte) order);
+            putInts(array.shape());
+
+            int length = array.length();
+            DataBuffer data = flat.data();
+            for (int i = 0; i < length; i++) {
+                if (isDouble)
+                    putDouble(data.getDouble(i));
+                else
+                    putFloat(data.getFloat(i));
+            }
+        }
+    }
+
+    private static class Reader {
+        private final DirectBuffer buffer;
+        private int position;
+
+        private Reader(DirectBuffer buffer, int offset) {
+            this.buffer = buffer;
+            this.position = offset;
+        }
+
+        private byte getByte() {
+            byte value = buffer.getByte(position);
+            position += 1;
+            return value;
+        }
+
+        private short getShort() {
+            short value = buffer.getShort(position, ORDER);
+            position += 2;
+            return value;
+        }
+
+        private int getInt() {
+            int value = buffer.getInt(position, ORDER);
+            position += 4;
+            return value;
+        }
+
+        private long getLong() {
+            long value = buffer.getLong(position, ORDER);
+            position += 8;
+            return value;
+        }
+
+        private float getFloat() {
+            float value = buffer.getFloat(position, ORDER);
+            position += 4;
+            return value;
+        }
+
+        private double getDouble() {
+            double value = buffer.getDouble(position, ORDER);
+            position += 8;
+            return value;
+        }
+
+        private int[] getInts() {
+            int length = getInt();
+            if (length < 0)
+                return null;
+
+            int[] array = new int[length];
+            for (int i = 0; i < length; i++)
+                array[i] = getInt();
+
+            return array;
+        }
+
+        private byte[] getBytes() {
+            int length = getInt();
+            if (length < 0)
+                return null;
+
+            byte[] array = new byte[length];
+            buffer.getBytes(position, array);
+            position += length;
+            return array;
+        }
+
+        private INDArray getArray() {
+            byte type = getByte();
+            if (type < 0)
+                return null;
+
+            char order = (char) getByte();
+            int[] shape = getInts();
+
+            int length = 1;
+            for (int dim : shape)
+                length *= dim;
+
+            if (type == 1) {
+                double[] data = new double[length];
+                for (int i = 0; i < length; i++)
+                    data[i] = getDouble();
+
+                return Nd4j.create(data, shape, order);
+            } else {
+                float[] data = new float[length];
+                for (int i = 0; i < length; i++)
+                    data[i] = getFloat();
+
+                return Nd4j.create(data, shape, order);
+            }
+        }
+    }
+}
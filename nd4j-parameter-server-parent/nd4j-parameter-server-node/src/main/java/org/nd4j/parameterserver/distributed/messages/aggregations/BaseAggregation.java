@@ -5,12 +5,12 @@ import lombok.NonNull;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.agrona.concurrent.UnsafeBuffer;
-import org.apache.commons.lang3.SerializationUtils;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.exception.ND4JIllegalStateException;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
 import org.nd4j.parameterserver.distributed.messages.VoidAggregation;
+import org.nd4j.parameterserver.distributed.messages.VoidMessageCodec;
 
 import java.io.Serializable;
 import java.util.*;
@@ -108,7 +108,7 @@ public abstract class BaseAggregation extends BaseVoidMessage implements VoidAgg
 
     @Override
     public byte[] asBytes() {
-        return SerializationUtils.serialize(this);
+        return VoidMessageCodec.encode(this);
     }
 
     @Override
@@ -159,8 +159,10 @@ public class CbowTrainer extends BaseTrainer<CbowRequestMessage> {
                 double g = (1 - code - f) * alpha;
 
                 updated = true;
-                Nd4j.getBlasWrapper().axpy(new Double(g), syn1.getRow(cbr.getSyn1rows()[e]), neu1e);
-                Nd4j.getBlasWrapper().axpy(new Double(g), neue, syn1.getRow(cbr.getSyn1rows()[e]));
+                storage.updateRow(WordVectorStorage.SYN_1, cbr.getSyn1rows()[e], (row) -> {
+                    Nd4j.getBlasWrapper().axpy(new Double(g), row, neu1e);
+                    Nd4j.getBlasWrapper().axpy(new Double(g), neue, row);
+                });
             }
         }
 
@@ -185,14 +187,18 @@ public class CbowTrainer extends BaseTrainer<CbowRequestMessage> {
                 }
 
                 updated = true;
-                Nd4j.getBlasWrapper().axpy(new Double(g), syn1Neg.getRow(cbr.getNegatives()[cnt]), neu1e);
-                Nd4j.getBlasWrapper().axpy(new Double(g), neue, syn1Neg.getRow(cbr.getNegatives()[cnt]));
+                final double gradient = g;
+                storage.updateRow(WordVectorStorage.SYN_1_NEGATIVE, cbr.getNegatives()[cnt], (row) -> {
+                    Nd4j.getBlasWrapper().axpy(new Double(gradient), row, neu1e);
+                    Nd4j.getBlasWrapper().axpy(new Double(gradient), neue, row);
+                });
             }
         }
 
         if (updated)
             for (int i = 0; i < cbr.getSyn0rows().length; i++) {
-                Nd4j.getBlasWrapper().axpy(new Double(1.0), neu1e, syn0.getRow(cbr.getSyn0rows()[i]));
+                storage.updateRow(WordVectorStorage.SYN_0, cbr.getSyn0rows()[i],
+                                (row) -> Nd4j.getBlasWrapper().axpy(new Double(1.0), neu1e, row));
             }
 
         // we send back confirmation message only from Shard which received this message
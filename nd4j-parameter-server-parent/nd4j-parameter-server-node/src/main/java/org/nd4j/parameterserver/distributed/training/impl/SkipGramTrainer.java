@@ -201,8 +201,10 @@ public class SkipGramTrainer extends BaseTrainer<SkipGramRequestMessage> {
                 double g = (1 - code - f) * alpha;
 
                 updated = true;
-                Nd4j.getBlasWrapper().axpy(new Double(g), syn1.getRow(sgrm.getPoints()[e]), neu1e);
-                Nd4j.getBlasWrapper().axpy(new Double(g), syn0.getRow(sgrm.getW2()), syn1.getRow(sgrm.getPoints()[e]));
+                storage.updateRow(WordVectorStorage.SYN_1, sgrm.getPoints()[e], (row) -> {
+                    Nd4j.getBlasWrapper().axpy(new Double(g), row, neu1e);
+                    Nd4j.getBlasWrapper().axpy(new Double(g), syn0.getRow(sgrm.getW2()), row);
+                });
             }
         }
 
@@ -229,14 +231,17 @@ public class SkipGramTrainer extends BaseTrainer<SkipGramRequestMessage> {
                 }
 
                 updated = true;
-                Nd4j.getBlasWrapper().axpy(new Double(g), syn1Neg.getRow(sgrm.getNegatives()[cnt]), neu1e);
-                Nd4j.getBlasWrapper().axpy(new Double(g), syn0.getRow(sgrm.getW2()),
-                                syn1Neg.getRow(sgrm.getNegatives()[cnt]));
+                final double gradient = g;
+                storage.updateRow(WordVectorStorage.SYN_1_NEGATIVE, sgrm.getNegatives()[cnt], (row) -> {
+                    Nd4j.getBlasWrapper().axpy(new Double(gradient), row, neu1e);
+                    Nd4j.getBlasWrapper().axpy(new Double(gradient), syn0.getRow(sgrm.getW2()), row);
+                });
             }
         }
 
         if (updated)
-            Nd4j.getBlasWrapper().axpy(new Double(1.0), neu1e, syn0.getRow(sgrm.getW2()));
+            storage.updateRow(WordVectorStorage.SYN_0, sgrm.getW2(),
+                            (row) -> Nd4j.getBlasWrapper().axpy(new Double(1.0), neu1e, row));
 
         // we send back confirmation message only from Shard which received this message
         RequestDescriptor descriptor = RequestDescriptor.createDescriptor(chain.getOriginatorId(), chain.getFrameId());
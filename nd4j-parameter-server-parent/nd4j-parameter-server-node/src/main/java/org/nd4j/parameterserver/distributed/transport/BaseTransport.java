@@ -20,6 +20,7 @@ import org.nd4j.parameterserver.distributed.logic.completion.Clipboard;
 import org.nd4j.parameterserver.distributed.messages.Frame;
 import org.nd4j.parameterserver.distributed.messages.MeaningfulMessage;
 import org.nd4j.parameterserver.distributed.messages.VoidMessage;
+import org.nd4j.parameterserver.distributed.messages.VoidMessageCodec;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -59,6 +60,8 @@ public abstract class BaseTransport implements Transport {
 
     protected Map<Long, MeaningfulMessage> completed = new ConcurrentHashMap<>();
 
+    protected volatile MessagePipeline pipelineForShards;
+
     protected AtomicBoolean runner = new AtomicBoolean(true);
 
     // service threads where poll will happen
@@ -198,10 +201,7 @@ public abstract class BaseTransport implements Transport {
          */
         // TODO: implement fragmentation handler here PROBABLY. Or forbid messages > MTU?
         //log.info("shardMessageHandler message request incoming...");
-        byte[] data = new byte[length];
-        buffer.getBytes(offset, data);
-
-        VoidMessage message = VoidMessage.fromBytes(data);
+        VoidMessage message = VoidMessageCodec.decode(buffer, offset, length);
         if (message.getMessageType() == 7) {
             // if that's vector request message - it's special case, we don't send it to other shards yet
             //log.info("Shortcut for vector request");
@@ -224,10 +224,7 @@ public abstract class BaseTransport implements Transport {
         /**
          * All incoming internal messages are either op commands, or aggregation messages that are tied to commands
          */
-        byte[] data = new byte[length];
-        buffer.getBytes(offset, data);
-
-        VoidMessage message = VoidMessage.fromBytes(data);
+        VoidMessage message = VoidMessageCodec.decode(buffer, offset, length);
 
         messages.add(message);
 
@@ -249,10 +246,16 @@ public abstract class BaseTransport implements Transport {
         // TODO: to be implemented
         //  log.info("clientMessageHandler message request incoming");
 
-        byte[] data = new byte[length];
-        buffer.getBytes(offset, data);
+        MeaningfulMessage message = VoidMessageCodec.decode(buffer, offset, length);
+        completeMessage(message);
+    }
 
-        MeaningfulMessage message = (MeaningfulMessage) VoidMessage.fromBytes(data);
+    /**
+     * This method stores response, so sendMessageAndGetResponse() waiting for it could return
+     *
+     * @param message
+     */
+    protected void completeMessage(@NonNull MeaningfulMessage message) {
         completed.put(message.getTaskId(), message);
     }
 
@@ -398,6 +401,10 @@ public abstract class BaseTransport implements Transport {
     public void shutdown() {
         // Since Aeron's poll isn't blocking, all we need is just special flag
         runner.set(false);
+
+        if (pipelineForShards != null)
+            pipelineForShards.close();
+
         try {
             threadA.join();
 
@@ -486,7 +493,7 @@ public abstract class BaseTransport implements Transport {
      *
      * @param message
      */
-    protected synchronized void sendCommandToShard(VoidMessage message) {
+    protected void sendCommandToShard(VoidMessage message) {
         // if this node is shard - we just step over TCP/IP infrastructure
         // TODO: we want LocalTransport to be used in such cases
         if (nodeRole == NodeRole.SHARD) {
@@ -499,24 +506,33 @@ public abstract class BaseTransport implements Transport {
         //log.info("Sending CS: {}", message.getClass().getCanonicalName());
 
         message.setTargetId(targetIndex);
-        DirectBuffer buffer = message.asUnsafeBuffer();
+        sendThrough(getPipelineForShards(), message);
+    }
 
-        long result = publicationForShards.offer(buffer);
+    /**
+     * This method hands message over to the pipeline. Blocking messages wait until they are written,
+     * so delivery failure is reported to the caller of this particular message.
+     *
+     * @param pipeline
+     * @param message
+     */
+    protected void sendThrough(MessagePipeline pipeline, VoidMessage message) {
+        if (message.isBlockingMessage())
+            pipeline.sendAndWait(message);
+        else
+            pipeline.send(message);
+    }
 
-        if (result < 0)
-            for (int i = 0; i < 5 && result < 0; i++) {
-                try {
-                    // TODO: make this configurable
-                    Thread.sleep(1000);
-                } catch (Exception e) {
-                }
-                result = publicationForShards.offer(buffer);
+    protected MessagePipeline getPipelineForShards() {
+        if (pipelineForShards == null) {
+            synchronized (this) {
+                if (pipelineForShards == null)
+                    pipelineForShards = new MessagePipeline(publicationForShards, new AtomicBoolean(false),
+                                    voidConfiguration.getRetransmitTimeout() * 20);
             }
+        }
 
-        // TODO: handle retransmit & backpressure separately
-
-        if (result < 0)
-            throw new RuntimeException("Unable to send message over the wire. Error code: " + result);
+        return pipelineForShards;
     }
 
     /**
@@ -0,0 +1,252 @@
+package org.nd4j.parameterserver.distributed.transport;
+
+import io.aeron.Publication;
+import io.aeron.logbuffer.BufferClaim;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.ManyToOneConcurrentArrayQueue;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+import org.nd4j.parameterserver.distributed.logic.RetransmissionHandler;
+import org.nd4j.parameterserver.distributed.messages.VoidMessage;
+import org.nd4j.parameterserver.distributed.messages.VoidMessageCodec;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Send pipeline for single destination, i.e. single Aeron Publication.
+ *
+ * Any number of threads can send messages without blocking on each other: messages are put into lock-free MPSC queue,
+ * and dedicated sender thread drains that queue into the Publication.
+ * Messages are sent as is: TrainingMessages are stacked into Frames by VoidParameterServer.execDistributed() already,
+ * and re-stacking them here would assign new Frame ids, breaking completion tracking of the original messages.
+ * Messages that fit into single fragment are encoded right into the term buffer via Publication.tryClaim(),
+ * and back pressure is handled with IdleStrategy instead of sleeps.
+ *
+ * PLEASE NOTE: delivery is asynchronous, the future returned by send() is completed once message is written into
+ * the Publication, or completed exceptionally with the failure that prevented that. After a failure pipeline stops,
+ * messages still queued are failed with the same cause, and subsequent send() calls throw.
+ */
+@Slf4j
+public class MessagePipeline implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 16384;
+
+    protected final Publication publication;
+    protected final AtomicBoolean activated;
+    protected final long connectTimeout;
+
+    protected final ManyToOneConcurrentArrayQueue<Envelope> queue;
+    protected final AtomicBoolean running = new AtomicBoolean(true);
+    protected final AtomicReference<Throwable> failure = new AtomicReference<>();
+    protected final Thread thread;
+
+    // everything below is accessed from sender thread only
+    protected final BufferClaim bufferClaim = new BufferClaim();
+    protected final IdleStrategy idler = new BackoffIdleStrategy(100, 10, TimeUnit.MICROSECONDS.toNanos(1),
+                    TimeUnit.MICROSECONDS.toNanos(100));
+    protected final IdleStrategy retryIdler = new BackoffIdleStrategy(100, 10, TimeUnit.MICROSECONDS.toNanos(1),
+                    TimeUnit.MILLISECONDS.toNanos(1));
+    protected long disconnectedSince = 0;
+
+    @Getter
+    protected final AtomicLong sentMessages = new AtomicLong(0);
+
+    /**
+     * Queued message along with the future of its delivery
+     */
+    protected static class Envelope {
+        protected final VoidMessage message;
+        protected final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        protected Envelope(VoidMessage message) {
+            this.message = message;
+        }
+    }
+
+    public MessagePipeline(@NonNull Publication publication, @NonNull AtomicBoolean activated, long connectTimeout) {
+        this(publication, activated, connectTimeout, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param publication    destination
+     * @param activated      flag to be set once first message is sent to this destination
+     * @param connectTimeout time in milliseconds we wait for destination to become connected
+     * @param capacity       max number of messages waiting for delivery, senders will idle once it's reached
+     */
+    public MessagePipeline(@NonNull Publication publication, @NonNull AtomicBoolean activated, long connectTimeout,
+                    int capacity) {
+        this.publication = publication;
+        this.activated = activated;
+        this.connectTimeout = connectTimeout;
+        this.queue = new ManyToOneConcurrentArrayQueue<>(capacity);
+
+        this.thread = new Thread(() -> run());
+        this.thread.setName("MessagePipeline [" + publication.channel() + "]");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * This method enqueues message for delivery. Returns immediately, unless queue is full.
+     *
+     * @param message
+     * @return future completed once message is written into the Publication, or failed with the cause of delivery failure
+     */
+    public CompletableFuture<Void> send(@NonNull VoidMessage message) {
+        checkFailure();
+
+        if (!running.get())
+            throw new ND4JIllegalStateException("MessagePipeline for [" + publication.channel() + "] is closed");
+
+        Envelope envelope = new Envelope(message);
+        if (!queue.offer(envelope)) {
+            // queue is full, so sender thread can't keep up with us, and we're the ones to wait now
+            IdleStrategy backoff = new BackoffIdleStrategy(100, 10, TimeUnit.MICROSECONDS.toNanos(1),
+                            TimeUnit.MILLISECONDS.toNanos(1));
+            while (!queue.offer(envelope)) {
+                checkFailure();
+                backoff.idle();
+            }
+        }
+
+        // sender thread might have failed right before we've enqueued the message, so nobody will deliver it
+        Throwable t = failure.get();
+        if (t != null)
+            envelope.result.completeExceptionally(t);
+
+        return envelope.result;
+    }
+
+    /**
+     * This method enqueues message for delivery, and waits until it's written into the Publication
+     *
+     * @param message
+     * @throws ND4JIllegalStateException if message can't be delivered
+     */
+    public void sendAndWait(@NonNull VoidMessage message) {
+        try {
+            send(message).join();
+        } catch (CompletionException e) {
+            throw new ND4JIllegalStateException("Unable to send message over the wire", e.getCause());
+        }
+    }
+
+    /**
+     * This method stops sender thread, after all messages enqueued so far are delivered
+     */
+    @Override
+    public void close() {
+        if (!running.compareAndSet(true, false))
+            return;
+
+        try {
+            thread.join(connectTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    protected void checkFailure() {
+        Throwable t = failure.get();
+        if (t != null)
+            throw new ND4JIllegalStateException("Unable to send message over the wire", t);
+    }
+
+    protected void run() {
+        Envelope envelope = null;
+        try {
+            while (running.get() || !queue.isEmpty()) {
+                int workCount = 0;
+                while ((envelope = queue.poll()) != null) {
+                    workCount++;
+
+                    transmit(envelope.message);
+                    envelope.result.complete(null);
+                }
+
+                idler.idle(workCount);
+            }
+        } catch (Throwable t) {
+            log.error("MessagePipeline for [{}] failed on [{}]: {}", publication.channel(),
+                            envelope == null ? null : envelope.message.getClass().getSimpleName(), t.getMessage());
+            failure.set(t);
+
+            if (envelope != null)
+                envelope.result.completeExceptionally(t);
+
+            // nothing queued behind the failed message will be delivered either
+            while ((envelope = queue.poll()) != null)
+                envelope.result.completeExceptionally(t);
+        }
+    }
+
+    protected void transmit(VoidMessage message) {
+        int length = VoidMessageCodec.codecOf(message) == VoidMessageCodec.JAVA_SERIALIZATION ? -1
+                        : VoidMessageCodec.encodedLength(message);
+
+        if (length > 0 && length <= publication.maxPayloadLength()) {
+            // zero-copy path: message is encoded right into the claimed part of term buffer
+            while (!isDelivered(publication.tryClaim(length, bufferClaim)));
+
+            try {
+                VoidMessageCodec.encode(message, bufferClaim.buffer(), bufferClaim.offset());
+                bufferClaim.commit();
+            } catch (RuntimeException e) {
+                bufferClaim.abort();
+                throw e;
+            }
+        } else {
+            // message will be fragmented anyway
+            UnsafeBuffer buffer = new UnsafeBuffer(VoidMessageCodec.encode(message));
+            while (!isDelivered(publication.offer(buffer)));
+        }
+
+        sentMessages.incrementAndGet();
+    }
+
+    /**
+     * This method checks result of offer/tryClaim call, and idles if it should be retried
+     *
+     * @param result
+     * @return true if message was sent, false if we should retry
+     */
+    protected boolean isDelivered(long result) {
+        switch (RetransmissionHandler.getTransmissionStatus(result)) {
+            case MESSAGE_SENT:
+                activated.set(true);
+                disconnectedSince = 0;
+                retryIdler.reset();
+                return true;
+            case NOT_CONNECTED:
+                /*
+                    two possible cases here:
+                    1) We hadn't sent any messages to this destination before, so we wait for it
+                    2) It was active before, and suddenly died
+                 */
+                if (activated.get())
+                    throw new ND4JIllegalStateException("Shards reassignment is to be implemented yet");
+
+                long time = System.currentTimeMillis();
+                if (disconnectedSince == 0)
+                    disconnectedSince = time;
+                else if (time - disconnectedSince > connectTimeout)
+                    throw new ND4JIllegalStateException("Can't connect to [" + publication.channel() + "]");
+
+                retryIdler.idle();
+                return false;
+            case BACKPRESSURE:
+            case ADMIN_ACTION:
+            default:
+                retryIdler.idle();
+                return false;
+        }
+    }
+}
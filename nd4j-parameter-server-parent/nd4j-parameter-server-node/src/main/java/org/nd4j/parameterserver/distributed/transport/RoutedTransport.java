@@ -259,7 +259,7 @@ public class RoutedTransport extends BaseTransport {
         long targetAddress = message.getOriginatorId();
 
         if (targetAddress == originatorId) {
-            completed.put(message.getTaskId(), (MeaningfulMessage) message);
+            completeMessage((MeaningfulMessage) message);
             return;
         }
 
@@ -330,6 +330,11 @@ public class RoutedTransport extends BaseTransport {
     public void shutdown() {
         runner.set(false);
 
+        shards.forEach((rc) -> {
+            if (rc.getPipeline() != null)
+                rc.getPipeline().close();
+        });
+
         if (threadB != null)
             threadB.interrupt();
 
@@ -355,52 +360,32 @@ public class RoutedTransport extends BaseTransport {
             return;
         }
 
-        RetransmissionHandler.TransmissionStatus result;
-
         int targetShard = router.assignTarget(message);
 
         //log.info("Sending message {} to shard {}", message.getClass().getSimpleName(), targetShard);
-        boolean delivered = false;
-        RemoteConnection connection = shards.get(targetShard);
+        sendThrough(pipelineFor(shards.get(targetShard)), message);
+    }
 
-        while (!delivered) {
+    /**
+     * This method returns send pipeline for given connection, creating it if necessary
+     *
+     * @param connection
+     * @return
+     */
+    protected MessagePipeline pipelineFor(RemoteConnection connection) {
+        MessagePipeline pipeline = connection.getPipeline();
+        if (pipeline == null) {
             synchronized (connection.locker) {
-                result = RetransmissionHandler
-                                .getTransmissionStatus(connection.getPublication().offer(message.asUnsafeBuffer()));
-            }
-
-            switch (result) {
-                case BACKPRESSURE:
-                case ADMIN_ACTION: {
-                    // we just sleep, and retransmit again later
-                    try {
-                        Thread.sleep(voidConfiguration.getRetransmitTimeout());
-                    } catch (Exception e) {
-                    }
+                pipeline = connection.getPipeline();
+                if (pipeline == null) {
+                    pipeline = new MessagePipeline(connection.getPublication(), connection.getActivated(),
+                                    voidConfiguration.getRetransmitTimeout() * 20);
+                    connection.setPipeline(pipeline);
                 }
-                    break;
-                case NOT_CONNECTED:
-                    /*
-                        two possible cases here:
-                        1) We hadn't sent any messages to this Shard before
-                        2) It was active before, and suddenly died
-                     */
-                    if (!connection.getActivated().get()) {
-                        // wasn't initialized before, just sleep and re-transmit
-                        try {
-                            Thread.sleep(voidConfiguration.getRetransmitTimeout());
-                        } catch (Exception e) {
-                        }
-                    } else {
-                        throw new ND4JIllegalStateException("Shards reassignment is to be implemented yet");
-                    }
-                    break;
-                case MESSAGE_SENT:
-                    delivered = true;
-                    connection.getActivated().set(true);
-                    break;
             }
         }
+
+        return pipeline;
     }
 
     /**
@@ -417,10 +402,7 @@ public class RoutedTransport extends BaseTransport {
          *  All of them should implement MeaningfulMessage interface
          */
 
-        byte[] data = new byte[length];
-        buffer.getBytes(offset, data);
-
-        VoidMessage message = VoidMessage.fromBytes(data);
+        VoidMessage message = VoidMessageCodec.decode(buffer, offset, length);
 
         //        log.info("sI_{} received message: {}", shardIndex, message.getClass().getSimpleName());
 
@@ -429,7 +411,7 @@ public class RoutedTransport extends BaseTransport {
 
         if (message instanceof MeaningfulMessage) {
             MeaningfulMessage msg = (MeaningfulMessage) message;
-            completed.put(message.getTaskId(), msg);
+            completeMessage(msg);
         } else if (message instanceof RequestMessage) {
             try {
                 messages.put((RequestMessage) message);
@@ -515,7 +497,7 @@ public class RoutedTransport extends BaseTransport {
         private Publication publication;
         private Object locker;
         private AtomicBoolean activated;
-
+        private volatile MessagePipeline pipeline;
 
 
         public static class RemoteConnectionBuilder {
@@ -0,0 +1,69 @@
+package org.nd4j.parameterserver.distributed.logic.storage;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+public class StripedWordVectorStorageTest {
+    @Rule
+    public TemporaryFolder testDir = new TemporaryFolder();
+
+    @Test
+    public void testConcurrentRowUpdates() throws Exception {
+        StripedWordVectorStorage storage =
+                        new StripedWordVectorStorage(StripedWordVectorStorage.Locking.STRIPED, 4, true, null);
+        storage.setArray(WordVectorStorage.SYN_0, Nd4j.create(10, 5));
+
+        int numThreads = 8;
+        int numUpdates = 500;
+        Thread[] threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            threads[t] = new Thread(() -> {
+                for (int e = 0; e < numUpdates; e++)
+                    storage.updateRow(WordVectorStorage.SYN_0, e % 10, (row) -> row.addi(1.0));
+            });
+            threads[t].start();
+        }
+
+        for (Thread thread : threads)
+            thread.join();
+
+        INDArray exp = Nd4j.valueArrayOf(new int[] {10, 5}, numThreads * numUpdates / 10);
+        assertEquals(exp, storage.getArray(WordVectorStorage.SYN_0));
+
+        for (int r = 0; r < 10; r++) {
+            assertEquals(numThreads * numUpdates / 10, storage.getRowVersion(WordVectorStorage.SYN_0, r));
+            assertEquals(exp.getRow(r), storage.readRow(WordVectorStorage.SYN_0, r));
+        }
+    }
+
+    @Test
+    public void testMappedWeights() throws Exception {
+        File directory = testDir.newFolder();
+        StripedWordVectorStorage storage =
+                        new StripedWordVectorStorage(StripedWordVectorStorage.Locking.HOGWILD, 1, false, directory);
+
+        INDArray syn0 = Nd4j.linspace(1, 20, 20).reshape('c', 4, 5);
+        INDArray expTable = Nd4j.linspace(1, 10, 10);
+        storage.setArray(WordVectorStorage.SYN_0, syn0.dup());
+        storage.setArray(WordVectorStorage.EXP_TABLE, expTable);
+
+        assertEquals(1, directory.listFiles().length);
+        assertEquals(syn0, storage.getArray(WordVectorStorage.SYN_0));
+        assertTrue(expTable == storage.getArray(WordVectorStorage.EXP_TABLE));
+
+        storage.updateRow(WordVectorStorage.SYN_0, 2, (row) -> row.muli(2.0));
+        syn0.getRow(2).muli(2.0);
+        assertEquals(syn0, storage.getArray(WordVectorStorage.SYN_0));
+        assertEquals(0L, storage.getRowVersion(WordVectorStorage.SYN_0, 2));
+
+        storage.shutdown();
+        assertEquals(0, directory.listFiles().length);
+    }
+}
@@ -1,9 +1,17 @@
 package org.nd4j.parameterserver.distributed.messages;
 
+import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.parameterserver.distributed.messages.aggregations.DotAggregation;
+import org.nd4j.parameterserver.distributed.messages.intercom.DistributedSgDotMessage;
 import org.nd4j.parameterserver.distributed.messages.requests.SkipGramRequestMessage;
+import org.nd4j.parameterserver.distributed.messages.requests.VectorRequestMessage;
+
+import java.util.Iterator;
 
 import static org.junit.Assert.*;
 
@@ -37,4 +45,81 @@ public class VoidMessageTest {
         assertArrayEquals(message.getCodes(), restored.getCodes());
     }
 
+    @Test
+    public void testBinaryCodecFromBuffer() throws Exception {
+        DistributedSgDotMessage message = new DistributedSgDotMessage(119L, new int[] {1, 2, 3}, new int[] {4, 5, 6},
+                        7, 8, new byte[] {0, 1, 0}, true, (short) 2, 0.025f);
+        message.setOriginatorId(17L);
+        message.setTargetId((short) 3);
+
+        byte[] bytes = message.asBytes();
+        assertEquals(VoidMessageCodec.DISTRIBUTED_SG_DOT, bytes[0]);
+
+        // message is decoded in place, as it's done for Aeron fragments
+        UnsafeBuffer buffer = new UnsafeBuffer(new byte[bytes.length + 13]);
+        buffer.putBytes(13, bytes);
+        DistributedSgDotMessage restored = VoidMessageCodec.decode(buffer, 13, bytes.length);
+
+        assertEquals(message, restored);
+        assertEquals(119L, restored.getTaskId());
+        assertEquals(17L, restored.getOriginatorId());
+        assertEquals(3, restored.getTargetId());
+        assertEquals(22, restored.getMessageType());
+    }
+
+    @Test
+    public void testBinaryCodecFrame() throws Exception {
+        SkipGramRequestMessage sgrm1 = new SkipGramRequestMessage(10, 12, new int[] {10, 20, 30, 40},
+                        new byte[] {(byte) 0, (byte) 0, (byte) 1, (byte) 0}, (short) 2, 0.01, 117L);
+        sgrm1.setNegatives(new int[] {3, 5});
+        SkipGramRequestMessage sgrm2 = new SkipGramRequestMessage(11, 13, new int[] {11, 21}, new byte[] {1, 0},
+                        (short) 0, 0.02, 118L);
+
+        Frame<SkipGramRequestMessage> frame = new Frame<>(sgrm1);
+        frame.stackMessage(sgrm2);
+        frame.setOriginatorId(19L);
+
+        Frame<SkipGramRequestMessage> restored = VoidMessage.fromBytes(frame.asBytes());
+
+        assertEquals(frame.getTaskId(), restored.getTaskId());
+        assertEquals(19L, restored.getOriginatorId());
+        assertEquals(2, restored.size());
+
+        Iterator<SkipGramRequestMessage> iterator = restored.iterator();
+        for (SkipGramRequestMessage original : frame) {
+            SkipGramRequestMessage message = iterator.next();
+            assertEquals(original, message);
+            assertEquals(original.getAlpha(), message.getAlpha(), 1e-10);
+            assertEquals(original.getNextRandom(), message.getNextRandom());
+            assertEquals(original.getFrameId(), message.getFrameId());
+            assertEquals(19L, message.getOriginatorId());
+            assertArrayEquals(original.getNegatives(), message.getNegatives());
+        }
+    }
+
+    @Test
+    public void testBinaryCodecAggregation() throws Exception {
+        INDArray payload = Nd4j.create(new double[] {1.0, 2.0, 3.0}, new int[] {3, 1});
+        DotAggregation aggregation = new DotAggregation(5L, (short) 2, (short) 1, payload);
+
+        DotAggregation restored = VoidMessage.fromBytes(aggregation.asBytes());
+
+        assertEquals(5L, restored.getTaskId());
+        assertEquals(2, restored.getAggregationWidth());
+        assertEquals(1, restored.getShardIndex());
+        assertEquals(payload, restored.getPayload());
+        assertEquals(1, restored.getMissingChunks());
+    }
+
+    @Test
+    public void testJavaSerializationFallback() throws Exception {
+        VectorRequestMessage message = new VectorRequestMessage(7);
+
+        byte[] bytes = message.asBytes();
+        assertEquals(VoidMessageCodec.JAVA_SERIALIZATION, bytes[0]);
+
+        VectorRequestMessage restored = VoidMessage.fromBytes(bytes);
+        assertEquals(message.getRowIndex(), restored.getRowIndex());
+        assertEquals(message.getTaskId(), restored.getTaskId());
+    }
 }
@@ -0,0 +1,120 @@
+package org.nd4j.parameterserver.distributed.transport;
+
+import io.aeron.Aeron;
+import io.aeron.FragmentAssembler;
+import io.aeron.Publication;
+import io.aeron.Subscription;
+import io.aeron.driver.MediaDriver;
+import org.agrona.CloseHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+import org.nd4j.parameterserver.distributed.messages.VoidMessage;
+import org.nd4j.parameterserver.distributed.messages.VoidMessageCodec;
+import org.nd4j.parameterserver.distributed.messages.requests.SkipGramRequestMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class MessagePipelineTest {
+    private MediaDriver driver;
+    private Aeron aeron;
+
+    @Before
+    public void setUp() throws Exception {
+        driver = MediaDriver.launchEmbedded();
+        aeron = Aeron.connect(new Aeron.Context().aeronDirectoryName(driver.aeronDirectoryName()));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        CloseHelper.quietClose(aeron);
+        CloseHelper.quietClose(driver);
+    }
+
+    @Test
+    public void testDelivery() throws Exception {
+        Subscription subscription = aeron.addSubscription("aeron:ipc", 119);
+        Publication publication = aeron.addPublication("aeron:ipc", 119);
+
+        AtomicBoolean activated = new AtomicBoolean(false);
+        MessagePipeline pipeline = new MessagePipeline(publication, activated, 20000);
+
+        int numMessages = 1000;
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int e = 0; e < numMessages; e++) {
+            SkipGramRequestMessage message = new SkipGramRequestMessage(e, e + 1, new int[] {1, 2, 3},
+                            new byte[] {1, 0, 1}, (short) 0, 0.025, 119L);
+            message.setOriginatorId(17L);
+            results.add(pipeline.send(message));
+        }
+
+        List<VoidMessage> received = new ArrayList<>();
+        FragmentAssembler assembler = new FragmentAssembler(
+                        (buffer, offset, length, header) -> received.add(VoidMessageCodec.decode(buffer, offset, length)));
+
+        long time = System.currentTimeMillis();
+        while (received.size() < numMessages && System.currentTimeMillis() - time < 20000)
+            subscription.poll(assembler, 512);
+
+        pipeline.close();
+
+        // messages go over the wire one by one, as they were sent
+        assertEquals(numMessages, received.size());
+        for (int e = 0; e < numMessages; e++) {
+            SkipGramRequestMessage message = (SkipGramRequestMessage) received.get(e);
+            assertEquals(e, message.getW1());
+            assertEquals(e + 1, message.getW2());
+            assertEquals(17L, message.getOriginatorId());
+            assertArrayEquals(new int[] {1, 2, 3}, message.getPoints());
+
+            assertTrue(results.get(e).isDone());
+            assertFalse(results.get(e).isCompletedExceptionally());
+        }
+
+        assertTrue(activated.get());
+        assertEquals(numMessages, pipeline.getSentMessages().get());
+
+        CloseHelper.quietClose(subscription);
+        CloseHelper.quietClose(publication);
+    }
+
+    @Test
+    public void testFailureReportedOnCausingSend() throws Exception {
+        Subscription subscription = aeron.addSubscription("aeron:ipc", 120);
+        Publication publication = aeron.addPublication("aeron:ipc", 120);
+
+        MessagePipeline pipeline = new MessagePipeline(publication, new AtomicBoolean(false), 20000);
+
+        pipeline.sendAndWait(new SkipGramRequestMessage(1, 2, new int[] {1}, new byte[] {1}, (short) 0, 0.025, 1L));
+
+        // publication is gone, so the next message can't be written
+        CloseHelper.quietClose(publication);
+
+        CompletableFuture<Void> result =
+                        pipeline.send(new SkipGramRequestMessage(3, 4, new int[] {1}, new byte[] {1}, (short) 0, 0.025, 1L));
+        try {
+            result.get(20, TimeUnit.SECONDS);
+            fail("Delivery failure should be reported by the future of the failed message");
+        } catch (ExecutionException e) {
+            assertNotNull(e.getCause());
+        }
+
+        try {
+            pipeline.sendAndWait(new SkipGramRequestMessage(5, 6, new int[] {1}, new byte[] {1}, (short) 0, 0.025, 1L));
+            fail("Failed pipeline shouldn't accept messages");
+        } catch (ND4JIllegalStateException e) {
+            // expected
+        }
+
+        pipeline.close();
+        CloseHelper.quietClose(subscription);
+    }
+}
@@ -1,63 +1,167 @@
 package org.nd4j.parameterserver.updater.storage;
 
+import lombok.extern.slf4j.Slf4j;
+import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.nd4j.aeron.ipc.NDArrayMessage;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.rocksdb.Options;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
 
 import java.nio.ByteBuffer;
+import java.util.function.Consumer;
 
 /**
+ * Append-only update log backed by RocksDB.
+ *
+ * Each update is stored under its sequence number (8 bytes, big endian), so updates are ordered by arrival,
+ * and any range of them can be replayed with a single sequential scan.
+ * Writes are group-committed: updates are collected into a WriteBatch, which is written once it holds batchSize updates,
+ * or whenever updates are read back, flushed explicitly, or storage is closed.
+ * Optionally, only the last maxRetainedUpdates updates are kept, older ones are removed as new ones arrive.
+ *
+ * The log survives restarts: sequence numbers are recovered from the database on open.
+ *
+ * PLEASE NOTE: updates that weren't flushed yet are lost on crash, use batchSize of 1 if that's not acceptable.
+ *
  * Created by agibsonccc on 12/2/16.
  */
+@Slf4j
 public class RocksDbStorage extends BaseUpdateStorage implements AutoCloseable {
     static {
         // a static method that loads the RocksDB C++ library.
         RocksDB.loadLibrary();
     }
 
+    public static final int DEFAULT_BATCH_SIZE = 64;
 
-    private RocksDB db;
-    private int size = 0;
+    private final Options options;
+    private final RocksDB db;
+    private final WriteOptions writeOptions;
+    private final WriteBatch batch = new WriteBatch();
+    private final int batchSize;
+    private final long maxRetainedUpdates;
+
+    // sequence number of the oldest retained update
+    private long firstSequence = 0;
+    // sequence number the next update will get
+    private long nextSequence = 0;
+    private int batched = 0;
 
     public RocksDbStorage(String dbPath) {
-        // that determines the behavior of a database.
-        Options options = new Options().setCreateIfMissing(true);
+        this(dbPath, defaultOptions(), DEFAULT_BATCH_SIZE, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param dbPath             path to the database
+     * @param options            database options, i.e. compaction style and compression. Closed along with storage
+     * @param batchSize          number of updates written to the database at once
+     * @param maxRetainedUpdates max number of updates to keep, older updates are removed
+     */
+    public RocksDbStorage(String dbPath, Options options, int batchSize, long maxRetainedUpdates) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size should be positive");
+        if (maxRetainedUpdates < 1)
+            throw new IllegalArgumentException("Number of retained updates should be positive");
+
+        this.options = options;
+        this.batchSize = batchSize;
+        this.maxRetainedUpdates = maxRetainedUpdates;
+        this.writeOptions = new WriteOptions();
+
         try {
-            // a factory method that returns a RocksDB instance
             db = RocksDB.open(options, dbPath);
-            // do something
         } catch (RocksDBException e) {
-            // do some error handling
+            throw new RuntimeException("Unable to open RocksDB at [" + dbPath + "]", e);
+        }
 
+        // recovering log boundaries left by previous runs
+        try (RocksIterator iterator = db.newIterator()) {
+            iterator.seekToFirst();
+            if (iterator.isValid()) {
+                firstSequence = sequenceOf(iterator.key());
+                iterator.seekToLast();
+                nextSequence = sequenceOf(iterator.key()) + 1;
+                log.info("Recovered {} updates from [{}]", nextSequence - firstSequence, dbPath);
+            }
         }
     }
 
+    /**
+     * Default options: database is created if missing, and background compactions use all available cores
+     *
+     * @return
+     */
+    public static Options defaultOptions() {
+        return new Options().setCreateIfMissing(true)
+                        .setIncreaseParallelism(Runtime.getRuntime().availableProcessors());
+    }
+
+    private static byte[] keyOf(long sequence) {
+        return ByteBuffer.allocate(8).putLong(sequence).array();
+    }
+
+    private static long sequenceOf(byte[] key) {
+        return ByteBuffer.wrap(key).getLong();
+    }
+
     /**
      * Add an ndarray to the storage
      *
      * @param array the array to add
      */
     @Override
-    public void addUpdate(NDArrayMessage array) {
-        UnsafeBuffer directBuffer = (UnsafeBuffer) NDArrayMessage.toBuffer(array);
-        byte[] data = directBuffer.byteArray();
-        if (data == null) {
-            data = new byte[directBuffer.capacity()];
-            directBuffer.getBytes(0, data, 0, data.length);
+    public synchronized void addUpdate(NDArrayMessage array) {
+        DirectBuffer buffer = NDArrayMessage.toBuffer(array);
+
+        // WriteBatch copies value anyway, so we take backing array as is if there's one
+        byte[] data = buffer.byteArray();
+        if (data == null || data.length != buffer.capacity()) {
+            data = new byte[buffer.capacity()];
+            buffer.getBytes(0, data, 0, data.length);
         }
-        byte[] key = ByteBuffer.allocate(4).putInt(size).array();
+
+        batch.put(keyOf(nextSequence++), data);
+
+        if (nextSequence - firstSequence > maxRetainedUpdates)
+            batch.remove(keyOf(firstSequence++));
+
+        if (++batched >= batchSize)
+            flush();
+    }
+
+    /**
+     * This method writes all pending updates to the database
+     */
+    public synchronized void flush() {
+        if (batched == 0)
+            return;
+
         try {
-            db.put(key, data);
+            db.write(writeOptions, batch);
         } catch (RocksDBException e) {
             throw new RuntimeException(e);
         }
 
-        size++;
+        batch.clear();
+        batched = 0;
+    }
 
+    /**
+     * This method compacts whole database, i.e. to reclaim space after lots of updates were removed
+     */
+    public synchronized void compact() {
+        flush();
+        try {
+            db.compactRange();
+        } catch (RocksDBException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     /**
@@ -67,24 +171,28 @@ public class RocksDbStorage extends BaseUpdateStorage implements AutoCloseable {
      * @return
      */
     @Override
-    public int numUpdates() {
-        return size;
+    public synchronized int numUpdates() {
+        return (int) (nextSequence - firstSequence);
     }
 
     /**
      * Clear the array storage
      */
     @Override
-    public void clear() {
-        RocksIterator iterator = db.newIterator();
-        while (iterator.isValid())
-            try {
-                db.remove(iterator.key());
-            } catch (RocksDBException e) {
-                throw new RuntimeException(e);
-            }
-        iterator.close();
-        size = 0;
+    public synchronized void clear() {
+        flush();
+
+        try (RocksIterator iterator = db.newIterator(); WriteBatch removals = new WriteBatch()) {
+            for (iterator.seekToFirst(); iterator.isValid(); iterator.next())
+                removals.remove(iterator.key());
+
+            db.write(writeOptions, removals);
+        } catch (RocksDBException e) {
+            throw new RuntimeException(e);
+        }
+
+        firstSequence = nextSequence;
+        compact();
     }
 
     /**
@@ -95,21 +203,60 @@ public class RocksDbStorage extends BaseUpdateStorage implements AutoCloseable {
      * @return the ndarray at the specified index
      */
     @Override
-    public NDArrayMessage doGetUpdate(int index) {
-        byte[] key = ByteBuffer.allocate(4).putInt(index).array();
+    public synchronized NDArrayMessage doGetUpdate(int index) {
+        flush();
         try {
-            UnsafeBuffer unsafeBuffer = new UnsafeBuffer(db.get(key));
+            UnsafeBuffer unsafeBuffer = new UnsafeBuffer(db.get(keyOf(firstSequence + index)));
             return NDArrayMessage.fromBuffer(unsafeBuffer, 0);
         } catch (RocksDBException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * This method replays updates with indexes in range [from, to) in order of arrival, with single sequential scan
+     *
+     * @param from     index of the first update to replay
+     * @param to       index of the update to stop at, exclusive
+     * @param consumer consumer of the updates
+     */
+    public synchronized void replay(int from, int to, Consumer<NDArrayMessage> consumer) {
+        if (from < 0 || from > to)
+            throw new IndexOutOfBoundsException("Invalid range of updates: [" + from + ", " + to + ")");
+
+        flush();
+
+        long last = firstSequence + Math.min(to, numUpdates());
+        // bulk scan shouldn't evict hot blocks from cache
+        try (ReadOptions readOptions = new ReadOptions().setFillCache(false);
+                        RocksIterator iterator = db.newIterator(readOptions)) {
+            for (iterator.seek(keyOf(firstSequence + from)); iterator.isValid(); iterator.next()) {
+                if (sequenceOf(iterator.key()) >= last)
+                    break;
+
+                consumer.accept(NDArrayMessage.fromBuffer(new UnsafeBuffer(iterator.value()), 0));
+            }
+        }
+    }
+
+    /**
+     * This method replays all retained updates in order of arrival
+     *
+     * @param consumer consumer of the updates
+     */
+    public synchronized void replay(Consumer<NDArrayMessage> consumer) {
+        replay(0, numUpdates(), consumer);
+    }
+
     /**
      * Close the database
      */
     @Override
-    public void close() {
+    public synchronized void close() {
+        flush();
+        batch.close();
+        writeOptions.close();
         db.close();
+        options.close();
     }
 }
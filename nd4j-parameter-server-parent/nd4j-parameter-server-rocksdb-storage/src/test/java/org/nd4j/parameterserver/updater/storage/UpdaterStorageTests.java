@@ -1,19 +1,26 @@
 package org.nd4j.parameterserver.updater.storage;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.nd4j.aeron.ipc.NDArrayMessage;
 import org.nd4j.linalg.factory.Nd4j;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static junit.framework.TestCase.assertEquals;
 
 /**
  * Created by agibsonccc on 12/2/16.
  */
 public class UpdaterStorageTests {
+    @Rule
+    public TemporaryFolder testDir = new TemporaryFolder();
 
     @Test
-    public void testInMemory() {
-        UpdateStorage updateStorage = new RocksDbStorage("/tmp/rocksdb");
+    public void testInMemory() throws Exception {
+        UpdateStorage updateStorage = new RocksDbStorage(testDir.newFolder().getAbsolutePath());
         NDArrayMessage message = NDArrayMessage.wholeArrayUpdate(Nd4j.scalar(1.0));
         updateStorage.addUpdate(message);
         assertEquals(1, updateStorage.numUpdates());
@@ -22,4 +29,34 @@ public class UpdaterStorageTests {
         assertEquals(0, updateStorage.numUpdates());
         updateStorage.close();
     }
+
+    @Test
+    public void testReplayAfterReopen() throws Exception {
+        String path = testDir.newFolder().getAbsolutePath();
+        RocksDbStorage updateStorage = new RocksDbStorage(path, RocksDbStorage.defaultOptions(), 4, 10);
+        for (int i = 0; i < 15; i++)
+            updateStorage.addUpdate(NDArrayMessage.wholeArrayUpdate(Nd4j.scalar((double) i)));
+        updateStorage.close();
+
+        updateStorage = new RocksDbStorage(path);
+        // only last 10 updates are retained
+        assertEquals(10, updateStorage.numUpdates());
+        assertEquals(5.0, updateStorage.getUpdate(0).getArr().getDouble(0), 1e-5);
+
+        List<NDArrayMessage> replayed = new ArrayList<>();
+        updateStorage.replay(2, 6, replayed::add);
+        assertEquals(4, replayed.size());
+        for (int i = 0; i < replayed.size(); i++)
+            assertEquals(7.0 + i, replayed.get(i).getArr().getDouble(0), 1e-5);
+
+        updateStorage.addUpdate(NDArrayMessage.wholeArrayUpdate(Nd4j.scalar(15.0)));
+        replayed.clear();
+        updateStorage.replay(replayed::add);
+        assertEquals(11, replayed.size());
+        assertEquals(15.0, replayed.get(10).getArr().getDouble(0), 1e-5);
+
+        updateStorage.clear();
+        assertEquals(0, updateStorage.numUpdates());
+        updateStorage.close();
+    }
 }
@@ -265,7 +265,8 @@ public class ParameterServerSubscriber implements AutoCloseable {
                                         new InMemoryNDArrayHolder(Ints.toArray(shape)), updatesPerEpoch);
                         break;
                     case SOFTSYNC:
-                        updater = new SoftSyncParameterUpdater();
+                        updater = new SoftSyncParameterUpdater(new InMemoryUpdateStorage(),
+                                        new InMemoryNDArrayHolder(Ints.toArray(shape)), updatesPerEpoch);
                         break;
                     case TIME_DELAYED:
                         break;
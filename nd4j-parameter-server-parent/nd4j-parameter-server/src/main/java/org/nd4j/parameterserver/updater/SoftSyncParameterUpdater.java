@@ -1,23 +1,77 @@
 package org.nd4j.parameterserver.updater;
 
+import org.nd4j.aeron.ipc.NDArrayHolder;
 import org.nd4j.aeron.ipc.NDArrayMessage;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.Axpy;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.parameterserver.updater.storage.UpdateStorage;
+import org.nd4j.shade.jackson.core.JsonProcessingException;
+import org.nd4j.shade.jackson.databind.ObjectMapper;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
+ * Soft synchronous updater with bounded staleness.
+ *
+ * Incoming updates are accumulated in place into pre-allocated buffer,
+ * and every s updates their average is applied to the parameters, starting new generation of parameters.
+ * Workers are never blocked: instead, each update is scaled by 1 / (1 + staleness), where staleness is
+ * number of generations applied since the update was sent, and updates staler than maxStaleness are dropped.
+ *
+ * Generation an update is based on is found by its sent timestamp,
+ * so workers are expected to send NDArrayMessages with NDArrayMessage.getCurrentTimeUtc() timestamps,
+ * and clocks of the workers are expected to be reasonably in sync with the master.
+ *
  * Created by agibsonccc on 12/1/16.
  */
 public class SoftSyncParameterUpdater extends BaseParameterUpdater {
+    public static final int DEFAULT_MAX_STALENESS = 4;
+
+    private static ObjectMapper objectMapper = new ObjectMapper();
+
     //track time stamps of messages coming in to find out which generation a message is meant for
-    //alxways log where the message time stamp began
-    private Map<Long, Integer> timeStampsForGeneration;
+    //always log where the generation began
+    private TreeMap<Long, Long> timeStampsForGeneration = new TreeMap<>();
     //s is the number of updates
     private int s;
-    private int currentVersion;
+    private int maxStaleness;
+    private long currentVersion = 0;
     private int accumulatedUpdates = 0;
-    private double scalingFactor;
+    private long droppedUpdates = 0;
+    private long maxObservedStaleness = 0;
+    private boolean replicate = false;
+    private INDArray accumulator;
+
+    /**
+     * @param updateStorage the update storage to use
+     * @param ndArrayHolder holder of the parameters
+     * @param s             the number of updates to average per generation
+     * @param maxStaleness  max number of generations an update may lag behind, staler updates are dropped
+     */
+    public SoftSyncParameterUpdater(UpdateStorage updateStorage, NDArrayHolder ndArrayHolder, int s,
+                    int maxStaleness) {
+        super(updateStorage, ndArrayHolder);
+        if (s < 1)
+            throw new IllegalArgumentException("Number of updates per generation should be positive");
+        if (maxStaleness < 0)
+            throw new IllegalArgumentException("Max staleness can't be negative");
 
+        this.s = s;
+        this.maxStaleness = maxStaleness;
+        this.timeStampsForGeneration.put(NDArrayMessage.getCurrentTimeUtc(), currentVersion);
+    }
+
+    /**
+     * @param updateStorage the update storage to use
+     * @param ndArrayHolder holder of the parameters
+     * @param s             the number of updates to average per generation
+     */
+    public SoftSyncParameterUpdater(UpdateStorage updateStorage, NDArrayHolder ndArrayHolder, int s) {
+        this(updateStorage, ndArrayHolder, s, DEFAULT_MAX_STALENESS);
+    }
 
     /**
      * Returns the number of required
@@ -27,7 +81,17 @@ public class SoftSyncParameterUpdater extends BaseParameterUpdater {
      */
     @Override
     public int requiredUpdatesForPass() {
-        return 0;
+        return s;
+    }
+
+    /**
+     * Returns the current generation of the parameters,
+     * i.e. number of times accumulated updates were applied
+     *
+     * @return the current generation
+     */
+    public synchronized long currentVersion() {
+        return currentVersion;
     }
 
     /**
@@ -37,8 +101,16 @@ public class SoftSyncParameterUpdater extends BaseParameterUpdater {
      * @return
      */
     @Override
-    public Map<String, Number> status() {
-        return null;
+    public synchronized Map<String, Number> status() {
+        Map<String, Number> ret = new HashMap<>();
+        ret.put("updatesPerGeneration", s);
+        ret.put("maxStaleness", maxStaleness);
+        ret.put("currentVersion", currentVersion);
+        ret.put("accumulatedUpdates", accumulatedUpdates);
+        ret.put("droppedUpdates", droppedUpdates);
+        ret.put("maxObservedStaleness", maxObservedStaleness);
+        ret.put("numUpdates", numUpdates());
+        return ret;
     }
 
     /**
@@ -48,28 +120,34 @@ public class SoftSyncParameterUpdater extends BaseParameterUpdater {
      */
     @Override
     public String toJson() {
-        return null;
+        try {
+            return objectMapper.writeValueAsString(status());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     /**
      * Reset internal counters
      * such as number of updates accumulated.
+     *
+     * Accumulated updates of the current generation are kept.
      */
     @Override
-    public void reset() {
-        currentVersion++;
+    public synchronized void reset() {
+        super.reset();
+        replicate = false;
     }
 
     /**
      * Returns true if
-     * the updater has accumulated enough ndarrays to
-     * replicate to the workers
+     * the updater has applied new generation since last reset
      *
      * @return true if replication should happen,false otherwise
      */
     @Override
-    public boolean shouldReplicate() {
-        return accumulatedUpdates == s;
+    public synchronized boolean shouldReplicate() {
+        return replicate;
     }
 
     /**
@@ -78,8 +156,24 @@ public class SoftSyncParameterUpdater extends BaseParameterUpdater {
      * @param message
      */
     @Override
-    public void update(NDArrayMessage message) {
+    public synchronized void update(NDArrayMessage message) {
+        updateStorage.addUpdate(message);
+
+        long staleness = stalenessOf(message.getSent());
+        maxObservedStaleness = Math.max(maxObservedStaleness, staleness);
+        if (staleness > maxStaleness) {
+            droppedUpdates++;
+            return;
+        }
 
+        INDArray arr = message.getArr();
+        //of note for ndarrays
+        int[] dimensions = message.getDimensions();
+        boolean whole = dimensions.length == 1 && dimensions[0] == -1;
+
+        INDArray target = whole ? accumulator()
+                        : accumulator().tensorAlongDimension((int) message.getIndex(), dimensions);
+        accumulate(arr, target, 1.0 / (1 + staleness));
     }
 
     /**
@@ -87,25 +181,71 @@ public class SoftSyncParameterUpdater extends BaseParameterUpdater {
      * based on arr along a particular
      * {@link INDArray#tensorAlongDimension(int, int...)}
      *
+     * Update is treated as a fresh one, since there's no timestamp attached.
+     *
      * @param arr        the array to update
      * @param result     the result ndarray to update
      * @param idx        the index to update
      * @param dimensions the dimensions to update
      */
     @Override
-    public void partialUpdate(INDArray arr, INDArray result, long idx, int... dimensions) {
-
+    public synchronized void partialUpdate(INDArray arr, INDArray result, long idx, int... dimensions) {
+        accumulate(arr, accumulator().tensorAlongDimension((int) idx, dimensions), 1.0);
     }
 
     /**
      * Updates result
      * based on arr
      *
+     * Update is treated as a fresh one, since there's no timestamp attached.
+     *
      * @param arr    the array to update
      * @param result the result ndarray to update
      */
     @Override
-    public void update(INDArray arr, INDArray result) {
+    public synchronized void update(INDArray arr, INDArray result) {
+        accumulate(arr, accumulator(), 1.0);
+    }
+
+    private INDArray accumulator() {
+        if (accumulator == null) {
+            INDArray params = ndArrayHolder.get();
+            accumulator = Nd4j.create(params.shape(), params.ordering());
+        }
+        return accumulator;
+    }
+
+    /**
+     * Returns number of generations applied since given timestamp
+     */
+    private long stalenessOf(long sent) {
+        Map.Entry<Long, Long> generation = timeStampsForGeneration.floorEntry(sent);
+        if (generation == null) {
+            // update is older than any generation we still remember
+            Map.Entry<Long, Long> oldest = timeStampsForGeneration.firstEntry();
+            return oldest.getValue() == 0 ? currentVersion : currentVersion - oldest.getValue() + 1;
+        }
+
+        return currentVersion - generation.getValue();
+    }
+
+    private void accumulate(INDArray arr, INDArray target, double scale) {
+        Nd4j.getExecutioner().exec(new Axpy(arr, target, scale));
+
+        if (++accumulatedUpdates < s)
+            return;
+
+        // soft synchronization: average of accumulated updates is applied as new generation
+        Nd4j.getExecutioner().exec(new Axpy(accumulator, ndArrayHolder.get(), 1.0 / s));
+        accumulator.assign(0.0);
+        accumulatedUpdates = 0;
+
+        currentVersion++;
+        timeStampsForGeneration.put(NDArrayMessage.getCurrentTimeUtc(), currentVersion);
+        // generations older than that can only produce updates we'd drop anyway
+        while (timeStampsForGeneration.size() > maxStaleness + 1)
+            timeStampsForGeneration.pollFirstEntry();
 
+        replicate = true;
     }
 }
@@ -6,6 +6,7 @@ import org.nd4j.aeron.ndarrayholder.InMemoryNDArrayHolder;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.parameterserver.updater.storage.NoUpdateStorage;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeNotNull;
@@ -32,4 +33,39 @@ public class ParameterServerUpdaterTests {
 
     }
 
+    @Test
+    public void softSyncTest() throws Exception {
+        SoftSyncParameterUpdater updater = new SoftSyncParameterUpdater(new NoUpdateStorage(),
+                        new InMemoryNDArrayHolder(Nd4j.zeros(2, 2)), 2, 1);
+        Thread.sleep(5);
+        long before = NDArrayMessage.getCurrentTimeUtc();
+        Thread.sleep(5);
+
+        // two fresh updates are averaged into the first generation
+        updater.update(NDArrayMessage.wholeArrayUpdate(Nd4j.ones(2, 2)));
+        assertFalse(updater.shouldReplicate());
+        updater.update(NDArrayMessage.wholeArrayUpdate(Nd4j.ones(2, 2)));
+        assertTrue(updater.shouldReplicate());
+        assertEquals(1, updater.currentVersion());
+        assertEquals(Nd4j.ones(2, 2), updater.ndArrayHolder().get());
+
+        updater.reset();
+        assertFalse(updater.shouldReplicate());
+        Thread.sleep(5);
+
+        // update based on previous generation is scaled down by its staleness
+        updater.update(NDArrayMessage.builder().arr(Nd4j.ones(2, 2)).dimensions(new int[] {-1}).index(-1)
+                        .sent(before).build());
+        updater.update(NDArrayMessage.wholeArrayUpdate(Nd4j.ones(2, 2)));
+        assertEquals(2, updater.currentVersion());
+        assertEquals(Nd4j.valueArrayOf(new int[] {2, 2}, 1.75), updater.ndArrayHolder().get());
+
+        // and update staler than max staleness is dropped
+        updater.update(NDArrayMessage.builder().arr(Nd4j.ones(2, 2)).dimensions(new int[] {-1}).index(-1)
+                        .sent(0).build());
+        assertEquals(1, updater.status().get("droppedUpdates").intValue());
+        assertEquals(0, updater.status().get("accumulatedUpdates").intValue());
+        assumeNotNull(updater.toJson());
+    }
+
 }
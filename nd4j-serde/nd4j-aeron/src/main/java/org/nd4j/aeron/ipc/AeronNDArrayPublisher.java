@@ -41,11 +41,17 @@ public class AeronNDArrayPublisher implements AutoCloseable {
     private boolean compress = true;
     private static final BusySpinIdleStrategy busySpinIdleStrategy = new BusySpinIdleStrategy();
     private int publishRetryTimeOut = 3000;
+    //max number of MTU frames a single chunk of a large array may span
+    private int framesPerChunk = DEFAULT_FRAMES_PER_CHUNK;
+    public final static int DEFAULT_FRAMES_PER_CHUNK = 16;
+    //chunk ids are random UUID strings
+    private final static int CHUNK_ID_LENGTH = 36;
 
     private void init() {
         channel = channel == null ? "aeron:udp?endpoint=localhost:40123" : channel;
         streamId = streamId == 0 ? 10 : streamId;
         publishRetryTimeOut = publishRetryTimeOut == 0 ? 3000 : publishRetryTimeOut;
+        framesPerChunk = framesPerChunk <= 0 ? DEFAULT_FRAMES_PER_CHUNK : framesPerChunk;
         ctx = ctx == null ? ctx = new Aeron.Context() : ctx;
         init = true;
         log.info("Channel publisher" + channel + " and stream " + streamId);
@@ -110,7 +116,7 @@ public class AeronNDArrayPublisher implements AutoCloseable {
 
         //array is large, need to segment
         if (NDArrayMessage.byteBufferSizeForMessage(message) >= publication.maxMessageLength()) {
-            NDArrayMessageChunk[] chunks = NDArrayMessage.chunks(message, publication.maxMessageLength() / 128);
+            NDArrayMessageChunk[] chunks = NDArrayMessage.chunks(message, chunkSize());
             for (int i = 0; i < chunks.length; i++) {
                 ByteBuffer sendBuff = NDArrayMessageChunk.toBuffer(chunks[i]);
                 sendBuff.rewind();
@@ -128,6 +134,20 @@ public class AeronNDArrayPublisher implements AutoCloseable {
 
 
 
+    /**
+     * Returns the chunk size for large arrays.
+     * Chunks are sized so that an encoded chunk fills
+     * whole MTU frames of the publication,
+     * so frames are never split or left half empty,
+     * and a chunk spans at most framesPerChunk frames.
+     * @return the chunk size in bytes
+     */
+    private int chunkSize() {
+        int framePayload = publication.maxPayloadLength();
+        int frames = Math.max(1, Math.min(framesPerChunk, publication.maxMessageLength() / framePayload));
+        return frames * framePayload - NDArrayMessageChunk.headerSize(CHUNK_ID_LENGTH);
+    }
+
     private void sendBuffer(DirectBuffer buffer) throws Exception {
         // Try to publish the buffer. 'offer' is a non-blocking call.
         // If it returns less than 0, the message was not sent, and the offer should be retried.
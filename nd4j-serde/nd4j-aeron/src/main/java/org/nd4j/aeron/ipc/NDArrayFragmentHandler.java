@@ -5,8 +5,8 @@ import io.aeron.logbuffer.Header;
 import lombok.extern.slf4j.Slf4j;
 import org.agrona.DirectBuffer;
 import org.nd4j.aeron.ipc.chunk.ChunkAccumulator;
-import org.nd4j.aeron.ipc.chunk.InMemoryChunkAccumulator;
 import org.nd4j.aeron.ipc.chunk.NDArrayMessageChunk;
+import org.nd4j.aeron.ipc.chunk.StreamingChunkAccumulator;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -21,10 +21,19 @@ import java.nio.ByteOrder;
 @Slf4j
 public class NDArrayFragmentHandler implements FragmentHandler {
     private NDArrayCallback ndArrayCallback;
-    private ChunkAccumulator chunkAccumulator = new InMemoryChunkAccumulator();
+    private ChunkAccumulator chunkAccumulator;
 
     public NDArrayFragmentHandler(NDArrayCallback ndArrayCallback) {
+        this(ndArrayCallback, new StreamingChunkAccumulator());
+    }
+
+    /**
+     * @param ndArrayCallback  the callback for reassembled messages
+     * @param chunkAccumulator the accumulator to reassemble chunked messages with
+     */
+    public NDArrayFragmentHandler(NDArrayCallback ndArrayCallback, ChunkAccumulator chunkAccumulator) {
         this.ndArrayCallback = ndArrayCallback;
+        this.chunkAccumulator = chunkAccumulator;
     }
 
     /**
@@ -50,7 +59,10 @@ public class NDArrayFragmentHandler implements FragmentHandler {
 
 
         //only applicable for direct buffers where we don't wrap the array
+        //the view is bound to this fragment, so chunk data doesn't extend past it
         if (!byteArrayInput) {
+            byteBuffer = byteBuffer.duplicate();
+            byteBuffer.limit(offset + length);
             byteBuffer.position(offset);
             byteBuffer.order(ByteOrder.nativeOrder());
         }
@@ -68,8 +80,8 @@ public class NDArrayFragmentHandler implements FragmentHandler {
                 throw new IllegalStateException("Found invalid number of chunks " + chunk.getNumChunks()
                                 + " on chunk index " + chunk.getChunkIndex());
             chunkAccumulator.accumulateChunk(chunk);
-            log.info("Number of chunks " + chunk.getNumChunks() + " and number of chunks " + chunk.getNumChunks()
-                            + " for id " + chunk.getId() + " is " + chunkAccumulator.numChunksSoFar(chunk.getId()));
+            log.debug("Number of chunks " + chunk.getNumChunks() + " and number of chunks so far for id "
+                            + chunk.getId() + " is " + chunkAccumulator.numChunksSoFar(chunk.getId()));
 
             if (chunkAccumulator.allPresent(chunk.getId())) {
                 NDArrayMessage message = chunkAccumulator.reassemble(chunk.getId());
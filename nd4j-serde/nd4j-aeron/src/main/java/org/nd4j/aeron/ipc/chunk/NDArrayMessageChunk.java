@@ -59,14 +59,24 @@ public class NDArrayMessageChunk implements Serializable {
      * @return the size of an {@link ByteBuffer} for the given {@link NDArrayMessageChunk}
      */
     public static int sizeForMessage(NDArrayMessageChunk chunk) {
+        return headerSize(chunk.getId().getBytes().length) + chunk.getData().limit();
+
+    }
+
+    /**
+     * Returns the size of everything but the data
+     * in an encoded {@link NDArrayMessageChunk}:
+     * idLengthSize(4) + messageTypeSize(4) + indexSize(4) + chunkSizeSize(4) +  numChunksSize(4) + idLength
+     * @param idLength the length of the chunk id in bytes
+     * @return the size of the chunk header
+     */
+    public static int headerSize(int idLength) {
         int messageTypeSize = 4;
         int indexSize = 4;
         int numChunksSize = 4;
         int chunkSizeSize = 4;
         int idLengthSize = 4;
-        return idLengthSize + messageTypeSize + indexSize + chunkSizeSize + numChunksSize + chunk.getData().limit()
-                        + chunk.getId().getBytes().length;
-
+        return idLengthSize + messageTypeSize + indexSize + chunkSizeSize + numChunksSize + idLength;
     }
 
     /**
@@ -0,0 +1,223 @@
+package org.nd4j.aeron.ipc.chunk;
+
+import lombok.extern.slf4j.Slf4j;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.nd4j.aeron.ipc.NDArrayMessage;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reassemble chunks straight into
+ * the destination buffer.
+ *
+ * Unlike {@link InMemoryChunkAccumulator}, chunks aren't kept around:
+ * the off heap buffer for the whole message is allocated
+ * as soon as the first chunk of a message arrives (the chunk header
+ * carries both the chunk size and the number of chunks),
+ * and the data of every chunk is copied to its final offset right away.
+ * Chunks may arrive in any order, duplicates are ignored.
+ *
+ * Messages which didn't receive all of their chunks
+ * within the timeout since the last chunk arrived are dropped,
+ * so lost chunks don't leak buffers.
+ */
+@Slf4j
+public class StreamingChunkAccumulator implements ChunkAccumulator {
+    public final static long DEFAULT_TIMEOUT_MS = 30000;
+
+    private Map<String, PartialMessage> messages = new ConcurrentHashMap<>();
+    private final long timeoutMs;
+    private volatile long lastExpiration = System.currentTimeMillis();
+    private final AtomicLong expiredMessages = new AtomicLong();
+
+    public StreamingChunkAccumulator() {
+        this(DEFAULT_TIMEOUT_MS);
+    }
+
+    /**
+     * @param timeoutMs the time in milliseconds an incomplete message
+     *                  may wait for its next chunk before it's dropped
+     */
+    public StreamingChunkAccumulator(long timeoutMs) {
+        if (timeoutMs <= 0)
+            throw new IllegalArgumentException("Timeout should be positive");
+        this.timeoutMs = timeoutMs;
+    }
+
+    private static class PartialMessage {
+        private final ByteBuffer buffer;
+        private final int chunkSize;
+        private final int numChunks;
+        private final BitSet received;
+        private int numReceived = 0;
+        private volatile long lastUpdate = System.currentTimeMillis();
+
+        private PartialMessage(int chunkSize, int numChunks) {
+            this.chunkSize = chunkSize;
+            this.numChunks = numChunks;
+            this.received = new BitSet(numChunks);
+            this.buffer = ByteBuffer.allocateDirect(chunkSize * numChunks).order(ByteOrder.nativeOrder());
+        }
+
+        private synchronized boolean complete() {
+            return numReceived == numChunks;
+        }
+
+        private synchronized int numReceived() {
+            return numReceived;
+        }
+
+        private synchronized void put(NDArrayMessageChunk chunk) {
+            if (received.get(chunk.getChunkIndex()))
+                return;
+
+            //the data of a chunk may extend past the chunk itself, i.e. when it's a view of a bigger buffer
+            ByteBuffer data = chunk.getData().duplicate();
+            int offset = chunk.getChunkIndex() * chunkSize;
+            int length = Math.min(data.remaining(), chunkSize);
+            data.limit(data.position() + length);
+
+            ByteBuffer target = buffer.duplicate();
+            target.position(offset);
+            target.put(data);
+
+            received.set(chunk.getChunkIndex());
+            numReceived++;
+            lastUpdate = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Returns the number of messages dropped
+     * so far because their chunks didn't arrive in time
+     *
+     * @return the number of expired messages
+     */
+    public long numExpiredMessages() {
+        return expiredMessages.get();
+    }
+
+    /**
+     * Returns the number of messages
+     * currently being reassembled
+     *
+     * @return the number of incomplete messages
+     */
+    public int numPendingMessages() {
+        return messages.size();
+    }
+
+    /**
+     * Returns the number of chunks
+     * accumulated for a given id so far
+     *
+     * @param id the id to get the
+     *           number of chunks for
+     * @return the number of chunks accumulated
+     * for a given id so far
+     */
+    @Override
+    public int numChunksSoFar(String id) {
+        PartialMessage message = messages.get(id);
+        return message == null ? 0 : message.numReceived();
+    }
+
+    /**
+     * Returns true if all chunks are present
+     *
+     * @param id the id to check for
+     * @return true if all the chunks are present,false otherwise
+     */
+    @Override
+    public boolean allPresent(String id) {
+        PartialMessage message = messages.get(id);
+        return message != null && message.complete();
+    }
+
+    /**
+     * Reassemble an ndarray message
+     * from the chunks accumulated so far.
+     *
+     * Chunks are already in place, so this only decodes the message.
+     * Once reassemble is called, the associated buffer
+     * is removed from the accumulator.
+     *
+     * @param id the id to reassemble
+     * @return the reassembled message
+     */
+    @Override
+    public NDArrayMessage reassemble(String id) {
+        PartialMessage message = messages.get(id);
+        if (message == null)
+            throw new IllegalStateException("No chunks found for message " + id);
+        if (!message.complete())
+            throw new IllegalStateException("Unable to reassemble message chunk " + id + " missing "
+                            + (message.numChunks - message.numReceived()) + " chunks");
+
+        messages.remove(id);
+        return NDArrayMessage.fromBuffer(new UnsafeBuffer(message.buffer), 0);
+    }
+
+    /**
+     * Copy the chunk data to its offset
+     * in the message buffer, allocating the buffer
+     * if this is the first chunk seen for the message.
+     * You can check all chunks are present with
+     * {@link ChunkAccumulator#allPresent(String)}
+     * where the parameter is the id
+     *
+     * @param chunk the chunk
+     */
+    @Override
+    public void accumulateChunk(NDArrayMessageChunk chunk) {
+        expire();
+
+        if (chunk.getNumChunks() < 1 || chunk.getChunkSize() < 1)
+            throw new IllegalStateException("Invalid chunk header for id " + chunk.getId() + ": " + chunk.getNumChunks()
+                            + " chunks of size " + chunk.getChunkSize());
+        if (chunk.getChunkIndex() < 0 || chunk.getChunkIndex() >= chunk.getNumChunks())
+            throw new IllegalStateException("Chunk index " + chunk.getChunkIndex() + " is out of range for id "
+                            + chunk.getId() + " with " + chunk.getNumChunks() + " chunks");
+        if ((long) chunk.getChunkSize() * chunk.getNumChunks() > Integer.MAX_VALUE)
+            throw new IllegalStateException("Message " + chunk.getId() + " is too large to reassemble");
+
+        PartialMessage message = messages.computeIfAbsent(chunk.getId(),
+                        (id) -> new PartialMessage(chunk.getChunkSize(), chunk.getNumChunks()));
+        if (message.chunkSize != chunk.getChunkSize() || message.numChunks != chunk.getNumChunks())
+            throw new IllegalStateException("Chunk header for id " + chunk.getId()
+                            + " doesn't match previously received chunks");
+
+        message.put(chunk);
+        log.debug("Accumulating chunk {} for id {}", chunk.getChunkIndex(), chunk.getId());
+    }
+
+    /**
+     * Drop the messages that didn't
+     * receive a chunk within the timeout.
+     * Checked at most a few times per timeout period.
+     */
+    private void expire() {
+        long now = System.currentTimeMillis();
+        if (now - lastExpiration < timeoutMs / 4)
+            return;
+        lastExpiration = now;
+
+        Iterator<Map.Entry<String, PartialMessage>> iterator = messages.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, PartialMessage> entry = iterator.next();
+            PartialMessage message = entry.getValue();
+            if (now - message.lastUpdate > timeoutMs && !message.complete()) {
+                iterator.remove();
+                expiredMessages.incrementAndGet();
+                log.warn("Dropping message {}: only {} out of {} chunks arrived within {} ms", entry.getKey(),
+                                message.numReceived(), message.numChunks, timeoutMs);
+            }
+        }
+    }
+}
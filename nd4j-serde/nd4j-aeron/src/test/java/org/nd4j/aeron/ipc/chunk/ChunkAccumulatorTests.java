@@ -4,7 +4,11 @@ import org.junit.Test;
 import org.nd4j.aeron.ipc.NDArrayMessage;
 import org.nd4j.linalg.factory.Nd4j;
 
+import java.nio.ByteBuffer;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Created by agibsonccc on 11/20/16.
@@ -25,4 +29,49 @@ public class ChunkAccumulatorTests {
         assertEquals(message, message1);
     }
 
+    @Test
+    public void testStreamingAccumulatorOutOfOrder() {
+        StreamingChunkAccumulator chunkAccumulator = new StreamingChunkAccumulator();
+        NDArrayMessage message = NDArrayMessage.wholeArrayUpdate(Nd4j.linspace(1, 1000, 1000));
+        int chunkSize = 128;
+        NDArrayMessageChunk[] chunks = NDArrayMessage.chunks(message, chunkSize);
+        String id = chunks[0].getId();
+        for (int i = chunks.length - 1; i >= 0; i--) {
+            assertFalse(chunkAccumulator.allPresent(id));
+            //chunks are copied right away, so the data they came from may be reused
+            ByteBuffer data = ByteBuffer.allocate(chunks[i].getData().remaining());
+            data.put(chunks[i].getData().duplicate()).flip();
+            chunks[i].setData(data);
+            chunkAccumulator.accumulateChunk(chunks[i]);
+            data.clear();
+            data.put(new byte[data.capacity()]);
+        }
+
+        //duplicates are ignored
+        chunkAccumulator.accumulateChunk(chunks[0]);
+        assertEquals(chunks.length, chunkAccumulator.numChunksSoFar(id));
+        assertTrue(chunkAccumulator.allPresent(id));
+
+        NDArrayMessage message1 = chunkAccumulator.reassemble(id);
+        assertEquals(message, message1);
+        assertEquals(0, chunkAccumulator.numPendingMessages());
+    }
+
+    @Test
+    public void testStreamingAccumulatorExpiration() throws Exception {
+        StreamingChunkAccumulator chunkAccumulator = new StreamingChunkAccumulator(10);
+        NDArrayMessage message = NDArrayMessage.wholeArrayUpdate(Nd4j.ones(1000));
+        NDArrayMessageChunk[] chunks = NDArrayMessage.chunks(message, 128);
+        NDArrayMessageChunk[] others = NDArrayMessage.chunks(message, 128);
+
+        chunkAccumulator.accumulateChunk(chunks[0]);
+        assertEquals(1, chunkAccumulator.numPendingMessages());
+
+        Thread.sleep(50);
+        chunkAccumulator.accumulateChunk(others[0]);
+        assertEquals(0, chunkAccumulator.numChunksSoFar(chunks[0].getId()));
+        assertEquals(1, chunkAccumulator.numPendingMessages());
+        assertEquals(1, chunkAccumulator.numExpiredMessages());
+    }
+
 }